@@ -0,0 +1,157 @@
+package com.ovengers.chatservice.client;
+
+import com.ovengers.chatservice.client.UserProfileCache.CachedProfile;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 프로필 캐시를 거치는 UserServiceClient (stale-while-revalidate)
+ *
+ * - 신선한 캐시 값: Feign 호출 없이 반환
+ * - 오래된 캐시 값: 즉시 반환하고 백그라운드에서 한 번만 갱신
+ * - 캐시에 없음: UserLookupBatcher로 다른 요청과 묶어 조회한 뒤 캐시에 저장
+ * chat.user-profile.feign.saved / chat.user-profile.feign.calls 카운터로 절약한 호출 수를 확인할 수 있다.
+ * (feign.calls는 이 클래스의 배치/갱신 호출과 UserLookupBatcher의 묶음 조회 호출을 함께 센다)
+ */
+@Slf4j
+@Component
+public class CachingUserServiceClient {
+    private final UserServiceClient userServiceClient;
+    private final UserProfileCache userProfileCache;
+    private final UserLookupBatcher userLookupBatcher;
+    private final Executor refreshExecutor;
+    private final Counter feignCalls;
+    private final Counter savedCalls;
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+
+    @Autowired
+    public CachingUserServiceClient(UserServiceClient userServiceClient,
+                                    UserProfileCache userProfileCache,
+                                    UserLookupBatcher userLookupBatcher,
+                                    MeterRegistry meterRegistry) {
+        this(userServiceClient, userProfileCache, userLookupBatcher, meterRegistry, Executors.newFixedThreadPool(2, runnable -> {
+            Thread thread = new Thread(runnable, "user-profile-refresh");
+            thread.setDaemon(true);
+            return thread;
+        }));
+    }
+
+    CachingUserServiceClient(UserServiceClient userServiceClient,
+                             UserProfileCache userProfileCache,
+                             UserLookupBatcher userLookupBatcher,
+                             MeterRegistry meterRegistry,
+                             Executor refreshExecutor) {
+        this.userServiceClient = userServiceClient;
+        this.userProfileCache = userProfileCache;
+        this.userLookupBatcher = userLookupBatcher;
+        this.refreshExecutor = refreshExecutor;
+        this.feignCalls = Counter.builder("chat.user-profile.feign.calls")
+                .description("user-service로 실제 전송된 Feign 호출 수")
+                .register(meterRegistry);
+        this.savedCalls = Counter.builder("chat.user-profile.feign.saved")
+                .description("프로필 캐시로 대체된 Feign 호출 수")
+                .register(meterRegistry);
+    }
+
+    public UserResponseDto getUserById(String userId) {
+        CachedProfile cached = userProfileCache.get(userId);
+        if (cached != null) {
+            savedCalls.increment();
+            if (!userProfileCache.isFresh(cached)) {
+                refreshAsync(List.of(userId));
+            }
+            return cached.profile();
+        }
+
+        // 실제 Feign 호출 수는 여러 조회를 묶어 보내는 UserLookupBatcher가 셈
+        UserResponseDto profile = userLookupBatcher.getUserById(userId);
+        userProfileCache.put(profile);
+        return profile;
+    }
+
+    public List<UserResponseDto> getUsersByIds(List<String> userIds) {
+        Map<String, UserResponseDto> profiles = new LinkedHashMap<>();
+        List<String> misses = new ArrayList<>();
+        List<String> stale = new ArrayList<>();
+
+        for (String userId : userIds) {
+            CachedProfile cached = userProfileCache.get(userId);
+            if (cached == null) {
+                misses.add(userId);
+                continue;
+            }
+            profiles.put(userId, cached.profile());
+            if (!userProfileCache.isFresh(cached)) {
+                stale.add(userId);
+            }
+        }
+
+        // 일부만 캐시에 있으면 나머지를 조회하는 호출이 나가므로 절약한 것이 아님
+        if (misses.isEmpty() && !userIds.isEmpty()) {
+            savedCalls.increment();
+        }
+        if (!misses.isEmpty()) {
+            feignCalls.increment();
+            for (UserResponseDto profile : userServiceClient.getUsersByIds(misses)) {
+                userProfileCache.put(profile);
+                profiles.put(profile.getUserId(), profile);
+            }
+        }
+        if (!stale.isEmpty()) {
+            refreshAsync(stale);
+        }
+
+        return userIds.stream()
+                .map(profiles::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (refreshExecutor instanceof ExecutorService executorService) {
+            executorService.shutdownNow();
+        }
+    }
+
+    // 같은 사용자에 대한 갱신이 이미 진행 중이면 건너뜀
+    private void refreshAsync(List<String> userIds) {
+        List<String> targets = userIds.stream()
+                .filter(refreshing::add)
+                .toList();
+        if (targets.isEmpty()) {
+            return;
+        }
+
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    feignCalls.increment();
+                    userServiceClient.getUsersByIds(targets).forEach(userProfileCache::put);
+                } catch (Exception e) {
+                    log.warn("사용자 프로필 갱신 실패 - userIds={}: {}", targets, e.getMessage());
+                } finally {
+                    targets.forEach(refreshing::remove);
+                }
+            });
+        } catch (RuntimeException e) {
+            targets.forEach(refreshing::remove);
+            log.warn("사용자 프로필 갱신 작업 등록 실패: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.ovengers.chatservice.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 단건 사용자 조회 요청 묶음 처리 (DataLoader 방식)
+ *
+ * window 시간 안에 들어온 getUserById 요청을 모아 getUsersByIds 한 번으로 조회하고 결과를 요청별로 나눠준다.
+ * 같은 사용자에 대한 요청은 하나로 합쳐지며, 대기 건수가 maxBatchSize에 도달하면 즉시 조회한다.
+ * 결과에 없는 사용자는 null로 완료되어 기존 getUserById 호출과 같은 방식으로 처리할 수 있다.
+ * 블로킹 조회는 timeout까지만 기다리고, 넘기면 Feign fallback과 같은 캐시/대체 프로필을 반환한다.
+ */
+@Slf4j
+@Component
+public class UserLookupBatcher {
+    private static final Duration DEFAULT_WINDOW = Duration.ofMillis(5);
+    private static final int DEFAULT_MAX_BATCH_SIZE = 100;
+
+    private final UserServiceClient userServiceClient;
+    private final UserServiceClientFallback userServiceClientFallback;
+    private final Duration window;
+    private final int maxBatchSize;
+    private final Duration timeout;
+    private final ScheduledExecutorService scheduler;
+    private final ExecutorService fetchExecutor;
+    private final DistributionSummary batchSize;
+    private final Counter feignCalls;
+
+    private Map<String, CompletableFuture<UserResponseDto>> pending = new HashMap<>();
+
+    @Autowired
+    public UserLookupBatcher(UserServiceClient userServiceClient,
+                             UserServiceClientFallback userServiceClientFallback,
+                             MeterRegistry meterRegistry,
+                             @Value("${chat.user-lookup.timeout-ms:3000}") long timeoutMillis) {
+        this(userServiceClient, userServiceClientFallback, meterRegistry, DEFAULT_WINDOW, DEFAULT_MAX_BATCH_SIZE,
+                Duration.ofMillis(timeoutMillis));
+    }
+
+    UserLookupBatcher(UserServiceClient userServiceClient, UserServiceClientFallback userServiceClientFallback,
+                      MeterRegistry meterRegistry, Duration window, int maxBatchSize, Duration timeout) {
+        this.userServiceClient = userServiceClient;
+        this.userServiceClientFallback = userServiceClientFallback;
+        this.window = window;
+        this.maxBatchSize = maxBatchSize;
+        this.timeout = timeout;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> daemon(runnable, "user-lookup-timer"));
+        this.fetchExecutor = Executors.newFixedThreadPool(4, runnable -> daemon(runnable, "user-lookup-fetch"));
+        this.batchSize = DistributionSummary.builder("chat.user-lookup.batch.size")
+                .description("getUsersByIds 한 번에 묶인 사용자 수")
+                .register(meterRegistry);
+        this.feignCalls = Counter.builder("chat.user-profile.feign.calls")
+                .description("user-service로 실제 전송된 Feign 호출 수")
+                .register(meterRegistry);
+    }
+
+    public CompletableFuture<UserResponseDto> load(String userId) {
+        Map<String, CompletableFuture<UserResponseDto>> batchToFlush = null;
+        CompletableFuture<UserResponseDto> future;
+
+        synchronized (this) {
+            future = pending.get(userId);
+            if (future == null) {
+                future = new CompletableFuture<>();
+                pending.put(userId, future);
+
+                if (pending.size() == 1) {
+                    scheduler.schedule(this::flush, window.toNanos(), TimeUnit.NANOSECONDS);
+                }
+                if (pending.size() >= maxBatchSize) {
+                    batchToFlush = swap();
+                }
+            }
+        }
+
+        if (batchToFlush != null) {
+            dispatch(batchToFlush);
+        }
+        return future;
+    }
+
+    // 블로킹 코드용 (timeout을 넘기면 대기를 멈추고 fallback 프로필 반환, 묶인 조회는 계속 진행됨)
+    public UserResponseDto getUserById(String userId) {
+        try {
+            return load(userId).get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            log.warn("사용자 조회 대기 시간 초과 - userId={}, timeout={}ms", userId, timeout.toMillis());
+            return userServiceClientFallback.getUserById(userId);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return userServiceClientFallback.getUserById(userId);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+        fetchExecutor.shutdown();
+    }
+
+    private void flush() {
+        Map<String, CompletableFuture<UserResponseDto>> batch;
+        synchronized (this) {
+            batch = swap();
+        }
+        dispatch(batch);
+    }
+
+    private Map<String, CompletableFuture<UserResponseDto>> swap() {
+        Map<String, CompletableFuture<UserResponseDto>> batch = pending;
+        pending = new HashMap<>();
+        return batch;
+    }
+
+    private void dispatch(Map<String, CompletableFuture<UserResponseDto>> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        fetchExecutor.execute(() -> fetch(batch));
+    }
+
+    private void fetch(Map<String, CompletableFuture<UserResponseDto>> batch) {
+        List<String> userIds = new ArrayList<>(batch.keySet());
+        batchSize.record(userIds.size());
+        feignCalls.increment();
+
+        try {
+            Map<String, UserResponseDto> found = new HashMap<>();
+            for (UserResponseDto user : userServiceClient.getUsersByIds(userIds)) {
+                found.put(user.getUserId(), user);
+            }
+            batch.forEach((userId, future) -> future.complete(found.get(userId)));
+        } catch (Exception e) {
+            log.warn("사용자 일괄 조회 실패 - userIds={}: {}", userIds, e.getMessage());
+            batch.values().forEach(future -> future.completeExceptionally(e));
+        }
+    }
+
+    private static Thread daemon(Runnable runnable, String name) {
+        Thread thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+}
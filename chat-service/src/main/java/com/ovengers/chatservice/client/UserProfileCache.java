@@ -0,0 +1,76 @@
+package com.ovengers.chatservice.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * user-service 사용자 프로필 캐시
+ *
+ * FRESH_TTL 이내의 항목은 그대로 사용하고, 그 이후 MAX_TTL까지는 이전 값을 반환하면서 백그라운드에서 갱신한다
+ * (CachingUserServiceClient 참고). user-service 장애 시에는 UserServiceClientFallback이 만료 전 값을 대신 반환한다.
+ * Feign 클라이언트와의 순환 의존을 피하기 위해 이 클래스는 저장소 역할만 한다.
+ */
+@Component
+public class UserProfileCache {
+    static final Duration FRESH_TTL = Duration.ofMinutes(1);
+    static final Duration MAX_TTL = Duration.ofMinutes(30);
+    private static final long MAXIMUM_SIZE = 50_000;
+
+    private final Cache<String, CachedProfile> cache;
+    private final Ticker ticker;
+
+    public record CachedProfile(UserResponseDto profile, long fetchedAtNanos) {
+    }
+
+    @Autowired
+    public UserProfileCache(MeterRegistry meterRegistry) {
+        this(meterRegistry, Ticker.systemTicker());
+    }
+
+    UserProfileCache(MeterRegistry meterRegistry, Ticker ticker) {
+        this.ticker = ticker;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(MAXIMUM_SIZE)
+                .expireAfterWrite(MAX_TTL)
+                .ticker(ticker)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "chat.user-profile");
+    }
+
+    // 캐시 조회 (히트율 집계 대상)
+    public CachedProfile get(String userId) {
+        return cache.getIfPresent(userId);
+    }
+
+    // 장애 시 대체 응답용 조회 (히트율 집계에서 제외)
+    public UserResponseDto getStale(String userId) {
+        CachedProfile cached = cache.policy().getIfPresentQuietly(userId);
+        return cached != null ? cached.profile() : null;
+    }
+
+    public boolean isFresh(CachedProfile cached) {
+        return ticker.read() - cached.fetchedAtNanos() < FRESH_TTL.toNanos();
+    }
+
+    public void put(UserResponseDto profile) {
+        if (profile == null || profile.getUserId() == null || UserServiceClientFallback.isPlaceholder(profile)) {
+            return;
+        }
+
+        // Fallback이 돌려준 캐시 값 자체라면 갱신 시각을 늘리지 않음
+        CachedProfile existing = cache.policy().getIfPresentQuietly(profile.getUserId());
+        if (existing != null && existing.profile() == profile) {
+            return;
+        }
+
+        cache.put(profile.getUserId(), new CachedProfile(profile, ticker.read()));
+    }
+}
@@ -1,6 +1,7 @@
 package com.ovengers.chatservice.client;
 
 import com.ovengers.common.dto.CommonResDto;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
@@ -13,32 +14,46 @@ import java.util.Map;
 
 @Slf4j
 @Component
+@RequiredArgsConstructor
 public class UserServiceClientFallback implements UserServiceClient {
+    private static final String UNKNOWN_NAME = "Unknown User";
+    private static final String UNKNOWN_EMAIL = "unknown@unknown.com";
+
+    private final UserProfileCache userProfileCache;
+
+    // 캐시에도 없어서 만들어진 대체 프로필인지 확인 (캐시에 저장하지 않음)
+    public static boolean isPlaceholder(UserResponseDto dto) {
+        return UNKNOWN_EMAIL.equals(dto.getEmail()) && UNKNOWN_NAME.equals(dto.getName());
+    }
 
     @Override
     public UserResponseDto getUserById(String userId) {
         log.warn("Fallback: user-service 호출 실패. userId={}", userId);
-        UserResponseDto fallbackUser = new UserResponseDto();
-        fallbackUser.setUserId(userId);
-        fallbackUser.setName("Unknown User");
-        fallbackUser.setEmail("unknown@unknown.com");
-        return fallbackUser;
+        return cachedOrUnknown(userId);
     }
 
     @Override
     public List<UserResponseDto> getUsersByIds(List<String> userIds) {
         log.warn("Fallback: user-service 배치 조회 실패. userIds={}", userIds);
         return userIds.stream()
-                .map(userId -> {
-                    UserResponseDto dto = new UserResponseDto();
-                    dto.setUserId(userId);
-                    dto.setName("Unknown User");
-                    dto.setEmail("unknown@unknown.com");
-                    return dto;
-                })
+                .map(this::cachedOrUnknown)
                 .toList();
     }
 
+    // 만료 전 캐시 프로필이 있으면 "Unknown User" 대신 반환
+    private UserResponseDto cachedOrUnknown(String userId) {
+        UserResponseDto cached = userProfileCache.getStale(userId);
+        if (cached != null) {
+            return cached;
+        }
+
+        UserResponseDto fallbackUser = new UserResponseDto();
+        fallbackUser.setUserId(userId);
+        fallbackUser.setName(UNKNOWN_NAME);
+        fallbackUser.setEmail(UNKNOWN_EMAIL);
+        return fallbackUser;
+    }
+
     @Override
     public CommonResDto<List<UserResponseDto>> getUsersToList(Map<String, String> params) {
         log.warn("Fallback: user-service 목록 조회 실패. params={}", params);
@@ -0,0 +1,34 @@
+package com.ovengers.chatservice.common.configs;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Set;
+
+@Configuration
+public class MetricsConfig {
+    // 커넥션 점유 시간(usage)·획득 대기 시간(acquire)은 평균만으로는 풀 압박이 드러나지 않으므로 분위수 히스토그램을 기록
+    private static final Set<String> HIKARI_TIMERS = Set.of(
+            "hikaricp.connections.usage",
+            "hikaricp.connections.acquire");
+
+    @Bean
+    public MeterFilter hikariHistogramMeterFilter() {
+        return new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                if (!HIKARI_TIMERS.contains(id.getName())) {
+                    return config;
+                }
+                return DistributionStatisticConfig.builder()
+                        .percentilesHistogram(true)
+                        .percentiles(0.5, 0.95, 0.99)
+                        .build()
+                        .merge(config);
+            }
+        };
+    }
+}
@@ -0,0 +1,20 @@
+package com.ovengers.chatservice.common.configs;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+@Configuration
+public class ReactorConfig {
+
+    // 리액티브 체인 안의 블로킹 작업(JPA, Feign) 전용 스케줄러
+    // Mongo 드라이버 이벤트 루프 스레드에서 블로킹 호출이 실행되지 않도록 subscribeOn으로 사용한다.
+    @Bean(destroyMethod = "dispose")
+    public Scheduler blockingScheduler(
+            @Value("${chat.blocking.thread-cap:50}") int threadCap,
+            @Value("${chat.blocking.queue-cap:10000}") int queueCap) {
+        return Schedulers.newBoundedElastic(threadCap, queueCap, "chat-blocking");
+    }
+}
@@ -0,0 +1,66 @@
+package com.ovengers.chatservice.common.configs;
+
+import com.ovengers.chatservice.mongodb.cache.RecentMessageCache;
+import com.ovengers.chatservice.mongodb.cache.RecentMessageSubscriber;
+import com.ovengers.chatservice.mysql.cache.RoomMembershipCache;
+import com.ovengers.chatservice.mysql.cache.RoomMembershipInvalidationSubscriber;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+@RequiredArgsConstructor
+@Configuration
+@Slf4j
+public class RedisConfig {
+
+    @Value("${spring.data.redis.host:localhost}")
+    private String host;
+
+    @Value("${spring.data.redis.port:6379}")
+    private int port;
+
+    // chat-service 노드 간 통신(캐시 무효화 등)에 사용하는 연결
+    @Bean
+    @Qualifier("chat-redis-factory")
+    public RedisConnectionFactory redisConnectionFactory() {
+        RedisStandaloneConfiguration configuration = new RedisStandaloneConfiguration();
+        log.info("chat-service redis host: {}", host);
+        configuration.setHostName(host);
+        configuration.setPort(port);
+        return new LettuceConnectionFactory(configuration);
+    }
+
+    @Bean
+    @Qualifier("chat-template")
+    public StringRedisTemplate stringRedisTemplate(
+            @Qualifier("chat-redis-factory") RedisConnectionFactory factory) {
+        return new StringRedisTemplate(factory);
+    }
+
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(
+            @Qualifier("chat-redis-factory") RedisConnectionFactory connectionFactory,
+            RoomMembershipInvalidationSubscriber roomMembershipInvalidationSubscriber,
+            RecentMessageSubscriber recentMessageSubscriber) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(
+                roomMembershipInvalidationSubscriber,
+                new ChannelTopic(RoomMembershipCache.INVALIDATION_CHANNEL)
+        );
+        container.addMessageListener(
+                recentMessageSubscriber,
+                new ChannelTopic(RecentMessageCache.UPDATE_CHANNEL)
+        );
+        return container;
+    }
+}
@@ -0,0 +1,22 @@
+package com.ovengers.chatservice.common.lane;
+
+import com.ovengers.common.dto.CommonErrorDto;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+// 공통 예외 처리(GlobalExceptionHandler)보다 먼저 적용되어 레인 거절을 500 대신 503으로 응답
+@RestControllerAdvice
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RoomLaneExceptionHandler {
+
+    @ExceptionHandler(RoomLaneRejectedException.class)
+    public ResponseEntity<CommonErrorDto> handleRoomLaneRejected(RoomLaneRejectedException e) {
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(new CommonErrorDto(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage()));
+    }
+}
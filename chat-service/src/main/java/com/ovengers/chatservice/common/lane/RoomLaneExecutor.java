@@ -0,0 +1,131 @@
+package com.ovengers.chatservice.common.lane;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 채팅방별 직렬 실행 레인
+ *
+ * 채팅방 ID를 고정 개수의 단일 스레드 레인에 해시로 배정하여, 같은 채팅방의 작업(메시지 전송, 구독자 변경)은
+ * 도착 순서대로 하나씩 실행되고 다른 채팅방의 작업은 병렬로 실행되게 한다.
+ * 레인 대기열은 queue-capacity로 제한되며 가득 차면 RoomLaneRejectedException으로 거절한다.
+ * 레인 작업 안에서 같은 레인의 작업을 다시 실행하면 교착을 피하기 위해 바로 실행한다.
+ */
+@Slf4j
+@Component
+public class RoomLaneExecutor {
+    private final ThreadPoolExecutor[] lanes;
+    private final ThreadLocal<Integer> currentLane = new ThreadLocal<>();
+    private final Counter rejected;
+
+    public RoomLaneExecutor(@Value("${chat.room-lane.count:16}") int laneCount,
+                            @Value("${chat.room-lane.queue-capacity:1000}") int queueCapacity,
+                            MeterRegistry meterRegistry) {
+        this.lanes = new ThreadPoolExecutor[laneCount];
+        for (int i = 0; i < laneCount; i++) {
+            int lane = i;
+            lanes[i] = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(queueCapacity),
+                    runnable -> {
+                        Thread thread = new Thread(() -> {
+                            currentLane.set(lane);
+                            runnable.run();
+                        }, "room-lane-" + lane);
+                        thread.setDaemon(true);
+                        return thread;
+                    },
+                    new ThreadPoolExecutor.AbortPolicy());
+            Gauge.builder("chat.room-lane.queue.depth", lanes[i], executor -> executor.getQueue().size())
+                    .tag("lane", String.valueOf(i))
+                    .register(meterRegistry);
+        }
+        this.rejected = meterRegistry.counter("chat.room-lane.rejected");
+    }
+
+    // 채팅방 레인에서 실행하고 결과를 기다림 (MVC 컨트롤러 등 블로킹 호출용)
+    public <T> T call(Long chatRoomId, Callable<T> task) {
+        int lane = laneOf(chatRoomId);
+        if (Integer.valueOf(lane).equals(currentLane.get())) {
+            return callInline(task);
+        }
+        try {
+            return submit(lane, task).join();
+        } catch (CompletionException e) {
+            throw unwrap(e.getCause());
+        }
+    }
+
+    public void run(Long chatRoomId, Runnable task) {
+        call(chatRoomId, () -> {
+            task.run();
+            return null;
+        });
+    }
+
+    // 채팅방 레인에서 실행 (리액티브 호출용, 결과는 레인 스레드에서 발행됨)
+    public <T> Mono<T> mono(Long chatRoomId, Callable<T> task) {
+        return Mono.defer(() -> Mono.fromFuture(submit(laneOf(chatRoomId), task)))
+                .onErrorMap(CompletionException.class, e -> unwrap(e.getCause()));
+    }
+
+    int laneOf(Long chatRoomId) {
+        return Math.floorMod(Long.hashCode(chatRoomId), lanes.length);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (ThreadPoolExecutor lane : lanes) {
+            lane.shutdown();
+        }
+    }
+
+    private <T> CompletableFuture<T> submit(int lane, Callable<T> task) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        try {
+            lanes[lane].execute(() -> {
+                try {
+                    future.complete(task.call());
+                } catch (Throwable e) {
+                    future.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            log.warn("채팅방 레인 {} 대기열 초과로 작업 거절", lane);
+            throw new RoomLaneRejectedException("요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해 주세요.");
+        }
+        return future;
+    }
+
+    private static <T> T callInline(Callable<T> task) {
+        try {
+            return task.call();
+        } catch (Exception e) {
+            throw unwrap(e);
+        }
+    }
+
+    private static RuntimeException unwrap(Throwable e) {
+        if (e instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        if (e instanceof Error error) {
+            throw error;
+        }
+        return new IllegalStateException(e);
+    }
+}
@@ -0,0 +1,7 @@
+package com.ovengers.chatservice.common.lane;
+
+public class RoomLaneRejectedException extends RuntimeException {
+    public RoomLaneRejectedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,236 @@
+package com.ovengers.chatservice.common.presence;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+import java.security.Principal;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * 채팅방을 보고 있는 사용자 레지스트리
+ *
+ * /sub/{chatRoomId}/chat 구독(SUBSCRIBE/UNSUBSCRIBE/DISCONNECT)을 노드별로 집계하고,
+ * Redis sorted set(chat:presence:{chatRoomId})에 "userId|nodeId" 항목을 만료 시각 score로 기록하여 노드 간에 공유한다.
+ * 각 노드는 heartbeat-ms마다 자기 항목의 만료 시각을 연장하므로, 노드가 비정상 종료되어도 ttl-ms 이후에는 사라진다.
+ * 같은 사용자가 여러 탭/노드에서 보고 있어도 마지막 구독이 해제될 때까지 보고 있는 것으로 본다.
+ */
+@Slf4j
+@Component
+public class RoomPresenceRegistry {
+    private static final String KEY_PREFIX = "chat:presence:";
+    private static final String SEPARATOR = "|";
+    private static final Pattern ROOM_DESTINATION = Pattern.compile("^/sub/(\\d+)/chat$");
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final String nodeId;
+    private final long ttlMillis;
+
+    // sessionId -> (subscriptionId -> 보고 있는 채팅방), (채팅방, 사용자) -> 로컬 구독 수
+    private final Map<String, SessionViews> sessions = new HashMap<>();
+    private final Map<RoomViewer, Integer> localViewers = new HashMap<>();
+
+    record RoomViewer(Long chatRoomId, String userId) {
+    }
+
+    private record SessionViews(String userId, Map<String, Long> subscriptions) {
+    }
+
+    @Autowired
+    public RoomPresenceRegistry(@Qualifier("chat-template") StringRedisTemplate stringRedisTemplate,
+                                @Value("${chat.presence.ttl-ms:30000}") long ttlMillis,
+                                MeterRegistry meterRegistry) {
+        this(stringRedisTemplate, ttlMillis, meterRegistry, UUID.randomUUID().toString());
+    }
+
+    RoomPresenceRegistry(StringRedisTemplate stringRedisTemplate, long ttlMillis, MeterRegistry meterRegistry,
+                         String nodeId) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.ttlMillis = ttlMillis;
+        this.nodeId = nodeId;
+        Gauge.builder("chat.presence.local.viewers", this, RoomPresenceRegistry::localViewerCount)
+                .register(meterRegistry);
+    }
+
+    @EventListener
+    public void handleSubscribe(SessionSubscribeEvent event) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap(event.getMessage());
+        Long chatRoomId = chatRoomIdOf(accessor.getDestination());
+        Principal user = event.getUser();
+        if (chatRoomId != null && user != null) {
+            enter(accessor.getSessionId(), accessor.getSubscriptionId(), user.getName(), chatRoomId);
+        }
+    }
+
+    @EventListener
+    public void handleUnsubscribe(SessionUnsubscribeEvent event) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap(event.getMessage());
+        leave(accessor.getSessionId(), accessor.getSubscriptionId());
+    }
+
+    @EventListener
+    public void handleDisconnect(SessionDisconnectEvent event) {
+        leaveSession(event.getSessionId());
+    }
+
+    void enter(String sessionId, String subscriptionId, String userId, Long chatRoomId) {
+        if (sessionId == null || subscriptionId == null) {
+            return;
+        }
+
+        boolean first;
+        Long previous;
+        synchronized (this) {
+            SessionViews views = sessions.computeIfAbsent(sessionId, key -> new SessionViews(userId, new HashMap<>()));
+            previous = views.subscriptions().put(subscriptionId, chatRoomId);
+            first = localViewers.merge(new RoomViewer(chatRoomId, userId), 1, Integer::sum) == 1;
+        }
+
+        if (previous != null) {
+            release(new RoomViewer(previous, userId));
+        }
+        if (first) {
+            publish(List.of(new RoomViewer(chatRoomId, userId)));
+        }
+    }
+
+    void leave(String sessionId, String subscriptionId) {
+        RoomViewer viewer;
+        synchronized (this) {
+            SessionViews views = sessions.get(sessionId);
+            if (views == null) {
+                return;
+            }
+            Long chatRoomId = views.subscriptions().remove(subscriptionId);
+            if (views.subscriptions().isEmpty()) {
+                sessions.remove(sessionId);
+            }
+            if (chatRoomId == null) {
+                return;
+            }
+            viewer = new RoomViewer(chatRoomId, views.userId());
+        }
+        release(viewer);
+    }
+
+    void leaveSession(String sessionId) {
+        SessionViews views;
+        synchronized (this) {
+            views = sessions.remove(sessionId);
+        }
+        if (views != null) {
+            views.subscriptions().values().forEach(chatRoomId -> release(new RoomViewer(chatRoomId, views.userId())));
+        }
+    }
+
+    // 노드의 모든 항목 만료 시각 연장 및 만료된 항목 정리
+    @Scheduled(fixedDelayString = "${chat.presence.heartbeat-ms:10000}")
+    public void heartbeat() {
+        List<RoomViewer> viewers;
+        synchronized (this) {
+            viewers = List.copyOf(localViewers.keySet());
+        }
+        if (!viewers.isEmpty()) {
+            publish(viewers);
+        }
+    }
+
+    /**
+     * 채팅방을 보고 있는 사용자 ID (모든 노드 기준)
+     * Redis 조회에 실패하면 아무도 보고 있지 않은 것으로 간주한다.
+     */
+    public Set<String> viewers(Long chatRoomId) {
+        try {
+            Set<String> members = stringRedisTemplate.opsForZSet()
+                    .rangeByScore(key(chatRoomId), System.currentTimeMillis(), Double.POSITIVE_INFINITY);
+            if (members == null || members.isEmpty()) {
+                return Set.of();
+            }
+            return members.stream()
+                    .map(member -> member.substring(0, member.lastIndexOf(SEPARATOR)))
+                    .collect(Collectors.toSet());
+        } catch (RuntimeException e) {
+            log.warn("채팅방 {} 접속자 조회 실패: {}", chatRoomId, e.getMessage());
+            return Set.of();
+        }
+    }
+
+    synchronized int localViewerCount() {
+        return localViewers.size();
+    }
+
+    static Long chatRoomIdOf(String destination) {
+        if (destination == null) {
+            return null;
+        }
+        Matcher matcher = ROOM_DESTINATION.matcher(destination);
+        return matcher.matches() ? Long.valueOf(matcher.group(1)) : null;
+    }
+
+    private void release(RoomViewer viewer) {
+        boolean last;
+        synchronized (this) {
+            Integer remaining = localViewers.computeIfPresent(viewer, (key, count) -> count > 1 ? count - 1 : null);
+            last = remaining == null;
+        }
+        if (last) {
+            try {
+                stringRedisTemplate.opsForZSet().remove(key(viewer.chatRoomId()), member(viewer.userId()));
+            } catch (RuntimeException e) {
+                // 항목은 ttl 이후 만료됨
+                log.warn("채팅방 {} 접속 해제 반영 실패: {}", viewer.chatRoomId(), e.getMessage());
+            }
+        }
+    }
+
+    private void publish(Collection<RoomViewer> viewers) {
+        long now = System.currentTimeMillis();
+        double expiresAt = now + ttlMillis;
+        Set<Long> chatRoomIds = new HashSet<>();
+        viewers.forEach(viewer -> chatRoomIds.add(viewer.chatRoomId()));
+
+        try {
+            stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection stringConnection = (StringRedisConnection) connection;
+                viewers.forEach(viewer -> stringConnection.zAdd(key(viewer.chatRoomId()), expiresAt, member(viewer.userId())));
+                chatRoomIds.forEach(chatRoomId -> {
+                    stringConnection.zRemRangeByScore(key(chatRoomId), Double.NEGATIVE_INFINITY, now);
+                    stringConnection.pExpire(key(chatRoomId), ttlMillis);
+                });
+                return null;
+            });
+        } catch (RuntimeException e) {
+            log.warn("채팅방 접속자 반영 실패 - 항목 수: {}: {}", viewers.size(), e.getMessage());
+        }
+    }
+
+    private String member(String userId) {
+        return userId + SEPARATOR + nodeId;
+    }
+
+    private static String key(Long chatRoomId) {
+        return KEY_PREFIX + chatRoomId;
+    }
+}
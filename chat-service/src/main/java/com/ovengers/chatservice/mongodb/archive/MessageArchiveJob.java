@@ -0,0 +1,127 @@
+package com.ovengers.chatservice.mongodb.archive;
+
+import com.mongodb.bulk.BulkWriteResult;
+import com.ovengers.chatservice.mongodb.document.Message;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 오래된 메시지 보관 작업 (chat.archive.enabled=true 일 때 chat.archive.cron 주기로 실행)
+ *
+ * 채팅방마다 보관 경계(MessageArchiveStore.archivedBefore)보다 오래된 메시지를 하루 단위로 읽어
+ * MessageBucket에 합쳐 저장한 뒤 message 컬렉션에서 지운다. 저장 후 삭제 전에 장애가 나도 양쪽에 같은 메시지가 남을 뿐이며
+ * 조회 시 hot 쪽이 우선하고 다음 실행에서 다시 합쳐진다.
+ * 읽은 뒤 수정된 메시지는 version이 달라 지워지지 않고 hot에 남으며, 다음 실행에서 수정된 내용으로 묶음을 갱신한다.
+ * 여러 노드에서 동시에 실행하면 같은 날짜의 묶음을 덮어쓸 수 있으므로 한 노드에서만 켜야 한다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "chat.archive.enabled", havingValue = "true")
+public class MessageArchiveJob {
+    private static final int DELETE_BATCH_SIZE = 1000;
+    private static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final MongoTemplate mongoTemplate;
+    private final MessageArchiveStore messageArchiveStore;
+    private final ReentrantLock runLock = new ReentrantLock();
+
+    private final Counter archivedMessages;
+    private final Counter archivedDays;
+    private final Timer runTimer;
+
+    public MessageArchiveJob(MongoTemplate mongoTemplate, MessageArchiveStore messageArchiveStore,
+                             MeterRegistry meterRegistry) {
+        this.mongoTemplate = mongoTemplate;
+        this.messageArchiveStore = messageArchiveStore;
+        this.archivedMessages = meterRegistry.counter("chat.archive.messages");
+        this.archivedDays = meterRegistry.counter("chat.archive.days");
+        this.runTimer = meterRegistry.timer("chat.archive.run");
+    }
+
+    @Scheduled(cron = "${chat.archive.cron:0 30 4 * * *}", zone = "Asia/Seoul")
+    public void run() {
+        if (!runLock.tryLock()) {
+            return;
+        }
+        try {
+            runTimer.record(this::archiveAll);
+        } catch (RuntimeException e) {
+            log.error("메시지 보관 실패: {}", e.getMessage(), e);
+        } finally {
+            runLock.unlock();
+        }
+    }
+
+    // hot 컬렉션에서 지운 메시지 수 반환
+    public long archiveAll() {
+        LocalDateTime cutoff = messageArchiveStore.archivedBefore();
+        // { chatRoomId: 1, ... } 인덱스로 DISTINCT_SCAN
+        List<Long> chatRoomIds = mongoTemplate.findDistinct(new Query(), "chatRoomId", Message.class, Long.class);
+        log.info("메시지 보관 시작 - 기준: {} 이전, 채팅방 수: {}", cutoff, chatRoomIds.size());
+
+        long archived = 0;
+        for (Long chatRoomId : chatRoomIds) {
+            archived += archiveChatRoom(chatRoomId, cutoff);
+        }
+        log.info("메시지 보관 완료 - {}건", archived);
+        return archived;
+    }
+
+    long archiveChatRoom(Long chatRoomId, LocalDateTime cutoff) {
+        long removed = 0;
+        LocalDateTime from = EPOCH;
+        while (true) {
+            // 남은 메시지 중 가장 오래된 날짜부터 하루씩 (수정되어 지우지 못한 메시지에서 멈추지 않도록 from 이후만)
+            Message oldest = mongoTemplate.findOne(Query.query(Criteria.where("chatRoomId").is(chatRoomId)
+                            .and("createdAt").gte(from).lt(cutoff))
+                    .with(Sort.by(Sort.Direction.ASC, "createdAt", "messageId")), Message.class);
+            if (oldest == null) {
+                return removed;
+            }
+
+            LocalDate day = oldest.getCreatedAt().toLocalDate();
+            LocalDateTime end = day.plusDays(1).atStartOfDay();
+            if (end.isAfter(cutoff)) {
+                end = cutoff;
+            }
+            List<Message> messages = mongoTemplate.find(Query.query(Criteria.where("chatRoomId").is(chatRoomId)
+                    .and("createdAt").gte(day.atStartOfDay()).lt(end)), Message.class);
+
+            messageArchiveStore.archive(chatRoomId, day, messages).block();
+            removed += removeArchived(messages);
+            archivedDays.increment();
+            from = end;
+        }
+    }
+
+    // 보관한 버전 그대로인 메시지만 삭제
+    private long removeArchived(List<Message> messages) {
+        long removed = 0;
+        for (int from = 0; from < messages.size(); from += DELETE_BATCH_SIZE) {
+            BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Message.class);
+            for (Message message : messages.subList(from, Math.min(messages.size(), from + DELETE_BATCH_SIZE))) {
+                bulk.remove(Query.query(Criteria.where("_id").is(message.getMessageId())
+                        .and("version").is(message.getVersion())));
+            }
+            BulkWriteResult result = bulk.execute();
+            removed += result.getDeletedCount();
+        }
+        archivedMessages.increment(removed);
+        return removed;
+    }
+}
@@ -0,0 +1,234 @@
+package com.ovengers.chatservice.mongodb.archive;
+
+import com.ovengers.chatservice.mongodb.document.Message;
+import com.ovengers.chatservice.mongodb.document.MessageBucket;
+import com.ovengers.chatservice.mongodb.repository.MessageBucketRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.auditing.DateTimeProvider;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 보관 메시지(message_bucket) 저장소
+ *
+ * archive-after-days보다 오래된 메시지는 MessageArchiveJob이 채팅방·날짜별 MessageBucket으로 옮긴다.
+ * 이력 조회는 먼저 message 컬렉션(hot)을 읽고, 페이지가 보관 경계(archivedBefore) 이전까지 닿을 때만 묶음을 읽어 합친다.
+ * 같은 messageId가 양쪽에 있으면(보관 직후 삭제 전 장애, 보관 중 수정) hot 쪽을 쓴다.
+ * 보관된 메시지를 수정/삭제하려면 find로 읽어 hot에 저장한 뒤 remove로 묶음에서 빼고, 다음 보관 때 다시 묶음으로 들어간다.
+ * 저장 전에 실패해도 메시지는 묶음에 그대로 남으며, remove 전에 실패하면 양쪽에 남지만 hot 쪽이 우선한다.
+ */
+@Slf4j
+@Component
+public class MessageArchiveStore {
+    private static final String LAST_DAY = "9999-12-31";
+    private static final String FIRST_DAY = "0000-01-01";
+    // 메시지 ID(ObjectId) 생성 시각과 createdAt의 날짜가 시간대 차이로 하루 어긋날 수 있음
+    private static final ZoneId OBJECT_ID_ZONE = ZoneId.of("Asia/Seoul");
+
+    public static final Comparator<Message> CHRONOLOGICAL = Comparator
+            .comparing(Message::getCreatedAt, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(Message::getMessageId);
+
+    private final MessageBucketRepository messageBucketRepository;
+    private final DateTimeProvider auditingDateTimeProvider;
+    private final int archiveAfterDays;
+    private final int bucketMaxMessages;
+
+    public MessageArchiveStore(MessageBucketRepository messageBucketRepository,
+                               DateTimeProvider auditingDateTimeProvider,
+                               @Value("${chat.archive.after-days:90}") int archiveAfterDays,
+                               @Value("${chat.archive.bucket-max-messages:1000}") int bucketMaxMessages) {
+        this.messageBucketRepository = messageBucketRepository;
+        this.auditingDateTimeProvider = auditingDateTimeProvider;
+        this.archiveAfterDays = archiveAfterDays;
+        this.bucketMaxMessages = bucketMaxMessages;
+    }
+
+    // 이 시각 이전에 생성된 메시지만 보관되어 있을 수 있음 (보관 기준 시각은 날이 지날수록 뒤로만 이동)
+    public LocalDateTime archivedBefore() {
+        return LocalDate.from(auditingDateTimeProvider.getNow().orElseThrow())
+                .minusDays(archiveAfterDays)
+                .atStartOfDay();
+    }
+
+    /**
+     * 최신순 hot 페이지에 (createdAt, messageId) 커서 이전의 보관 메시지를 합쳐 최신순 size개 반환
+     * createdAt이 null이면 가장 최근부터. hot 페이지가 가득 찼고 보관 경계보다 새로우면 묶음을 읽지 않는다.
+     */
+    public Flux<Message> mergeBefore(Long chatRoomId, LocalDateTime createdAt, ObjectId messageId, int size,
+                                     Flux<Message> hot) {
+        LocalDateTime horizon = archivedBefore();
+        return hot.collectList().flatMapMany(hotPage -> {
+            if (hotPage.size() >= size && !reachesArchive(hotPage.get(hotPage.size() - 1), horizon)) {
+                return Flux.fromIterable(hotPage);
+            }
+            return before(chatRoomId, createdAt, messageId, size).collectList()
+                    .flatMapIterable(cold -> merge(hotPage, cold, CHRONOLOGICAL.reversed(), size));
+        });
+    }
+
+    /**
+     * 오래된순 hot 페이지에 커서 이후의 보관 메시지를 합쳐 오래된순 size개 반환
+     * createdAt이 null이면 가장 처음부터. 커서가 보관 경계 이후면 묶음을 읽지 않는다.
+     */
+    public Flux<Message> mergeAfter(Long chatRoomId, LocalDateTime createdAt, ObjectId messageId, int size,
+                                    Flux<Message> hot) {
+        if (createdAt != null && !createdAt.isBefore(archivedBefore())) {
+            return hot;
+        }
+        return hot.collectList().flatMapMany(hotPage -> after(chatRoomId, createdAt, messageId, size).collectList()
+                .flatMapIterable(cold -> merge(hotPage, cold, CHRONOLOGICAL, size)));
+    }
+
+    // 커서 이전의 보관 메시지 (최신순). 묶음은 필요한 만큼만 하나씩 읽는다.
+    public Flux<Message> before(Long chatRoomId, LocalDateTime createdAt, ObjectId messageId, int size) {
+        String day = createdAt != null ? createdAt.toLocalDate().toString() : LAST_DAY;
+        return messageBucketRepository.findUpTo(chatRoomId, day)
+                .concatMapIterable(bucket -> {
+                    List<Message> messages = decode(bucket);
+                    Collections.reverse(messages);
+                    return messages;
+                }, 1)
+                .filter(message -> createdAt == null || compare(message, createdAt, messageId) < 0)
+                .take(size);
+    }
+
+    // 커서 이후의 보관 메시지 (오래된순)
+    public Flux<Message> after(Long chatRoomId, LocalDateTime createdAt, ObjectId messageId, int size) {
+        String day = createdAt != null ? createdAt.toLocalDate().toString() : FIRST_DAY;
+        return messageBucketRepository.findFrom(chatRoomId, day)
+                .concatMapIterable(MessageArchiveStore::decode, 1)
+                .filter(message -> createdAt == null || compare(message, createdAt, messageId) > 0)
+                .take(size);
+    }
+
+    public Mono<Long> count(Long chatRoomId) {
+        return messageBucketRepository.sumCountByChatRoomId(chatRoomId).defaultIfEmpty(0L);
+    }
+
+    // 가장 최근 보관 메시지 (채팅방 요약 재생성용)
+    public Mono<Message> latest(Long chatRoomId) {
+        return before(chatRoomId, null, null, 1).next();
+    }
+
+    // 보관된 메시지 조회 (묶음은 바꾸지 않음). 없으면 empty.
+    public Mono<Message> find(Long chatRoomId, String messageId) {
+        return bucketsAround(chatRoomId, messageId)
+                .concatMapIterable(MessageArchiveStore::decode, 1)
+                .filter(message -> messageId.equals(message.getMessageId()))
+                .next();
+    }
+
+    /**
+     * 보관된 메시지를 묶음에서 제거 (호출자가 hot 컬렉션에 저장한 뒤 호출)
+     * 묶음이 비면 삭제한다. 보관되어 있지 않으면 아무것도 하지 않는다.
+     */
+    public Mono<Void> remove(Long chatRoomId, String messageId) {
+        return bucketsAround(chatRoomId, messageId)
+                .concatMap(bucket -> {
+                    List<Message> messages = decode(bucket);
+                    if (!messages.removeIf(message -> messageId.equals(message.getMessageId()))) {
+                        return Mono.empty();
+                    }
+                    log.debug("채팅방 {} 보관 메시지 {} 묶음에서 제거", chatRoomId, messageId);
+                    return (messages.isEmpty()
+                            ? messageBucketRepository.deleteById(bucket.getId())
+                            : messageBucketRepository.save(toBucket(chatRoomId, bucket.getDay(), bucket.getPart(), messages)).then())
+                            .thenReturn(bucket);
+                })
+                .next()
+                .then();
+    }
+
+    // 메시지 ID 생성 날짜 전후의 묶음
+    private Flux<MessageBucket> bucketsAround(Long chatRoomId, String messageId) {
+        if (!ObjectId.isValid(messageId)) {
+            return Flux.empty();
+        }
+        LocalDate day = LocalDate.ofInstant(new ObjectId(messageId).getDate().toInstant(), OBJECT_ID_ZONE);
+        return messageBucketRepository.findBetween(chatRoomId, day.minusDays(1).toString(), day.plusDays(1).toString());
+    }
+
+    /**
+     * 하루치 hot 메시지를 그 날짜의 묶음에 합쳐 저장 (같은 messageId는 hot으로 대체), 저장한 메시지 수 반환
+     * 이미 보관된 날짜(보관 후 수정되어 hot으로 돌아온 메시지 등)도 다시 나눠 저장한다.
+     */
+    public Mono<Integer> archive(Long chatRoomId, LocalDate day, List<Message> hotMessages) {
+        String dayKey = day.toString();
+        return messageBucketRepository.findBetween(chatRoomId, dayKey, dayKey).collectList()
+                .flatMap(existing -> {
+                    Map<String, Message> merged = new LinkedHashMap<>();
+                    existing.forEach(bucket -> decode(bucket).forEach(message -> merged.put(message.getMessageId(), message)));
+                    hotMessages.forEach(message -> merged.put(message.getMessageId(), message));
+
+                    List<Message> sorted = new ArrayList<>(merged.values());
+                    sorted.sort(CHRONOLOGICAL);
+                    List<MessageBucket> buckets = new ArrayList<>();
+                    for (int from = 0, part = 0; from < sorted.size(); from += bucketMaxMessages, part++) {
+                        buckets.add(toBucket(chatRoomId, dayKey, part,
+                                sorted.subList(from, Math.min(sorted.size(), from + bucketMaxMessages))));
+                    }
+
+                    // 다시 나누면서 줄어든 part 삭제
+                    List<String> stale = existing.stream()
+                            .filter(bucket -> bucket.getPart() >= buckets.size())
+                            .map(MessageBucket::getId)
+                            .toList();
+                    return messageBucketRepository.saveAll(buckets).then()
+                            .then(stale.isEmpty() ? Mono.empty() : messageBucketRepository.deleteAllById(stale))
+                            .thenReturn(sorted.size());
+                });
+    }
+
+    static List<Message> decode(MessageBucket bucket) {
+        return MessageBucketCodec.decode(bucket.getChatRoomId(), bucket.getPayload());
+    }
+
+    private static MessageBucket toBucket(Long chatRoomId, String day, int part, List<Message> messages) {
+        MessageBucketCodec.Encoded encoded = MessageBucketCodec.encode(messages);
+        return MessageBucket.builder()
+                .id(MessageBucket.idOf(chatRoomId, day, part))
+                .chatRoomId(chatRoomId)
+                .day(day)
+                .part(part)
+                .count(messages.size())
+                .firstCreatedAt(messages.get(0).getCreatedAt())
+                .lastCreatedAt(messages.get(messages.size() - 1).getCreatedAt())
+                .rawBytes(encoded.rawBytes())
+                .payload(encoded.payload())
+                .build();
+    }
+
+    private static boolean reachesArchive(Message oldest, LocalDateTime horizon) {
+        return oldest.getCreatedAt() == null || oldest.getCreatedAt().isBefore(horizon);
+    }
+
+    // (createdAt, messageId) 순서 비교. ObjectId 16진 문자열은 사전순이 ObjectId 순서와 같다.
+    private static int compare(Message message, LocalDateTime createdAt, ObjectId messageId) {
+        int byTime = message.getCreatedAt() == null ? -1 : message.getCreatedAt().compareTo(createdAt);
+        if (byTime != 0 || messageId == null) {
+            return byTime;
+        }
+        return message.getMessageId().compareTo(messageId.toHexString());
+    }
+
+    private static List<Message> merge(List<Message> hot, List<Message> cold, Comparator<Message> order, int size) {
+        Map<String, Message> merged = new LinkedHashMap<>();
+        cold.forEach(message -> merged.put(message.getMessageId(), message));
+        hot.forEach(message -> merged.put(message.getMessageId(), message));
+        return merged.values().stream().sorted(order).limit(size).toList();
+    }
+}
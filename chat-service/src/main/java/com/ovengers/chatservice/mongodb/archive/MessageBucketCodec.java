@@ -0,0 +1,197 @@
+package com.ovengers.chatservice.mongodb.archive;
+
+import com.ovengers.chatservice.mongodb.document.Message;
+import org.bson.types.ObjectId;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * MessageBucket.payload 인코딩
+ *
+ * 도큐먼트마다 반복되던 필드 이름과 발신자 이름/이미지를 없애기 위해,
+ * 발신자(senderId, senderName, senderImage) 조합을 묶음당 한 번만 기록하고 메시지는 그 번호를 참조한다.
+ * messageId는 ObjectId면 12바이트로, 아니면 문자열로 기록하며 전체를 gzip으로 압축한다.
+ *
+ * [버전 1B][발신자 수 4B][발신자 × (senderId, senderName, senderImage)]
+ * [메시지 수 4B][메시지 × (messageId, 발신자 번호 4B, type, content, seq, systemSeq, version, createdAt, updatedAt)]
+ */
+public final class MessageBucketCodec {
+    private static final int VERSION = 1;
+    private static final int OBJECT_ID = 1;
+    private static final int STRING_ID = 2;
+
+    public record Encoded(byte[] payload, int rawBytes) {
+    }
+
+    private record Sender(String senderId, String senderName, String senderImage) {
+    }
+
+    private MessageBucketCodec() {
+    }
+
+    public static Encoded encode(List<Message> messages) {
+        try {
+            Map<Sender, Integer> senders = new HashMap<>();
+            List<Sender> senderList = new ArrayList<>();
+            int[] senderIndexes = new int[messages.size()];
+            for (int i = 0; i < messages.size(); i++) {
+                Message message = messages.get(i);
+                Sender sender = new Sender(message.getSenderId(), message.getSenderName(), message.getSenderImage());
+                senderIndexes[i] = senders.computeIfAbsent(sender, key -> {
+                    senderList.add(key);
+                    return senderList.size() - 1;
+                });
+            }
+
+            ByteArrayOutputStream raw = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(raw);
+            out.writeByte(VERSION);
+            out.writeInt(senderList.size());
+            for (Sender sender : senderList) {
+                writeString(out, sender.senderId());
+                writeString(out, sender.senderName());
+                writeString(out, sender.senderImage());
+            }
+
+            out.writeInt(messages.size());
+            for (int i = 0; i < messages.size(); i++) {
+                Message message = messages.get(i);
+                writeMessageId(out, message.getMessageId());
+                out.writeInt(senderIndexes[i]);
+                writeString(out, message.getType());
+                writeString(out, message.getContent());
+                writeLong(out, message.getSeq());
+                writeLong(out, message.getSystemSeq());
+                writeLong(out, message.getVersion());
+                writeDateTime(out, message.getCreatedAt());
+                writeDateTime(out, message.getUpdatedAt());
+            }
+            out.flush();
+
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(raw.size() / 4 + 64);
+            try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+                raw.writeTo(gzip);
+            }
+            return new Encoded(compressed.toByteArray(), raw.size());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static List<Message> decode(Long chatRoomId, byte[] payload) {
+        try (DataInputStream in = new DataInputStream(new GZIPInputStream(new ByteArrayInputStream(payload), 8192))) {
+            int version = in.readUnsignedByte();
+            if (version != VERSION) {
+                throw new IllegalStateException("지원하지 않는 메시지 묶음 버전입니다: " + version);
+            }
+
+            Sender[] senders = new Sender[in.readInt()];
+            for (int i = 0; i < senders.length; i++) {
+                senders[i] = new Sender(readString(in), readString(in), readString(in));
+            }
+
+            int count = in.readInt();
+            List<Message> messages = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                String messageId = readMessageId(in);
+                Sender sender = senders[in.readInt()];
+                messages.add(Message.builder()
+                        .messageId(messageId)
+                        .chatRoomId(chatRoomId)
+                        .senderId(sender.senderId())
+                        .senderName(sender.senderName())
+                        .senderImage(sender.senderImage())
+                        .type(readString(in))
+                        .content(readString(in))
+                        .seq(readLong(in))
+                        .systemSeq(readLong(in))
+                        .version(readLong(in))
+                        .createdAt(readDateTime(in))
+                        .updatedAt(readDateTime(in))
+                        .build());
+            }
+            return messages;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeMessageId(DataOutputStream out, String messageId) throws IOException {
+        if (ObjectId.isValid(messageId) && Objects.equals(new ObjectId(messageId).toHexString(), messageId)) {
+            out.writeByte(OBJECT_ID);
+            out.write(new ObjectId(messageId).toByteArray());
+        } else {
+            out.writeByte(STRING_ID);
+            writeString(out, messageId);
+        }
+    }
+
+    private static String readMessageId(DataInputStream in) throws IOException {
+        if (in.readUnsignedByte() == OBJECT_ID) {
+            byte[] bytes = new byte[12];
+            in.readFully(bytes);
+            return new ObjectId(bytes).toHexString();
+        }
+        return readString(in);
+    }
+
+    // writeUTF는 64KB 제한이 있어 길이(4B, null은 -1) + UTF-8로 기록
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeLong(DataOutputStream out, Long value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value);
+        }
+    }
+
+    private static Long readLong(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readLong() : null;
+    }
+
+    // LocalDateTime을 그대로 보존 (시간대 변환 없음)
+    private static void writeDateTime(DataOutputStream out, LocalDateTime value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value.toEpochSecond(ZoneOffset.UTC));
+            out.writeInt(value.getNano());
+        }
+    }
+
+    private static LocalDateTime readDateTime(DataInputStream in) throws IOException {
+        return in.readBoolean() ? LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC) : null;
+    }
+}
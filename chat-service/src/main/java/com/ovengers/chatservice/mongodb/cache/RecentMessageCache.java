@@ -0,0 +1,305 @@
+package com.ovengers.chatservice.mongodb.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ovengers.chatservice.mongodb.dto.MessageDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.function.IntFunction;
+
+/**
+ * 채팅방별 최근 메시지 링 버퍼
+ *
+ * 채팅방 입장 시 호출되는 최근 메시지 조회(/messages?size=N)를 Mongo 대신 메모리에서 처리한다.
+ * 링에는 항상 채팅방의 가장 최근 메시지 min(capacity, 전체 메시지 수)개가 시간순으로 들어 있으며,
+ * 메시지 저장/수정/삭제 시 갱신되고 seq가 건너뛰면(누락 의심) 해당 채팅방 링을 버린다.
+ * 다른 노드에서 저장된 메시지는 Redis pub/sub(UPDATE_CHANNEL)으로 전달받아 같은 방식으로 반영한다.
+ * 채팅방 단위로 최근 사용 기준 제거되며 전체 크기는 추정 바이트 수(max-weight-bytes)로 제한된다.
+ */
+@Slf4j
+@Component
+public class RecentMessageCache {
+    public static final String UPDATE_CHANNEL = "chat:recent-messages";
+
+    private static final Duration EXPIRE_AFTER_ACCESS = Duration.ofMinutes(30);
+
+    private final Cache<Long, RoomRing> cache;
+    private final int capacity;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Executor publishExecutor;
+    private final String nodeId;
+    private final Counter gapInvalidations;
+
+    enum Op {SAVED, CHANGED, EVICT}
+
+    record Update(String origin, Op op, Long chatRoomId, MessageDto message) {
+    }
+
+    @Autowired
+    public RecentMessageCache(@Value("${chat.recent-messages.capacity:100}") int capacity,
+                              @Value("${chat.recent-messages.max-weight-bytes:67108864}") long maxWeightBytes,
+                              @Qualifier("chat-template") StringRedisTemplate stringRedisTemplate,
+                              MeterRegistry meterRegistry) {
+        // 발행 순서 유지 및 Mongo 드라이버 스레드에서의 블로킹 방지를 위해 단일 스레드에서 발행
+        this(capacity, maxWeightBytes, stringRedisTemplate, meterRegistry, Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "recent-messages-publisher");
+            thread.setDaemon(true);
+            return thread;
+        }), UUID.randomUUID().toString());
+    }
+
+    RecentMessageCache(int capacity, long maxWeightBytes, StringRedisTemplate stringRedisTemplate,
+                       MeterRegistry meterRegistry, Executor publishExecutor, String nodeId) {
+        this.capacity = capacity;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.publishExecutor = publishExecutor;
+        this.nodeId = nodeId;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxWeightBytes)
+                .weigher((Long chatRoomId, RoomRing ring) -> ring.weight())
+                .expireAfterAccess(EXPIRE_AFTER_ACCESS)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "chat.recent-messages");
+        // 가중치 합계는 Caffeine 유지보수 작업이 반영한 값 (스크레이프가 유지보수를 일으키지 않도록 cleanUp은 호출하지 않음)
+        Gauge.builder("chat.recent-messages.weight.bytes", cache,
+                        c -> c.policy().eviction().map(eviction -> eviction.weightedSize().orElse(0L)).orElse(0L))
+                .register(meterRegistry);
+        this.gapInvalidations = meterRegistry.counter("chat.recent-messages.gap.invalidations");
+    }
+
+    /**
+     * 채팅방의 최근 메시지 size개 (시간순)
+     * 링이 없으면 loader로 capacity개를 읽어 링을 채운다. loader는 최근 limit개를 시간순으로 반환해야 한다.
+     * capacity보다 큰 요청이나 다른 요청이 링을 채우는 중인 경우에는 loader 결과를 그대로 반환한다.
+     */
+    public Flux<MessageDto> getLatest(Long chatRoomId, int size, IntFunction<Flux<MessageDto>> loader) {
+        if (size > capacity) {
+            return loader.apply(size);
+        }
+
+        RoomRing ring = cache.getIfPresent(chatRoomId);
+        if (ring != null) {
+            List<MessageDto> latest = ring.latest(size);
+            return latest != null ? Flux.fromIterable(latest) : loader.apply(size);
+        }
+
+        RoomRing loading = new RoomRing(capacity);
+        if (cache.asMap().putIfAbsent(chatRoomId, loading) != null) {
+            return loader.apply(size);
+        }
+
+        return loader.apply(capacity)
+                .collectList()
+                .doOnNext(messages -> complete(chatRoomId, loading, messages))
+                .doOnError(e -> cache.asMap().remove(chatRoomId, loading))
+                .doOnCancel(() -> cache.asMap().remove(chatRoomId, loading))
+                .flatMapIterable(messages -> messages.subList(Math.max(0, messages.size() - size), messages.size()));
+    }
+
+    // 새 메시지(일반/시스템) 저장 후 호출
+    public void onSaved(MessageDto message) {
+        applyAndPublish(Op.SAVED, message.getChatRoomId(), message);
+    }
+
+    // 메시지 수정/삭제 후 호출
+    public void onChanged(MessageDto message) {
+        applyAndPublish(Op.CHANGED, message.getChatRoomId(), message);
+    }
+
+    // 채팅방 삭제 시 호출
+    public void evict(Long chatRoomId) {
+        applyAndPublish(Op.EVICT, chatRoomId, null);
+    }
+
+    // 다른 노드에서 발행한 변경 반영
+    public void applyRemote(String body) {
+        try {
+            Update update = objectMapper.readValue(body, Update.class);
+            if (!nodeId.equals(update.origin())) {
+                apply(update.op(), update.chatRoomId(), update.message());
+            }
+        } catch (JsonProcessingException e) {
+            log.error("최근 메시지 캐시 갱신 메시지 해석 실패: {}", e.getMessage());
+        }
+    }
+
+    private void applyAndPublish(Op op, Long chatRoomId, MessageDto message) {
+        apply(op, chatRoomId, message);
+        publishExecutor.execute(() -> {
+            try {
+                stringRedisTemplate.convertAndSend(UPDATE_CHANNEL,
+                        objectMapper.writeValueAsString(new Update(nodeId, op, chatRoomId, message)));
+            } catch (Exception e) {
+                // 다른 노드는 다음 메시지의 seq 불일치로 링을 버리거나 만료 후 다시 채움
+                log.warn("채팅방 {} 최근 메시지 캐시 갱신 전파 실패: {}", chatRoomId, e.getMessage());
+            }
+        });
+    }
+
+    private void apply(Op op, Long chatRoomId, MessageDto message) {
+        switch (op) {
+            case SAVED -> cache.asMap().computeIfPresent(chatRoomId, (id, ring) -> {
+                if (ring.append(message)) {
+                    return ring;
+                }
+                gapInvalidations.increment();
+                log.debug("채팅방 {} 최근 메시지 seq 불일치로 링 제거 (seq={})", chatRoomId, message.getSeq());
+                return null;
+            });
+            case CHANGED -> cache.asMap().computeIfPresent(chatRoomId, (id, ring) -> {
+                ring.replace(message);
+                return ring;
+            });
+            case EVICT -> cache.invalidate(chatRoomId);
+        }
+    }
+
+    // 테스트용: 대기 중인 유지보수 작업 반영
+    void cleanUp() {
+        cache.cleanUp();
+    }
+
+    private void complete(Long chatRoomId, RoomRing loading, List<MessageDto> messages) {
+        cache.asMap().computeIfPresent(chatRoomId, (id, ring) -> {
+            if (ring != loading) {
+                return ring;
+            }
+            if (ring.fill(messages)) {
+                return ring;
+            }
+            gapInvalidations.increment();
+            return null;
+        });
+    }
+
+    /**
+     * 채팅방 하나의 링
+     * 로딩 전에 도착한 변경은 pending에 쌓았다가 fill() 시점에 순서대로 반영한다.
+     */
+    static final class RoomRing {
+        private static final int BASE_WEIGHT = 64;
+
+        private record PendingChange(Op op, MessageDto message) {
+        }
+
+        private final int capacity;
+        private final List<MessageDto> messages;
+        private final List<PendingChange> pending = new ArrayList<>();
+        private boolean loaded;
+        private long lastSeq;
+        private int weight = BASE_WEIGHT;
+
+        RoomRing(int capacity) {
+            this.capacity = capacity;
+            this.messages = new ArrayList<>(capacity + 1);
+        }
+
+        synchronized boolean fill(List<MessageDto> loadedMessages) {
+            for (MessageDto message : loadedMessages) {
+                if (message.getSeq() == null) {
+                    return false; // seq 백필 전 메시지가 있는 채팅방은 캐시하지 않음
+                }
+                add(message);
+            }
+            lastSeq = messages.isEmpty() ? 0L : messages.get(messages.size() - 1).getSeq();
+            loaded = true;
+
+            for (PendingChange change : pending) {
+                if (change.op() == Op.CHANGED) {
+                    replace(change.message());
+                } else if (!append(change.message())) {
+                    return false;
+                }
+            }
+            pending.clear();
+            return true;
+        }
+
+        // 다음 seq가 아니면 false (이미 반영된 seq는 내용만 교체)
+        synchronized boolean append(MessageDto message) {
+            if (!loaded) {
+                pending.add(new PendingChange(Op.SAVED, message));
+                return true;
+            }
+            if (message.getSeq() == null) {
+                return false;
+            }
+            if (message.getSeq() <= lastSeq) {
+                replace(message);
+                return true;
+            }
+            if (message.getSeq() != lastSeq + 1) {
+                return false;
+            }
+            add(message);
+            lastSeq = message.getSeq();
+            return true;
+        }
+
+        synchronized void replace(MessageDto message) {
+            if (!loaded) {
+                pending.add(new PendingChange(Op.CHANGED, message));
+                return;
+            }
+            for (int i = messages.size() - 1; i >= 0; i--) {
+                if (messages.get(i).getMessageId().equals(message.getMessageId())) {
+                    weight += estimateBytes(message) - estimateBytes(messages.get(i));
+                    messages.set(i, message);
+                    return;
+                }
+            }
+        }
+
+        // 로딩 중이면 null
+        synchronized List<MessageDto> latest(int size) {
+            if (!loaded) {
+                return null;
+            }
+            return List.copyOf(messages.subList(Math.max(0, messages.size() - size), messages.size()));
+        }
+
+        synchronized int weight() {
+            return weight;
+        }
+
+        private void add(MessageDto message) {
+            messages.add(message);
+            weight += estimateBytes(message);
+            if (messages.size() > capacity) {
+                weight -= estimateBytes(messages.remove(0));
+            }
+        }
+
+        // 객체 헤더 + 문자열(UTF-16) 크기 추정
+        private static int estimateBytes(MessageDto message) {
+            return BASE_WEIGHT + 2 * (length(message.getMessageId()) + length(message.getSenderId())
+                    + length(message.getSenderImage()) + length(message.getSenderName()) + length(message.getType())
+                    + length(message.getContent()) + length(message.getCursor())
+                    + length(message.getCreatedAt()) + length(message.getUpdatedAt()));
+        }
+
+        private static int length(String value) {
+            return value != null ? value.length() : 0;
+        }
+    }
+}
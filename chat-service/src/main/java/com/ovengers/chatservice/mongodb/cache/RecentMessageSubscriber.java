@@ -0,0 +1,26 @@
+package com.ovengers.chatservice.mongodb.cache;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RecentMessageSubscriber implements MessageListener {
+
+    private final RecentMessageCache recentMessageCache;
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            recentMessageCache.applyRemote(new String(message.getBody(), StandardCharsets.UTF_8));
+        } catch (Exception e) {
+            log.error("Failed to process recent message cache update", e);
+        }
+    }
+}
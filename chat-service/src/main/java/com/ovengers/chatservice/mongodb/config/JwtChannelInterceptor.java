@@ -6,6 +6,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.messaging.Message;
 import org.springframework.messaging.MessageChannel;
 import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
 import org.springframework.messaging.support.ChannelInterceptor;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -23,7 +24,11 @@ public class JwtChannelInterceptor implements ChannelInterceptor {
 
     @Override
     public Message<?> preSend(Message<?> message, MessageChannel channel) {
-        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(message);
+        // setUser가 반영되도록 메시지의 (변경 가능한) accessor를 사용
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null) {
+            accessor = StompHeaderAccessor.wrap(message);
+        }
 
         if (accessor.getCommand() != null && "CONNECT".equals(accessor.getCommand().name())) {
             String jwtToken = accessor.getFirstNativeHeader("Authorization");
@@ -50,6 +55,8 @@ public class JwtChannelInterceptor implements ChannelInterceptor {
                 UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(
                         new TokenUserInfo(userId, departmentId), null, authorities);
                 SecurityContextHolder.getContext().setAuthentication(auth);
+                // 세션 사용자 = userId (/user 목적지 해석 및 다중 노드 전달에 사용)
+                accessor.setUser(new UsernamePasswordAuthenticationToken(userId, null, authorities));
                 log.debug("WebSocket authenticated for userId: {}", userId);
             } catch (Exception e) {
                 log.error("WebSocket authentication failed: {}", e.getMessage());
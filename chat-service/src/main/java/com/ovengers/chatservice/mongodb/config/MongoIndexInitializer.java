@@ -0,0 +1,87 @@
+package com.ovengers.chatservice.mongodb.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 도큐먼트에 선언된 인덱스(@Indexed, @CompoundIndex) 생성 및 확인
+ *
+ * spring.data.mongodb.auto-index-creation 기본값이 false라 선언만으로는 인덱스가 만들어지지 않는다.
+ * 기동 시 선언된 인덱스를 createIndexes로 보장하고(이미 있으면 무시됨), 생성 후에도 없는 인덱스는 경고로 남긴다.
+ * 운영에서 인덱스를 별도로 관리하는 경우 chat.mongo.ensure-indexes=false로 끌 수 있다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "chat.mongo.ensure-indexes", havingValue = "true", matchIfMissing = true)
+public class MongoIndexInitializer {
+    private final MongoTemplate mongoTemplate;
+    private final MongoMappingContext mongoMappingContext;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureIndexes() {
+        IndexResolver indexResolver = IndexResolver.create(mongoMappingContext);
+
+        for (MongoPersistentEntity<?> entity : mongoMappingContext.getPersistentEntities()) {
+            if (entity.isAnnotationPresent(Document.class)) {
+                ensureIndexes(entity, indexResolver);
+            }
+        }
+    }
+
+    public List<String> ensureIndexes(Class<?> documentType) {
+        return ensureIndexes(mongoMappingContext.getRequiredPersistentEntity(documentType),
+                IndexResolver.create(mongoMappingContext));
+    }
+
+    // 생성 후에도 없는 인덱스 이름 목록을 반환
+    private List<String> ensureIndexes(MongoPersistentEntity<?> entity, IndexResolver indexResolver) {
+        String collection = entity.getCollection();
+        IndexOperations indexOps = mongoTemplate.indexOps(collection);
+        List<IndexDefinition> declared = new ArrayList<>();
+        indexResolver.resolveIndexFor(entity.getTypeInformation()).forEach(declared::add);
+        if (declared.isEmpty()) {
+            return List.of();
+        }
+
+        for (IndexDefinition index : declared) {
+            try {
+                indexOps.ensureIndex(index);
+            } catch (RuntimeException e) {
+                log.error("{} 컬렉션 인덱스 생성 실패 - {}: {}", collection, index.getIndexOptions(), e.getMessage());
+            }
+        }
+
+        Set<String> existing = indexOps.getIndexInfo().stream()
+                .map(IndexInfo::getName)
+                .collect(Collectors.toSet());
+        List<String> missing = declared.stream()
+                .map(index -> index.getIndexOptions().getString("name"))
+                .filter(name -> name != null && !existing.contains(name))
+                .toList();
+
+        if (missing.isEmpty()) {
+            log.info("{} 컬렉션 인덱스 확인 완료 - 선언 {}개", collection, declared.size());
+        } else {
+            log.warn("{} 컬렉션에 선언된 인덱스가 없습니다: {} (쿼리가 COLLSCAN으로 실행될 수 있음)", collection, missing);
+        }
+        return missing;
+    }
+}
@@ -0,0 +1,50 @@
+package com.ovengers.chatservice.mongodb.config;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+// Redis pub/sub 기반 전달 (chat.broker.mode=redis)
+@Component
+@ConditionalOnProperty(name = "chat.broker.mode", havingValue = "redis")
+public class RedisStompBridgeTransport implements StompBridgeTransport {
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer redisMessageListenerContainer;
+    private final Map<String, MessageListener> listeners = new ConcurrentHashMap<>();
+
+    public RedisStompBridgeTransport(@Qualifier("chat-template") StringRedisTemplate stringRedisTemplate,
+                                     RedisMessageListenerContainer redisMessageListenerContainer) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.redisMessageListenerContainer = redisMessageListenerContainer;
+    }
+
+    @Override
+    public void publish(String channel, String body) {
+        stringRedisTemplate.convertAndSend(channel, body);
+    }
+
+    @Override
+    public void subscribe(String channel, Consumer<String> listener) {
+        MessageListener messageListener = (message, pattern) ->
+                listener.accept(new String(message.getBody(), StandardCharsets.UTF_8));
+        listeners.put(channel, messageListener);
+        redisMessageListenerContainer.addMessageListener(messageListener, new ChannelTopic(channel));
+    }
+
+    @Override
+    public void unsubscribe(String channel) {
+        MessageListener messageListener = listeners.remove(channel);
+        if (messageListener != null) {
+            redisMessageListenerContainer.removeMessageListener(messageListener, new ChannelTopic(channel));
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.ovengers.chatservice.mongodb.config;
+
+import java.util.function.Consumer;
+
+/**
+ * chat-service 노드 간 STOMP 메시지 전달 수단 (StompRedisBridge 참고)
+ */
+public interface StompBridgeTransport {
+
+    void publish(String channel, String body);
+
+    void subscribe(String channel, Consumer<String> listener);
+
+    void unsubscribe(String channel);
+}
@@ -0,0 +1,45 @@
+package com.ovengers.chatservice.mongodb.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.converter.MessageConversionException;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.util.Collection;
+
+/**
+ * 여러 사용자에게 같은 내용을 보낼 때 payload를 한 번만 직렬화하는 전송기
+ *
+ * convertAndSendToUser를 사용자마다 호출하면 같은 DTO를 수신자 수만큼 JSON으로 변환한다.
+ * 여기서는 SimpMessagingTemplate의 컨버터로 한 번 변환한 byte[]를 모든 수신자의 메시지에 그대로 넣고,
+ * 수신자별로는 목적지 헤더만 새로 만든다. payload 배열은 전송 후 수정하지 않는다.
+ * 방(/sub/**) 브로드캐스트는 convertAndSend 한 번으로 이미 한 번만 직렬화되므로 대상이 아니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class StompFanoutSender {
+    private final SimpMessagingTemplate simpMessagingTemplate;
+
+    // /user/{userId}{destination} 으로 전송 (convertAndSendToUser와 같은 목적지)
+    public void convertAndSendToUsers(Collection<String> userIds, String destination, Object payload) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+
+        Message<?> serialized = serialize(payload);
+        String prefix = simpMessagingTemplate.getUserDestinationPrefix();
+        for (String userId : userIds) {
+            simpMessagingTemplate.send(prefix + StringUtils.replace(userId, "/", "%2F") + destination, serialized);
+        }
+    }
+
+    Message<?> serialize(Object payload) {
+        Message<?> message = simpMessagingTemplate.getMessageConverter().toMessage(payload, null);
+        if (message == null) {
+            throw new MessageConversionException("STOMP payload 직렬화 실패: " + payload.getClass().getName());
+        }
+        return message;
+    }
+}
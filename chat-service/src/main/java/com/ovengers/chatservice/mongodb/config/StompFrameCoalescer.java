@@ -0,0 +1,306 @@
+package com.ovengers.chatservice.mongodb.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeType;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.socket.messaging.SessionConnectEvent;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 세션별 STOMP MESSAGE 프레임 묶음 전송 (chat.stomp.coalesce.enabled=true 이고 클라이언트가 요청한 세션만)
+ *
+ * 클라이언트가 CONNECT 프레임에 chat-coalesce 헤더(true 또는 묶을 시간 ms)를 보내면, 그 세션의 같은 구독으로 가는
+ * JSON 메시지를 window 동안 모아 JSON 배열 하나로 보내고 chat-batch 헤더에 묶은 개수를 담는다.
+ * 한 건만 모이면 원래 프레임을 그대로 보낸다. 요청하지 않은 세션과 JSON이 아닌 메시지는 바로 전달된다.
+ * 요청한 window는 chat.stomp.coalesce.max-window-ms로 제한하고, max-messages / max-bytes를 넘으면 즉시 보낸다.
+ * 줄어든 프레임 수와 STOMP 헤더 바이트 수는 chat.stomp.coalesce.frames.saved / bytes.saved 카운터로 확인한다(rate로 초당 값).
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "chat.stomp.coalesce.enabled", havingValue = "true")
+public class StompFrameCoalescer implements ChannelInterceptor {
+    static final String CONNECT_HEADER = "chat-coalesce";
+    static final String BATCH_HEADER = "chat-batch";
+    // 묶어서 다시 보낸 메시지 표시 (STOMP 프레임 헤더로는 나가지 않음)
+    private static final String COALESCED_HEADER = "chatCoalesced";
+
+    private final MessageChannel clientOutboundChannel;
+    private final ScheduledExecutorService flusher;
+    private final long defaultWindowMs;
+    private final long maxWindowMs;
+    private final int maxMessages;
+    private final int maxBytes;
+
+    // sessionId -> window(ms), sessionId + 구독 ID -> 모으는 중인 메시지 / 전송 순서용 락
+    private final Map<String, Long> sessionWindows = new ConcurrentHashMap<>();
+    private final Map<BatchKey, Batch> batches = new ConcurrentHashMap<>();
+    private final Map<BatchKey, Object> flushLocks = new ConcurrentHashMap<>();
+
+    private final Counter messagesIn;
+    private final Counter framesOut;
+    private final Counter framesSaved;
+    private final Counter bytesSaved;
+
+    private record BatchKey(String sessionId, String subscriptionId) {
+    }
+
+    @Autowired
+    public StompFrameCoalescer(@Lazy @Qualifier("clientOutboundChannel") MessageChannel clientOutboundChannel,
+                               @Value("${chat.stomp.coalesce.window-ms:50}") long defaultWindowMs,
+                               @Value("${chat.stomp.coalesce.max-window-ms:200}") long maxWindowMs,
+                               @Value("${chat.stomp.coalesce.max-messages:100}") int maxMessages,
+                               @Value("${chat.stomp.coalesce.max-bytes:65536}") int maxBytes,
+                               MeterRegistry meterRegistry) {
+        this(clientOutboundChannel, Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "stomp-coalescer");
+            thread.setDaemon(true);
+            return thread;
+        }), defaultWindowMs, maxWindowMs, maxMessages, maxBytes, meterRegistry);
+    }
+
+    StompFrameCoalescer(MessageChannel clientOutboundChannel, ScheduledExecutorService flusher, long defaultWindowMs,
+                        long maxWindowMs, int maxMessages, int maxBytes, MeterRegistry meterRegistry) {
+        this.clientOutboundChannel = clientOutboundChannel;
+        this.flusher = flusher;
+        this.defaultWindowMs = defaultWindowMs;
+        this.maxWindowMs = maxWindowMs;
+        this.maxMessages = maxMessages;
+        this.maxBytes = maxBytes;
+        this.messagesIn = meterRegistry.counter("chat.stomp.coalesce.messages");
+        this.framesOut = meterRegistry.counter("chat.stomp.coalesce.frames");
+        this.framesSaved = meterRegistry.counter("chat.stomp.coalesce.frames.saved");
+        this.bytesSaved = meterRegistry.counter("chat.stomp.coalesce.bytes.saved");
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap(message);
+        if (accessor.getMessageType() != SimpMessageType.MESSAGE || accessor.getHeader(COALESCED_HEADER) != null) {
+            return message;
+        }
+
+        String sessionId = accessor.getSessionId();
+        Long windowMs = sessionId != null ? sessionWindows.get(sessionId) : null;
+        if (windowMs == null || accessor.getSubscriptionId() == null) {
+            return message;
+        }
+
+        BatchKey key = new BatchKey(sessionId, accessor.getSubscriptionId());
+        if (!(message.getPayload() instanceof byte[]) || !isJson(accessor.getContentType())) {
+            // 순서 유지를 위해 모으던 메시지를 먼저 보냄
+            flush(key);
+            return message;
+        }
+
+        messagesIn.increment();
+        while (true) {
+            Batch batch = batches.computeIfAbsent(key, ignored -> {
+                Batch created = new Batch();
+                flusher.schedule(() -> flush(key, created), windowMs, TimeUnit.MILLISECONDS);
+                return created;
+            });
+            Batch.Result result = batch.add(message, maxMessages, maxBytes);
+            if (result == Batch.Result.CLOSED) {
+                // 방금 보내진 묶음: 새 묶음에 다시 추가
+                continue;
+            }
+            if (result == Batch.Result.FULL) {
+                flush(key, batch);
+            }
+            return null;
+        }
+    }
+
+    @EventListener
+    public void handleConnect(SessionConnectEvent event) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap(event.getMessage());
+        Long windowMs = parseWindow(accessor.getFirstNativeHeader(CONNECT_HEADER));
+        if (accessor.getSessionId() != null && windowMs != null) {
+            sessionWindows.put(accessor.getSessionId(), windowMs);
+            log.debug("세션 {} STOMP 프레임 묶음 전송 - window {}ms", accessor.getSessionId(), windowMs);
+        }
+    }
+
+    @EventListener
+    public void handleDisconnect(SessionDisconnectEvent event) {
+        String sessionId = event.getSessionId();
+        if (sessionWindows.remove(sessionId) != null) {
+            // 모으던 메시지는 버리고 묶음을 닫아 예약된 flush가 끊긴 세션으로 보내지 않도록 함
+            batches.entrySet().removeIf(entry -> {
+                if (!entry.getKey().sessionId().equals(sessionId)) {
+                    return false;
+                }
+                entry.getValue().close();
+                return true;
+            });
+            flushLocks.keySet().removeIf(key -> key.sessionId().equals(sessionId));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flusher.shutdownNow();
+    }
+
+    // 모으던 메시지를 모두 즉시 전송
+    void flushAll() {
+        batches.forEach(this::flush);
+    }
+
+    // "true" -> 기본 window, 숫자 -> max-window-ms 이하로 제한, 그 외(false, 0, 잘못된 값) -> 사용 안 함
+    Long parseWindow(String header) {
+        if (header == null) {
+            return null;
+        }
+        if ("true".equalsIgnoreCase(header.trim())) {
+            return Math.min(defaultWindowMs, maxWindowMs);
+        }
+        try {
+            long requested = Long.parseLong(header.trim());
+            return requested > 0 ? Math.min(requested, maxWindowMs) : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private void flush(BatchKey key) {
+        Batch batch = batches.get(key);
+        if (batch != null) {
+            flush(key, batch);
+        }
+    }
+
+    // 같은 구독의 묶음 간 전송 순서를 유지하도록 키별로 직렬화 (다른 세션/구독의 전송은 막지 않음)
+    private void flush(BatchKey key, Batch batch) {
+        synchronized (flushLocks.computeIfAbsent(key, ignored -> new Object())) {
+            batches.remove(key, batch);
+            List<Message<?>> messages = batch.close();
+            if (!messages.isEmpty()) {
+                send(key, messages);
+            }
+        }
+    }
+
+    private void send(BatchKey key, List<Message<?>> messages) {
+
+        Message<?> frame = messages.size() == 1 ? messages.get(0) : combine(messages);
+        framesOut.increment();
+        if (messages.size() > 1) {
+            framesSaved.increment(messages.size() - 1);
+            bytesSaved.increment(savedBytes(messages, frame));
+        }
+        try {
+            clientOutboundChannel.send(MessageBuilder.fromMessage(frame).setHeader(COALESCED_HEADER, Boolean.TRUE).build());
+        } catch (RuntimeException e) {
+            log.warn("STOMP 묶음 전송 실패 - session={}: {}", key.sessionId(), e.getMessage());
+        }
+    }
+
+    // [payload1,payload2,...] 와 chat-batch 헤더
+    private static Message<byte[]> combine(List<Message<?>> messages) {
+        int length = 1 + messages.size();
+        for (Message<?> message : messages) {
+            length += ((byte[]) message.getPayload()).length;
+        }
+        byte[] payload = new byte[length];
+        int position = 0;
+        payload[position++] = '[';
+        for (int i = 0; i < messages.size(); i++) {
+            if (i > 0) {
+                payload[position++] = ',';
+            }
+            byte[] part = (byte[]) messages.get(i).getPayload();
+            System.arraycopy(part, 0, payload, position, part.length);
+            position += part.length;
+        }
+        payload[position] = ']';
+
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap(messages.get(messages.size() - 1));
+        accessor.setNativeHeader(BATCH_HEADER, String.valueOf(messages.size()));
+        return MessageBuilder.createMessage(payload, accessor.getMessageHeaders());
+    }
+
+    // 묶지 않았을 때의 프레임 크기 합 - 묶은 프레임 크기
+    static long savedBytes(List<Message<?>> messages, Message<?> frame) {
+        long separate = 0;
+        for (Message<?> message : messages) {
+            separate += frameBytes(message, null);
+        }
+        return separate - frameBytes(frame, String.valueOf(messages.size()));
+    }
+
+    // STOMP MESSAGE 프레임 크기 근사 (command, destination, subscription, message-id, content-type, content-length, 본문, NUL)
+    static long frameBytes(Message<?> message, String batchHeader) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap(message);
+        int payloadLength = ((byte[]) message.getPayload()).length;
+        long bytes = "MESSAGE\n".length()
+                + headerBytes("destination", accessor.getDestination())
+                + headerBytes("subscription", accessor.getSubscriptionId())
+                + headerBytes("message-id", "00000000-0000-0000-0000-000000000000-0")
+                + headerBytes("content-type", accessor.getContentType() != null ? accessor.getContentType().toString() : null)
+                + headerBytes("content-length", String.valueOf(payloadLength))
+                + 1 + payloadLength + 1;
+        if (batchHeader != null) {
+            bytes += headerBytes(BATCH_HEADER, batchHeader);
+        }
+        return bytes;
+    }
+
+    private static int headerBytes(String name, String value) {
+        return value == null ? 0 : name.length() + 2 + value.getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    private static boolean isJson(MimeType contentType) {
+        return contentType != null && MimeTypeUtils.APPLICATION_JSON.isCompatibleWith(contentType);
+    }
+
+    private static final class Batch {
+        enum Result { ADDED, FULL, CLOSED }
+
+        private final List<Message<?>> messages = new ArrayList<>();
+        private int bytes;
+        private boolean closed;
+
+        synchronized Result add(Message<?> message, int maxMessages, int maxBytes) {
+            if (closed) {
+                return Result.CLOSED;
+            }
+            messages.add(message);
+            bytes += ((byte[]) message.getPayload()).length;
+            return messages.size() >= maxMessages || bytes >= maxBytes ? Result.FULL : Result.ADDED;
+        }
+
+        synchronized List<Message<?>> close() {
+            if (closed) {
+                return List.of();
+            }
+            closed = true;
+            return messages;
+        }
+    }
+}
@@ -0,0 +1,260 @@
+package com.ovengers.chatservice.mongodb.config;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeType;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.socket.messaging.SessionConnectedEvent;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Principal;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 다중 노드 STOMP 전달 (chat.broker.mode=redis)
+ *
+ * 각 노드는 simple broker로 자기 노드의 세션에만 메시지를 전달한다. 이 인터셉터는 brokerChannel로 들어온
+ * /sub/** 와 /user/** 메시지를 목적지별 Redis 채널로 발행하고, 다른 노드에서 받은 메시지는 relayed 헤더를 붙여
+ * 자기 brokerChannel로 다시 보낸다(재발행하지 않음).
+ * 노드는 로컬 구독자가 있는 목적지(/sub/**)와 로컬 세션이 있는 사용자(/user/**)의 채널만 구독하므로
+ * 메시지는 실제로 구독자가 있는 노드에만 전달된다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "chat.broker.mode", havingValue = "redis")
+public class StompRedisBridge implements ChannelInterceptor {
+    static final String RELAYED_HEADER = "chat-relayed";
+    private static final String CHANNEL_PREFIX = "chat:stomp:";
+    private static final String USER_SUBSCRIPTION = "__user__";
+
+    private final StompBridgeTransport transport;
+    private final MessageChannel brokerChannel;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Executor publishExecutor;
+    private final String nodeId;
+    private final Counter published;
+    private final Counter received;
+
+    // sessionId -> (subscriptionId -> 채널), 채널 -> 로컬 구독 수
+    private final Map<String, Map<String, String>> sessionChannels = new HashMap<>();
+    private final Map<String, Integer> channelRefCounts = new HashMap<>();
+
+    record Envelope(String origin, String destination, String contentType, byte[] payload) {
+    }
+
+    @Autowired
+    public StompRedisBridge(StompBridgeTransport transport,
+                            @Lazy @Qualifier("brokerChannel") MessageChannel brokerChannel,
+                            MeterRegistry meterRegistry) {
+        // 발행 순서 유지 및 Mongo 드라이버 스레드에서의 블로킹 방지를 위해 단일 스레드에서 발행
+        this(transport, brokerChannel, meterRegistry, Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "stomp-bridge-publisher");
+            thread.setDaemon(true);
+            return thread;
+        }), UUID.randomUUID().toString());
+    }
+
+    StompRedisBridge(StompBridgeTransport transport, MessageChannel brokerChannel, MeterRegistry meterRegistry,
+                     Executor publishExecutor, String nodeId) {
+        this.transport = transport;
+        this.brokerChannel = brokerChannel;
+        this.publishExecutor = publishExecutor;
+        this.nodeId = nodeId;
+        this.published = meterRegistry.counter("chat.stomp.bridge.published");
+        this.received = meterRegistry.counter("chat.stomp.bridge.received");
+    }
+
+    @Override
+    public void postSend(Message<?> message, MessageChannel channel, boolean sent) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap(message);
+        if (!sent || accessor.getMessageType() != SimpMessageType.MESSAGE
+                || accessor.getHeader(RELAYED_HEADER) != null) {
+            return;
+        }
+
+        String bridgeChannel = channelFor(accessor.getDestination());
+        if (bridgeChannel == null) {
+            return;
+        }
+
+        byte[] payload = toBytes(message.getPayload());
+        if (payload == null) {
+            log.warn("STOMP 브리지 - 지원하지 않는 payload 타입: {}", message.getPayload().getClass());
+            return;
+        }
+
+        MimeType contentType = accessor.getContentType();
+        Envelope envelope = new Envelope(nodeId, accessor.getDestination(),
+                contentType != null ? contentType.toString() : null, payload);
+        publishExecutor.execute(() -> publish(bridgeChannel, envelope));
+    }
+
+    @EventListener
+    public void handleSubscribe(SessionSubscribeEvent event) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap(event.getMessage());
+        String destination = accessor.getDestination();
+        if (destination != null && destination.startsWith("/sub/")) {
+            register(accessor.getSessionId(), accessor.getSubscriptionId(), channelFor(destination));
+        }
+    }
+
+    @EventListener
+    public void handleUnsubscribe(SessionUnsubscribeEvent event) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap(event.getMessage());
+        unregister(accessor.getSessionId(), accessor.getSubscriptionId());
+    }
+
+    @EventListener
+    public void handleConnected(SessionConnectedEvent event) {
+        Principal user = event.getUser();
+        if (user != null) {
+            String sessionId = SimpMessageHeaderAccessor.getSessionId(event.getMessage().getHeaders());
+            register(sessionId, USER_SUBSCRIPTION, channelFor("/user/" + user.getName() + "/"));
+        }
+    }
+
+    @EventListener
+    public void handleDisconnect(SessionDisconnectEvent event) {
+        unregisterSession(event.getSessionId());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (publishExecutor instanceof ExecutorService executorService) {
+            executorService.shutdown();
+        }
+    }
+
+    synchronized void register(String sessionId, String subscriptionId, String bridgeChannel) {
+        if (sessionId == null || subscriptionId == null || bridgeChannel == null) {
+            return;
+        }
+
+        String previous = sessionChannels.computeIfAbsent(sessionId, key -> new HashMap<>())
+                .put(subscriptionId, bridgeChannel);
+        if (previous != null) {
+            release(previous);
+        }
+
+        if (channelRefCounts.merge(bridgeChannel, 1, Integer::sum) == 1) {
+            transport.subscribe(bridgeChannel, this::onRemoteMessage);
+            log.debug("STOMP 브리지 채널 구독: {}", bridgeChannel);
+        }
+    }
+
+    synchronized void unregister(String sessionId, String subscriptionId) {
+        Map<String, String> subscriptions = sessionChannels.get(sessionId);
+        if (subscriptions == null) {
+            return;
+        }
+
+        String bridgeChannel = subscriptions.remove(subscriptionId);
+        if (bridgeChannel != null) {
+            release(bridgeChannel);
+        }
+        if (subscriptions.isEmpty()) {
+            sessionChannels.remove(sessionId);
+        }
+    }
+
+    synchronized void unregisterSession(String sessionId) {
+        Map<String, String> subscriptions = sessionChannels.remove(sessionId);
+        if (subscriptions != null) {
+            subscriptions.values().forEach(this::release);
+        }
+    }
+
+    synchronized boolean isSubscribed(String bridgeChannel) {
+        return channelRefCounts.containsKey(bridgeChannel);
+    }
+
+    // /sub/{roomId}/chat -> chat:stomp:sub:{roomId}/chat, /user/{userId}/... -> chat:stomp:user:{userId}
+    static String channelFor(String destination) {
+        if (destination == null) {
+            return null;
+        }
+        if (destination.startsWith("/sub/")) {
+            return CHANNEL_PREFIX + "sub:" + destination.substring("/sub/".length());
+        }
+        if (destination.startsWith("/user/")) {
+            int end = destination.indexOf('/', "/user/".length());
+            String userId = end < 0 ? destination.substring("/user/".length())
+                    : destination.substring("/user/".length(), end);
+            return userId.isEmpty() ? null : CHANNEL_PREFIX + "user:" + userId;
+        }
+        return null;
+    }
+
+    private void release(String bridgeChannel) {
+        Integer remaining = channelRefCounts.computeIfPresent(bridgeChannel, (key, count) -> count > 1 ? count - 1 : null);
+        if (remaining == null) {
+            transport.unsubscribe(bridgeChannel);
+            log.debug("STOMP 브리지 채널 구독 해제: {}", bridgeChannel);
+        }
+    }
+
+    private void publish(String bridgeChannel, Envelope envelope) {
+        try {
+            transport.publish(bridgeChannel, objectMapper.writeValueAsString(envelope));
+            published.increment();
+        } catch (Exception e) {
+            log.error("STOMP 브리지 발행 실패 - channel={}: {}", bridgeChannel, e.getMessage());
+        }
+    }
+
+    private void onRemoteMessage(String body) {
+        try {
+            Envelope envelope = objectMapper.readValue(body, Envelope.class);
+            if (nodeId.equals(envelope.origin())) {
+                return;
+            }
+
+            SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+            accessor.setDestination(envelope.destination());
+            if (envelope.contentType() != null) {
+                accessor.setContentType(MimeTypeUtils.parseMimeType(envelope.contentType()));
+            }
+            accessor.setHeader(RELAYED_HEADER, envelope.origin());
+            accessor.setLeaveMutable(true);
+
+            brokerChannel.send(MessageBuilder.createMessage(envelope.payload(), accessor.getMessageHeaders()));
+            received.increment();
+        } catch (JsonProcessingException e) {
+            log.error("STOMP 브리지 메시지 해석 실패: {}", e.getMessage());
+        }
+    }
+
+    private static byte[] toBytes(Object payload) {
+        if (payload instanceof byte[] bytes) {
+            return bytes;
+        }
+        if (payload instanceof String text) {
+            return text.getBytes(StandardCharsets.UTF_8);
+        }
+        return null;
+    }
+}
@@ -1,8 +1,10 @@
 package com.ovengers.chatservice.mongodb.config;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
 import org.springframework.web.socket.config.annotation.*;
 
@@ -12,14 +14,53 @@ import org.springframework.web.socket.config.annotation.*;
 public class WebSocketStompConfig implements WebSocketMessageBrokerConfigurer {
 
     private final JwtChannelInterceptor jwtChannelInterceptor;
+    private final ObjectProvider<StompRedisBridge> stompRedisBridge;
+    private final ObjectProvider<StompFrameCoalescer> stompFrameCoalescer;
 
     @Value("${app.cors.allowed-origins:http://localhost:3000,http://localhost:8080}")
     private String[] allowedOrigins;
 
+    /**
+     * 브로커 모드
+     * simple: 단일 노드 (기본값)
+     * redis: 노드별 simple broker + Redis pub/sub 브리지 (StompRedisBridge)
+     * relay: 외부 STOMP 브로커 relay (/sub, /queue 목적지를 그대로 지원하는 브로커 필요, 예: ActiveMQ Artemis)
+     */
+    @Value("${chat.broker.mode:simple}")
+    private String brokerMode;
+
+    @Value("${chat.broker.relay.host:localhost}")
+    private String relayHost;
+
+    @Value("${chat.broker.relay.port:61613}")
+    private int relayPort;
+
+    @Value("${chat.broker.relay.login:guest}")
+    private String relayLogin;
+
+    @Value("${chat.broker.relay.passcode:guest}")
+    private String relayPasscode;
+
     @Override
     public void configureMessageBroker(MessageBrokerRegistry registry) {
-        registry.enableSimpleBroker("/sub", "/queue"); // 메시지 수신 (개인, 그룹)
+        if ("relay".equals(brokerMode)) {
+            registry.enableStompBrokerRelay("/sub", "/queue")
+                    .setRelayHost(relayHost)
+                    .setRelayPort(relayPort)
+                    .setClientLogin(relayLogin)
+                    .setClientPasscode(relayPasscode)
+                    .setSystemLogin(relayLogin)
+                    .setSystemPasscode(relayPasscode)
+                    // 다른 노드에 연결된 사용자에게 /user 메시지 전달
+                    .setUserDestinationBroadcast("/sub/unresolved-user")
+                    .setUserRegistryBroadcast("/sub/simp-user-registry");
+        } else {
+            registry.enableSimpleBroker("/sub", "/queue"); // 메시지 수신 (개인, 그룹)
+        }
         registry.setApplicationDestinationPrefixes("/pub"); // 메시지 발신
+        // 채팅방 레인이 정한 전송 순서가 clientOutboundChannel 스레드 풀에서 세션별로 뒤바뀌지 않도록 유지
+        registry.setPreservePublishOrder(true);
+        stompRedisBridge.ifAvailable(bridge -> registry.configureBrokerChannel().interceptors(bridge));
     }
 
     @Override
@@ -30,8 +71,14 @@ public class WebSocketStompConfig implements WebSocketMessageBrokerConfigurer {
     }
 
     @Override
-    public void configureClientInboundChannel(org.springframework.messaging.simp.config.ChannelRegistration registration) {
+    public void configureClientInboundChannel(ChannelRegistration registration) {
         registration.interceptors(jwtChannelInterceptor); // 인터셉터 추가
     }
 
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        // CONNECT 헤더로 요청한 세션만 메시지를 묶어 전송 (chat.stomp.coalesce.enabled=true)
+        stompFrameCoalescer.ifAvailable(coalescer -> registration.interceptors(coalescer));
+    }
+
 }
\ No newline at end of file
@@ -1,6 +1,7 @@
 package com.ovengers.chatservice.mongodb.controller;
 
 import com.ovengers.common.auth.TokenUserInfo;
+import com.ovengers.chatservice.mongodb.dto.MessageChangesDto;
 import com.ovengers.chatservice.mongodb.dto.MessageDto;
 import com.ovengers.chatservice.mongodb.dto.MessageRequestDto;
 import com.ovengers.chatservice.mongodb.service.MessageService;
@@ -12,7 +13,6 @@ import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.Positive;
 import lombok.RequiredArgsConstructor;
-import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.validation.annotation.Validated;
@@ -20,8 +20,6 @@ import org.springframework.web.bind.annotation.*;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-import java.time.LocalDateTime;
-
 @RestController
 @RequiredArgsConstructor
 @Validated
@@ -40,12 +38,14 @@ public class MessageController {
 ////                .doOnSuccess(messageDto -> messagingTemplate.convertAndSend("/sub/" + chatRoomId + "/chat", messageDto));
 //    }
 
-    @Operation(summary = "채팅방의 메시지 조회 (전체)", description = "채팅방의 모든 메시지 조회")
+    @Operation(summary = "채팅방의 메시지 조회 (처음부터)", description = "가장 오래된 메시지부터 size개 조회, 이후는 마지막 메시지의 cursor로 /messages/after 조회")
     @GetMapping("/{chatRoomId}/messageList")
     public Flux<MessageDto> getMessages(
             @PathVariable @Positive(message = "채팅방 ID는 양수여야 합니다.") Long chatRoomId,
-            @AuthenticationPrincipal TokenUserInfo tokenUserInfo) {
-        return messageService.getMessages(chatRoomId, tokenUserInfo.getId());
+            @AuthenticationPrincipal TokenUserInfo tokenUserInfo,
+            @Parameter(description = "조회할 메시지 개수")
+            @RequestParam(defaultValue = "50") @Min(1) @Max(200) int size) {
+        return messageService.getMessages(chatRoomId, tokenUserInfo.getId(), size);
     }
 
     @Operation(summary = "채팅방의 최근 메시지 조회 (페이징)", description = "최근 메시지를 size개만큼 조회")
@@ -58,26 +58,40 @@ public class MessageController {
         return messageService.getMessagesWithPaging(chatRoomId, tokenUserInfo.getId(), size);
     }
 
-    @Operation(summary = "이전 메시지 조회 (커서 기반)", description = "특정 시간 이전의 메시지를 size개만큼 조회")
+    @Operation(summary = "이전 메시지 조회 (커서 기반)", description = "커서 이전의 메시지를 size개만큼 조회")
     @GetMapping("/{chatRoomId}/messages/before")
     public Flux<MessageDto> getMessagesBefore(
             @PathVariable @Positive(message = "채팅방 ID는 양수여야 합니다.") Long chatRoomId,
             @AuthenticationPrincipal TokenUserInfo tokenUserInfo,
-            @Parameter(description = "커서 시간 (이 시간 이전 메시지 조회)")
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime cursor,
+            @Parameter(description = "가장 오래된 메시지의 cursor (ISO 시간도 허용)")
+            @RequestParam String cursor,
             @Parameter(description = "조회할 메시지 개수")
             @RequestParam(defaultValue = "50") @Min(1) @Max(200) int size) {
         return messageService.getMessagesBefore(chatRoomId, tokenUserInfo.getId(), cursor, size);
     }
 
-    @Operation(summary = "새 메시지 조회 (커서 기반)", description = "특정 시간 이후의 새 메시지 조회")
+    @Operation(summary = "새 메시지 조회 (커서 기반)", description = "커서 이후의 새 메시지를 size개만큼 조회")
     @GetMapping("/{chatRoomId}/messages/after")
     public Flux<MessageDto> getMessagesAfter(
             @PathVariable @Positive(message = "채팅방 ID는 양수여야 합니다.") Long chatRoomId,
             @AuthenticationPrincipal TokenUserInfo tokenUserInfo,
-            @Parameter(description = "커서 시간 (이 시간 이후 메시지 조회)")
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime cursor) {
-        return messageService.getMessagesAfter(chatRoomId, tokenUserInfo.getId(), cursor);
+            @Parameter(description = "가장 최근 메시지의 cursor (ISO 시간도 허용)")
+            @RequestParam String cursor,
+            @Parameter(description = "조회할 메시지 개수")
+            @RequestParam(defaultValue = "50") @Min(1) @Max(200) int size) {
+        return messageService.getMessagesAfter(chatRoomId, tokenUserInfo.getId(), cursor, size);
+    }
+
+    @Operation(summary = "변경분 동기화 (재연결용)", description = "since 토큰 이후 생성/수정/삭제된 메시지를 limit개까지 조회, 응답의 nextToken으로 이어서 조회")
+    @GetMapping("/rooms/{chatRoomId}/changes")
+    public Mono<MessageChangesDto> getChanges(
+            @PathVariable @Positive(message = "채팅방 ID는 양수여야 합니다.") Long chatRoomId,
+            @AuthenticationPrincipal TokenUserInfo tokenUserInfo,
+            @Parameter(description = "이전 응답의 nextToken (처음이면 생략)")
+            @RequestParam(required = false) String since,
+            @Parameter(description = "최대 변경 개수")
+            @RequestParam(defaultValue = "200") @Min(1) @Max(500) int limit) {
+        return messageService.getChanges(chatRoomId, tokenUserInfo.getId(), since, limit);
     }
 
     @Operation(summary = "채팅방 메시지 총 개수 조회", description = "채팅방의 전체 메시지 개수")
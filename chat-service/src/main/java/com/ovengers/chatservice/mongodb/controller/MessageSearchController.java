@@ -0,0 +1,42 @@
+package com.ovengers.chatservice.mongodb.controller;
+
+import com.ovengers.common.auth.TokenUserInfo;
+import com.ovengers.chatservice.mongodb.dto.MessageSearchHitDto;
+import com.ovengers.chatservice.mongodb.service.MessageSearchService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Positive;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+
+@RestController
+@RequiredArgsConstructor
+@Validated
+@ConditionalOnProperty(name = "chat.search.enabled", havingValue = "true")
+@Tag(name = "MessageSearchController", description = "메시지 전문 검색 컨트롤러")
+public class MessageSearchController {
+    private final MessageSearchService messageSearchService;
+
+    @Operation(summary = "메시지 검색", description = "구독 중인 채팅방(또는 chatRoomId 채팅방)에서 검색어의 모든 단어를 포함하는 메시지를 관련도순으로 조회")
+    @GetMapping("/messages/search")
+    public Flux<MessageSearchHitDto> searchMessages(
+            @AuthenticationPrincipal TokenUserInfo tokenUserInfo,
+            @Parameter(description = "검색어")
+            @RequestParam @NotBlank(message = "검색어가 비어 있습니다.") String q,
+            @Parameter(description = "검색할 채팅방 (생략 시 구독 중인 모든 채팅방)")
+            @RequestParam(required = false) @Positive(message = "채팅방 ID는 양수여야 합니다.") Long chatRoomId,
+            @Parameter(description = "조회할 결과 개수")
+            @RequestParam(defaultValue = "20") @Min(1) @Max(100) int size) {
+        return messageSearchService.search(tokenUserInfo.getId(), q, chatRoomId, size);
+    }
+}
@@ -1,5 +1,6 @@
 package com.ovengers.chatservice.mongodb.controller;
 
+import com.ovengers.chatservice.common.lane.RoomLaneExecutor;
 import com.ovengers.chatservice.mongodb.dto.MessageDto;
 import com.ovengers.chatservice.mongodb.service.MessageService;
 import com.ovengers.chatservice.mysql.service.ChatService;
@@ -9,6 +10,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.messaging.handler.annotation.*;
 import org.springframework.stereotype.Controller;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
 
 @Slf4j
 @Controller
@@ -17,6 +19,8 @@ import reactor.core.publisher.Mono;
 public class WebSocketStompController {
     private final MessageService messageService;
     private final ChatService chatService;
+    private final RoomLaneExecutor roomLaneExecutor;
+    private final Scheduler blockingScheduler;
 
     /**
      * stomp 통신
@@ -29,11 +33,13 @@ public class WebSocketStompController {
             @Header("userId") String userId,
             @Header("userName") String userName) {
 
-        return messageService.sendMessage(chatRoomId, content, userId, userName)
-                .doOnSuccess(messageDto -> {
-                    // 메시지 전송 성공 시 읽지 않은 메시지 수 증가
-                    chatService.incrementUnreadCount(chatRoomId, userId);
-                })
+        // 같은 채팅방의 메시지는 채팅방 레인에서 하나씩 저장되고, 결과도 레인 스레드에서 순서대로 브로드캐스트된다
+        return roomLaneExecutor.mono(chatRoomId, () -> messageService.sendMessage(chatRoomId, content, userId, userName)
+                        // 메시지 전송 성공 시 채팅 목록 순서 갱신 (Redis 호출이 블로킹이므로 blockingScheduler에서 실행)
+                        .flatMap(messageDto -> Mono.fromRunnable(() -> chatService.onMessageSent(chatRoomId))
+                                .subscribeOn(blockingScheduler)
+                                .thenReturn(messageDto))
+                        .block())
                 .onErrorResume(e -> {
                     log.error("메시지 전송 실패: {}", e.getMessage());
                     // 에러 메시지도 MessageDto 형식으로 반환
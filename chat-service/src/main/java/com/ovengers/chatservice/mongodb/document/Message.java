@@ -1,10 +1,12 @@
 package com.ovengers.chatservice.mongodb.document;
 
+import com.ovengers.chatservice.mongodb.dto.MessageCursor;
 import com.ovengers.chatservice.mongodb.dto.MessageDto;
 import lombok.*;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.mapping.Field;
 
@@ -12,6 +14,12 @@ import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 
 @Document(collection = "message")
+// 이력 keyset 페이징용 (MessageRepository 참고)
+@CompoundIndex(name = "chatRoomId_createdAt_id", def = "{ 'chatRoomId': 1, 'created_at': -1, '_id': -1 }")
+// 변경분 동기화용 (MessageRepository.findChangesSince)
+@CompoundIndex(name = "chatRoomId_version", def = "{ 'chatRoomId': 1, 'version': 1 }")
+// 검색 색인 폴링용 (MessageSearchIndexer)
+@CompoundIndex(name = "updatedAt_id", def = "{ 'updated_at': 1, '_id': 1 }")
 @Getter
 @NoArgsConstructor
 @ToString
@@ -27,6 +35,7 @@ public class Message {
     private static final DateTimeFormatter DISPLAY_FORMATTER =
             DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
 
+    @Setter
     @Id
     private String messageId;
 
@@ -36,6 +45,8 @@ public class Message {
     @Setter
     private String senderId;
 
+    // 이전 버전이 저장한 발신자 정보 (새 메시지에는 저장하지 않음, 조회 시 SenderResolver가 채움)
+    // MessageSenderFieldMigration으로 기존 도큐먼트에서도 제거할 수 있다.
     @Setter
     private String senderImage;
 
@@ -48,6 +59,19 @@ public class Message {
     @Setter
     private String content;
 
+    // 채팅방 내 메시지 순번 (1부터 단조 증가)
+    @Setter
+    private Long seq;
+
+    // 이 메시지까지의 SYSTEM 메시지 누적 개수 (읽지 않은 메시지 수 계산용)
+    @Setter
+    private Long systemSeq;
+
+    // 마지막 변경(생성/수정/삭제) 시 발급된 채팅방 변경 버전 (재연결 동기화용)
+    @Setter
+    private Long version;
+
+    @Setter
     @CreatedDate
     @Field("created_at")
     private LocalDateTime createdAt;
@@ -66,6 +90,9 @@ public class Message {
                 .senderName(senderName)
                 .type(type)
                 .content(content)
+                .seq(seq)
+                .version(version)
+                .cursor(MessageCursor.encode(createdAt, messageId))
                 .createdAt(formatDateTime(createdAt))
                 .updatedAt(formatDateTime(updatedAt))
                 .build();
@@ -0,0 +1,51 @@
+package com.ovengers.chatservice.mongodb.document;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * 보관(cold) 메시지 묶음: 채팅방 하루치 메시지를 압축해 담은 도큐먼트 (MessageArchiveStore 참고)
+ *
+ * 하루 메시지가 bucket-max-messages를 넘으면 part 0, 1, ...로 나눈다. _id는 "{chatRoomId}:{day}:{part}".
+ * day는 yyyy-MM-dd 문자열이라 사전순이 날짜순과 같다.
+ */
+@Document(collection = "message_bucket")
+@CompoundIndex(name = "chatRoomId_day_part", def = "{ 'chatRoomId': 1, 'day': 1, 'part': 1 }")
+@Getter
+@NoArgsConstructor
+@ToString
+@AllArgsConstructor
+@Builder
+public class MessageBucket {
+
+    @Id
+    private String id;
+
+    private Long chatRoomId;
+
+    private String day;
+
+    private int part;
+
+    // 묶음 안 메시지 수
+    private int count;
+
+    private LocalDateTime firstCreatedAt;
+
+    private LocalDateTime lastCreatedAt;
+
+    // 압축 전 크기 (압축률 확인용)
+    private int rawBytes;
+
+    // MessageBucketCodec으로 인코딩한 (createdAt, messageId) 오름차순 메시지 (gzip)
+    @ToString.Exclude
+    private byte[] payload;
+
+    public static String idOf(Long chatRoomId, String day, int part) {
+        return chatRoomId + ":" + day + ":" + part;
+    }
+}
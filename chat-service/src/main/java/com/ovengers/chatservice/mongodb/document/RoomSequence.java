@@ -0,0 +1,29 @@
+package com.ovengers.chatservice.mongodb.document;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * 채팅방별 메시지 시퀀스 카운터
+ * seq: 채팅방에 저장된 전체 메시지 수 (마지막으로 발급된 시퀀스)
+ * systemSeq: 그 중 SYSTEM 메시지 수
+ * version: 메시지 생성/수정/삭제마다 증가하는 변경 버전 (마지막으로 발급된 버전)
+ */
+@Document(collection = "room_sequence")
+@Getter
+@NoArgsConstructor
+@ToString
+@AllArgsConstructor
+@Builder
+public class RoomSequence {
+
+    @Id
+    private Long chatRoomId;
+
+    private Long seq;
+
+    private Long systemSeq;
+
+    private Long version;
+}
@@ -0,0 +1,63 @@
+package com.ovengers.chatservice.mongodb.document;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 채팅 목록(inbox)용 채팅방 요약 프로젝션
+ * 메시지 전송/수정/삭제 및 시스템 메시지 저장 시 RoomSummaryService가 갱신한다.
+ */
+@Document(collection = "room_summary")
+@Getter
+@NoArgsConstructor
+@ToString
+@AllArgsConstructor
+@Builder
+public class RoomSummary {
+
+    @Id
+    private Long chatRoomId;
+
+    private String lastMessageId;
+
+    private String lastMessageContent;
+
+    private String lastMessageType;
+
+    private String lastMessageSenderId;
+
+    @Field("last_message_at")
+    private LocalDateTime lastMessageAt;
+
+    // 마지막 메시지의 seq (lastSeq와 달리 마지막 메시지 필드와 함께 갱신됨)
+    private Long lastMessageSeq;
+
+    // 저장된 메시지 중 가장 큰 seq / systemSeq
+    private Long lastSeq;
+
+    private Long lastSystemSeq;
+
+    // 메시지 컬렉션에서 재생성된 적이 있는지 (false면 조회 시 한 번 재생성)
+    private boolean rebuilt;
+
+    // seq를 발급받았지만 저장에 실패한 일반 메시지의 seq (최근 RoomSummaryService.MISSING_SEQ_LIMIT개)
+    private List<Long> missingSeqs;
+
+    /**
+     * 마지막으로 읽은 위치(readSeq, readSystemSeq) 이후의 읽지 않은 메시지 수 (SYSTEM 제외)
+     * 저장에 실패해 비어 있는 seq는 세지 않는다.
+     */
+    public long unreadCountSince(long readSeq, long readSystemSeq) {
+        long headSeq = lastSeq != null ? lastSeq : 0L;
+        long headSystemSeq = lastSystemSeq != null ? lastSystemSeq : 0L;
+        long missing = missingSeqs == null ? 0L : missingSeqs.stream()
+                .filter(seq -> seq > readSeq && seq <= headSeq)
+                .count();
+        return Math.max(0L, (headSeq - readSeq) - (headSystemSeq - readSystemSeq) - missing);
+    }
+}
@@ -0,0 +1,24 @@
+package com.ovengers.chatservice.mongodb.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * 재연결 동기화 응답
+ * changes: since 이후 생성/수정/삭제된 메시지 (변경 버전순, messageId 기준으로 덮어쓰면 됨)
+ * nextToken: 다음 요청의 since
+ * hasMore: 이어서 요청할 변경분이 더 있는지 여부
+ * retryAfterMs: 페이지 전체가 아직 저장 확정 전이라 토큰이 전진하지 못한 경우, 다음 요청까지 기다릴 시간(ms) (그 외에는 null)
+ */
+@Getter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+public class MessageChangesDto {
+    private List<MessageDto> changes;
+    private String nextToken;
+    private boolean hasMore;
+    private Long retryAfterMs;
+}
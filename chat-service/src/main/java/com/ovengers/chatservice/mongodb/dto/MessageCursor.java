@@ -0,0 +1,68 @@
+package com.ovengers.chatservice.mongodb.dto;
+
+import org.bson.types.ObjectId;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * 메시지 이력 페이징 커서 (createdAt, messageId)
+ *
+ * createdAt은 밀리초 단위라 같은 시각의 메시지가 여러 개일 수 있으므로 ObjectId로 순서를 확정한다.
+ * 클라이언트에는 Base64(URL-safe) 문자열로만 노출된다.
+ * 이전 버전 클라이언트가 보내는 ISO 시각 문자열도 받아들이며, 이 경우 해당 시각과 같은 메시지는 제외된다.
+ */
+public record MessageCursor(LocalDateTime createdAt, ObjectId messageId) {
+    private static final String SEPARATOR = "|";
+    private static final ObjectId MIN_ID = new ObjectId("000000000000000000000000");
+    private static final ObjectId MAX_ID = new ObjectId("ffffffffffffffffffffffff");
+
+    public static String encode(LocalDateTime createdAt, String messageId) {
+        if (createdAt == null || messageId == null) {
+            return null;
+        }
+        String raw = createdAt + SEPARATOR + messageId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static MessageCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            throw new IllegalArgumentException("커서가 비어 있습니다.");
+        }
+
+        LocalDateTime legacy = parseLegacy(cursor);
+        if (legacy != null) {
+            return new MessageCursor(legacy, null);
+        }
+
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            return new MessageCursor(
+                    LocalDateTime.parse(raw.substring(0, separator)),
+                    new ObjectId(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("유효하지 않은 커서입니다: " + cursor);
+        }
+    }
+
+    // 이전 페이지 조회 시 같은 시각의 메시지 중 이 ID보다 작은 것만 포함 (ISO 커서는 모두 제외)
+    public ObjectId idForBefore() {
+        return messageId != null ? messageId : MIN_ID;
+    }
+
+    // 다음 페이지 조회 시 같은 시각의 메시지 중 이 ID보다 큰 것만 포함 (ISO 커서는 모두 제외)
+    public ObjectId idForAfter() {
+        return messageId != null ? messageId : MAX_ID;
+    }
+
+    private static LocalDateTime parseLegacy(String cursor) {
+        try {
+            return LocalDateTime.parse(cursor);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
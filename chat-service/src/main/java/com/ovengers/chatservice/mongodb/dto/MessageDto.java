@@ -6,15 +6,18 @@ import lombok.*;
 @ToString
 @NoArgsConstructor
 @AllArgsConstructor
-@Builder
+@Builder(toBuilder = true)
 public class MessageDto {
     private String messageId;
     private Long chatRoomId;
     private String senderId;
-    private String senderImage;
+    private String senderImage; // 조회 시점에 채움 (SenderResolver)
     private String senderName;
     private String type;
     private String content;
+    private Long seq;
+    private Long version;
+    private String cursor; // 이력 페이징 커서 (before/after 요청에 그대로 전달)
     private String createdAt;
     private String updatedAt;
 }
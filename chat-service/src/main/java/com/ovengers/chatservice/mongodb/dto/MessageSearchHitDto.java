@@ -0,0 +1,16 @@
+package com.ovengers.chatservice.mongodb.dto;
+
+import lombok.*;
+
+@Getter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MessageSearchHitDto {
+    private String messageId;
+    private Long chatRoomId;
+    private double score;
+    private String cursor; // 해당 메시지 주변 이력 조회용 (before/after 요청에 그대로 전달)
+    private MessageDto message;
+}
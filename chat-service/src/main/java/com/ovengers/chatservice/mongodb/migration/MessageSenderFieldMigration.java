@@ -0,0 +1,101 @@
+package com.ovengers.chatservice.mongodb.migration;
+
+import com.mongodb.client.result.UpdateResult;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+/**
+ * 기존 도큐먼트에서 비정규화된 발신자 정보 제거 (chat.migration.sender-fields.enabled=true 일 때 기동 후 한 번 실행)
+ *
+ * message의 senderName/senderImage와 room_summary의 lastMessageSenderName을 $unset 한다.
+ * 컬렉션 전체를 한 번에 갱신하지 않도록 _id 순서로 batch-size개씩 범위를 나눠 updateMany 하며(_id 인덱스 사용),
+ * 이미 지워진 도큐먼트는 변경되지 않으므로 중간에 멈춰도 다시 실행하면 된다.
+ * 기동을 막지 않도록 별도 스레드에서 실행하고, 여러 노드에서 동시에 실행해도 결과는 같지만 한 노드에서만 켜면 충분하다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "chat.migration.sender-fields.enabled", havingValue = "true")
+public class MessageSenderFieldMigration {
+    private static final String MESSAGE = "message";
+    private static final String ROOM_SUMMARY = "room_summary";
+
+    private final MongoTemplate mongoTemplate;
+    private final int batchSize;
+
+    @Autowired
+    public MessageSenderFieldMigration(MongoTemplate mongoTemplate,
+                                       @Value("${chat.migration.sender-fields.batch-size:10000}") int batchSize) {
+        this.mongoTemplate = mongoTemplate;
+        this.batchSize = batchSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        Thread thread = new Thread(() -> {
+            try {
+                migrate();
+            } catch (RuntimeException e) {
+                log.error("발신자 정보 제거 실패 (다시 실행하면 이어서 처리됨): {}", e.getMessage(), e);
+            }
+        }, "sender-field-migration");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    // 변경된 message 도큐먼트 수 반환
+    public long migrate() {
+        log.info("발신자 정보 제거 시작 - 배치 크기: {}", batchSize);
+        long modified = 0;
+        Object from = null;
+        while (true) {
+            // 이번 범위의 마지막 _id (남은 도큐먼트가 batch-size개보다 적으면 null)
+            Document last = mongoTemplate.findOne(idRange(from, null)
+                    .with(Sort.by(Sort.Direction.ASC, "_id"))
+                    .skip(batchSize - 1L), Document.class, MESSAGE);
+            Object to = last != null ? last.get("_id") : null;
+
+            UpdateResult result = mongoTemplate.updateMulti(idRange(from, to),
+                    new Update().unset("senderName").unset("senderImage"), MESSAGE);
+            modified += result.getModifiedCount();
+            if (to == null) {
+                break;
+            }
+            from = to;
+            log.debug("발신자 정보 제거 진행 중 - {}까지, 변경 {}건", to, modified);
+        }
+
+        UpdateResult summaries = mongoTemplate.updateMulti(new Query(),
+                new Update().unset("lastMessageSenderName"), ROOM_SUMMARY);
+        log.info("발신자 정보 제거 완료 - message {}건, room_summary {}건", modified, summaries.getModifiedCount());
+        return modified;
+    }
+
+    // (from, to] 범위 (null이면 제한 없음)
+    private static Query idRange(Object from, Object to) {
+        Criteria criteria = Criteria.where("_id");
+        if (from == null && to == null) {
+            criteria = new Criteria();
+        } else {
+            if (from != null) {
+                criteria = criteria.gt(from);
+            }
+            if (to != null) {
+                criteria = criteria.lte(to);
+            }
+        }
+        Query query = new Query(criteria);
+        query.fields().include("_id");
+        return query;
+    }
+}
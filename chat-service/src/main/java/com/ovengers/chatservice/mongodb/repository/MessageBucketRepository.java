@@ -0,0 +1,31 @@
+package com.ovengers.chatservice.mongodb.repository;
+
+import com.ovengers.chatservice.mongodb.document.MessageBucket;
+import org.springframework.data.mongodb.repository.Aggregation;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// 모두 { chatRoomId: 1, day: 1, part: 1 } 인덱스를 사용 (MessageBucket 참고)
+public interface MessageBucketRepository extends ReactiveMongoRepository<MessageBucket, String> {
+
+    // day 이전(포함) 묶음 (최신순)
+    @Query(value = "{ 'chatRoomId': ?0, 'day': { '$lte': ?1 } }", sort = "{ 'day': -1, 'part': -1 }")
+    Flux<MessageBucket> findUpTo(Long chatRoomId, String day);
+
+    // day 이후(포함) 묶음 (오래된순)
+    @Query(value = "{ 'chatRoomId': ?0, 'day': { '$gte': ?1 } }", sort = "{ 'day': 1, 'part': 1 }")
+    Flux<MessageBucket> findFrom(Long chatRoomId, String day);
+
+    // from ~ to(포함) 기간의 묶음 (오래된순)
+    @Query(value = "{ 'chatRoomId': ?0, 'day': { '$gte': ?1, '$lte': ?2 } }", sort = "{ 'day': 1, 'part': 1 }")
+    Flux<MessageBucket> findBetween(Long chatRoomId, String from, String to);
+
+    // 채팅방 보관 메시지 총 개수
+    @Aggregation(pipeline = {
+            "{ '$match': { 'chatRoomId': ?0 } }",
+            "{ '$group': { '_id': null, 'total': { '$sum': '$count' } } }"
+    })
+    Mono<Long> sumCountByChatRoomId(Long chatRoomId);
+}
@@ -1,7 +1,9 @@
 package com.ovengers.chatservice.mongodb.repository;
 
 import com.ovengers.chatservice.mongodb.document.Message;
+import org.bson.types.ObjectId;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.Query;
 import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -9,20 +11,38 @@ import reactor.core.publisher.Mono;
 import java.time.LocalDateTime;
 
 public interface MessageRepository extends ReactiveMongoRepository<Message, String> {
-    Flux<Message> findByChatRoomIdOrderByCreatedAtAsc(Long chatRoomId);
-
     Mono<Message> findByMessageId(String messageId);
 
-    Flux<Message> findByChatRoomIdAndTypeNotOrderByCreatedAtAsc(Long chatRoomId, String type);
+    // 채팅방의 마지막 메시지 (room_summary 재생성용)
+    Mono<Message> findFirstByChatRoomIdOrderByCreatedAtDesc(Long chatRoomId);
+
+    /*
+     * 이력 페이징 (keyset)
+     * 모두 { chatRoomId: 1, created_at: -1, _id: -1 } 복합 인덱스를 사용하며 (Message 참고),
+     * 페이지 깊이와 관계없이 인덱스 범위 스캔 + limit으로 처리된다.
+     */
+
+    // 가장 오래된 메시지부터 size개
+    @Query(value = "{ 'chatRoomId': ?0 }", sort = "{ 'created_at': 1, '_id': 1 }")
+    Flux<Message> findFirstPage(Long chatRoomId, Pageable pageable);
+
+    // 최신 메시지부터 size개
+    @Query(value = "{ 'chatRoomId': ?0 }", sort = "{ 'created_at': -1, '_id': -1 }")
+    Flux<Message> findLatestPage(Long chatRoomId, Pageable pageable);
 
-    // 페이징 지원: 최신 메시지부터 size개 조회
-    Flux<Message> findByChatRoomIdOrderByCreatedAtDesc(Long chatRoomId, Pageable pageable);
+    // (createdAt, _id) 커서 이전 메시지 (최신순)
+    @Query(value = "{ 'chatRoomId': ?0, '$or': [ { 'created_at': { '$lt': ?1 } }, { 'created_at': ?1, '_id': { '$lt': ?2 } } ] }",
+           sort = "{ 'created_at': -1, '_id': -1 }")
+    Flux<Message> findPageBefore(Long chatRoomId, LocalDateTime createdAt, ObjectId messageId, Pageable pageable);
 
-    // 커서 기반 페이징: 특정 시간 이전의 메시지 조회 (이전 메시지 로드)
-    Flux<Message> findByChatRoomIdAndCreatedAtBeforeOrderByCreatedAtDesc(Long chatRoomId, LocalDateTime cursor, Pageable pageable);
+    // (createdAt, _id) 커서 이후 메시지 (오래된순)
+    @Query(value = "{ 'chatRoomId': ?0, '$or': [ { 'created_at': { '$gt': ?1 } }, { 'created_at': ?1, '_id': { '$gt': ?2 } } ] }",
+           sort = "{ 'created_at': 1, '_id': 1 }")
+    Flux<Message> findPageAfter(Long chatRoomId, LocalDateTime createdAt, ObjectId messageId, Pageable pageable);
 
-    // 커서 기반 페이징: 특정 시간 이후의 메시지 조회 (새 메시지 로드)
-    Flux<Message> findByChatRoomIdAndCreatedAtAfterOrderByCreatedAtAsc(Long chatRoomId, LocalDateTime cursor);
+    // 변경 버전 이후에 생성/수정/삭제된 메시지 (버전순)
+    @Query(value = "{ 'chatRoomId': ?0, 'version': { '$gt': ?1 } }", sort = "{ 'version': 1 }")
+    Flux<Message> findChangesSince(Long chatRoomId, Long version, Pageable pageable);
 
     // 채팅방 메시지 총 개수
     Mono<Long> countByChatRoomId(Long chatRoomId);
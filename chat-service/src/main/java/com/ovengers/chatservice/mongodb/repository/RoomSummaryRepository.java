@@ -0,0 +1,7 @@
+package com.ovengers.chatservice.mongodb.repository;
+
+import com.ovengers.chatservice.mongodb.document.RoomSummary;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+
+public interface RoomSummaryRepository extends ReactiveMongoRepository<RoomSummary, Long> {
+}
@@ -0,0 +1,42 @@
+package com.ovengers.chatservice.mongodb.search;
+
+// 검색 가능한 세그먼트 (메모리 버퍼 또는 디스크 세그먼트)
+interface IndexSegment {
+    record Doc(String messageId, long chatRoomId, long createdAt, int length) {
+    }
+
+    // 키가 없으면 null
+    Postings postings(TermKey key);
+
+    Doc doc(int doc);
+
+    int length(int doc);
+
+    int docCount();
+
+    long totalLength();
+
+    boolean isDeleted(int doc);
+
+    int deletedCount();
+
+    // 메시지 ID로 찾은 문서를 삭제 표시 (찾으면 true)
+    default boolean delete(long chatRoomId, String messageId) {
+        Postings postings = postings(TermKey.ofMessageId(chatRoomId, messageId));
+        if (postings == null) {
+            return false;
+        }
+        boolean deleted = false;
+        for (int i = 0; i < postings.size(); i++) {
+            deleted |= markDeleted(postings.doc(i));
+        }
+        return deleted;
+    }
+
+    // 새로 삭제 표시했으면 true
+    boolean markDeleted(int doc);
+
+    default int liveDocs() {
+        return docCount() - deletedCount();
+    }
+}
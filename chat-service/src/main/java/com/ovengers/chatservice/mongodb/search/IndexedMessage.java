@@ -0,0 +1,5 @@
+package com.ovengers.chatservice.mongodb.search;
+
+// 색인 대상 메시지 (createdAt: epoch millis)
+public record IndexedMessage(String messageId, Long chatRoomId, long createdAt, String content) {
+}
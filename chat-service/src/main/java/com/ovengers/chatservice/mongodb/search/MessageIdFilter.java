@@ -0,0 +1,59 @@
+package com.ovengers.chatservice.mongodb.search;
+
+/**
+ * 세그먼트별 메시지 ID 블룸 필터 (문서당 10비트, 해시 7개 → 오탐 약 1%)
+ *
+ * upsert는 새 메시지라도 모든 세그먼트에서 같은 ID의 이전 문서를 찾아야 하는데,
+ * 필터에 없으면 사전 탐색 없이 건너뛸 수 있다. 오탐이면 사전에서 찾지 못하고 끝날 뿐이다.
+ */
+final class MessageIdFilter {
+    private static final int BITS_PER_DOC = 10;
+    private static final int HASHES = 7;
+
+    private final long[] words;
+
+    MessageIdFilter(int expectedDocs) {
+        this(new long[Math.max(1, (int) (((long) expectedDocs * BITS_PER_DOC + 63) / 64))]);
+    }
+
+    MessageIdFilter(long[] words) {
+        this.words = words;
+    }
+
+    void add(long chatRoomId, String messageId) {
+        long hash = hash(chatRoomId, messageId);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        long bits = (long) words.length * 64;
+        for (int i = 0; i < HASHES; i++) {
+            long bit = Integer.toUnsignedLong(h1 + i * h2) % bits;
+            words[(int) (bit >>> 6)] |= 1L << bit;
+        }
+    }
+
+    boolean mightContain(long chatRoomId, String messageId) {
+        long hash = hash(chatRoomId, messageId);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        long bits = (long) words.length * 64;
+        for (int i = 0; i < HASHES; i++) {
+            long bit = Integer.toUnsignedLong(h1 + i * h2) % bits;
+            if ((words[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    long[] words() {
+        return words;
+    }
+
+    // splitmix64 마무리 단계로 섞음
+    private static long hash(long chatRoomId, String messageId) {
+        long z = chatRoomId * 0x9E3779B97F4A7C15L + messageId.hashCode();
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
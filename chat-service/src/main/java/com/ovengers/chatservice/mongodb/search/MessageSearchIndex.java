@@ -0,0 +1,506 @@
+package com.ovengers.chatservice.mongodb.search;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * 메시지 전문 검색 색인 (로컬 디스크, 세그먼트 기반)
+ *
+ * 새 메시지는 메모리 버퍼(SegmentBuffer)에 쌓여 바로 검색되고, commit() 때 불변 세그먼트 파일로 기록된다.
+ * 수정은 같은 메시지 ID의 이전 문서를 삭제 표시한 뒤 다시 추가하며, 삭제 표시는 병합 때 실제로 제거된다.
+ * 세그먼트가 max-segments를 넘으면 maybeMerge()가 작은 세그먼트부터 묶어 하나로 합친다 (결과는 max-merge-docs 이하).
+ * 병합은 잠금 없이 파일을 쓰고 교체할 때만 쓰기 잠금을 잡으며, 그 사이 삭제된 문서는 교체 시 옮겨 적용한다.
+ *
+ * 커밋 파일(segments)에는 다음 세그먼트 번호, 호출자가 넘긴 색인 위치(userData), 살아 있는 세그먼트 목록을 기록한다.
+ * 커밋 이후의 버퍼는 프로세스가 종료되면 사라지므로, 호출자는 userData 이후의 메시지를 다시 색인해야 한다.
+ * 색인 키는 (채팅방, 토큰)이므로 검색은 요청자가 구독 중인 채팅방의 postings만 읽는다.
+ */
+@Slf4j
+public class MessageSearchIndex implements Closeable {
+    private static final String COMMIT_FILE = "segments";
+    private static final int MERGE_FACTOR = 10;
+    // BM25
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private final Path directory;
+    private final int maxSegments;
+    private final int maxMergeDocs;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ReentrantLock mergeLock = new ReentrantLock();
+    private final AtomicLong nextSegmentId;
+
+    private final List<SearchSegment> segments = new ArrayList<>();
+    private SegmentBuffer buffer = new SegmentBuffer();
+    private String userData;
+
+    private record Candidate(IndexSegment source, int doc, double score, long createdAt) {
+    }
+
+    private static final Comparator<Candidate> BY_RANK = Comparator.comparingDouble(Candidate::score)
+            .thenComparingLong(Candidate::createdAt);
+
+    public MessageSearchIndex(Path directory, int maxSegments, int maxMergeDocs) throws IOException {
+        this.directory = directory;
+        this.maxSegments = maxSegments;
+        this.maxMergeDocs = maxMergeDocs;
+
+        Files.createDirectories(directory);
+        Path commitFile = directory.resolve(COMMIT_FILE);
+        long next = 0;
+        Set<Long> live = new LinkedHashSet<>();
+        if (Files.exists(commitFile)) {
+            List<String> lines = Files.readAllLines(commitFile, StandardCharsets.UTF_8);
+            next = Long.parseLong(lines.get(0).trim());
+            userData = lines.get(1).isEmpty() ? null : lines.get(1);
+            lines.stream().skip(2).filter(line -> !line.isBlank()).map(Long::valueOf).forEach(live::add);
+        }
+        this.nextSegmentId = new AtomicLong(next);
+
+        for (long id : live) {
+            segments.add(SearchSegment.open(directory, id));
+        }
+        deleteUnreferencedFiles(live);
+        log.info("검색 색인 열기 - 세그먼트: {}, 문서: {}", segments.size(), liveDocs());
+    }
+
+    // 같은 메시지 ID의 이전 문서를 대체
+    public void upsert(IndexedMessage message) {
+        List<String> tokens = MessageTokenizer.tokenize(message.content());
+        lock.writeLock().lock();
+        try {
+            deleteLocked(message.chatRoomId(), message.messageId());
+            if (!tokens.isEmpty()) {
+                buffer.add(message, tokens);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void delete(Long chatRoomId, String messageId) {
+        lock.writeLock().lock();
+        try {
+            deleteLocked(chatRoomId, messageId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 구독 중인 채팅방(chatRoomIds)에서 query의 모든 토큰을 포함하는 메시지를 BM25 점수순으로 limit개 반환
+     * 같은 점수는 최신 메시지가 앞선다.
+     */
+    public List<SearchHit> search(Collection<Long> chatRoomIds, String query, int limit) {
+        List<String> tokens = List.copyOf(new LinkedHashSet<>(MessageTokenizer.tokenize(query)));
+        if (tokens.isEmpty() || chatRoomIds.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            List<IndexSegment> sources = new ArrayList<>(segments);
+            sources.add(buffer);
+
+            long docs = 0;
+            long liveDocs = 0;
+            long totalLength = 0;
+            for (IndexSegment source : sources) {
+                docs += source.docCount();
+                liveDocs += source.liveDocs();
+                totalLength += source.totalLength();
+            }
+            double averageLength = docs > 0 ? Math.max(1.0, (double) totalLength / docs) : 1.0;
+
+            PriorityQueue<Candidate> top = new PriorityQueue<>(limit + 1, BY_RANK);
+            for (Long chatRoomId : new LinkedHashSet<>(chatRoomIds)) {
+                collect(chatRoomId, tokens, sources, liveDocs, averageLength, limit, top);
+            }
+
+            List<SearchHit> hits = new ArrayList<>(top.size());
+            while (!top.isEmpty()) {
+                Candidate candidate = top.poll();
+                IndexSegment.Doc doc = candidate.source().doc(candidate.doc());
+                hits.add(new SearchHit(doc.messageId(), doc.chatRoomId(), doc.createdAt(), candidate.score()));
+            }
+            Collections.reverse(hits);
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 버퍼를 세그먼트로 기록하고 삭제 표시와 userData를 커밋
+    public void commit(String userData) throws IOException {
+        List<SearchSegment> emptied = new ArrayList<>();
+        lock.writeLock().lock();
+        try {
+            if (buffer.liveDocs() > 0) {
+                segments.add(writeBuffer());
+            }
+            buffer = new SegmentBuffer();
+
+            for (SearchSegment segment : List.copyOf(segments)) {
+                if (segment.liveDocs() == 0) {
+                    segments.remove(segment);
+                    emptied.add(segment);
+                } else {
+                    segment.writeDeletes();
+                }
+            }
+            this.userData = userData;
+            writeCommit();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        emptied.forEach(this::deleteFiles);
+    }
+
+    /**
+     * 세그먼트가 max-segments를 넘으면 문서가 적은 세그먼트부터 최대 MERGE_FACTOR개를 병합 (병합했으면 true)
+     * 동시에 하나의 병합만 실행한다.
+     */
+    public boolean maybeMerge() throws IOException {
+        if (!mergeLock.tryLock()) {
+            return false;
+        }
+        try {
+            List<SearchSegment> sources;
+            List<BitSet> snapshots = new ArrayList<>();
+            lock.readLock().lock();
+            try {
+                if (segments.size() <= maxSegments) {
+                    return false;
+                }
+                sources = selectMerge();
+                sources.forEach(source -> snapshots.add(source.deletedSnapshot()));
+            } finally {
+                lock.readLock().unlock();
+            }
+            if (sources.size() < 2) {
+                return false;
+            }
+
+            long started = System.nanoTime();
+            long id = nextSegmentId.getAndIncrement();
+            int[][] docMaps = new int[sources.size()][];
+            SearchSegment merged = writeMerged(id, sources, snapshots, docMaps);
+
+            lock.writeLock().lock();
+            try {
+                // 병합 중에 삭제된 문서를 병합 결과에 반영
+                for (int s = 0; s < sources.size(); s++) {
+                    BitSet deletedSince = sources.get(s).deletedSnapshot();
+                    deletedSince.andNot(snapshots.get(s));
+                    for (int doc = deletedSince.nextSetBit(0); doc >= 0; doc = deletedSince.nextSetBit(doc + 1)) {
+                        if (docMaps[s][doc] >= 0) {
+                            merged.markDeleted(docMaps[s][doc]);
+                        }
+                    }
+                }
+                segments.removeAll(sources);
+                segments.add(merged);
+                merged.writeDeletes();
+                writeCommit();
+            } finally {
+                lock.writeLock().unlock();
+            }
+            sources.forEach(this::deleteFiles);
+
+            log.info("검색 세그먼트 병합 - 세그먼트 {}개 → {}, 문서: {}, {}ms", sources.size(), id, merged.docCount(),
+                    (System.nanoTime() - started) / 1_000_000);
+            return true;
+        } finally {
+            mergeLock.unlock();
+        }
+    }
+
+    // 마지막 커밋의 색인 위치 (없으면 null)
+    public String userData() {
+        lock.readLock().lock();
+        try {
+            return userData;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int segmentCount() {
+        lock.readLock().lock();
+        try {
+            return segments.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int bufferedDocs() {
+        lock.readLock().lock();
+        try {
+            return buffer.docCount();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long liveDocs() {
+        lock.readLock().lock();
+        try {
+            return segments.stream().mapToLong(IndexSegment::liveDocs).sum() + buffer.liveDocs();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 커밋하지 않은 버퍼는 버림 (호출자가 userData 이후를 다시 색인)
+    @Override
+    public void close() throws IOException {
+        lock.writeLock().lock();
+        try {
+            for (SearchSegment segment : segments) {
+                segment.writeDeletes();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void deleteLocked(long chatRoomId, String messageId) {
+        for (SearchSegment segment : segments) {
+            segment.delete(chatRoomId, messageId);
+        }
+        buffer.delete(chatRoomId, messageId);
+    }
+
+    private void collect(long chatRoomId, List<String> tokens, List<IndexSegment> sources, long liveDocs,
+                         double averageLength, int limit, PriorityQueue<Candidate> top) {
+        long[] docFreqs = new long[tokens.size()];
+        List<IndexSegment> matchedSources = new ArrayList<>();
+        List<Postings[]> matchedPostings = new ArrayList<>();
+
+        for (IndexSegment source : sources) {
+            Postings[] postings = new Postings[tokens.size()];
+            boolean all = true;
+            for (int t = 0; t < tokens.size(); t++) {
+                postings[t] = source.postings(new TermKey(chatRoomId, tokens.get(t)));
+                if (postings[t] == null) {
+                    all = false;
+                } else {
+                    docFreqs[t] += postings[t].size();
+                }
+            }
+            if (all) {
+                matchedSources.add(source);
+                matchedPostings.add(postings);
+            }
+        }
+
+        double[] idf = new double[tokens.size()];
+        for (int t = 0; t < tokens.size(); t++) {
+            idf[t] = Math.log(1 + (liveDocs - docFreqs[t] + 0.5) / (docFreqs[t] + 0.5));
+        }
+
+        for (int m = 0; m < matchedSources.size(); m++) {
+            IndexSegment source = matchedSources.get(m);
+            Postings[] postings = matchedPostings.get(m);
+            Integer[] order = new Integer[postings.length];
+            for (int t = 0; t < order.length; t++) {
+                order[t] = t;
+            }
+            // 가장 짧은 postings를 기준으로 교집합
+            Arrays.sort(order, Comparator.comparingInt(t -> postings[t].size()));
+            int[] cursors = new int[postings.length];
+
+            Postings lead = postings[order[0]];
+            candidates:
+            for (int i = 0; i < lead.size(); i++) {
+                int doc = lead.doc(i);
+                if (source.isDeleted(doc)) {
+                    continue;
+                }
+                int[] freqs = new int[postings.length];
+                freqs[order[0]] = lead.freq(i);
+                for (int o = 1; o < order.length; o++) {
+                    int t = order[o];
+                    Postings other = postings[t];
+                    while (cursors[t] < other.size() && other.doc(cursors[t]) < doc) {
+                        cursors[t]++;
+                    }
+                    if (cursors[t] >= other.size()) {
+                        break candidates;
+                    }
+                    if (other.doc(cursors[t]) != doc) {
+                        continue candidates;
+                    }
+                    freqs[t] = other.freq(cursors[t]);
+                }
+
+                double norm = K1 * (1 - B + B * source.length(doc) / averageLength);
+                double score = 0;
+                for (int t = 0; t < freqs.length; t++) {
+                    score += idf[t] * freqs[t] * (K1 + 1) / (freqs[t] + norm);
+                }
+                if (top.size() < limit || score >= top.peek().score()) {
+                    top.offer(new Candidate(source, doc, score, source.doc(doc).createdAt()));
+                    if (top.size() > limit) {
+                        top.poll();
+                    }
+                }
+            }
+        }
+    }
+
+    private List<SearchSegment> selectMerge() {
+        List<SearchSegment> bySize = new ArrayList<>(segments);
+        bySize.sort(Comparator.comparingInt(IndexSegment::liveDocs));
+        List<SearchSegment> selected = new ArrayList<>();
+        long docs = 0;
+        for (SearchSegment segment : bySize) {
+            if (selected.size() == MERGE_FACTOR || docs + segment.liveDocs() > maxMergeDocs) {
+                break;
+            }
+            selected.add(segment);
+            docs += segment.liveDocs();
+        }
+        return selected;
+    }
+
+    // 쓰기 잠금 안에서 호출
+    private SearchSegment writeBuffer() throws IOException {
+        long id = nextSegmentId.getAndIncrement();
+        try (SegmentWriter writer = new SegmentWriter(SearchSegment.file(directory, id), buffer.docCount())) {
+            int[] docMap = new int[buffer.docCount()];
+            for (int doc = 0; doc < buffer.docCount(); doc++) {
+                docMap[doc] = buffer.isDeleted(doc) ? -1 : writer.addDoc(buffer.doc(doc));
+            }
+
+            List<TermKey> keys = new ArrayList<>(buffer.allPostings().keySet());
+            keys.sort(null);
+            for (TermKey key : keys) {
+                writer.addTerm(key, remap(buffer.allPostings().get(key), docMap));
+            }
+            writer.finish();
+        }
+        return SearchSegment.open(directory, id);
+    }
+
+    private SearchSegment writeMerged(long id, List<SearchSegment> sources, List<BitSet> snapshots, int[][] docMaps)
+            throws IOException {
+        int maxDocs = sources.stream().mapToInt(IndexSegment::docCount).sum();
+        try (SegmentWriter writer = new SegmentWriter(SearchSegment.file(directory, id), maxDocs)) {
+            for (int s = 0; s < sources.size(); s++) {
+                SearchSegment source = sources.get(s);
+                docMaps[s] = new int[source.docCount()];
+                for (int doc = 0; doc < source.docCount(); doc++) {
+                    docMaps[s][doc] = snapshots.get(s).get(doc) ? -1 : writer.addDoc(source.doc(doc));
+                }
+            }
+
+            // 세그먼트별 사전을 k-way 병합 (같은 키는 세그먼트 순서대로 이어 붙여 문서 ID 오름차순 유지)
+            record Cursor(int source, SearchSegment.TermCursor terms) {
+            }
+            PriorityQueue<Cursor> queue = new PriorityQueue<>(Comparator
+                    .comparing((Cursor cursor) -> cursor.terms().key())
+                    .thenComparingInt(Cursor::source));
+            for (int s = 0; s < sources.size(); s++) {
+                SearchSegment.TermCursor terms = sources.get(s).terms();
+                if (terms.next()) {
+                    queue.add(new Cursor(s, terms));
+                }
+            }
+            while (!queue.isEmpty()) {
+                TermKey key = queue.peek().terms().key();
+                Postings merged = new Postings();
+                while (!queue.isEmpty() && queue.peek().terms().key().equals(key)) {
+                    Cursor cursor = queue.poll();
+                    Postings postings = cursor.terms().postings();
+                    int[] docMap = docMaps[cursor.source()];
+                    for (int i = 0; i < postings.size(); i++) {
+                        int doc = docMap[postings.doc(i)];
+                        if (doc >= 0) {
+                            merged.add(doc, postings.freq(i));
+                        }
+                    }
+                    if (cursor.terms().next()) {
+                        queue.add(cursor);
+                    }
+                }
+                writer.addTerm(key, merged);
+            }
+            writer.finish();
+        }
+        return SearchSegment.open(directory, id);
+    }
+
+    private static Postings remap(Postings postings, int[] docMap) {
+        Postings remapped = new Postings();
+        for (int i = 0; i < postings.size(); i++) {
+            int doc = docMap[postings.doc(i)];
+            if (doc >= 0) {
+                remapped.add(doc, postings.freq(i));
+            }
+        }
+        return remapped;
+    }
+
+    // 쓰기 잠금 안에서 호출
+    private void writeCommit() throws IOException {
+        StringBuilder content = new StringBuilder()
+                .append(nextSegmentId.get()).append('\n')
+                .append(userData != null ? userData : "").append('\n');
+        segments.forEach(segment -> content.append(segment.id()).append('\n'));
+
+        Path temp = directory.resolve(COMMIT_FILE + ".tmp");
+        Files.writeString(temp, content, StandardCharsets.UTF_8);
+        Files.move(temp, directory.resolve(COMMIT_FILE),
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // 이전 실행에서 커밋되지 않은 세그먼트와 임시 파일 정리
+    private void deleteUnreferencedFiles(Set<Long> live) throws IOException {
+        Set<String> keep = new HashSet<>();
+        keep.add(COMMIT_FILE);
+        for (long id : live) {
+            keep.add(SearchSegment.file(directory, id).getFileName().toString());
+            keep.add(String.format("%020d", id) + SearchSegment.DELETES_SUFFIX);
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.toList()) {
+                if (!keep.contains(file.getFileName().toString())) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+    }
+
+    private void deleteFiles(SearchSegment segment) {
+        try {
+            Files.deleteIfExists(segment.path());
+            Files.deleteIfExists(segment.deletesPath());
+        } catch (IOException e) {
+            // 다음 실행 시 deleteUnreferencedFiles에서 정리
+            log.debug("검색 세그먼트 {} 삭제 보류: {}", segment.id(), e.getMessage());
+        }
+    }
+}
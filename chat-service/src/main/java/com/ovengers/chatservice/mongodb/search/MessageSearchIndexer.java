@@ -0,0 +1,229 @@
+package com.ovengers.chatservice.mongodb.search;
+
+import com.ovengers.chatservice.mongodb.document.Message;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 메시지 검색 색인 갱신 (chat.search.enabled=true 일 때)
+ *
+ * 저장/수정/삭제 경로(직접 저장, WAL 배치 저장, 다른 노드)를 모두 거치도록 Mongo의 message를 (updated_at, _id) 순서로 폴링한다.
+ * WAL 모드는 updated_at이 실제 저장보다 먼저 정해지므로, 매 폴링은 마지막 위치보다 settle-ms 앞에서 다시 읽기 시작하고
+ * 이미 같은 버전으로 색인한 메시지는 건너뛴다. CHAT/EDIT는 색인(수정은 대체), DELETE는 색인에서 제거, SYSTEM은 색인하지 않는다.
+ * 노드마다 자기 로컬 디스크에 색인을 두며, 커밋 파일에 마지막 updated_at을 남겨 재시작 시 그 이후부터 다시 읽는다.
+ * 세그먼트 병합은 스케줄러 스레드를 막지 않도록 별도 스레드에서 실행한다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "chat.search.enabled", havingValue = "true")
+public class MessageSearchIndexer {
+    private static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final MessageSearchIndex index;
+    private final MongoTemplate mongoTemplate;
+    private final int pageSize;
+    private final Duration settle;
+    private final long commitIntervalMs;
+    private final int flushThreshold;
+    private final ExecutorService mergeExecutor;
+    private final ReentrantLock pollLock = new ReentrantLock();
+
+    // 폴링 스레드에서만 접근
+    private LocalDateTime watermark;
+    private long lastCommitAt = System.currentTimeMillis();
+    // 다시 읽는 구간에서 이미 반영한 메시지 (messageId → updated_at)
+    private final Map<String, LocalDateTime> applied = new HashMap<>();
+
+    private final Counter indexed;
+    private final Counter removed;
+    private final Timer pollTimer;
+
+    @Autowired
+    public MessageSearchIndexer(@Value("${chat.search.dir:data/chat-search}") String directory,
+                                @Value("${chat.search.max-segments:16}") int maxSegments,
+                                @Value("${chat.search.max-merge-docs:2000000}") int maxMergeDocs,
+                                @Value("${chat.search.page-size:1000}") int pageSize,
+                                @Value("${chat.search.settle-ms:5000}") long settleMs,
+                                @Value("${chat.search.commit-interval-ms:30000}") long commitIntervalMs,
+                                @Value("${chat.search.flush-threshold:100000}") int flushThreshold,
+                                MongoTemplate mongoTemplate,
+                                MeterRegistry meterRegistry) throws IOException {
+        this(new MessageSearchIndex(Path.of(directory), maxSegments, maxMergeDocs), mongoTemplate, pageSize,
+                Duration.ofMillis(settleMs), commitIntervalMs, flushThreshold, meterRegistry,
+                Executors.newSingleThreadExecutor(runnable -> {
+                    Thread thread = new Thread(runnable, "chat-search-merger");
+                    thread.setDaemon(true);
+                    return thread;
+                }));
+    }
+
+    MessageSearchIndexer(MessageSearchIndex index, MongoTemplate mongoTemplate, int pageSize, Duration settle,
+                         long commitIntervalMs, int flushThreshold, MeterRegistry meterRegistry,
+                         ExecutorService mergeExecutor) {
+        this.index = index;
+        this.mongoTemplate = mongoTemplate;
+        this.pageSize = pageSize;
+        this.settle = settle;
+        this.commitIntervalMs = commitIntervalMs;
+        this.flushThreshold = flushThreshold;
+        this.mergeExecutor = mergeExecutor;
+        this.watermark = index.userData() != null ? LocalDateTime.parse(index.userData()) : null;
+
+        this.indexed = meterRegistry.counter("chat.search.indexed");
+        this.removed = meterRegistry.counter("chat.search.removed");
+        this.pollTimer = meterRegistry.timer("chat.search.poll");
+        meterRegistry.gauge("chat.search.docs", index, MessageSearchIndex::liveDocs);
+        meterRegistry.gauge("chat.search.segments", index, MessageSearchIndex::segmentCount);
+    }
+
+    public List<SearchHit> search(Collection<Long> chatRoomIds, String query, int limit) {
+        return index.search(chatRoomIds, query, limit);
+    }
+
+    @Scheduled(fixedDelayString = "${chat.search.poll-interval-ms:1000}")
+    public void poll() {
+        if (!pollLock.tryLock()) {
+            return;
+        }
+        try {
+            pollTimer.record(this::pollPages);
+            if (index.bufferedDocs() >= flushThreshold
+                    || System.currentTimeMillis() - lastCommitAt >= commitIntervalMs) {
+                commit();
+            }
+        } catch (RuntimeException e) {
+            log.error("검색 색인 갱신 실패: {}", e.getMessage(), e);
+        } finally {
+            pollLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pollLock.lock();
+        try {
+            commit();
+            mergeExecutor.shutdown();
+            if (!mergeExecutor.awaitTermination(30, TimeUnit.SECONDS)) {
+                log.warn("검색 세그먼트 병합이 끝나지 않아 중단 (다음 실행 시 다시 병합)");
+            }
+            index.close();
+        } catch (IOException e) {
+            log.error("검색 색인 종료 실패: {}", e.getMessage(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            pollLock.unlock();
+        }
+    }
+
+    // 폴링 스레드에서 호출
+    void commit() {
+        try {
+            index.commit(watermark != null ? watermark.toString() : null);
+            lastCommitAt = System.currentTimeMillis();
+            mergeExecutor.execute(this::merge);
+        } catch (IOException e) {
+            log.error("검색 색인 커밋 실패: {}", e.getMessage(), e);
+        }
+    }
+
+    private void pollPages() {
+        LocalDateTime from = watermark != null ? watermark.minus(settle) : EPOCH;
+        ObjectId afterId = new ObjectId("000000000000000000000000");
+        while (true) {
+            Query query = new Query(new Criteria().orOperator(
+                    Criteria.where("updated_at").gt(from),
+                    Criteria.where("updated_at").is(from).and("_id").gt(afterId)))
+                    .with(Sort.by(Sort.Direction.ASC, "updatedAt", "messageId"))
+                    .limit(pageSize);
+            List<Message> page = mongoTemplate.find(query, Message.class);
+            page.forEach(this::apply);
+            if (page.size() < pageSize) {
+                break;
+            }
+            Message last = page.get(page.size() - 1);
+            from = last.getUpdatedAt();
+            afterId = new ObjectId(last.getMessageId());
+        }
+        pruneApplied();
+    }
+
+    private void apply(Message message) {
+        if (message.getUpdatedAt() == null) {
+            return;
+        }
+        if (watermark == null || message.getUpdatedAt().isAfter(watermark)) {
+            watermark = message.getUpdatedAt();
+        }
+
+        // 저장할 때마다 updated_at이 바뀌므로 같은 값이면 이미 반영한 버전
+        if (message.getUpdatedAt().equals(applied.put(message.getMessageId(), message.getUpdatedAt()))) {
+            return;
+        }
+
+        switch (message.getType()) {
+            case "CHAT", "EDIT" -> {
+                index.upsert(new IndexedMessage(message.getMessageId(), message.getChatRoomId(),
+                        toEpochMillis(message.getCreatedAt()), message.getContent()));
+                indexed.increment();
+            }
+            case "DELETE" -> {
+                index.delete(message.getChatRoomId(), message.getMessageId());
+                removed.increment();
+            }
+            default -> {
+                // SYSTEM 등은 검색 대상이 아님
+            }
+        }
+    }
+
+    // 다시 읽는 구간(settle)보다 오래된 항목은 더 이상 중복으로 만나지 않음
+    private void pruneApplied() {
+        if (watermark != null) {
+            LocalDateTime horizon = watermark.minus(settle);
+            applied.values().removeIf(updatedAt -> updatedAt.isBefore(horizon));
+        }
+    }
+
+    private void merge() {
+        try {
+            while (index.maybeMerge()) {
+                // 세그먼트 수가 max-segments 이하가 될 때까지 반복
+            }
+        } catch (IOException | RuntimeException e) {
+            log.error("검색 세그먼트 병합 실패: {}", e.getMessage(), e);
+        }
+    }
+
+    private static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime != null ? dateTime.toInstant(ZoneOffset.UTC).toEpochMilli() : 0L;
+    }
+}
@@ -0,0 +1,81 @@
+package com.ovengers.chatservice.mongodb.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 메시지 검색용 토크나이저
+ *
+ * 한글·한자·가나는 공백 없이 조사가 붙으므로 연속 구간을 겹치는 2글자(bigram)로 나누고
+ * ("회의실에서" → 회의, 의실, 실에, 에서), 한 글자짜리 구간은 그 글자 하나를 토큰으로 쓴다.
+ * 영문·숫자는 단어 단위로 소문자화한다. 색인과 질의에 같은 규칙을 적용하므로 "회의실"은 "회의실에서"와 일치한다.
+ */
+public final class MessageTokenizer {
+    private static final int MAX_WORD_LENGTH = 64;
+
+    private MessageTokenizer() {
+    }
+
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return tokens;
+        }
+
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+        int length = normalized.length();
+        int i = 0;
+        while (i < length) {
+            int c = normalized.codePointAt(i);
+            if (isCjk(c)) {
+                int start = i;
+                while (i < length && isCjk(normalized.codePointAt(i))) {
+                    i += Character.charCount(normalized.codePointAt(i));
+                }
+                addBigrams(normalized.substring(start, i), tokens);
+            } else if (Character.isLetterOrDigit(c)) {
+                int start = i;
+                while (i < length) {
+                    int next = normalized.codePointAt(i);
+                    if (!Character.isLetterOrDigit(next) || isCjk(next)) {
+                        break;
+                    }
+                    i += Character.charCount(next);
+                }
+                String word = normalized.substring(start, i);
+                tokens.add(word.length() > MAX_WORD_LENGTH ? word.substring(0, MAX_WORD_LENGTH) : word);
+            } else {
+                i += Character.charCount(c);
+            }
+        }
+        return tokens;
+    }
+
+    private static void addBigrams(String run, List<String> tokens) {
+        int[] codePoints = run.codePoints().toArray();
+        if (codePoints.length == 1) {
+            tokens.add(run);
+            return;
+        }
+        for (int i = 0; i + 1 < codePoints.length; i++) {
+            tokens.add(new String(codePoints, i, 2));
+        }
+    }
+
+    private static boolean isCjk(int c) {
+        // 대부분의 문자(ASCII, 한글 음절)는 유니코드 스크립트 표를 찾지 않고 판별
+        if (c < 0x80) {
+            return false;
+        }
+        if (c >= 0xAC00 && c <= 0xD7A3) {
+            return true;
+        }
+        Character.UnicodeScript script = Character.UnicodeScript.of(c);
+        return script == Character.UnicodeScript.HANGUL
+                || script == Character.UnicodeScript.HAN
+                || script == Character.UnicodeScript.HIRAGANA
+                || script == Character.UnicodeScript.KATAKANA;
+    }
+}
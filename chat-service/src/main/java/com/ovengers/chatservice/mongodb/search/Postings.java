@@ -0,0 +1,51 @@
+package com.ovengers.chatservice.mongodb.search;
+
+import java.util.Arrays;
+
+// 문서 ID 오름차순 postings (문서 ID, 토큰 빈도)
+final class Postings {
+    private int[] docs;
+    private int[] freqs;
+    private int size;
+
+    Postings() {
+        this(new int[4], new int[4], 0);
+    }
+
+    Postings(int[] docs, int[] freqs, int size) {
+        this.docs = docs;
+        this.freqs = freqs;
+        this.size = size;
+    }
+
+    // 같은 문서의 토큰이 연속으로 들어오면 빈도만 증가
+    void add(int doc) {
+        if (size > 0 && docs[size - 1] == doc) {
+            freqs[size - 1]++;
+            return;
+        }
+        add(doc, 1);
+    }
+
+    void add(int doc, int freq) {
+        if (size == docs.length) {
+            docs = Arrays.copyOf(docs, size * 2);
+            freqs = Arrays.copyOf(freqs, size * 2);
+        }
+        docs[size] = doc;
+        freqs[size] = freq;
+        size++;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int doc(int i) {
+        return docs[i];
+    }
+
+    int freq(int i) {
+        return freqs[i];
+    }
+}
@@ -0,0 +1,5 @@
+package com.ovengers.chatservice.mongodb.search;
+
+// 검색 결과 (점수 내림차순, 같은 점수는 최신 메시지 우선)
+public record SearchHit(String messageId, Long chatRoomId, long createdAt, double score) {
+}
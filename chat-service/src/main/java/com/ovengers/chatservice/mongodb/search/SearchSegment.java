@@ -0,0 +1,309 @@
+package com.ovengers.chatservice.mongodb.search;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.BitSet;
+
+/**
+ * 디스크 세그먼트 (불변, 메모리 매핑으로 읽음)
+ *
+ * 파일(%020d.seg) 구성:
+ *   헤더 64B  | 문서 [chatRoomId 8B][createdAt 8B][토큰 수 4B][messageId 길이 2B + UTF-8]
+ *   | 문서 오프셋 [4B × 문서 수] | postings [(문서 ID 차이, 빈도) varint 쌍]
+ *   | 토큰 사전 [chatRoomId 8B][토큰 길이 2B + UTF-8][문서 빈도 4B][postings 오프셋 4B] (TermKey 오름차순)
+ *   | 사전 인덱스 [개수 4B][INDEX_INTERVAL번째마다 사전 항목 오프셋 4B]
+ *   | 메시지 ID 필터 [워드 수 4B][8B × 워드 수] (MessageIdFilter)
+ * 사전 인덱스만 메모리에 올리고, 조회 시 이진 탐색 후 최대 INDEX_INTERVAL개 항목을 순차 비교한다.
+ * 삭제는 파일을 고치지 않고 문서 번호 비트맵(%020d.del)으로 기록하며, 병합 때 실제로 제거된다.
+ * 모든 읽기는 절대 위치 get이므로 여러 스레드가 동시에 조회할 수 있다.
+ */
+final class SearchSegment implements IndexSegment {
+    static final int MAGIC = 0x4D534731;
+    static final int HEADER_BYTES = 64;
+    static final int INDEX_INTERVAL = 32;
+    static final String SUFFIX = ".seg";
+    static final String DELETES_SUFFIX = ".del";
+
+    private final long id;
+    private final Path file;
+    private final Path deletesFile;
+    private final ByteBuffer buffer;
+    private final int docCount;
+    private final int termCount;
+    private final long totalLength;
+    private final int docOffsetsOffset;
+    private final int termsOffset;
+    private final int termsEnd;
+    private final long[] indexRooms;
+    private final String[] indexTerms;
+    private final int[] indexEntries;
+    private final MessageIdFilter idFilter;
+
+    // MessageSearchIndex의 잠금 안에서만 변경
+    private final BitSet deleted;
+    private int deletedCount;
+    private boolean deletesDirty;
+
+    private SearchSegment(long id, Path file, Path deletesFile, ByteBuffer buffer) throws IOException {
+        this.id = id;
+        this.file = file;
+        this.deletesFile = deletesFile;
+        this.buffer = buffer;
+
+        if (buffer.getInt(0) != MAGIC) {
+            throw new IOException("검색 세그먼트 형식이 아닙니다: " + file);
+        }
+        this.docCount = buffer.getInt(4);
+        this.termCount = buffer.getInt(8);
+        this.totalLength = buffer.getLong(12);
+        this.docOffsetsOffset = buffer.getInt(24);
+        this.termsOffset = buffer.getInt(32);
+        int indexOffset = buffer.getInt(36);
+        this.termsEnd = indexOffset;
+
+        int indexSize = buffer.getInt(indexOffset);
+        this.indexRooms = new long[indexSize];
+        this.indexTerms = new String[indexSize];
+        this.indexEntries = new int[indexSize];
+        for (int i = 0; i < indexSize; i++) {
+            int entry = buffer.getInt(indexOffset + Integer.BYTES * (i + 1));
+            indexEntries[i] = entry;
+            indexRooms[i] = buffer.getLong(entry);
+            indexTerms[i] = readTerm(entry);
+        }
+
+        int filterOffset = buffer.getInt(40);
+        long[] words = new long[buffer.getInt(filterOffset)];
+        buffer.slice(filterOffset + Integer.BYTES, words.length * Long.BYTES).asLongBuffer().get(words);
+        this.idFilter = new MessageIdFilter(words);
+
+        this.deleted = Files.exists(deletesFile) ? BitSet.valueOf(Files.readAllBytes(deletesFile)) : new BitSet();
+        this.deletedCount = deleted.cardinality();
+    }
+
+    static SearchSegment open(Path directory, long id) throws IOException {
+        Path file = file(directory, id);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            // 매핑은 채널을 닫은 뒤에도 유효하다
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new SearchSegment(id, file, directory.resolve(String.format("%020d", id) + DELETES_SUFFIX), buffer);
+        }
+    }
+
+    static Path file(Path directory, long id) {
+        return directory.resolve(String.format("%020d", id) + SUFFIX);
+    }
+
+    long id() {
+        return id;
+    }
+
+    Path path() {
+        return file;
+    }
+
+    Path deletesPath() {
+        return deletesFile;
+    }
+
+    @Override
+    public Postings postings(TermKey key) {
+        int entry = findEntry(key);
+        return entry < 0 ? null : readPostings(entry);
+    }
+
+    // 필터에 없는 ID는 사전을 찾지 않음
+    @Override
+    public boolean delete(long chatRoomId, String messageId) {
+        return idFilter.mightContain(chatRoomId, messageId) && IndexSegment.super.delete(chatRoomId, messageId);
+    }
+
+    @Override
+    public Doc doc(int doc) {
+        int offset = buffer.getInt(docOffsetsOffset + doc * Integer.BYTES);
+        int idLength = buffer.getShort(offset + 20) & 0xFFFF;
+        return new Doc(readString(offset + 22, idLength), buffer.getLong(offset), buffer.getLong(offset + 8),
+                buffer.getInt(offset + 16));
+    }
+
+    @Override
+    public int length(int doc) {
+        return buffer.getInt(buffer.getInt(docOffsetsOffset + doc * Integer.BYTES) + 16);
+    }
+
+    @Override
+    public int docCount() {
+        return docCount;
+    }
+
+    @Override
+    public long totalLength() {
+        return totalLength;
+    }
+
+    @Override
+    public boolean isDeleted(int doc) {
+        return deleted.get(doc);
+    }
+
+    @Override
+    public int deletedCount() {
+        return deletedCount;
+    }
+
+    @Override
+    public boolean markDeleted(int doc) {
+        if (deleted.get(doc)) {
+            return false;
+        }
+        deleted.set(doc);
+        deletedCount++;
+        deletesDirty = true;
+        return true;
+    }
+
+    // 병합 시작 시점의 삭제 상태 (병합 중 삭제된 문서는 교체 시 옮겨 적용)
+    BitSet deletedSnapshot() {
+        return (BitSet) deleted.clone();
+    }
+
+    // 변경된 삭제 비트맵 저장 (임시 파일 → 교체)
+    void writeDeletes() throws IOException {
+        if (!deletesDirty) {
+            return;
+        }
+        Path temp = deletesFile.resolveSibling(deletesFile.getFileName() + ".tmp");
+        Files.write(temp, deleted.toByteArray());
+        Files.move(temp, deletesFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        deletesDirty = false;
+    }
+
+    // 사전 순서대로 모든 토큰 순회 (병합용)
+    TermCursor terms() {
+        return new TermCursor();
+    }
+
+    final class TermCursor {
+        private int position = termsOffset;
+        private TermKey key;
+        private int entry;
+
+        boolean next() {
+            if (position >= termsEnd) {
+                return false;
+            }
+            entry = position;
+            key = new TermKey(buffer.getLong(entry), readTerm(entry));
+            position = nextEntry(entry);
+            return true;
+        }
+
+        TermKey key() {
+            return key;
+        }
+
+        Postings postings() {
+            return readPostings(entry);
+        }
+    }
+
+    private int findEntry(TermKey key) {
+        if (indexEntries.length == 0) {
+            return -1;
+        }
+        // key 이하인 마지막 인덱스 항목
+        int low = 0;
+        int high = indexEntries.length - 1;
+        int start = -1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int compared = compare(indexRooms[mid], indexTerms[mid], key);
+            if (compared <= 0) {
+                start = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        if (start < 0) {
+            return -1;
+        }
+
+        int entry = indexEntries[start];
+        for (int i = 0; i < INDEX_INTERVAL && entry < termsEnd; i++) {
+            // 다른 채팅방 항목은 토큰을 읽지 않고 넘김
+            int byRoom = Long.compare(buffer.getLong(entry), key.chatRoomId());
+            int compared = byRoom != 0 ? byRoom : readTerm(entry).compareTo(key.term());
+            if (compared == 0) {
+                return entry;
+            }
+            if (compared > 0) {
+                return -1;
+            }
+            entry = nextEntry(entry);
+        }
+        return -1;
+    }
+
+    private Postings readPostings(int entry) {
+        int termLength = buffer.getShort(entry + 8) & 0xFFFF;
+        int docFreq = buffer.getInt(entry + 10 + termLength);
+        int position = buffer.getInt(entry + 14 + termLength);
+
+        int[] docs = new int[docFreq];
+        int[] freqs = new int[docFreq];
+        int doc = 0;
+        for (int i = 0; i < docFreq; i++) {
+            int value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = buffer.get(position++);
+                value |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            doc += value;
+            docs[i] = doc;
+
+            value = 0;
+            shift = 0;
+            do {
+                b = buffer.get(position++);
+                value |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            freqs[i] = value;
+        }
+        return new Postings(docs, freqs, docFreq);
+    }
+
+    private int nextEntry(int entry) {
+        return entry + 18 + (buffer.getShort(entry + 8) & 0xFFFF);
+    }
+
+    private String readTerm(int entry) {
+        return readString(entry + 10, buffer.getShort(entry + 8) & 0xFFFF);
+    }
+
+    private String readString(int offset, int length) {
+        byte[] bytes = new byte[length];
+        buffer.get(offset, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static int compare(long chatRoomId, String term, TermKey key) {
+        int byRoom = Long.compare(chatRoomId, key.chatRoomId());
+        return byRoom != 0 ? byRoom : term.compareTo(key.term());
+    }
+
+    @Override
+    public String toString() {
+        return "SearchSegment[id=" + id + ", docs=" + docCount + ", deleted=" + deletedCount + "]";
+    }
+}
@@ -0,0 +1,78 @@
+package com.ovengers.chatservice.mongodb.search;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// 디스크에 쓰기 전까지 메모리에 쌓는 세그먼트 (MessageSearchIndex의 쓰기 잠금 안에서만 변경)
+final class SegmentBuffer implements IndexSegment {
+    private final List<Doc> docs = new ArrayList<>();
+    private final Map<TermKey, Postings> postings = new HashMap<>();
+    private final BitSet deleted = new BitSet();
+    private int deletedCount;
+    private long totalLength;
+
+    int add(IndexedMessage message, List<String> tokens) {
+        int doc = docs.size();
+        docs.add(new Doc(message.messageId(), message.chatRoomId(), message.createdAt(), tokens.size()));
+        totalLength += tokens.size();
+
+        postings.computeIfAbsent(TermKey.ofMessageId(message.chatRoomId(), message.messageId()), key -> new Postings())
+                .add(doc);
+        for (String token : tokens) {
+            postings.computeIfAbsent(new TermKey(message.chatRoomId(), token), key -> new Postings()).add(doc);
+        }
+        return doc;
+    }
+
+    Map<TermKey, Postings> allPostings() {
+        return postings;
+    }
+
+    @Override
+    public Postings postings(TermKey key) {
+        return postings.get(key);
+    }
+
+    @Override
+    public Doc doc(int doc) {
+        return docs.get(doc);
+    }
+
+    @Override
+    public int length(int doc) {
+        return docs.get(doc).length();
+    }
+
+    @Override
+    public int docCount() {
+        return docs.size();
+    }
+
+    @Override
+    public long totalLength() {
+        return totalLength;
+    }
+
+    @Override
+    public boolean isDeleted(int doc) {
+        return deleted.get(doc);
+    }
+
+    @Override
+    public int deletedCount() {
+        return deletedCount;
+    }
+
+    @Override
+    public boolean markDeleted(int doc) {
+        if (deleted.get(doc)) {
+            return false;
+        }
+        deleted.set(doc);
+        deletedCount++;
+        return true;
+    }
+}
@@ -0,0 +1,183 @@
+package com.ovengers.chatservice.mongodb.search;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 세그먼트 파일 작성 (SearchSegment 참고)
+ *
+ * 문서는 addDoc 순서대로 0부터 번호가 매겨지고, addTerm은 TermKey 오름차순으로 호출해야 한다.
+ * postings는 본 파일에, 토큰 사전은 임시 파일에 이어서 쓴 뒤 finish()에서 합치고 헤더를 기록한다.
+ */
+final class SegmentWriter implements AutoCloseable {
+    private final Path file;
+    private final Path termsFile;
+    private final DataOutputStream out;
+    private final DataOutputStream terms;
+    private final ByteBuffer docOffsets;
+
+    private int docCount;
+    private int termCount;
+    private long totalLength;
+    private long docsOffset;
+    private long docOffsetsOffset;
+    private long postingsOffset = -1;
+    private TermKey lastTerm;
+    private byte[] scratch = new byte[1024];
+    private final MessageIdFilter idFilter;
+    private final List<Integer> indexOffsets = new ArrayList<>();
+
+    SegmentWriter(Path file, int maxDocs) throws IOException {
+        this.file = file;
+        this.termsFile = file.resolveSibling(file.getFileName() + ".terms");
+        this.out = open(file);
+        this.terms = open(termsFile);
+        this.docOffsets = ByteBuffer.allocate(maxDocs * Integer.BYTES);
+        this.idFilter = new MessageIdFilter(maxDocs);
+
+        out.write(new byte[SearchSegment.HEADER_BYTES]);
+        docsOffset = position(out);
+    }
+
+    int addDoc(IndexSegment.Doc doc) throws IOException {
+        if (postingsOffset >= 0) {
+            throw new IllegalStateException("문서는 토큰보다 먼저 추가해야 합니다.");
+        }
+        docOffsets.putInt(checkedOffset(position(out)));
+        byte[] id = doc.messageId().getBytes(StandardCharsets.UTF_8);
+        out.writeLong(doc.chatRoomId());
+        out.writeLong(doc.createdAt());
+        out.writeInt(doc.length());
+        out.writeShort(id.length);
+        out.write(id);
+        totalLength += doc.length();
+        idFilter.add(doc.chatRoomId(), doc.messageId());
+        return docCount++;
+    }
+
+    // postings의 문서 ID는 이 세그먼트 기준 (오름차순)
+    void addTerm(TermKey key, Postings postings) throws IOException {
+        if (postings.size() == 0) {
+            return;
+        }
+        if (lastTerm != null && key.compareTo(lastTerm) <= 0) {
+            throw new IllegalStateException("토큰은 오름차순으로 추가해야 합니다: " + key);
+        }
+        if (postingsOffset < 0) {
+            docOffsetsOffset = position(out);
+            out.write(docOffsets.array(), 0, docOffsets.position());
+            postingsOffset = position(out);
+        }
+        lastTerm = key;
+
+        int offset = checkedOffset(position(out));
+        // 항목마다 스트림에 바이트 단위로 쓰지 않고 한 번에 기록 (varint 쌍은 최대 10바이트)
+        if (scratch.length < postings.size() * 10) {
+            scratch = new byte[postings.size() * 10];
+        }
+        int length = 0;
+        int previous = 0;
+        for (int i = 0; i < postings.size(); i++) {
+            length = writeVarInt(scratch, length, postings.doc(i) - previous);
+            length = writeVarInt(scratch, length, postings.freq(i));
+            previous = postings.doc(i);
+        }
+        out.write(scratch, 0, length);
+
+        if (termCount % SearchSegment.INDEX_INTERVAL == 0) {
+            indexOffsets.add(checkedOffset(position(terms)));
+        }
+        byte[] term = key.term().getBytes(StandardCharsets.UTF_8);
+        terms.writeLong(key.chatRoomId());
+        terms.writeShort(term.length);
+        terms.write(term);
+        terms.writeInt(postings.size());
+        terms.writeInt(offset);
+        termCount++;
+    }
+
+    // 파일 크기 (바이트)
+    long finish() throws IOException {
+        if (postingsOffset < 0) {
+            docOffsetsOffset = position(out);
+            out.write(docOffsets.array(), 0, docOffsets.position());
+            postingsOffset = position(out);
+        }
+        terms.flush();
+        terms.close();
+
+        long termsOffset = position(out);
+        Files.copy(termsFile, out);
+        long indexOffset = position(out);
+        out.writeInt(indexOffsets.size());
+        for (int offset : indexOffsets) {
+            out.writeInt(checkedOffset(termsOffset + offset));
+        }
+        long filterOffset = position(out);
+        out.writeInt(idFilter.words().length);
+        for (long word : idFilter.words()) {
+            out.writeLong(word);
+        }
+        long size = position(out);
+        checkedOffset(size);
+        out.flush();
+        out.close();
+        Files.deleteIfExists(termsFile);
+
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+            raf.writeInt(SearchSegment.MAGIC);
+            raf.writeInt(docCount);
+            raf.writeInt(termCount);
+            raf.writeLong(totalLength);
+            raf.writeInt((int) docsOffset);
+            raf.writeInt((int) docOffsetsOffset);
+            raf.writeInt((int) postingsOffset);
+            raf.writeInt((int) termsOffset);
+            raf.writeInt((int) indexOffset);
+            raf.writeInt((int) filterOffset);
+            raf.getFD().sync();
+        }
+        return size;
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+        terms.close();
+        Files.deleteIfExists(termsFile);
+    }
+
+    // 세그먼트는 하나의 매핑(2GB 미만)으로 읽으므로 오프셋은 int 범위여야 함
+    private static int checkedOffset(long offset) {
+        if (offset >= Integer.MAX_VALUE) {
+            throw new IllegalStateException("세그먼트가 너무 큽니다 (2GB 초과). max-merge-docs를 줄여야 합니다.");
+        }
+        return (int) offset;
+    }
+
+    private static DataOutputStream open(Path path) throws IOException {
+        return new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path), 1 << 16));
+    }
+
+    // 세그먼트는 2GB 미만이므로 DataOutputStream의 int 카운터로 충분 (넘으면 checkedOffset에서 실패)
+    private static long position(DataOutputStream stream) {
+        return stream.size();
+    }
+
+    static int writeVarInt(byte[] target, int position, int value) {
+        while ((value & ~0x7F) != 0) {
+            target[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        target[position++] = (byte) value;
+        return position;
+    }
+}
@@ -0,0 +1,29 @@
+package com.ovengers.chatservice.mongodb.search;
+
+// 색인 키: 채팅방별로 나뉜 토큰 (채팅방 ID → 토큰 순으로 정렬)
+record TermKey(long chatRoomId, String term) implements Comparable<TermKey> {
+    // 메시지 ID로 문서를 찾기 위한 예약 토큰 (토크나이저는 제어 문자를 내보내지 않음)
+    static final String ID_PREFIX = "\u0000id:";
+
+    static TermKey ofMessageId(long chatRoomId, String messageId) {
+        return new TermKey(chatRoomId, ID_PREFIX + messageId);
+    }
+
+    // 기본 record 해시(31 * 채팅방 + 토큰)는 인접한 채팅방의 비슷한 2글자 토큰끼리 자주 겹쳐 HashMap 버킷이 트리로 바뀐다
+    @Override
+    public int hashCode() {
+        int hash = term.hashCode() * 0x9E3779B9 + Long.hashCode(chatRoomId * 0xC2B2AE3D27D4EB4FL);
+        return hash ^ (hash >>> 16);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof TermKey other && chatRoomId == other.chatRoomId && term.equals(other.term);
+    }
+
+    @Override
+    public int compareTo(TermKey other) {
+        int byRoom = Long.compare(chatRoomId, other.chatRoomId);
+        return byRoom != 0 ? byRoom : term.compareTo(other.term);
+    }
+}
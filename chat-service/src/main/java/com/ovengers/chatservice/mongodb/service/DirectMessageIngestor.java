@@ -0,0 +1,24 @@
+package com.ovengers.chatservice.mongodb.service;
+
+import com.ovengers.chatservice.mongodb.document.Message;
+import com.ovengers.chatservice.mongodb.repository.MessageRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "chat.ingest.mode", havingValue = "direct", matchIfMissing = true)
+public class DirectMessageIngestor implements MessageIngestor {
+    private final MessageRepository messageRepository;
+    private final RoomSummaryService roomSummaryService;
+
+    @Override
+    public Mono<Message> ingest(Message message) {
+        return messageRepository.save(message)
+                // 발급된 seq가 저장되지 않고 비는 경우 읽지 않은 메시지 수에서 빠지도록 기록
+                .onErrorResume(e -> roomSummaryService.onMessageLost(message).then(Mono.error(e)))
+                .flatMap(roomSummaryService::onMessageSaved);
+    }
+}
@@ -0,0 +1,24 @@
+package com.ovengers.chatservice.mongodb.service;
+
+import com.ovengers.chatservice.mongodb.document.Message;
+import reactor.core.publisher.Mono;
+
+/**
+ * 시퀀스가 부여된 새 메시지 저장 (chat.ingest.mode)
+ *
+ * direct: Mongo 저장과 room_summary 반영이 끝난 뒤 완료 (기본값)
+ * wal: 로컬 로그에 기록하는 즉시 완료, Mongo에는 배치로 저장 (WalMessageIngestor)
+ */
+public interface MessageIngestor {
+    Mono<Message> ingest(Message message);
+
+    // 완료되었지만 아직 Mongo에 저장되지 않은 메시지의 복사본 (없으면 빈 Mono)
+    default Mono<Message> findPending(String messageId) {
+        return Mono.empty();
+    }
+
+    // 메시지가 Mongo에 저장될 때까지 대기 (저장 대기 중이 아니면 바로 완료)
+    default Mono<Void> awaitStored(String messageId) {
+        return Mono.empty();
+    }
+}
@@ -0,0 +1,118 @@
+package com.ovengers.chatservice.mongodb.service;
+
+import com.ovengers.chatservice.mongodb.archive.MessageArchiveStore;
+import com.ovengers.chatservice.mongodb.document.Message;
+import com.ovengers.chatservice.mongodb.dto.MessageDto;
+import com.ovengers.chatservice.mongodb.dto.MessageSearchHitDto;
+import com.ovengers.chatservice.mongodb.repository.MessageRepository;
+import com.ovengers.chatservice.mongodb.search.MessageSearchIndexer;
+import com.ovengers.chatservice.mongodb.search.SearchHit;
+import com.ovengers.chatservice.mysql.cache.RoomMembershipCache;
+import com.ovengers.chatservice.mysql.entity.UserChatRoom;
+import com.ovengers.chatservice.mysql.repository.UserChatRoomRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 메시지 검색 (chat.search.enabled=true 일 때)
+ *
+ * 요청자가 구독 중인 채팅방(또는 지정한 채팅방 하나)의 색인만 조회하고, 결과 메시지는 Mongo에서 다시 읽어
+ * 색인 반영 전에 수정/삭제된 메시지를 걸러낸다. hot 컬렉션에 없는 결과는 보관 묶음(MessageArchiveStore)에서 찾는다. 각 결과의 cursor로 /messages/before, /messages/after를 호출하면 앞뒤 문맥을 볼 수 있다.
+ */
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "chat.search.enabled", havingValue = "true")
+public class MessageSearchService {
+    private static final Set<String> SEARCHABLE_TYPES = Set.of("CHAT", "EDIT");
+
+    private final MessageSearchIndexer messageSearchIndexer;
+    private final MessageRepository messageRepository;
+    private final MessageArchiveStore messageArchiveStore;
+    private final UserChatRoomRepository userChatRoomRepository;
+    private final RoomMembershipCache roomMembershipCache;
+    private final SenderResolver senderResolver;
+    private final Scheduler blockingScheduler;
+
+    public Flux<MessageSearchHitDto> search(String userId, String query, Long chatRoomId, int size) {
+        if (query == null || query.isBlank()) {
+            return Flux.error(new IllegalArgumentException("검색어가 비어 있습니다."));
+        }
+
+        return Mono.fromCallable(() -> messageSearchIndexer.search(searchableRooms(userId, chatRoomId), query, size))
+                .subscribeOn(blockingScheduler)
+                .flatMapMany(this::enrich);
+    }
+
+    private List<Long> searchableRooms(String userId, Long chatRoomId) {
+        if (chatRoomId == null) {
+            return userChatRoomRepository.findAllByUserId(userId).stream()
+                    .map(UserChatRoom::getChatRoomId)
+                    .toList();
+        }
+        if (!roomMembershipCache.isMember(chatRoomId, userId)) {
+            throw new IllegalArgumentException(chatRoomId + "번 채팅방에 구독되어 있지 않습니다.");
+        }
+        return List.of(chatRoomId);
+    }
+
+    // 색인 순위를 유지하면서 현재 메시지 내용으로 응답 구성
+    private Flux<MessageSearchHitDto> enrich(List<SearchHit> hits) {
+        if (hits.isEmpty()) {
+            return Flux.empty();
+        }
+        return messageRepository.findAllById(hits.stream().map(SearchHit::messageId).toList())
+                .collect(Collectors.toMap(Message::getMessageId, Function.identity()))
+                .flatMap(hot -> findArchived(hits, hot))
+                .flatMapMany(messages -> {
+                    List<SearchHit> found = hits.stream()
+                            .filter(hit -> isSearchable(messages.get(hit.messageId())))
+                            .toList();
+                    return senderResolver.resolve(found.stream().map(hit -> messages.get(hit.messageId()).toDto()).toList())
+                            .flatMapMany(resolved -> Flux.range(0, found.size())
+                                    .map(i -> toDto(found.get(i), resolved.get(i))));
+                });
+    }
+
+    // hot 컬렉션에 없는 결과는 보관된 메시지 (보관 기간이 지난 메시지도 검색되도록)
+    private Mono<Map<String, Message>> findArchived(List<SearchHit> hits, Map<String, Message> hot) {
+        List<SearchHit> missing = hits.stream()
+                .filter(hit -> !hot.containsKey(hit.messageId()))
+                .toList();
+        if (missing.isEmpty()) {
+            return Mono.just(hot);
+        }
+        return Flux.fromIterable(missing)
+                .flatMap(hit -> messageArchiveStore.find(hit.chatRoomId(), hit.messageId()))
+                .collectList()
+                .map(archived -> {
+                    Map<String, Message> messages = new HashMap<>(hot);
+                    archived.forEach(message -> messages.put(message.getMessageId(), message));
+                    return messages;
+                });
+    }
+
+    private static boolean isSearchable(Message message) {
+        return message != null && SEARCHABLE_TYPES.contains(message.getType());
+    }
+
+    private static MessageSearchHitDto toDto(SearchHit hit, MessageDto message) {
+        return MessageSearchHitDto.builder()
+                .messageId(hit.messageId())
+                .chatRoomId(hit.chatRoomId())
+                .score(hit.score())
+                .cursor(message.getCursor())
+                .message(message)
+                .build();
+    }
+}
@@ -0,0 +1,122 @@
+package com.ovengers.chatservice.mongodb.service;
+
+import com.ovengers.chatservice.mongodb.document.Message;
+import com.ovengers.chatservice.mongodb.document.RoomSummary;
+import com.ovengers.chatservice.mysql.entity.ChatRoomRead;
+import com.ovengers.chatservice.mysql.repository.ChatRoomReadRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * seq 도입 이전 메시지에 대한 시퀀스 백필 작업 (chat.sequence.backfill.enabled=true 일 때 기동 시 1회 실행)
+ *
+ * seq가 없는 메시지에만 기존 번호 범위 아래쪽으로 번호를 매긴다. 채팅방에서 가장 작은 seq(없으면 1) 바로 아래부터
+ * createdAt 역순으로 1씩 내려가며 부여하므로 0 이하가 될 수 있고, 이미 부여된 seq와 room_sequence 카운터는 바꾸지 않는다.
+ * 따라서 운영 중에 실행해도 새로 발급되는 seq와 겹치지 않고, 여러 노드에서 함께 실행되어도 같은 번호를 매긴다.
+ * 번호가 바뀐 채팅방만 room_summary를 삭제하여 다음 조회 시 재생성되게 한다.
+ * 이후 lastReadMessageId만 있는 읽음 위치(tbl_chat_room_read)에 lastReadSeq를 채운다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "chat.sequence.backfill.enabled", havingValue = "true")
+public class MessageSequenceBackfillJob {
+    private static final int BATCH_SIZE = 1000;
+
+    private final MongoTemplate mongoTemplate;
+    private final ChatRoomReadRepository chatRoomReadRepository;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        List<Long> chatRoomIds = mongoTemplate.findDistinct(
+                Query.query(Criteria.where("seq").exists(false)), "chatRoomId", Message.class, Long.class);
+        log.info("메시지 시퀀스 백필 시작 - 대상 채팅방 수: {}", chatRoomIds.size());
+
+        chatRoomIds.forEach(this::backfillChatRoom);
+        backfillReadMarkers();
+
+        log.info("메시지 시퀀스 백필 완료");
+    }
+
+    void backfillChatRoom(Long chatRoomId) {
+        // 가장 오래된 seq 메시지 바로 앞의 위치에서 시작
+        Query lowest = Query.query(Criteria.where("chatRoomId").is(chatRoomId).and("seq").exists(true))
+                .with(Sort.by(Sort.Direction.ASC, "seq"));
+        lowest.fields().include("seq", "systemSeq", "type");
+        Message floor = mongoTemplate.findOne(lowest, Message.class);
+
+        long seq = floor != null ? floor.getSeq() - 1 : 0L;
+        long systemSeq = floor != null ? systemSeqBefore(floor) : 0L;
+
+        Query query = Query.query(Criteria.where("chatRoomId").is(chatRoomId).and("seq").exists(false))
+                .with(Sort.by(Sort.Direction.DESC, "createdAt", "messageId"));
+        query.fields().include("type");
+
+        long modified = 0L;
+        int pending = 0;
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Message.class);
+
+        try (Stream<Message> messages = mongoTemplate.stream(query, Message.class)) {
+            Iterator<Message> iterator = messages.iterator();
+            while (iterator.hasNext()) {
+                Message message = iterator.next();
+                // 다른 노드가 먼저 부여한 경우 덮어쓰지 않음
+                bulk.updateOne(Query.query(Criteria.where("_id").is(message.getMessageId()).and("seq").exists(false)),
+                        new Update().set("seq", seq).set("systemSeq", systemSeq));
+                seq--;
+                if ("SYSTEM".equals(message.getType())) {
+                    systemSeq--;
+                }
+
+                if (++pending == BATCH_SIZE) {
+                    modified += bulk.execute().getModifiedCount();
+                    bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Message.class);
+                    pending = 0;
+                }
+            }
+        }
+        if (pending > 0) {
+            modified += bulk.execute().getModifiedCount();
+        }
+
+        if (modified > 0) {
+            mongoTemplate.remove(Query.query(Criteria.where("_id").is(chatRoomId)), RoomSummary.class);
+        }
+        log.info("채팅방 {} 시퀀스 백필 완료 - 메시지 수: {}", chatRoomId, modified);
+    }
+
+    // 이 메시지 직전까지의 SYSTEM 메시지 수 (systemSeq는 자기 자신을 포함하여 셈)
+    private static long systemSeqBefore(Message message) {
+        long systemSeq = message.getSystemSeq() != null ? message.getSystemSeq() : 0L;
+        return "SYSTEM".equals(message.getType()) ? systemSeq - 1 : systemSeq;
+    }
+
+    private void backfillReadMarkers() {
+        List<ChatRoomRead> chatRoomReads = chatRoomReadRepository.findAllByLastReadSeqIsNullAndLastReadMessageIdIsNotNull();
+
+        for (ChatRoomRead chatRoomRead : chatRoomReads) {
+            Message message = mongoTemplate.findById(chatRoomRead.getLastReadMessageId(), Message.class);
+            if (message != null && message.getSeq() != null) {
+                chatRoomRead.setLastReadSeq(message.getSeq());
+                chatRoomRead.setLastReadSystemSeq(message.getSystemSeq());
+            }
+        }
+
+        chatRoomReadRepository.saveAll(chatRoomReads);
+        log.info("읽음 위치 시퀀스 백필 완료 - 대상 수: {}", chatRoomReads.size());
+    }
+}
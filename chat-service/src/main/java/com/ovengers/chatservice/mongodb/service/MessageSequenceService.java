@@ -0,0 +1,60 @@
+package com.ovengers.chatservice.mongodb.service;
+
+import com.ovengers.chatservice.mongodb.document.Message;
+import com.ovengers.chatservice.mongodb.document.RoomSequence;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+/**
+ * 채팅방별 메시지 시퀀스 발급
+ * room_sequence 문서에 대한 원자적 $inc(findAndModify, upsert)로 발급하므로 여러 노드에서 동시에 호출해도 중복되지 않는다.
+ */
+@Service
+@RequiredArgsConstructor
+public class MessageSequenceService {
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+
+    public Mono<RoomSequence> next(Long chatRoomId, boolean system) {
+        Update update = new Update().inc("seq", 1L);
+        update.inc("systemSeq", system ? 1L : 0L);
+        update.inc("version", 1L);
+
+        return reactiveMongoTemplate.findAndModify(
+                Query.query(Criteria.where("_id").is(chatRoomId)),
+                update,
+                FindAndModifyOptions.options().upsert(true).returnNew(true),
+                RoomSequence.class);
+    }
+
+    // 저장 직전의 메시지에 시퀀스 부여
+    public Mono<Message> assign(Message message) {
+        boolean system = "SYSTEM".equals(message.getType());
+
+        return next(message.getChatRoomId(), system)
+                .map(sequence -> {
+                    message.setSeq(sequence.getSeq());
+                    message.setSystemSeq(sequence.getSystemSeq());
+                    message.setVersion(sequence.getVersion());
+                    return message;
+                });
+    }
+
+    // 기존 메시지 수정/삭제 시 새 변경 버전 부여
+    public Mono<Message> assignVersion(Message message) {
+        return reactiveMongoTemplate.findAndModify(
+                        Query.query(Criteria.where("_id").is(message.getChatRoomId())),
+                        new Update().inc("version", 1L),
+                        FindAndModifyOptions.options().upsert(true).returnNew(true),
+                        RoomSequence.class)
+                .map(sequence -> {
+                    message.setVersion(sequence.getVersion());
+                    return message;
+                });
+    }
+}
@@ -1,32 +1,50 @@
 package com.ovengers.chatservice.mongodb.service;
 
 import com.ovengers.chatservice.client.UserResponseDto;
-import com.ovengers.chatservice.client.UserServiceClient;
+import com.ovengers.chatservice.client.CachingUserServiceClient;
+import com.ovengers.chatservice.mongodb.archive.MessageArchiveStore;
+import com.ovengers.chatservice.mongodb.cache.RecentMessageCache;
+import com.ovengers.chatservice.mongodb.dto.MessageChangesDto;
+import com.ovengers.chatservice.mongodb.dto.MessageCursor;
 import com.ovengers.chatservice.mongodb.dto.MessageDto;
 import com.ovengers.chatservice.mongodb.document.Message;
 import com.ovengers.chatservice.mongodb.repository.MessageRepository;
-import com.ovengers.chatservice.mysql.repository.ChatRoomRepository;
-import com.ovengers.chatservice.mysql.repository.UserChatRoomRepository;
+import com.ovengers.chatservice.mysql.cache.RoomMembershipCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.auditing.DateTimeProvider;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class MessageService {
+    // 변경 버전 발급 후 저장까지 걸릴 수 있는 최대 시간 (이보다 최근 변경은 동기화 토큰을 넘기지 않음)
+    private static final Duration CHANGE_SETTLE_TIME = Duration.ofSeconds(5);
+
     private final MessageRepository messageRepository;
-    private final ChatRoomRepository chatRoomRepository;
-    private final UserChatRoomRepository userChatRoomRepository;
-    private final UserServiceClient userServiceClient;
+    private final RoomMembershipCache roomMembershipCache;
+    private final CachingUserServiceClient cachingUserServiceClient;
+    private final MessageSequenceService messageSequenceService;
+    private final RoomSummaryService roomSummaryService;
+    private final MessageIngestor messageIngestor;
+    private final RecentMessageCache recentMessageCache;
+    private final MessageArchiveStore messageArchiveStore;
+    private final SenderResolver senderResolver;
+    private final DateTimeProvider auditingDateTimeProvider;
+    private final Scheduler blockingScheduler;
 
     public UserResponseDto getUserInfo(String userId) {
-        UserResponseDto userById = userServiceClient.getUserById(userId);
+        UserResponseDto userById = cachingUserServiceClient.getUserById(userId);
 
         if (userById == null) {
             throw new RuntimeException("사용자 정보를 가져오는 데 실패했습니다: " + userId);
@@ -42,131 +60,263 @@ public class MessageService {
     }
 
     private void validateChatRoomAndUser(Long chatRoomId, String userId) {
-        if (!chatRoomRepository.existsById(chatRoomId)) {
+        if (!roomMembershipCache.exists(chatRoomId)) {
             throw new IllegalArgumentException(chatRoomId + "번 채팅방은 존재하지 않습니다.");
         }
 
-        if (!userChatRoomRepository.existsByChatRoomIdAndUserId(chatRoomId, userId)) {
+        if (!roomMembershipCache.isMember(chatRoomId, userId)) {
             throw new IllegalArgumentException(chatRoomId + "번 채팅방에 구독되어 있지 않습니다.");
         }
     }
 
+    // 블로킹 검증(JPA)은 blockingScheduler에서 실행
     private Mono<Void> validateChatRoomAndUserReactive(Long chatRoomId, String userId) {
-        return Mono.fromRunnable(() -> validateChatRoomAndUser(chatRoomId, userId));
+        return Mono.<Void>fromRunnable(() -> validateChatRoomAndUser(chatRoomId, userId))
+                .subscribeOn(blockingScheduler);
     }
 
-    // 메시지 전송
-    public Mono<MessageDto> sendMessage(Long chatRoomId, String content, String userId, String userName) {
-        validateChatRoomAndUser(chatRoomId, userId);
-        validateMessageContent(content.trim());
-
-        UserResponseDto userInfo = getUserInfo(userId);
-
-        Message message = Message.builder()
-                .chatRoomId(chatRoomId)
-                .content(content)
-                .senderId(userId)
-                .senderImage(userInfo.getProfileImage())
-                .senderName(userName)
-                .build();
+    // 블로킹 사용자 조회(Feign)는 blockingScheduler에서 실행
+    private Mono<UserResponseDto> getUserInfoReactive(String userId) {
+        return Mono.fromCallable(() -> getUserInfo(userId))
+                .subscribeOn(blockingScheduler);
+    }
 
-        message.setType("CHAT");
-        log.debug("\n\n\n chatRoomId: {}, content: {}, senderId: {}\n\n\n", chatRoomId, content, userId);
+    // 메시지 전송 (발신자 이름/이미지는 저장하지 않고 응답에만 채움)
+    public Mono<MessageDto> sendMessage(Long chatRoomId, String content, String userId, String userName) {
+        return Mono.fromCallable(() -> {
+                    validateChatRoomAndUser(chatRoomId, userId);
+                    validateMessageContent(content.trim());
+                    return getUserInfo(userId);
+                })
+                .subscribeOn(blockingScheduler)
+                .flatMap(userInfo -> {
+                    Message message = Message.builder()
+                            .chatRoomId(chatRoomId)
+                            .content(content)
+                            .senderId(userId)
+                            .build();
 
-        return messageRepository.save(message).map(Message::toDto);
+                    message.setType("CHAT");
+                    log.debug("\n\n\n chatRoomId: {}, content: {}, senderId: {}\n\n\n", chatRoomId, content, userId);
+                    return messageSequenceService.assign(message)
+                            .flatMap(messageIngestor::ingest)
+                            .map(Message::toDto)
+                            .doOnNext(recentMessageCache::onSaved)
+                            .map(dto -> dto.toBuilder()
+                                    .senderName(userInfo.getName() != null ? userInfo.getName() : userName)
+                                    .senderImage(userInfo.getProfileImage())
+                                    .build());
+                });
     }
 
-    // 메시지 조회
-    public Flux<MessageDto> getMessages(Long chatRoomId, String userId) {
-        UserResponseDto userInfo = getUserInfo(userId);
-
-        return validateChatRoomAndUserReactive(chatRoomId, userInfo.getUserId())
-                .thenMany(messageRepository.findByChatRoomIdOrderByCreatedAtAsc(chatRoomId)
-                        .map(Message::toDto));
+    // 메시지 조회 (가장 오래된 메시지부터 size개, 이후는 getMessagesAfter로 이어서 조회)
+    public Flux<MessageDto> getMessages(Long chatRoomId, String userId, int size) {
+        return getUserInfoReactive(userId)
+                .flatMap(userInfo -> validateChatRoomAndUserReactive(chatRoomId, userInfo.getUserId()))
+                .thenMany(Flux.defer(() -> messageArchiveStore.mergeAfter(chatRoomId, null, null, size,
+                                messageRepository.findFirstPage(chatRoomId, PageRequest.of(0, size))))
+                        .map(Message::toDto)
+                        .as(senderResolver::resolvePage));
     }
 
     // 메시지 수정
     public Mono<MessageDto> updateMessage(Long chatRoomId, String messageId, String newContent, String userId) {
-        validateChatRoomAndUser(chatRoomId, userId);
-        UserResponseDto userInfo = getUserInfo(userId);
+        return validateChatRoomAndUserReactive(chatRoomId, userId)
+                .then(getUserInfoReactive(userId))
+                .flatMap(userInfo -> findMessage(chatRoomId, messageId)
+                        .flatMap(target -> {
+                            Message existingMessage = target.message();
+                            if (!existingMessage.getSenderId().equals(userInfo.getUserId())) {
+                                return Mono.error(new IllegalAccessException("메시지를 수정할 권한이 없습니다."));
+                            }
 
-        return messageRepository.findByMessageId(messageId)
-                .flatMap(existingMessage -> {
-                    if (!existingMessage.getSenderId().equals(userInfo.getUserId())) {
-                        return Mono.error(new IllegalAccessException("메시지를 수정할 권한이 없습니다."));
-                    }
+                            if (existingMessage.getContent().equals(newContent.trim())) {
+                                return Mono.error(new IllegalArgumentException("메시지에 수정 사항이 없습니다."));
+                            }
 
-                    if (existingMessage.getContent().equals(newContent.trim())) {
-                        return Mono.error(new IllegalArgumentException("메시지에 수정 사항이 없습니다."));
-                    }
-
-                    validateMessageContent(newContent.trim());
-                    existingMessage.setContent(newContent.trim());
-                    existingMessage.setType("EDIT");
+                            validateMessageContent(newContent.trim());
+                            existingMessage.setContent(newContent.trim());
+                            existingMessage.setType("EDIT");
+                            clearSender(existingMessage);
 
-                    return messageRepository.save(existingMessage).map(Message::toDto);
-                })
-                .switchIfEmpty(Mono.error(new IllegalArgumentException("메시지가 존재하지 않습니다.")));
+                            return saveChange(chatRoomId, target)
+                                    .flatMap(roomSummaryService::onMessageChanged)
+                                    .map(Message::toDto)
+                                    .doOnNext(recentMessageCache::onChanged)
+                                    .map(dto -> SenderResolver.withSender(dto, userInfo));
+                        })
+                        .switchIfEmpty(Mono.error(new IllegalArgumentException("메시지가 존재하지 않습니다."))));
     }
 
     // 메시지 삭제
     public Mono<MessageDto> deleteMessage(Long chatRoomId, String messageId, String userId) {
-        validateChatRoomAndUser(chatRoomId, userId);
-
-        return messageRepository.findByMessageId(messageId)
-                .flatMap(message -> {
+        return validateChatRoomAndUserReactive(chatRoomId, userId)
+                .then(Mono.defer(() -> findMessage(chatRoomId, messageId)))
+                .flatMap(target -> {
+                    Message message = target.message();
                     if (!message.getSenderId().equals(userId)) {
                         return Mono.error(new IllegalAccessException("메시지를 삭제할 권한이 없습니다."));
                     }
                     message.setContent("메시지가 삭제되었습니다.");
                     message.setType("DELETE");
-                    return messageRepository.save(message).map(Message::toDto);
+                    clearSender(message);
+                    return saveChange(chatRoomId, target)
+                            .flatMap(roomSummaryService::onMessageChanged)
+                            .map(Message::toDto)
+                            .doOnNext(recentMessageCache::onChanged)
+                            .flatMap(senderResolver::resolveOne);
                 });
     }
 
-    // 페이징된 메시지 조회 (최신 메시지부터)
+    // 페이징된 메시지 조회 (최신 메시지부터, 최근 메시지 링 버퍼 우선)
     public Flux<MessageDto> getMessagesWithPaging(Long chatRoomId, String userId, int size) {
-        UserResponseDto userInfo = getUserInfo(userId);
-
-        return validateChatRoomAndUserReactive(chatRoomId, userInfo.getUserId())
-                .thenMany(messageRepository.findByChatRoomIdOrderByCreatedAtDesc(chatRoomId, PageRequest.of(0, size))
-                        .collectList()
-                        .flatMapMany(messages -> {
-                            // 시간순 정렬로 반환 (오래된 메시지 -> 최신 메시지)
-                            java.util.Collections.reverse(messages);
-                            return Flux.fromIterable(messages);
-                        })
-                        .map(Message::toDto));
+        return getUserInfoReactive(userId)
+                .flatMap(userInfo -> validateChatRoomAndUserReactive(chatRoomId, userInfo.getUserId()))
+                .thenMany(Flux.defer(() -> recentMessageCache.getLatest(chatRoomId, size, limit -> chronological(
+                        messageArchiveStore.mergeBefore(chatRoomId, null, null, limit,
+                                messageRepository.findLatestPage(chatRoomId, PageRequest.of(0, limit)))))))
+                .as(senderResolver::resolvePage);
     }
 
     // 커서 기반 페이징: 이전 메시지 로드
-    public Flux<MessageDto> getMessagesBefore(Long chatRoomId, String userId, LocalDateTime cursor, int size) {
-        UserResponseDto userInfo = getUserInfo(userId);
-
-        return validateChatRoomAndUserReactive(chatRoomId, userInfo.getUserId())
-                .thenMany(messageRepository.findByChatRoomIdAndCreatedAtBeforeOrderByCreatedAtDesc(
-                                chatRoomId, cursor, PageRequest.of(0, size))
-                        .collectList()
-                        .flatMapMany(messages -> {
-                            // 시간순 정렬로 반환
-                            java.util.Collections.reverse(messages);
-                            return Flux.fromIterable(messages);
-                        })
-                        .map(Message::toDto));
+    public Flux<MessageDto> getMessagesBefore(Long chatRoomId, String userId, String cursor, int size) {
+        return Mono.fromCallable(() -> MessageCursor.decode(cursor))
+                .flatMapMany(decoded -> getUserInfoReactive(userId)
+                        .flatMap(userInfo -> validateChatRoomAndUserReactive(chatRoomId, userInfo.getUserId()))
+                        .thenMany(Flux.defer(() -> chronological(messageArchiveStore.mergeBefore(
+                                chatRoomId, decoded.createdAt(), decoded.idForBefore(), size,
+                                messageRepository.findPageBefore(chatRoomId, decoded.createdAt(), decoded.idForBefore(),
+                                        PageRequest.of(0, size)))))))
+                .as(senderResolver::resolvePage);
     }
 
     // 커서 기반 페이징: 새 메시지 로드 (실시간 동기화용)
-    public Flux<MessageDto> getMessagesAfter(Long chatRoomId, String userId, LocalDateTime cursor) {
-        UserResponseDto userInfo = getUserInfo(userId);
+    public Flux<MessageDto> getMessagesAfter(Long chatRoomId, String userId, String cursor, int size) {
+        return Mono.fromCallable(() -> MessageCursor.decode(cursor))
+                .flatMapMany(decoded -> getUserInfoReactive(userId)
+                        .flatMap(userInfo -> validateChatRoomAndUserReactive(chatRoomId, userInfo.getUserId()))
+                        .thenMany(Flux.defer(() -> messageArchiveStore.mergeAfter(
+                                        chatRoomId, decoded.createdAt(), decoded.idForAfter(), size,
+                                        messageRepository.findPageAfter(chatRoomId, decoded.createdAt(),
+                                                decoded.idForAfter(), PageRequest.of(0, size)))
+                                .map(Message::toDto))))
+                .as(senderResolver::resolvePage);
+    }
+
+    // 이전 버전이 저장한 발신자 정보는 다시 저장할 때 제거
+    private static void clearSender(Message message) {
+        message.setSenderName(null);
+        message.setSenderImage(null);
+    }
 
-        return validateChatRoomAndUserReactive(chatRoomId, userInfo.getUserId())
-                .thenMany(messageRepository.findByChatRoomIdAndCreatedAtAfterOrderByCreatedAtAsc(chatRoomId, cursor)
-                        .map(Message::toDto));
+    // 수정/삭제 대상 메시지 (archived: 보관 묶음에서 읽은 메시지)
+    private record ChangeTarget(Message message, boolean archived) {
+    }
+
+    // hot에 없으면 보관 묶음에서 읽기만 함 (권한 확인 등이 실패해도 묶음은 그대로)
+    // wal 모드에서 아직 저장되지 않은 메시지는 저장된 뒤 조회 (저장 전 변경이 뒤늦은 insert와 요약 반영에 덮이지 않도록)
+    private Mono<ChangeTarget> findMessage(Long chatRoomId, String messageId) {
+        return messageIngestor.awaitStored(messageId)
+                .then(Mono.defer(() -> messageRepository.findByMessageId(messageId)))
+                .map(message -> new ChangeTarget(message, false))
+                .switchIfEmpty(Mono.defer(() -> messageArchiveStore.find(chatRoomId, messageId)
+                        .map(message -> new ChangeTarget(message, true))));
+    }
+
+    /**
+     * 변경한 메시지를 hot 컬렉션에 저장
+     * 보관된 메시지는 hot 저장이 성공한 뒤에만 묶음에서 뺀다. 묶음 정리가 실패해도 조회는 hot 쪽을 우선하므로 저장 결과는 그대로 반환한다.
+     */
+    private Mono<Message> saveChange(Long chatRoomId, ChangeTarget target) {
+        return messageSequenceService.assignVersion(target.message())
+                .flatMap(messageRepository::save)
+                .flatMap(saved -> !target.archived() ? Mono.just(saved)
+                        : messageArchiveStore.remove(chatRoomId, saved.getMessageId())
+                        .doOnError(e -> log.warn("채팅방 {} 보관 메시지 {} 묶음 정리 실패: {}",
+                                chatRoomId, saved.getMessageId(), e.getMessage()))
+                        .onErrorResume(e -> Mono.empty())
+                        .thenReturn(saved));
+    }
+
+    // 최신순으로 조회한 페이지를 시간순(오래된 메시지 -> 최신 메시지)으로 반환
+    private Flux<MessageDto> chronological(Flux<Message> newestFirst) {
+        return newestFirst.collectList()
+                .flatMapMany(messages -> {
+                    Collections.reverse(messages);
+                    return Flux.fromIterable(messages);
+                })
+                .map(Message::toDto);
+    }
+
+    /**
+     * 재연결 동기화: since 토큰 이후 생성/수정/삭제된 메시지를 최대 limit개 반환
+     *
+     * 버전은 발급 순서대로 증가하지만 저장은 늦게 끝날 수 있으므로, 토큰은 CHANGE_SETTLE_TIME보다 오래된 변경까지만 전진한다.
+     * 그보다 최근 변경도 응답에는 포함되며 다음 동기화에서 다시 내려갈 수 있다(클라이언트는 messageId 기준으로 덮어씀).
+     * 뒤에 변경이 더 있는데 페이지 전체가 최근 변경이라 토큰이 전진하지 못하면 hasMore와 함께 retryAfterMs를 내려준다.
+     */
+    public Mono<MessageChangesDto> getChanges(Long chatRoomId, String userId, String since, int limit) {
+        return Mono.fromCallable(() -> parseChangeToken(since))
+                .flatMap(version -> getUserInfoReactive(userId)
+                        .flatMap(userInfo -> validateChatRoomAndUserReactive(chatRoomId, userInfo.getUserId()))
+                        .then(Mono.defer(() -> messageRepository.findChangesSince(
+                                chatRoomId, version, PageRequest.of(0, limit + 1)).collectList()))
+                        .map(messages -> toChanges(version, messages, limit))
+                        .flatMap(changes -> senderResolver.resolve(changes.getChanges())
+                                .map(resolved -> changes.toBuilder().changes(resolved).build())));
+    }
+
+    private MessageChangesDto toChanges(long since, List<Message> messages, int limit) {
+        List<Message> page = messages.subList(0, Math.min(limit, messages.size()));
+        LocalDateTime settled = LocalDateTime.from(auditingDateTimeProvider.getNow().orElseThrow())
+                .minus(CHANGE_SETTLE_TIME);
+
+        long token = since;
+        Message unsettled = null;
+        for (Message message : page) {
+            if (message.getUpdatedAt() == null || !message.getUpdatedAt().isBefore(settled)) {
+                unsettled = message;
+                break;
+            }
+            token = message.getVersion();
+        }
+
+        boolean hasMore = messages.size() > limit;
+        Long retryAfterMs = null;
+        // 페이지 전체가 최근 변경이면 바로 다시 요청해도 같은 결과이므로, 첫 변경이 확정될 때까지 기다리도록 안내
+        if (hasMore && token == since && unsettled != null) {
+            retryAfterMs = unsettled.getUpdatedAt() == null
+                    ? CHANGE_SETTLE_TIME.toMillis()
+                    : Math.max(1L, Duration.between(settled, unsettled.getUpdatedAt()).toMillis() + 1);
+        }
+
+        return MessageChangesDto.builder()
+                .changes(page.stream().map(Message::toDto).toList())
+                .nextToken(String.valueOf(token))
+                .hasMore(hasMore)
+                .retryAfterMs(retryAfterMs)
+                .build();
+    }
+
+    private static long parseChangeToken(String since) {
+        if (since == null || since.isBlank()) {
+            return 0L;
+        }
+        try {
+            long version = Long.parseLong(since);
+            if (version < 0) {
+                throw new NumberFormatException();
+            }
+            return version;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("유효하지 않은 동기화 토큰입니다: " + since);
+        }
     }
 
-    // 메시지 총 개수 조회
+    // 메시지 총 개수 조회 (보관 메시지 포함)
     public Mono<Long> getMessageCount(Long chatRoomId, String userId) {
-        validateChatRoomAndUser(chatRoomId, userId);
-        return messageRepository.countByChatRoomId(chatRoomId);
+        return validateChatRoomAndUserReactive(chatRoomId, userId)
+                .then(Mono.defer(() -> Mono.zip(messageRepository.countByChatRoomId(chatRoomId),
+                        messageArchiveStore.count(chatRoomId), Long::sum)));
     }
 }
@@ -0,0 +1,166 @@
+package com.ovengers.chatservice.mongodb.service;
+
+import com.ovengers.chatservice.mongodb.archive.MessageArchiveStore;
+import com.ovengers.chatservice.mongodb.document.Message;
+import com.ovengers.chatservice.mongodb.document.RoomSummary;
+import com.ovengers.chatservice.mongodb.repository.MessageRepository;
+import com.ovengers.chatservice.mongodb.repository.RoomSummaryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * room_summary 프로젝션 관리
+ * 채팅 목록은 채팅방별 전체 메시지 대신 이 문서들을 _id 멀티 조회 한 번으로 읽는다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RoomSummaryService {
+    static final int MISSING_SEQ_LIMIT = 100;
+
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+    private final RoomSummaryRepository roomSummaryRepository;
+    private final MessageRepository messageRepository;
+    private final MessageArchiveStore messageArchiveStore;
+
+    // 새 메시지(일반/시스템) 저장 후 호출
+    public Mono<Message> onMessageSaved(Message message) {
+        return apply(message.getChatRoomId(), message, false).thenReturn(message);
+    }
+
+    /**
+     * seq를 발급받은 메시지의 저장이 실패했을 때 호출
+     * 비어 있는 seq가 읽지 않은 메시지로 계속 남지 않도록 기록한다.
+     * SYSTEM 메시지는 seq와 systemSeq가 함께 비므로 계산에 영향이 없어 기록하지 않는다.
+     */
+    public Mono<Void> onMessageLost(Message message) {
+        if (message.getSeq() == null || "SYSTEM".equals(message.getType())) {
+            return Mono.empty();
+        }
+
+        Update update = new Update();
+        update.push("missingSeqs").slice(-MISSING_SEQ_LIMIT).each(message.getSeq());
+        return reactiveMongoTemplate.upsert(Query.query(Criteria.where("_id").is(message.getChatRoomId())),
+                        update, RoomSummary.class)
+                .doOnError(e -> log.warn("채팅방 {} 누락 seq {} 기록 실패: {}",
+                        message.getChatRoomId(), message.getSeq(), e.getMessage()))
+                .onErrorResume(e -> Mono.empty())
+                .then();
+    }
+
+    // 여러 메시지를 한 번에 저장한 후 호출 (채팅방별로 한 번씩 반영)
+    public Mono<Void> onMessagesSaved(Collection<Message> messages) {
+        Map<Long, List<Message>> byChatRoom = messages.stream()
+                .collect(Collectors.groupingBy(Message::getChatRoomId));
+
+        return Flux.fromIterable(byChatRoom.values())
+                .flatMap(roomMessages -> apply(roomMessages.get(0).getChatRoomId(),
+                        roomMessages.stream().max(Comparator.comparing(RoomSummaryService::seqOf)).orElseThrow(),
+                        false))
+                .then();
+    }
+
+    // $max와 조건부 $set만 사용하므로 같은 메시지를 여러 번 반영하거나 동시에 반영해도 결과가 같다
+    private Mono<Void> apply(Long chatRoomId, Message last, boolean rebuilt) {
+        long seq = seqOf(last);
+        long systemSeq = last.getSystemSeq() != null ? last.getSystemSeq() : 0L;
+
+        Update counters = new Update()
+                .max("lastSeq", seq)
+                .max("lastSystemSeq", systemSeq);
+        if (rebuilt) {
+            counters.set("rebuilt", true);
+        } else {
+            // 채팅방의 첫 메시지로 만들어지는 요약은 이전 메시지가 없으므로 재생성할 필요가 없음
+            counters.setOnInsert("rebuilt", seq == 1L);
+        }
+
+        // 더 최신 메시지가 이미 반영된 경우 마지막 메시지는 덮어쓰지 않음
+        Query olderLastMessage = Query.query(Criteria.where("_id").is(chatRoomId)
+                .orOperator(
+                        Criteria.where("lastMessageSeq").lt(seq),
+                        Criteria.where("lastMessageSeq").is(null)));
+
+        return reactiveMongoTemplate.upsert(Query.query(Criteria.where("_id").is(chatRoomId)), counters, RoomSummary.class)
+                .then(reactiveMongoTemplate.updateFirst(olderLastMessage,
+                        lastMessageUpdate(last).set("lastMessageSeq", seq), RoomSummary.class))
+                .then();
+    }
+
+    // 메시지 수정/삭제 후 호출 (마지막 메시지인 경우에만 반영)
+    public Mono<Message> onMessageChanged(Message message) {
+        Query lastMessage = Query.query(Criteria.where("_id").is(message.getChatRoomId())
+                .and("lastMessageId").is(message.getMessageId()));
+        Update update = new Update()
+                .set("lastMessageContent", message.getContent())
+                .set("lastMessageType", message.getType());
+
+        return reactiveMongoTemplate.updateFirst(lastMessage, update, RoomSummary.class)
+                .thenReturn(message);
+    }
+
+    /**
+     * 채팅방 요약 멀티 조회
+     * 프로젝션 도입 이전 채팅방처럼 메시지 컬렉션에서 재생성된 적이 없는(rebuilt가 아닌) 요약은 한 번 재생성한다.
+     * 도입 이후 새 메시지가 먼저 만든 일부만 채워진 요약도 여기에 해당한다.
+     */
+    public Flux<RoomSummary> findAllById(Collection<Long> chatRoomIds) {
+        return roomSummaryRepository.findAllById(chatRoomIds)
+                .collectMap(RoomSummary::getChatRoomId)
+                .flatMapMany(found -> Flux.fromIterable(chatRoomIds)
+                        .flatMap(chatRoomId -> {
+                            RoomSummary summary = found.get(chatRoomId);
+                            return summary != null && summary.isRebuilt() ? Mono.just(summary) : rebuild(chatRoomId);
+                        }));
+    }
+
+    /**
+     * 마지막 메시지로 요약 재생성
+     * 동시에 저장되는 새 메시지의 반영을 덮어쓰지 않도록 전체 저장 대신 onMessageSaved와 같은 $max 기반 upsert로 반영한다.
+     * 최근 메시지가 모두 보관된 채팅방은 보관 묶음에서 마지막 메시지를 찾는다.
+     */
+    public Mono<RoomSummary> rebuild(Long chatRoomId) {
+        Query byId = Query.query(Criteria.where("_id").is(chatRoomId));
+
+        return messageRepository.findFirstByChatRoomIdOrderByCreatedAtDesc(chatRoomId)
+                .switchIfEmpty(Mono.defer(() -> messageArchiveStore.latest(chatRoomId)))
+                .flatMap(last -> {
+                    log.debug("채팅방 {} 요약 재생성", chatRoomId);
+                    return apply(chatRoomId, last, true).thenReturn(last);
+                })
+                // 메시지가 없는 채팅방도 다시 조회하지 않도록 표시
+                .switchIfEmpty(Mono.defer(() -> reactiveMongoTemplate.upsert(byId,
+                        new Update().set("rebuilt", true), RoomSummary.class).then(Mono.empty())))
+                .then(roomSummaryRepository.findById(chatRoomId));
+    }
+
+    public Mono<Void> delete(Long chatRoomId) {
+        return roomSummaryRepository.deleteById(chatRoomId);
+    }
+
+    private static long seqOf(Message message) {
+        return message.getSeq() != null ? message.getSeq() : 0L;
+    }
+
+    private Update lastMessageUpdate(Message message) {
+        return new Update()
+                .set("lastMessageId", message.getMessageId())
+                .set("lastMessageContent", message.getContent())
+                .set("lastMessageType", message.getType())
+                .set("lastMessageSenderId", message.getSenderId())
+                .set("lastMessageAt", message.getCreatedAt());
+    }
+}
@@ -0,0 +1,78 @@
+package com.ovengers.chatservice.mongodb.service;
+
+import com.ovengers.chatservice.client.CachingUserServiceClient;
+import com.ovengers.chatservice.client.UserResponseDto;
+import com.ovengers.chatservice.mongodb.dto.MessageDto;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 메시지 발신자 이름/프로필 이미지 채우기 (조회 시점)
+ *
+ * Message 도큐먼트에는 senderId만 저장하고, 응답 직전에 페이지의 서로 다른 발신자를 모아
+ * CachingUserServiceClient.getUsersByIds 한 번으로 조회한다(대부분 프로필 캐시 적중).
+ * 프로필을 찾지 못하면(탈퇴 사용자, user-service 장애) 도큐먼트에 남아 있는 예전 값을 그대로 쓴다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SenderResolver {
+    private final CachingUserServiceClient cachingUserServiceClient;
+    private final Scheduler blockingScheduler;
+
+    public Flux<MessageDto> resolvePage(Flux<MessageDto> page) {
+        return page.collectList()
+                .flatMap(this::resolve)
+                .flatMapIterable(Function.identity());
+    }
+
+    public Mono<MessageDto> resolveOne(MessageDto message) {
+        return resolve(List.of(message)).map(messages -> messages.get(0));
+    }
+
+    public Mono<List<MessageDto>> resolve(List<MessageDto> messages) {
+        List<String> senderIds = messages.stream()
+                .map(MessageDto::getSenderId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        if (senderIds.isEmpty()) {
+            return Mono.just(messages);
+        }
+
+        // 프로필 캐시 미스 시 Feign 호출(블로킹)이므로 blockingScheduler에서 실행
+        return Mono.fromCallable(() -> cachingUserServiceClient.getUsersByIds(senderIds))
+                .subscribeOn(blockingScheduler)
+                .map(profiles -> {
+                    Map<String, UserResponseDto> byId = profiles.stream()
+                            .collect(Collectors.toMap(UserResponseDto::getUserId, Function.identity(), (a, b) -> a));
+                    return messages.stream()
+                            .map(message -> withSender(message, byId.get(message.getSenderId())))
+                            .toList();
+                })
+                .onErrorResume(e -> {
+                    log.warn("발신자 정보 조회 실패 - senderIds={}: {}", senderIds, e.getMessage());
+                    return Mono.just(messages);
+                });
+    }
+
+    public static MessageDto withSender(MessageDto message, UserResponseDto sender) {
+        if (sender == null) {
+            return message;
+        }
+        return message.toBuilder()
+                .senderName(sender.getName())
+                .senderImage(sender.getProfileImage())
+                .build();
+    }
+}
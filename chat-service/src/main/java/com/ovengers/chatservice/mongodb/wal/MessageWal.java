@@ -0,0 +1,198 @@
+package com.ovengers.chatservice.mongodb.wal;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * 메모리 매핑 세그먼트 기반 로컬 로그
+ *
+ * 세그먼트 파일(%020d.wal)은 고정 크기로 미리 할당해 매핑하고, 레코드는 [길이 4B][CRC32 4B][payload] 형식으로 이어서 쓴다.
+ * 길이 0은 로그 끝을 뜻하며, 매 기록 후 다음 위치에 0을 써 두어 이전 실행의 잔여 데이터를 읽지 않게 한다.
+ * 중간에 끊긴 레코드(CRC 불일치, 길이 초과)는 로그 끝으로 취급한다.
+ * 처리 완료 위치는 checkpoint 파일에 기록하며, 그 이전 세그먼트는 삭제한다.
+ * force-on-append가 false이면 기록은 페이지 캐시까지만 보장되어 프로세스 종료는 견디지만 OS 장애 시 유실될 수 있다.
+ */
+@Slf4j
+public class MessageWal implements Closeable {
+    private static final int HEADER_BYTES = 8;
+    private static final String SEGMENT_SUFFIX = ".wal";
+    private static final String CHECKPOINT_FILE = "checkpoint";
+
+    private final Path directory;
+    private final int segmentBytes;
+    private final boolean forceOnAppend;
+
+    private long segment;
+    private MappedByteBuffer buffer;
+
+    public record Entry(byte[] payload, WalPosition position) {
+    }
+
+    public MessageWal(Path directory, int segmentBytes, boolean forceOnAppend) throws IOException {
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.forceOnAppend = forceOnAppend;
+
+        Files.createDirectories(directory);
+        List<Long> segments = segments();
+        long last = segments.isEmpty() ? checkpoint().segment() : segments.get(segments.size() - 1);
+        open(last);
+
+        // 마지막 유효 레코드 뒤에서 이어서 기록
+        int end = 0;
+        for (Entry entry : readSegment(last, 0)) {
+            end = entry.position().offset();
+        }
+        buffer.position(end);
+        markEnd();
+    }
+
+    public synchronized WalPosition append(byte[] payload) throws IOException {
+        int recordBytes = HEADER_BYTES + payload.length;
+        if (recordBytes > segmentBytes) {
+            throw new IllegalArgumentException("레코드가 세그먼트 크기보다 큽니다: " + recordBytes);
+        }
+        if (buffer.remaining() < recordBytes) {
+            rotate();
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        buffer.putInt(payload.length);
+        buffer.putInt((int) crc.getValue());
+        buffer.put(payload);
+        markEnd();
+        if (forceOnAppend) {
+            buffer.force();
+        }
+        return new WalPosition(segment, buffer.position());
+    }
+
+    // 체크포인트 이후의 레코드 (재시작 시 재처리 대상)
+    public synchronized List<Entry> readUncommitted() throws IOException {
+        WalPosition checkpoint = checkpoint();
+        List<Entry> entries = new ArrayList<>();
+        for (long id : segments()) {
+            if (id >= checkpoint.segment()) {
+                entries.addAll(readSegment(id, id == checkpoint.segment() ? checkpoint.offset() : 0));
+            }
+        }
+        return entries;
+    }
+
+    // position까지 처리 완료 기록 및 이전 세그먼트 정리
+    public synchronized void commit(WalPosition position) throws IOException {
+        if (!forceOnAppend) {
+            buffer.force();
+        }
+
+        Path temp = directory.resolve(CHECKPOINT_FILE + ".tmp");
+        Files.writeString(temp, position.segment() + " " + position.offset(), StandardCharsets.UTF_8);
+        Files.move(temp, directory.resolve(CHECKPOINT_FILE),
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        for (long id : segments()) {
+            if (id < position.segment() && id != segment) {
+                try {
+                    Files.deleteIfExists(segmentPath(id));
+                } catch (IOException e) {
+                    // 매핑이 남아 있어 삭제할 수 없는 환경(Windows)에서는 다음 커밋 때 다시 시도
+                    log.debug("WAL 세그먼트 {} 삭제 보류: {}", id, e.getMessage());
+                }
+            }
+        }
+    }
+
+    public WalPosition checkpoint() throws IOException {
+        Path path = directory.resolve(CHECKPOINT_FILE);
+        if (!Files.exists(path)) {
+            return WalPosition.START;
+        }
+        String[] parts = Files.readString(path, StandardCharsets.UTF_8).trim().split(" ");
+        return new WalPosition(Long.parseLong(parts[0]), Integer.parseInt(parts[1]));
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        buffer.force();
+    }
+
+    private void rotate() throws IOException {
+        buffer.force();
+        open(segment + 1);
+        markEnd();
+        log.debug("WAL 세그먼트 전환: {}", segment);
+    }
+
+    // 매핑은 파일을 닫은 뒤에도 유효하다
+    private void open(long id) throws IOException {
+        try (RandomAccessFile file = new RandomAccessFile(segmentPath(id).toFile(), "rw")) {
+            if (file.length() < segmentBytes) {
+                file.setLength(segmentBytes);
+            }
+            buffer = file.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+        }
+        segment = id;
+    }
+
+    // 현재 위치에 로그 끝 표시 (position은 움직이지 않음)
+    private void markEnd() {
+        if (buffer.remaining() >= Integer.BYTES) {
+            buffer.putInt(buffer.position(), 0);
+        }
+    }
+
+    private List<Entry> readSegment(long id, int from) throws IOException {
+        List<Entry> entries = new ArrayList<>();
+        try (FileChannel readChannel = FileChannel.open(segmentPath(id))) {
+            MappedByteBuffer view = readChannel.map(FileChannel.MapMode.READ_ONLY, 0, readChannel.size());
+            view.position(from);
+
+            while (view.remaining() >= HEADER_BYTES) {
+                int length = view.getInt();
+                int checksum = view.getInt();
+                if (length <= 0 || length > view.remaining()) {
+                    break;
+                }
+                byte[] payload = new byte[length];
+                view.get(payload);
+
+                CRC32 crc = new CRC32();
+                crc.update(payload);
+                if ((int) crc.getValue() != checksum) {
+                    log.warn("WAL 세그먼트 {} 오프셋 {}에서 손상된 레코드 발견, 이후 레코드 무시", id, view.position() - length - HEADER_BYTES);
+                    break;
+                }
+                entries.add(new Entry(payload, new WalPosition(id, view.position())));
+            }
+        }
+        return entries;
+    }
+
+    private List<Long> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.endsWith(SEGMENT_SUFFIX))
+                    .map(name -> Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length())))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private Path segmentPath(long id) {
+        return directory.resolve(String.format("%020d%s", id, SEGMENT_SUFFIX));
+    }
+}
@@ -0,0 +1,34 @@
+package com.ovengers.chatservice.mongodb.wal;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * 재시도해도 Mongo에 저장되지 않는 WAL 메시지 보관 파일
+ *
+ * 한 줄에 하나씩 {"reason": 오류, "message": WAL payload} 형식(JSON Lines)으로 이어서 기록한다.
+ * message는 WAL에 기록된 JSON 그대로이므로 원인을 해결한 뒤 다시 저장할 수 있다.
+ */
+public class WalDeadLetterStore {
+    private final Path file;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public WalDeadLetterStore(Path file) throws IOException {
+        this.file = file;
+        Files.createDirectories(file.toAbsolutePath().getParent());
+    }
+
+    public synchronized void append(byte[] payload, String reason) throws IOException {
+        ObjectNode record = objectMapper.createObjectNode();
+        record.put("reason", reason);
+        record.set("message", objectMapper.readTree(payload));
+        Files.writeString(file, objectMapper.writeValueAsString(record) + "\n", StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.SYNC);
+    }
+}
@@ -0,0 +1,337 @@
+package com.ovengers.chatservice.mongodb.wal;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.mongodb.bulk.BulkWriteError;
+import com.ovengers.chatservice.common.lane.RoomLaneRejectedException;
+import com.ovengers.chatservice.mongodb.document.Message;
+import com.ovengers.chatservice.mongodb.service.MessageIngestor;
+import com.ovengers.chatservice.mongodb.service.RoomSummaryService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.auditing.DateTimeProvider;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * WAL 수집 모드 (chat.ingest.mode=wal)
+ *
+ * 메시지를 로컬 로그(MessageWal)에 기록하는 즉시 완료하여 브로드캐스트가 Mongo 저장을 기다리지 않게 하고,
+ * Mongo에는 flush-interval-ms 주기 또는 batch-size 도달 시 한 번의 bulk insert로 저장한다.
+ * 저장이 끝난 위치까지 체크포인트를 남기며, 재시작 시 체크포인트 이후 레코드를 다시 저장한다.
+ * 저장 직후 장애로 체크포인트가 남지 않은 경우 같은 메시지를 다시 insert 하게 되는데, 중복 키 오류는 이미 저장된 것으로 본다.
+ * 이 경우 요약 반영 전에 중단되었을 수 있으므로 room_summary에는 중복 메시지까지 배치 전체를 다시 반영한다(반영은 멱등).
+ * 저장 전까지는 이력 조회(Mongo)에 나타나지 않는다. 읽음 위치 기록은 findPending으로 저장 대기 중인 메시지의 seq를 찾고,
+ * 수정/삭제는 awaitStored로 즉시 flush를 요청한 뒤 저장될 때까지(최대 STORED_WAIT) 기다린다.
+ *
+ * 저장되지 않은 메시지는 max-pending까지만 쌓으며, 가득 차면 새 메시지를 거절(503)하고 발급된 seq는 누락으로 기록한다.
+ * bulk insert에서 개별 문서 오류(검증 실패 등)가 dead-letter.max-attempts번 반복된 메시지는 배치 전체를 막지 않도록
+ * dead-letter 파일(WalDeadLetterStore)로 옮기고 누락으로 기록한다. 연결 실패처럼 배치 전체가 실패한 경우는 횟수와 관계없이 재시도한다.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "chat.ingest.mode", havingValue = "wal")
+public class WalMessageIngestor implements MessageIngestor {
+    private static final int DUPLICATE_KEY = 11000;
+    private static final Duration STORED_WAIT = Duration.ofSeconds(5);
+
+    private final MessageWal wal;
+    private final MongoTemplate mongoTemplate;
+    private final RoomSummaryService roomSummaryService;
+    private final DateTimeProvider dateTimeProvider;
+    private final Scheduler blockingScheduler;
+    private final Executor flushExecutor;
+    private final WalDeadLetterStore deadLetterStore;
+    private final int batchSize;
+    private final int maxPending;
+    private final int maxAttempts;
+    // Message의 파생 getter(createdAtIso 등)도 기록되므로 재처리 시 모르는 필드는 무시
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+    // 로그에 기록되었지만 아직 Mongo에 저장되지 않은 메시지 (로그 순서)
+    private final Deque<PendingMessage> pending = new ArrayDeque<>();
+    // messageId -> 저장 대기 중인 메시지, 저장을 기다리는 요청 (pending 잠금 안에서만 접근)
+    private final Map<String, PendingMessage> pendingById = new HashMap<>();
+    private final Map<String, CompletableFuture<Void>> storedWaiters = new HashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    // 개별 문서 오류로 저장되지 않은 횟수 (flushLock 안에서만 접근)
+    private final Map<WalPosition, Integer> failedAttempts = new HashMap<>();
+
+    private final Counter flushFailures;
+    private final Counter rejected;
+    private final Counter deadLettered;
+    private final DistributionSummary flushBatchSize;
+
+    record PendingMessage(Message message, WalPosition position) {
+    }
+
+    @Autowired
+    public WalMessageIngestor(@Value("${chat.ingest.wal.dir:data/chat-wal}") String directory,
+                              @Value("${chat.ingest.wal.segment-bytes:67108864}") int segmentBytes,
+                              @Value("${chat.ingest.wal.force-on-append:false}") boolean forceOnAppend,
+                              @Value("${chat.ingest.batch-size:500}") int batchSize,
+                              @Value("${chat.ingest.max-pending:50000}") int maxPending,
+                              @Value("${chat.ingest.dead-letter.max-attempts:5}") int maxAttempts,
+                              MongoTemplate mongoTemplate,
+                              RoomSummaryService roomSummaryService,
+                              DateTimeProvider auditingDateTimeProvider,
+                              Scheduler blockingScheduler,
+                              MeterRegistry meterRegistry) throws IOException {
+        this(new MessageWal(Path.of(directory), segmentBytes, forceOnAppend),
+                new WalDeadLetterStore(Path.of(directory, "dead-letter.jsonl")), batchSize, maxPending, maxAttempts,
+                mongoTemplate, roomSummaryService, auditingDateTimeProvider, blockingScheduler, meterRegistry,
+                Executors.newSingleThreadExecutor(runnable -> {
+                    Thread thread = new Thread(runnable, "chat-wal-flusher");
+                    thread.setDaemon(true);
+                    return thread;
+                }));
+    }
+
+    WalMessageIngestor(MessageWal wal, WalDeadLetterStore deadLetterStore, int batchSize, int maxPending,
+                       int maxAttempts, MongoTemplate mongoTemplate,
+                       RoomSummaryService roomSummaryService, DateTimeProvider dateTimeProvider,
+                       Scheduler blockingScheduler, MeterRegistry meterRegistry, Executor flushExecutor) {
+        this.wal = wal;
+        this.deadLetterStore = deadLetterStore;
+        this.batchSize = batchSize;
+        this.maxPending = maxPending;
+        this.maxAttempts = maxAttempts;
+        this.mongoTemplate = mongoTemplate;
+        this.roomSummaryService = roomSummaryService;
+        this.dateTimeProvider = dateTimeProvider;
+        this.blockingScheduler = blockingScheduler;
+        this.flushExecutor = flushExecutor;
+        this.flushFailures = meterRegistry.counter("chat.ingest.flush.failures");
+        this.rejected = meterRegistry.counter("chat.ingest.rejected");
+        this.deadLettered = meterRegistry.counter("chat.ingest.dead.lettered");
+        this.flushBatchSize = DistributionSummary.builder("chat.ingest.flush.batch.size").register(meterRegistry);
+        meterRegistry.gauge("chat.ingest.pending", this, WalMessageIngestor::pendingCount);
+    }
+
+    // 재시작 시 체크포인트 이후 레코드 재처리
+    @PostConstruct
+    public void recover() throws IOException {
+        List<MessageWal.Entry> entries = wal.readUncommitted();
+        if (entries.isEmpty()) {
+            return;
+        }
+
+        synchronized (pending) {
+            for (MessageWal.Entry entry : entries) {
+                enqueue(new PendingMessage(objectMapper.readValue(entry.payload(), Message.class), entry.position()));
+            }
+        }
+        log.info("WAL 미저장 메시지 {}건 재처리", entries.size());
+        flush();
+    }
+
+    @Override
+    public Mono<Message> ingest(Message message) {
+        return Mono.fromCallable(() -> {
+                    LocalDateTime now = LocalDateTime.from(dateTimeProvider.getNow().orElseThrow());
+                    message.setMessageId(new ObjectId().toHexString());
+                    message.setCreatedAt(now);
+                    message.setUpdatedAt(now);
+
+                    byte[] payload = objectMapper.writeValueAsBytes(message);
+                    int size;
+                    boolean accepted;
+                    // 로그 순서와 pending 순서를 같게 유지
+                    synchronized (pending) {
+                        accepted = pending.size() < maxPending;
+                        if (accepted) {
+                            enqueue(new PendingMessage(message, wal.append(payload)));
+                        }
+                        size = pending.size();
+                    }
+                    if (size >= batchSize || !accepted) {
+                        flushExecutor.execute(this::flush);
+                    }
+                    if (!accepted) {
+                        rejected.increment();
+                        log.warn("WAL 미저장 메시지 {}건으로 메시지 거절 (chatRoomId={})", size, message.getChatRoomId());
+                        throw new RoomLaneRejectedException("요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해 주세요.");
+                    }
+                    return message;
+                })
+                .subscribeOn(blockingScheduler)
+                // 발급된 seq가 저장되지 않고 비는 경우 읽지 않은 메시지 수에서 빠지도록 기록
+                .onErrorResume(e -> roomSummaryService.onMessageLost(message).then(Mono.error(e)));
+    }
+
+    @Scheduled(fixedDelayString = "${chat.ingest.flush-interval-ms:50}")
+    public void flush() {
+        if (!flushLock.tryLock()) {
+            return;
+        }
+        try {
+            List<PendingMessage> batch;
+            while (!(batch = nextBatch()).isEmpty()) {
+                save(batch);
+                wal.commit(batch.get(batch.size() - 1).position());
+                List<CompletableFuture<Void>> stored = new ArrayList<>();
+                synchronized (pending) {
+                    for (int i = 0; i < batch.size(); i++) {
+                        String messageId = pending.pollFirst().message().getMessageId();
+                        pendingById.remove(messageId);
+                        CompletableFuture<Void> waiter = storedWaiters.remove(messageId);
+                        if (waiter != null) {
+                            stored.add(waiter);
+                        }
+                    }
+                }
+                stored.forEach(waiter -> waiter.complete(null));
+                flushBatchSize.record(batch.size());
+            }
+        } catch (Exception e) {
+            // 실패한 배치는 pending에 남아 다음 주기에 다시 저장
+            flushFailures.increment();
+            log.error("WAL 메시지 Mongo 저장 실패: {}", e.getMessage());
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @Override
+    public Mono<Message> findPending(String messageId) {
+        return Mono.fromCallable(() -> {
+            synchronized (pending) {
+                PendingMessage entry = pendingById.get(messageId);
+                return entry != null ? objectMapper.convertValue(entry.message(), Message.class) : null;
+            }
+        });
+    }
+
+    // dead-letter로 옮겨진 메시지도 완료되며, 이후 조회에서 찾을 수 없게 된다
+    @Override
+    public Mono<Void> awaitStored(String messageId) {
+        return Mono.defer(() -> {
+            CompletableFuture<Void> stored;
+            synchronized (pending) {
+                if (!pendingById.containsKey(messageId)) {
+                    return Mono.empty();
+                }
+                stored = storedWaiters.computeIfAbsent(messageId, id -> new CompletableFuture<>());
+            }
+            flushExecutor.execute(this::flush);
+            // 같은 메시지를 기다리는 다른 요청이 있으므로 시간 초과 시 future는 취소하지 않음
+            return Mono.fromFuture(stored, true)
+                    .timeout(STORED_WAIT, Mono.error(() ->
+                            new RoomLaneRejectedException("메시지를 저장하는 중입니다. 잠시 후 다시 시도해 주세요.")));
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() throws IOException {
+        flush();
+        wal.close();
+    }
+
+    int pendingCount() {
+        synchronized (pending) {
+            return pending.size();
+        }
+    }
+
+    // pending 잠금 안에서 호출
+    private void enqueue(PendingMessage entry) {
+        pending.addLast(entry);
+        pendingById.put(entry.message().getMessageId(), entry);
+    }
+
+    private List<PendingMessage> nextBatch() {
+        synchronized (pending) {
+            return pending.stream().limit(batchSize).toList();
+        }
+    }
+
+    private void save(List<PendingMessage> batch) throws IOException {
+        List<Message> messages = batch.stream().map(PendingMessage::message).toList();
+        Set<PendingMessage> poison = new HashSet<>();
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Message.class)
+                    .insert(messages)
+                    .execute();
+        } catch (BulkOperationException e) {
+            List<BulkWriteError> failures = e.getErrors().stream()
+                    .filter(error -> error.getCode() != DUPLICATE_KEY)
+                    .toList();
+            poison.addAll(poisonOf(batch, failures));
+            // 아직 재시도 횟수가 남은 메시지가 있으면 배치 전체를 다음 주기에 다시 저장 (저장된 메시지는 중복 키로 건너뜀)
+            if (poison.size() < failures.size()) {
+                throw e;
+            }
+            if (e.getErrors().size() > failures.size()) {
+                log.info("WAL 재처리 중 이미 저장된 메시지 {}건 건너뜀", e.getErrors().size() - failures.size());
+            }
+            for (BulkWriteError failure : failures) {
+                deadLetter(batch.get(failure.getIndex()), failure.getMessage());
+            }
+        }
+        batch.forEach(entry -> failedAttempts.remove(entry.position()));
+
+        List<Message> saved = batch.stream()
+                .filter(entry -> !poison.contains(entry))
+                .map(PendingMessage::message)
+                .toList();
+        if (!saved.isEmpty()) {
+            roomSummaryService.onMessagesSaved(saved).block();
+        }
+    }
+
+    // 개별 오류 횟수를 올리고 max-attempts에 도달한 메시지 반환
+    private List<PendingMessage> poisonOf(List<PendingMessage> batch, List<BulkWriteError> failures) {
+        List<PendingMessage> poison = new ArrayList<>();
+        for (BulkWriteError failure : failures) {
+            PendingMessage entry = batch.get(failure.getIndex());
+            if (failedAttempts.merge(entry.position(), 1, Integer::sum) >= maxAttempts) {
+                poison.add(entry);
+            }
+        }
+        return poison;
+    }
+
+    private void deadLetter(PendingMessage entry, String reason) throws IOException {
+        Message message = entry.message();
+        deadLetterStore.append(objectMapper.writeValueAsBytes(message), reason);
+        roomSummaryService.onMessageLost(message).block();
+        deadLettered.increment();
+        log.error("WAL 메시지 {}회 저장 실패로 dead-letter 기록 - chatRoomId={}, messageId={}, seq={}: {}",
+                maxAttempts, message.getChatRoomId(), message.getMessageId(), message.getSeq(), reason);
+    }
+}
@@ -0,0 +1,15 @@
+package com.ovengers.chatservice.mongodb.wal;
+
+/**
+ * 로그 위치 (세그먼트 번호, 세그먼트 안의 바이트 오프셋)
+ * 레코드의 위치는 레코드 끝(다음 레코드 시작) 기준이다.
+ */
+public record WalPosition(long segment, int offset) implements Comparable<WalPosition> {
+    public static final WalPosition START = new WalPosition(0L, 0);
+
+    @Override
+    public int compareTo(WalPosition other) {
+        int bySegment = Long.compare(segment, other.segment);
+        return bySegment != 0 ? bySegment : Integer.compare(offset, other.offset);
+    }
+}
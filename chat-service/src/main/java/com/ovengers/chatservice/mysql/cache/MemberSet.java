@@ -0,0 +1,62 @@
+package com.ovengers.chatservice.mysql.cache;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * 채팅방 구독자 집합 (정렬된 int 배열)
+ *
+ * 구독자마다 UUID 문자열과 HashSet 노드를 들고 있는 대신 UserIdDictionary의 정수 ID만 보관한다 (구독자당 4바이트).
+ * 기존 호출부가 그대로 쓸 수 있도록 읽기 전용 Set&lt;String&gt;으로 노출하며, contains는 이진 탐색이다.
+ */
+public final class MemberSet extends AbstractSet<String> {
+    private final int[] ids;
+    private final UserIdDictionary dictionary;
+
+    private MemberSet(int[] ids, UserIdDictionary dictionary) {
+        this.ids = ids;
+        this.dictionary = dictionary;
+    }
+
+    // 중복된 ID는 하나만 남김
+    public static MemberSet of(int[] ids, UserIdDictionary dictionary) {
+        int[] sorted = Arrays.stream(ids).sorted().distinct().toArray();
+        return new MemberSet(sorted, dictionary);
+    }
+
+    public boolean containsId(int id) {
+        return id != UserIdDictionary.UNKNOWN && Arrays.binarySearch(ids, id) >= 0;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return o instanceof String userId && containsId(dictionary.find(userId));
+    }
+
+    @Override
+    public int size() {
+        return ids.length;
+    }
+
+    @Override
+    public Iterator<String> iterator() {
+        return new Iterator<>() {
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+                return next < ids.length;
+            }
+
+            @Override
+            public String next() {
+                if (next >= ids.length) {
+                    throw new NoSuchElementException();
+                }
+                return dictionary.userIdOf(ids[next++]);
+            }
+        };
+    }
+}
@@ -0,0 +1,123 @@
+package com.ovengers.chatservice.mysql.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ovengers.chatservice.mysql.entity.UserChatRoom;
+import com.ovengers.chatservice.mysql.repository.ChatRoomRepository;
+import com.ovengers.chatservice.mysql.repository.UserChatRoomRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 채팅방 → 구독자 ID 집합 캐시
+ *
+ * 메시지 전송/조회마다 발생하던 채팅방 존재 여부·구독 여부 확인 쿼리를 대신한다.
+ * 구독자가 바뀌는 작업(생성, 초대, 나가기, 내보내기, 삭제)은 커밋 이후 invalidate()를 호출하며,
+ * 무효화는 Redis pub/sub으로 다른 chat-service 노드에도 전달된다.
+ * pub/sub 메시지가 유실되는 경우를 대비해 항목은 일정 시간 후 만료된다.
+ */
+@Slf4j
+@Component
+public class RoomMembershipCache {
+    public static final String INVALIDATION_CHANNEL = "chat:room-membership:invalidate";
+
+    private static final long MAXIMUM_SIZE = 10_000;
+    private static final Duration EXPIRE_AFTER_WRITE = Duration.ofMinutes(10);
+
+    private final ChatRoomRepository chatRoomRepository;
+    private final UserChatRoomRepository userChatRoomRepository;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final UserIdDictionary userIdDictionary;
+    private final Cache<Long, RoomMembers> cache;
+
+    // 존재하지 않는 채팅방도 exists=false로 캐시하여 반복 조회를 막음
+    // 구독자는 사용자 ID 문자열 대신 정수 ID로 보관 (MemberSet 참고)
+    private record RoomMembers(boolean exists, Set<String> userIds) {
+    }
+
+    public RoomMembershipCache(ChatRoomRepository chatRoomRepository,
+                               UserChatRoomRepository userChatRoomRepository,
+                               @Qualifier("chat-template") StringRedisTemplate stringRedisTemplate,
+                               UserIdDictionary userIdDictionary,
+                               MeterRegistry meterRegistry) {
+        this.chatRoomRepository = chatRoomRepository;
+        this.userChatRoomRepository = userChatRoomRepository;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.userIdDictionary = userIdDictionary;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(MAXIMUM_SIZE)
+                .expireAfterWrite(EXPIRE_AFTER_WRITE)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "chat.room-membership");
+    }
+
+    public boolean exists(Long chatRoomId) {
+        return get(chatRoomId).exists();
+    }
+
+    public boolean isMember(Long chatRoomId, String userId) {
+        return get(chatRoomId).userIds().contains(userId);
+    }
+
+    public Set<String> getMembers(Long chatRoomId) {
+        return get(chatRoomId).userIds();
+    }
+
+    /**
+     * 구독자 변경 후 호출
+     * 트랜잭션 안에서 호출되면 커밋 이후에 무효화하여, 커밋 전 데이터가 다시 캐시되는 것을 막는다.
+     */
+    public void invalidate(Long chatRoomId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidateAndPublish(chatRoomId);
+                }
+            });
+        } else {
+            invalidateAndPublish(chatRoomId);
+        }
+    }
+
+    // 다른 노드로부터 무효화 메시지를 받은 경우
+    public void invalidateLocal(Long chatRoomId) {
+        cache.invalidate(chatRoomId);
+    }
+
+    private void invalidateAndPublish(Long chatRoomId) {
+        invalidateLocal(chatRoomId);
+        try {
+            stringRedisTemplate.convertAndSend(INVALIDATION_CHANNEL, String.valueOf(chatRoomId));
+        } catch (RuntimeException e) {
+            // 다른 노드는 만료 시간 이후 갱신됨
+            log.warn("채팅방 {} 구독자 캐시 무효화 전파 실패: {}", chatRoomId, e.getMessage());
+        }
+    }
+
+    private RoomMembers get(Long chatRoomId) {
+        return cache.get(chatRoomId, this::load);
+    }
+
+    private RoomMembers load(Long chatRoomId) {
+        if (!chatRoomRepository.existsById(chatRoomId)) {
+            return new RoomMembers(false, Set.of());
+        }
+
+        List<String> userIds = userChatRoomRepository.findAllByChatRoomId(chatRoomId).stream()
+                .map(UserChatRoom::getUserId)
+                .toList();
+        return new RoomMembers(true, MemberSet.of(userIdDictionary.internAll(userIds), userIdDictionary));
+    }
+}
@@ -0,0 +1,28 @@
+package com.ovengers.chatservice.mysql.cache;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RoomMembershipInvalidationSubscriber implements MessageListener {
+
+    private final RoomMembershipCache roomMembershipCache;
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            Long chatRoomId = Long.valueOf(new String(message.getBody(), StandardCharsets.UTF_8));
+            roomMembershipCache.invalidateLocal(chatRoomId);
+            log.debug("채팅방 {} 구독자 캐시 무효화 수신", chatRoomId);
+        } catch (Exception e) {
+            log.error("Failed to process room membership invalidation", e);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.ovengers.chatservice.mysql.cache;
+
+import com.ovengers.chatservice.mysql.entity.UserIdMapping;
+import com.ovengers.chatservice.mysql.repository.UserIdMappingBatchRepository;
+import com.ovengers.chatservice.mysql.repository.UserIdMappingRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 사용자 ID(36자 UUID 문자열) → 정수 ID 사전
+ *
+ * 채팅방 구독자 집합처럼 사용자 ID를 대량으로 들고 있는 메모리 구조는 문자열 대신 이 사전의 정수 ID를 저장한다.
+ * 매핑은 tbl_user_id_map에 영구 저장되므로 모든 노드와 재시작 이후에도 같은 사용자는 같은 정수 ID를 가진다.
+ * 사전 자체는 사용자당 한 번만 문자열을 보관하며, 한 번 등록된 매핑은 바뀌지 않으므로 만료하지 않는다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserIdDictionary {
+    public static final int UNKNOWN = -1;
+
+    private static final int IDS_PER_QUERY = 1000;
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final UserIdMappingRepository userIdMappingRepository;
+    private final UserIdMappingBatchRepository userIdMappingBatchRepository;
+
+    private final ConcurrentHashMap<String, Integer> ids = new ConcurrentHashMap<>();
+    // 정수 ID → 사용자 ID (배열 원소는 ids에 등록하기 전에 기록)
+    private volatile String[] userIds = new String[INITIAL_CAPACITY];
+
+    // 등록되지 않은 사용자는 UNKNOWN (DB를 조회하지 않음)
+    public int find(String userId) {
+        Integer id = ids.get(userId);
+        return id != null ? id : UNKNOWN;
+    }
+
+    public String userIdOf(int id) {
+        String[] snapshot = userIds;
+        return id >= 0 && id < snapshot.length ? snapshot[id] : null;
+    }
+
+    public int intern(String userId) {
+        return internAll(List.of(userId))[0];
+    }
+
+    // userIds와 같은 순서의 정수 ID (등록되지 않은 사용자는 DB에서 조회하거나 새로 등록)
+    public int[] internAll(Collection<String> userIds) {
+        List<String> missing = userIds.stream()
+                .filter(userId -> !ids.containsKey(userId))
+                .distinct()
+                .toList();
+        if (!missing.isEmpty()) {
+            load(missing);
+        }
+
+        int[] result = new int[userIds.size()];
+        int i = 0;
+        for (String userId : userIds) {
+            Integer id = ids.get(userId);
+            if (id == null) {
+                throw new IllegalStateException("사용자 ID 매핑을 만들지 못했습니다: " + userId);
+            }
+            result[i++] = id;
+        }
+        return result;
+    }
+
+    int size() {
+        return ids.size();
+    }
+
+    private void load(List<String> missing) {
+        findAll(missing);
+
+        List<String> unregistered = missing.stream()
+                .filter(userId -> !ids.containsKey(userId))
+                .toList();
+        if (unregistered.isEmpty()) {
+            return;
+        }
+
+        // 대량 초대처럼 처음 보는 사용자가 한꺼번에 들어오는 경우도 다중 행 INSERT 몇 문장으로 등록
+        int statements = userIdMappingBatchRepository.insertIgnoreAll(unregistered);
+        findAll(unregistered);
+        log.debug("사용자 ID 매핑 등록 - 사용자 수: {}, SQL 문장 수: {}", unregistered.size(), statements);
+    }
+
+    private void findAll(List<String> userIds) {
+        for (int from = 0; from < userIds.size(); from += IDS_PER_QUERY) {
+            List<String> chunk = userIds.subList(from, Math.min(from + IDS_PER_QUERY, userIds.size()));
+            userIdMappingRepository.findAllByUserIdIn(chunk).forEach(this::register);
+        }
+    }
+
+    synchronized void register(UserIdMapping mapping) {
+        int id = mapping.getId();
+        String[] current = userIds;
+        if (id >= current.length) {
+            String[] grown = new String[Math.max(id + 1, current.length * 2)];
+            System.arraycopy(current, 0, grown, 0, current.length);
+            current = grown;
+        }
+        current[id] = mapping.getUserId();
+        userIds = current;
+        ids.put(mapping.getUserId(), id);
+    }
+}
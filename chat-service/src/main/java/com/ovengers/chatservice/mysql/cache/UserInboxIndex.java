@@ -0,0 +1,263 @@
+package com.ovengers.chatservice.mysql.cache;
+
+import com.ovengers.chatservice.mongodb.document.RoomSummary;
+import com.ovengers.chatservice.mongodb.service.RoomSummaryService;
+import com.ovengers.chatservice.mysql.dto.ChatRoomCursor;
+import com.ovengers.chatservice.mysql.entity.UserChatRoom;
+import com.ovengers.chatservice.mysql.repository.ChatRoomRepository;
+import com.ovengers.chatservice.mysql.repository.UserChatRoomRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.RedisZSetCommands.ZAddArgs;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations.TypedTuple;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * 사용자별 채팅 목록 인덱스 (Redis sorted set, key = chat:inbox:{userId})
+ *
+ * member는 chatRoomId, score는 채팅방의 마지막 활동 시각(epoch millis)이다.
+ * 구독 변경(생성, 초대 수락, 나가기, 내보내기, 삭제)은 커밋 이후 항목을 추가/삭제하고,
+ * 메시지 전송은 구독자 전원의 기존 항목 score만 올린다(ZADD XX GT).
+ * 키가 없으면 조회 시 MySQL 구독 정보와 room_summary로 다시 만들며,
+ * 반영 누락은 UserInboxRepairJob이 주기적으로 전체 재생성하여 바로잡는다.
+ */
+@Slf4j
+@Component
+public class UserInboxIndex {
+    private static final String KEY_PREFIX = "chat:inbox:";
+    private static final ZoneId ZONE = ZoneId.of("Asia/Seoul");
+    // 키가 없는 사용자는 조회 시 전체 재생성되어야 하므로 항목 하나만 있는 키를 새로 만들지 않음
+    private static final RedisScript<Long> ADD_IF_INDEXED = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[1]) == 1 then return redis.call('ZADD', KEYS[1], 'GT', ARGV[1], ARGV[2]) end return 0",
+            Long.class);
+
+    /**
+     * 재생성한 임시 키(KEYS[2])를 인덱스(KEYS[1])로 원자적으로 교체
+     * 재생성하는 동안 반영된 touch/add를 덮어쓰지 않도록, 기존 인덱스에서 score가 ARGV[1] 이상인 항목을
+     * KEYS[3]에 모아 ZUNIONSTORE AGGREGATE MAX로 합친 뒤 RENAME 한다.
+     * 그보다 오래된 항목은 임시 키의 구독 정보를 따르므로 나간 채팅방은 재생성으로 지워진다.
+     */
+    private static final RedisScript<Long> MERGE_REBUILT = new DefaultRedisScript<>("""
+            if redis.call('EXISTS', KEYS[1]) == 1 then
+              redis.call('ZRANGESTORE', KEYS[3], KEYS[1], ARGV[1], '+inf', 'BYSCORE')
+              redis.call('ZUNIONSTORE', KEYS[2], 2, KEYS[2], KEYS[3], 'AGGREGATE', 'MAX')
+              redis.call('DEL', KEYS[3])
+            end
+            redis.call('RENAME', KEYS[2], KEYS[1])
+            redis.call('EXPIRE', KEYS[1], ARGV[2])
+            return redis.call('ZCARD', KEYS[1])
+            """, Long.class);
+    // 재생성 시작 전 이 시간 안에 갱신된 항목은 동시 반영으로 보고 유지 (노드 간 시계 차이 포함)
+    private static final Duration CONCURRENT_UPDATE_WINDOW = Duration.ofMinutes(1);
+    // 재생성 도중 중단된 임시 키 정리
+    private static final Duration REBUILD_KEY_TTL = Duration.ofMinutes(5);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final UserChatRoomRepository userChatRoomRepository;
+    private final ChatRoomRepository chatRoomRepository;
+    private final RoomSummaryService roomSummaryService;
+    private final RoomMembershipCache roomMembershipCache;
+
+    @Value("${chat.inbox.ttl-days:30}")
+    private long ttlDays = 30;
+
+    public record Entry(Long chatRoomId, long activityAt) {
+        public String cursor() {
+            return ChatRoomCursor.encode(activityAt, chatRoomId);
+        }
+    }
+
+    public UserInboxIndex(@Qualifier("chat-template") StringRedisTemplate stringRedisTemplate,
+                          UserChatRoomRepository userChatRoomRepository,
+                          ChatRoomRepository chatRoomRepository,
+                          RoomSummaryService roomSummaryService,
+                          RoomMembershipCache roomMembershipCache) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.userChatRoomRepository = userChatRoomRepository;
+        this.chatRoomRepository = chatRoomRepository;
+        this.roomSummaryService = roomSummaryService;
+        this.roomMembershipCache = roomMembershipCache;
+    }
+
+    /**
+     * 메시지 저장 후 호출 (블로킹: 구독자 조회와 Redis 파이프라인)
+     * 인덱스가 이미 있는 구독자의 항목만 갱신한다. 키가 없는 사용자는 다음 조회 시 재생성된다.
+     */
+    public void touch(Long chatRoomId, long activityAt) {
+        Set<String> userIds = roomMembershipCache.getMembers(chatRoomId);
+        if (userIds.isEmpty()) {
+            return;
+        }
+
+        String member = String.valueOf(chatRoomId);
+        ZAddArgs args = ZAddArgs.ifExists().gt();
+        try {
+            stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection stringConnection = (StringRedisConnection) connection;
+                userIds.forEach(userId -> stringConnection.zAdd(key(userId), activityAt, member, args));
+                return null;
+            });
+        } catch (RuntimeException e) {
+            // 누락된 순서는 재생성 작업에서 복구됨
+            log.warn("채팅방 {} 채팅 목록 인덱스 갱신 실패: {}", chatRoomId, e.getMessage());
+        }
+    }
+
+    // 구독 추가 (트랜잭션 안에서 호출되면 커밋 이후 반영)
+    public void add(Long chatRoomId, Collection<String> userIds, long activityAt) {
+        afterCommit(() -> userIds.forEach(userId -> stringRedisTemplate.execute(ADD_IF_INDEXED,
+                List.of(key(userId)), String.valueOf(activityAt), String.valueOf(chatRoomId))));
+    }
+
+    // 구독 해제 (트랜잭션 안에서 호출되면 커밋 이후 반영)
+    public void remove(Long chatRoomId, Collection<String> userIds) {
+        afterCommit(() -> {
+            String member = String.valueOf(chatRoomId);
+            stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection stringConnection = (StringRedisConnection) connection;
+                userIds.forEach(userId -> stringConnection.zRem(key(userId), member));
+                return null;
+            });
+        });
+    }
+
+    /**
+     * 활동 시각 내림차순으로 cursor 다음 항목을 최대 limit개 조회
+     * 같은 score의 항목은 Redis가 member 역사전순으로 정렬하므로 cursor의 chatRoomId로 이어서 조회한다.
+     * 인덱스가 없으면 먼저 재생성한다.
+     */
+    public List<Entry> page(String userId, ChatRoomCursor cursor, int limit) {
+        String key = key(userId);
+        if (!Boolean.TRUE.equals(stringRedisTemplate.hasKey(key))) {
+            rebuild(userId);
+        }
+
+        double max = cursor != null ? cursor.activityAt() : Double.POSITIVE_INFINITY;
+        String cursorMember = cursor != null ? String.valueOf(cursor.chatRoomId()) : null;
+
+        List<Entry> entries = new ArrayList<>(limit);
+        long offset = 0;
+        while (entries.size() < limit) {
+            Set<TypedTuple<String>> batch = stringRedisTemplate.opsForZSet()
+                    .reverseRangeByScoreWithScores(key, Double.NEGATIVE_INFINITY, max, offset, limit);
+            if (batch == null || batch.isEmpty()) {
+                break;
+            }
+
+            for (TypedTuple<String> tuple : batch) {
+                long score = tuple.getScore().longValue();
+                // 같은 시각의 항목 중 cursor 이전(포함)에 이미 반환된 항목은 건너뜀
+                if (cursorMember != null && score == cursor.activityAt()
+                        && tuple.getValue().compareTo(cursorMember) >= 0) {
+                    continue;
+                }
+                if (entries.size() < limit) {
+                    entries.add(new Entry(Long.valueOf(tuple.getValue()), score));
+                }
+            }
+
+            if (batch.size() < limit) {
+                break;
+            }
+            offset += batch.size();
+        }
+
+        stringRedisTemplate.expire(key, Duration.ofDays(ttlDays));
+        return entries;
+    }
+
+    /**
+     * MySQL 구독 정보와 room_summary(Mongo)로 사용자의 인덱스를 다시 만든다 (블로킹)
+     * 재생성마다 다른 임시 키에 채운 뒤 MERGE_REBUILT 스크립트로 교체하므로 조회 중에 빈 목록이 보이지 않고,
+     * 같은 사용자의 재생성이 동시에 실행되거나 그 사이에 메시지가 전송되어도 서로의 결과를 지우지 않는다.
+     * 메시지가 없는 채팅방은 생성 시각을 활동 시각으로 사용한다.
+     */
+    public int rebuild(String userId) {
+        long startedAt = System.currentTimeMillis();
+        List<Long> chatRoomIds = userChatRoomRepository.findAllByUserId(userId).stream()
+                .map(UserChatRoom::getChatRoomId)
+                .toList();
+
+        String key = key(userId);
+        if (chatRoomIds.isEmpty()) {
+            stringRedisTemplate.delete(key);
+            return 0;
+        }
+
+        Map<Long, LocalDateTime> activity = new HashMap<>();
+        chatRoomRepository.findAllById(chatRoomIds).forEach(chatRoom ->
+                activity.put(chatRoom.getChatRoomId(), chatRoom.getCreatedAt()));
+        List<RoomSummary> summaries = roomSummaryService.findAllById(activity.keySet()).collectList().block();
+        if (summaries != null) {
+            summaries.stream()
+                    .filter(summary -> summary.getLastMessageAt() != null)
+                    .forEach(summary -> activity.merge(summary.getChatRoomId(), summary.getLastMessageAt(),
+                            (created, lastMessage) -> created == null || lastMessage.isAfter(created) ? lastMessage : created));
+        }
+
+        Set<TypedTuple<String>> tuples = new HashSet<>();
+        activity.forEach((chatRoomId, activityAt) ->
+                tuples.add(TypedTuple.of(String.valueOf(chatRoomId), (double) toScore(activityAt))));
+
+        if (tuples.isEmpty()) {
+            stringRedisTemplate.delete(key);
+            return 0;
+        }
+        String rebuildKey = key + ":rebuild:" + UUID.randomUUID();
+        stringRedisTemplate.opsForZSet().add(rebuildKey, tuples);
+        stringRedisTemplate.expire(rebuildKey, REBUILD_KEY_TTL);
+        Long size = stringRedisTemplate.execute(MERGE_REBUILT, List.of(key, rebuildKey, rebuildKey + ":recent"),
+                String.valueOf(startedAt - CONCURRENT_UPDATE_WINDOW.toMillis()),
+                String.valueOf(Duration.ofDays(ttlDays).toSeconds()));
+        return size != null ? size.intValue() : tuples.size();
+    }
+
+    public static long toScore(LocalDateTime dateTime) {
+        return dateTime != null ? dateTime.atZone(ZONE).toInstant().toEpochMilli() : 0L;
+    }
+
+    private static String key(String userId) {
+        return KEY_PREFIX + userId;
+    }
+
+    private void afterCommit(Runnable action) {
+        Runnable safe = () -> {
+            try {
+                action.run();
+            } catch (RuntimeException e) {
+                log.warn("채팅 목록 인덱스 반영 실패: {}", e.getMessage());
+            }
+        };
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    safe.run();
+                }
+            });
+        } else {
+            safe.run();
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.ovengers.chatservice.mysql.controller;
 
 import com.ovengers.common.auth.TokenUserInfo;
 import com.ovengers.chatservice.mysql.dto.ChatRoomUnreadDto;
+import com.ovengers.chatservice.mysql.dto.RoomPresenceDto;
 import com.ovengers.chatservice.mysql.service.ChatService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -32,6 +33,21 @@ public class ChatController {
                 .doOnError(e -> log.error("Failed to get chat rooms with unread count: {}", e.getMessage()));
     }
 
+    @Operation(
+            summary = "채팅방 접속자 조회",
+            description = "채팅방 화면을 보고 있는 구독자 목록을 조회합니다."
+    )
+    @GetMapping("/rooms/{chatRoomId}/presence")
+    public ResponseEntity<RoomPresenceDto> getPresence(
+            @PathVariable
+            @Parameter(description = "채팅방 ID", example = "1")
+            Long chatRoomId,
+
+            @AuthenticationPrincipal TokenUserInfo tokenUserInfo
+    ) {
+        return ResponseEntity.ok(chatService.getPresence(chatRoomId, tokenUserInfo.getId()));
+    }
+
     @Operation(
             summary = "메시지 읽음 처리",
             description = "특정 채팅방의 메시지를 읽음 처리합니다."
@@ -3,17 +3,21 @@ package com.ovengers.chatservice.mysql.controller;
 import com.ovengers.chatservice.client.UserResponseDto;
 import com.ovengers.common.auth.TokenUserInfo;
 import com.ovengers.chatservice.common.configs.AwsS3Config;
+import com.ovengers.chatservice.common.lane.RoomLaneExecutor;
 import com.ovengers.chatservice.mysql.dto.ChatRoomDto;
 import com.ovengers.chatservice.mysql.dto.CompositeChatRoomDto;
 import com.ovengers.chatservice.mysql.service.ChatRoomService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -22,11 +26,14 @@ import java.util.*;
 
 @Slf4j
 @RestController
+@Validated
 @RequiredArgsConstructor
 @Tag(name = "ChatController", description = "채팅방 관련 controller")
 public class ChatRoomController {
     private final ChatRoomService chatRoomService;
     private final AwsS3Config s3Config;
+    // 구독자 변경은 같은 채팅방의 메시지 전송과 같은 레인에서 순서대로 처리
+    private final RoomLaneExecutor roomLaneExecutor;
 
     // 허용된 이미지 타입
     private static final Set<String> ALLOWED_IMAGE_TYPES = Set.of(
@@ -117,10 +124,12 @@ public class ChatRoomController {
         return ResponseEntity.ok(compositeChatRoomDto);
     }
 
-    @Operation(summary = "구독한 채팅방 목록")
+    @Operation(summary = "구독한 채팅방 목록", description = "최근 활동 순, 다음 페이지는 마지막 항목의 cursor로 조회")
     @GetMapping("/chatRoomList")
-    public ResponseEntity<List<ChatRoomDto>> ChatRoomList(@AuthenticationPrincipal TokenUserInfo tokenUserInfo) {
-        List<ChatRoomDto> chatRoomList = chatRoomService.getChatRooms(tokenUserInfo.getId());
+    public ResponseEntity<List<ChatRoomDto>> ChatRoomList(@AuthenticationPrincipal TokenUserInfo tokenUserInfo,
+                                                          @RequestParam(required = false) String cursor,
+                                                          @RequestParam(defaultValue = "50") @Min(1) @Max(200) int size) {
+        List<ChatRoomDto> chatRoomList = chatRoomService.getChatRooms(tokenUserInfo.getId(), cursor, size);
         return ResponseEntity.ok(chatRoomList);
     }
 
@@ -151,7 +160,7 @@ public class ChatRoomController {
 
         log.debug("Inviting users to chat room {}: {}", chatRoomId, cleanedUserIds);
 
-        chatRoomService.inviteUsers(chatRoomId, tokenUserInfo.getId(), cleanedUserIds);
+        roomLaneExecutor.run(chatRoomId, () -> chatRoomService.inviteUsers(chatRoomId, tokenUserInfo.getId(), cleanedUserIds));
         return ResponseEntity.ok().build();
     }
 
@@ -190,12 +199,13 @@ public class ChatRoomController {
             imageUrl = s3Config.uploadToS3Bucket(image.getBytes(), uniqueFileName);
         }
 
-        ChatRoomDto chatRoomDto = chatRoomService.updateChatRoom(
+        String uploadedImageUrl = imageUrl;
+        ChatRoomDto chatRoomDto = roomLaneExecutor.call(chatRoomId, () -> chatRoomService.updateChatRoom(
                 chatRoomId,
-                imageUrl,
+                uploadedImageUrl,
                 cleanedName,
                 tokenUserInfo.getId()
-        );
+        ));
         log.debug("Updated chat room: {}", chatRoomDto);
         return ResponseEntity.ok(chatRoomDto);
     }
@@ -204,7 +214,7 @@ public class ChatRoomController {
     @DeleteMapping("/{chatRoomId}/deleteChatRoom")
     public ResponseEntity<Void> deleteChatRoom(@PathVariable Long chatRoomId,
                                                @AuthenticationPrincipal TokenUserInfo tokenUserInfo) {
-        chatRoomService.deleteChatRoom(chatRoomId, tokenUserInfo.getId());
+        roomLaneExecutor.run(chatRoomId, () -> chatRoomService.deleteChatRoom(chatRoomId, tokenUserInfo.getId()));
         return ResponseEntity.noContent().build();
     }
 
@@ -212,7 +222,7 @@ public class ChatRoomController {
     @DeleteMapping("/{chatRoomId}/disconnect")
     public ResponseEntity<Void> disconnect(@PathVariable Long chatRoomId,
                                            @AuthenticationPrincipal TokenUserInfo tokenUserInfo) {
-        chatRoomService.disconnectChatRoom(chatRoomId, tokenUserInfo.getId());
+        roomLaneExecutor.run(chatRoomId, () -> chatRoomService.disconnectChatRoom(chatRoomId, tokenUserInfo.getId()));
         return ResponseEntity.noContent().build();
     }
 
@@ -221,7 +231,7 @@ public class ChatRoomController {
     public ResponseEntity<Void> removeUserFromChatRoom(@PathVariable Long chatRoomId,
                                                        @PathVariable String userId,
                                                        @AuthenticationPrincipal TokenUserInfo tokenUserInfo) {
-        chatRoomService.removeUserFromChatRoom(chatRoomId, userId, tokenUserInfo.getId());
+        roomLaneExecutor.run(chatRoomId, () -> chatRoomService.removeUserFromChatRoom(chatRoomId, userId, tokenUserInfo.getId()));
         return ResponseEntity.noContent().build();
     }
 }
\ No newline at end of file
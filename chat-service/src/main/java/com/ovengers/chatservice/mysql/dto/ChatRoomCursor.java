@@ -0,0 +1,35 @@
+package com.ovengers.chatservice.mysql.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * 채팅 목록 페이징 커서 (마지막 활동 시각, chatRoomId)
+ *
+ * 같은 시각에 활동한 채팅방이 여러 개일 수 있으므로 chatRoomId로 순서를 확정한다.
+ * 클라이언트에는 Base64(URL-safe) 문자열로만 노출된다.
+ */
+public record ChatRoomCursor(long activityAt, Long chatRoomId) {
+    private static final String SEPARATOR = "|";
+
+    public static String encode(long activityAt, Long chatRoomId) {
+        String raw = activityAt + SEPARATOR + chatRoomId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ChatRoomCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            throw new IllegalArgumentException("커서가 비어 있습니다.");
+        }
+
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            return new ChatRoomCursor(
+                    Long.parseLong(raw.substring(0, separator)),
+                    Long.valueOf(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("유효하지 않은 커서입니다: " + cursor);
+        }
+    }
+}
@@ -20,4 +20,7 @@ public class ChatRoomDto {
     private String createdAt;
 
     private String updatedAt;
+
+    @Setter
+    private String cursor; // 채팅 목록 페이징 커서 (목록 조회에서만 채워지며 다음 요청의 cursor로 전달)
 }
@@ -0,0 +1,17 @@
+package com.ovengers.chatservice.mysql.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RoomPresenceDto {
+    private Long chatRoomId;
+    private List<String> userIds;
+}
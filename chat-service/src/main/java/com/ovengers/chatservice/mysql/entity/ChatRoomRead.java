@@ -28,11 +28,16 @@ public class ChatRoomRead {
     @Column(name = "last_read_message_id")
     private String lastReadMessageId;
 
+    // 마지막으로 읽은 메시지의 seq / systemSeq (Message 참고)
+    @Setter
+    @Column(name = "last_read_seq")
+    private Long lastReadSeq;
+
+    @Setter
+    @Column(name = "last_read_system_seq")
+    private Long lastReadSystemSeq;
+
     @CreationTimestamp
     @Column(name = "last_read_at")
     private LocalDateTime lastReadAt;
-
-    @Setter
-    @Column(name = "unread_count")
-    private Long unreadCount = 0L;
 }
@@ -0,0 +1,20 @@
+package com.ovengers.chatservice.mysql.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+// 사용자 ID(UUID) ↔ 정수 ID 매핑 (UserIdDictionary 참고)
+@Entity
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "tbl_user_id_map", uniqueConstraints = @UniqueConstraint(columnNames = {"user_id"}))
+public class UserIdMapping {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    @Column(name = "user_id", nullable = false)
+    private String userId;
+}
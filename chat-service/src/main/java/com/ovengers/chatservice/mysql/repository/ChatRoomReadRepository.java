@@ -2,27 +2,19 @@ package com.ovengers.chatservice.mysql.repository;
 
 import com.ovengers.chatservice.mysql.entity.ChatRoomRead;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Modifying;
-import org.springframework.data.jpa.repository.Query;
-import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface ChatRoomReadRepository extends JpaRepository<ChatRoomRead, Long> {
     Optional<ChatRoomRead> findByChatRoomIdAndUserId(Long chatRoomId, String userId);
+    List<ChatRoomRead> findAllByUserIdAndChatRoomIdIn(String userId, Collection<Long> chatRoomIds);
     void deleteByChatRoomIdAndUserId(Long chatRoomId, String userId);
     void deleteByChatRoomId(Long chatRoomId);
 
-    /**
-     * 원자적 upsert - Race Condition 방지
-     * INSERT하거나 이미 존재하면 unreadCount를 1 증가
-     */
-    @Modifying
-    @Query(value = "INSERT INTO tbl_chat_room_read (chat_room_id, user_id, unread_count) " +
-                   "VALUES (:chatRoomId, :userId, 1) " +
-                   "ON DUPLICATE KEY UPDATE unread_count = unread_count + 1",
-           nativeQuery = true)
-    void upsertIncrementUnreadCount(@Param("chatRoomId") Long chatRoomId, @Param("userId") String userId);
-}
\ No newline at end of file
+    // seq 도입 이전에 저장된 읽음 위치 (백필 대상)
+    List<ChatRoomRead> findAllByLastReadSeqIsNullAndLastReadMessageIdIsNotNull();
+}
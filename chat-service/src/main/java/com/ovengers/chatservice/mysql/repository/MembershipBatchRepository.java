@@ -0,0 +1,91 @@
+package com.ovengers.chatservice.mysql.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * 대량 구독/초대 처리 (tbl_user_chat_room, tbl_invitation)
+ *
+ * 초대 대상마다 존재 여부 확인과 INSERT를 한 번씩 실행하는 대신, 기존 구독자는 IN 조회로 한 번에 걸러내고
+ * 구독/초대는 다중 행 INSERT로 반영한다. 1,000명 초대는 조회 1문장 + 구독 2문장 + 초대 2문장이다.
+ * 같은 채팅방의 동시 변경은 RoomLaneExecutor에서 직렬화되지만, 유니크 키 충돌은 무시(INSERT IGNORE)하여 재시도에도 안전하다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class MembershipBatchRepository {
+    static final int ROWS_PER_STATEMENT = 500;
+    static final int IDS_PER_QUERY = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // userIds 중 이미 채팅방을 구독 중인 사용자
+    public Set<String> findExistingMembers(Long chatRoomId, Collection<String> userIds) {
+        List<String> ids = List.copyOf(userIds);
+        if (ids.isEmpty()) {
+            return Collections.emptySet();
+        }
+
+        Set<String> existing = new HashSet<>();
+        for (int from = 0; from < ids.size(); from += IDS_PER_QUERY) {
+            List<String> chunk = ids.subList(from, Math.min(from + IDS_PER_QUERY, ids.size()));
+            List<Object> args = new ArrayList<>(chunk.size() + 1);
+            args.add(chatRoomId);
+            args.addAll(chunk);
+            existing.addAll(jdbcTemplate.queryForList(
+                    "SELECT user_id FROM tbl_user_chat_room WHERE chat_room_id = ? AND user_id IN ("
+                            + placeholders(chunk.size()) + ")",
+                    String.class, args.toArray()));
+        }
+        return existing;
+    }
+
+    // 반환값: 실행한 SQL 문장 수
+    public int insertMembers(Long chatRoomId, Collection<String> userIds) {
+        Timestamp subAt = Timestamp.valueOf(LocalDateTime.now());
+        return insertAll("INSERT IGNORE INTO tbl_user_chat_room (chat_room_id, user_id, sub_at) VALUES ", "(?, ?, ?)", "",
+                userIds, userId -> List.of(chatRoomId, userId, subAt));
+    }
+
+    /**
+     * 수락된 초대 기록 저장 (반환값: 실행한 SQL 문장 수)
+     * 수락 대기 중인 초대가 이미 있으면 새로 만들지 않고 수락 상태로 바꾼다.
+     */
+    public int insertAcceptedInvitations(Long chatRoomId, String inviterId, Collection<String> userIds) {
+        return insertAll("INSERT INTO tbl_invitation (inviter_id, chat_room_id, user_id, accepted) VALUES ", "(?, ?, ?, ?)",
+                " ON DUPLICATE KEY UPDATE accepted = VALUES(accepted)",
+                userIds, userId -> List.of(inviterId, chatRoomId, userId, true));
+    }
+
+    private int insertAll(String prefix, String row, String suffix, Collection<String> userIds,
+                          Function<String, List<Object>> toArgs) {
+        List<String> ids = List.copyOf(userIds);
+        int statements = 0;
+        for (int from = 0; from < ids.size(); from += ROWS_PER_STATEMENT) {
+            List<String> chunk = ids.subList(from, Math.min(from + ROWS_PER_STATEMENT, ids.size()));
+            StringBuilder sql = new StringBuilder(prefix);
+            List<Object> args = new ArrayList<>();
+            for (int i = 0; i < chunk.size(); i++) {
+                sql.append(i == 0 ? row : ", " + row);
+                args.addAll(toArgs.apply(chunk.get(i)));
+            }
+            jdbcTemplate.update(sql.append(suffix).toString(), args.toArray());
+            statements++;
+        }
+        return statements;
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+}
@@ -0,0 +1,69 @@
+package com.ovengers.chatservice.mysql.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * tbl_chat_room_read 읽음 위치 일괄 반영
+ * (채팅방, 사용자)별 마지막 읽음 위치를 다중 행 INSERT ... ON DUPLICATE KEY UPDATE로 반영한다.
+ * 읽음 위치(seq)는 기존 값보다 클 때만 갱신하므로 늦게 도착한 반영이 위치를 되돌리지 않는다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ReadMarkerBatchRepository {
+    private static final int ROWS_PER_STATEMENT = 500;
+
+    // MySQL은 SET 절을 왼쪽부터 평가하므로 last_read_system_seq를 last_read_seq보다 먼저 비교·갱신한다
+    private static final String ADVANCES = "VALUES(last_read_seq) IS NOT NULL "
+            + "AND (last_read_seq IS NULL OR VALUES(last_read_seq) > last_read_seq)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public record Marker(Long chatRoomId, String userId, String messageId, Long seq, Long systemSeq) {
+    }
+
+    // 반환값: 실행한 SQL 문장 수
+    public int upsertAll(List<Marker> markers) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        int statements = 0;
+        for (int from = 0; from < markers.size(); from += ROWS_PER_STATEMENT) {
+            List<Marker> chunk = markers.subList(from, Math.min(from + ROWS_PER_STATEMENT, markers.size()));
+            jdbcTemplate.update(buildSql(chunk.size()), toArgs(chunk, now));
+            statements++;
+        }
+        return statements;
+    }
+
+    private String buildSql(int rows) {
+        StringBuilder sql = new StringBuilder("INSERT INTO tbl_chat_room_read (chat_room_id, user_id, "
+                + "last_read_message_id, last_read_seq, last_read_system_seq, last_read_at) VALUES ");
+        for (int i = 0; i < rows; i++) {
+            sql.append(i == 0 ? "(?, ?, ?, ?, ?, ?)" : ", (?, ?, ?, ?, ?, ?)");
+        }
+        return sql.append(" ON DUPLICATE KEY UPDATE")
+                .append(" last_read_message_id = VALUES(last_read_message_id),")
+                .append(" last_read_system_seq = IF(").append(ADVANCES)
+                .append(", VALUES(last_read_system_seq), last_read_system_seq),")
+                .append(" last_read_seq = IF(").append(ADVANCES).append(", VALUES(last_read_seq), last_read_seq)")
+                .toString();
+    }
+
+    private Object[] toArgs(List<Marker> chunk, Timestamp now) {
+        List<Object> args = new ArrayList<>(chunk.size() * 6);
+        for (Marker marker : chunk) {
+            args.add(marker.chatRoomId());
+            args.add(marker.userId());
+            args.add(marker.messageId());
+            args.add(marker.seq());
+            args.add(marker.systemSeq());
+            args.add(now);
+        }
+        return args.toArray();
+    }
+}
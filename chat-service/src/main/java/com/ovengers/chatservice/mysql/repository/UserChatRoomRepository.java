@@ -1,7 +1,10 @@
 package com.ovengers.chatservice.mysql.repository;
 
 import com.ovengers.chatservice.mysql.entity.UserChatRoom;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import java.util.List;
 import java.util.Optional;
@@ -19,4 +22,7 @@ public interface UserChatRoomRepository extends JpaRepository<UserChatRoom, Long
     void deleteByChatRoomIdAndUserId(Long chatRoomId, String userId); // 특정 채팅방과 사용자의 구독 삭제
 
     Optional<UserChatRoom> findByChatRoomIdAndUserId(Long chatRoomId, String userId);
+
+    @Query("SELECT DISTINCT u.userId FROM UserChatRoom u ORDER BY u.userId")
+    Slice<String> findDistinctUserIds(Pageable pageable); // 구독 중인 사용자 ID 목록 (채팅 목록 인덱스 재생성용)
 }
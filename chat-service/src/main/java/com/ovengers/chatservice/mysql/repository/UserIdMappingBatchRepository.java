@@ -0,0 +1,34 @@
+package com.ovengers.chatservice.mysql.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * tbl_user_id_map 일괄 등록
+ * 처음 보는 사용자들을 다중 행 INSERT IGNORE로 등록한다. 다른 노드가 먼저 등록한 사용자는 유니크 키 충돌로 무시된다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class UserIdMappingBatchRepository {
+    static final int ROWS_PER_STATEMENT = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // 반환값: 실행한 SQL 문장 수
+    public int insertIgnoreAll(Collection<String> userIds) {
+        List<String> ids = List.copyOf(userIds);
+        int statements = 0;
+        for (int from = 0; from < ids.size(); from += ROWS_PER_STATEMENT) {
+            List<String> chunk = ids.subList(from, Math.min(from + ROWS_PER_STATEMENT, ids.size()));
+            jdbcTemplate.update("INSERT IGNORE INTO tbl_user_id_map (user_id) VALUES "
+                    + String.join(", ", Collections.nCopies(chunk.size(), "(?)")), chunk.toArray());
+            statements++;
+        }
+        return statements;
+    }
+}
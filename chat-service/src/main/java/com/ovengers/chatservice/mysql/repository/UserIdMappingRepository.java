@@ -0,0 +1,13 @@
+package com.ovengers.chatservice.mysql.repository;
+
+import com.ovengers.chatservice.mysql.entity.UserIdMapping;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface UserIdMappingRepository extends JpaRepository<UserIdMapping, Integer> {
+    List<UserIdMapping> findAllByUserIdIn(Collection<String> userIds);
+}
@@ -1,9 +1,18 @@
 package com.ovengers.chatservice.mysql.service;
 
+import com.ovengers.chatservice.client.CachingUserServiceClient;
 import com.ovengers.chatservice.client.UserResponseDto;
 import com.ovengers.chatservice.client.UserServiceClient;
+import com.ovengers.chatservice.common.lane.RoomLaneExecutor;
+import com.ovengers.chatservice.mongodb.cache.RecentMessageCache;
+import com.ovengers.chatservice.mongodb.config.StompFanoutSender;
 import com.ovengers.chatservice.mongodb.document.Message;
-import com.ovengers.chatservice.mongodb.repository.MessageRepository;
+import com.ovengers.chatservice.mongodb.service.MessageIngestor;
+import com.ovengers.chatservice.mongodb.service.MessageSequenceService;
+import com.ovengers.chatservice.mongodb.service.RoomSummaryService;
+import com.ovengers.chatservice.mysql.cache.RoomMembershipCache;
+import com.ovengers.chatservice.mysql.cache.UserInboxIndex;
+import com.ovengers.chatservice.mysql.dto.ChatRoomCursor;
 import com.ovengers.chatservice.mysql.dto.ChatRoomDto;
 import com.ovengers.chatservice.mysql.dto.ChatRoomInvitationDto;
 import com.ovengers.chatservice.mysql.dto.CompositeChatRoomDto;
@@ -15,38 +24,57 @@ import com.ovengers.common.exception.ErrorCode;
 import com.ovengers.chatservice.mysql.repository.ChatRoomReadRepository;
 import com.ovengers.chatservice.mysql.repository.ChatRoomRepository;
 import com.ovengers.chatservice.mysql.repository.InvitationRepository;
+import com.ovengers.chatservice.mysql.repository.MembershipBatchRepository;
 import com.ovengers.chatservice.mysql.repository.UserChatRoomRepository;
 import io.micrometer.common.util.StringUtils;
 import jakarta.persistence.EntityNotFoundException;
-import jakarta.transaction.Transactional;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.scheduler.Scheduler;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 @Getter
-@Transactional
 public class ChatRoomService {
     private final ChatRoomRepository chatRoomRepository;
     private final UserChatRoomRepository userChatRoomRepository;
     private final InvitationRepository invitationRepository;
     private final UserServiceClient userServiceClient;
+    private final CachingUserServiceClient cachingUserServiceClient;
     private final SimpMessagingTemplate simpMessagingTemplate;
-    private final MessageRepository messageRepository;
+    private final StompFanoutSender stompFanoutSender;
+    private final MessageIngestor messageIngestor;
     private final ChatRoomReadRepository chatRoomReadRepository;
+    private final MessageSequenceService messageSequenceService;
+    private final RoomSummaryService roomSummaryService;
+    private final RecentMessageCache recentMessageCache;
+    private final RoomMembershipCache roomMembershipCache;
+    private final UserInboxIndex userInboxIndex;
+    private final Scheduler blockingScheduler;
+    private final RoomLaneExecutor roomLaneExecutor;
+    private final MembershipBatchRepository membershipBatchRepository;
+    private final ReadMarkerBuffer readMarkerBuffer;
+    // DB 쓰기만 짧은 트랜잭션으로 묶고, Feign 호출·STOMP 전송·Mongo 저장은 커밋(커넥션 반납) 이후에 실행
+    private final TransactionTemplate transactionTemplate;
+
+    private static final int ENTER_MESSAGE_NAME_LIMIT = 3;
 
     public UserResponseDto getUserInfo(String userId) {
-        UserResponseDto userById = userServiceClient.getUserById(userId);
+        UserResponseDto userById = cachingUserServiceClient.getUserById(userId);
 
         if (userById == null) {
             throw new RuntimeException("사용자 정보를 가져오는 데 실패했습니다: " + userId);
@@ -85,11 +113,30 @@ public class ChatRoomService {
         }
     }
 
-    // 채팅방 구독 취소
+    // 채팅방 구독 취소 (트랜잭션 안에서 호출)
     private void removeUserFromChatRoomCommon(Long chatRoomId, String userIdToRemove) {
         userChatRoomRepository.deleteByChatRoomIdAndUserId(chatRoomId, userIdToRemove);
         invitationRepository.findByChatRoomIdAndUserId(chatRoomId, userIdToRemove)
                 .ifPresent(invitationRepository::delete);
+        removeChatRoomRead(chatRoomId, userIdToRemove);
+    }
+
+    // 구독 취소: 읽음 위치 반영과 겹치지 않게 삭제하고 대기 중인 값은 버림
+    private void removeMember(Long chatRoomId, String userIdToRemove) {
+        removeChatRoomReadsExclusively(chatRoomId, List.of(userIdToRemove), () -> transactionTemplate.executeWithoutResult(
+                status -> removeUserFromChatRoomCommon(chatRoomId, userIdToRemove)));
+        afterMemberRemoved(chatRoomId, userIdToRemove);
+    }
+
+    // tbl_chat_room_read에 쓰는 ReadMarkerBuffer의 반영 잠금을 잡고 삭제
+    private void removeChatRoomReadsExclusively(Long chatRoomId, List<String> userIds, Runnable removal) {
+        readMarkerBuffer.discardAll(chatRoomId, userIds, removal);
+    }
+
+    // 구독 취소 커밋 이후 캐시와 채팅 목록 인덱스 반영
+    private void afterMemberRemoved(Long chatRoomId, String removedUserId) {
+        roomMembershipCache.invalidate(chatRoomId);
+        userInboxIndex.remove(chatRoomId, List.of(removedUserId));
     }
 
     // 채팅방 생성자는 막음
@@ -114,13 +161,24 @@ public class ChatRoomService {
                 .content(content)
                 .build();
 
-        messageRepository.save(systemMessage)
-                .subscribe(savedMessage -> {
-                    simpMessagingTemplate.convertAndSend(
-                            "/sub/" + chatRoomId + "/chat",
-                            savedMessage.toDto()
-                    );
-                });
+        // 일반 메시지와 같은 채팅방 레인에서 seq 발급부터 브로드캐스트까지 실행
+        // (레인 작업 안에서 호출되면 현재 작업이 끝난 뒤 실행되므로 기다리지 않음)
+        // 저장은 일반 메시지와 같은 MessageIngestor로 (wal 모드의 로그 순서, 저장 실패 시 누락 seq 기록)
+        roomLaneExecutor.mono(chatRoomId, () -> messageSequenceService.assign(systemMessage)
+                        .flatMap(messageIngestor::ingest)
+                        .map(Message::toDto)
+                        .doOnNext(messageDto -> {
+                            recentMessageCache.onSaved(messageDto);
+                            // 구독자 조회가 블로킹이므로 레인 대신 blockingScheduler에서 순서 갱신
+                            long activityAt = System.currentTimeMillis();
+                            blockingScheduler.schedule(() -> userInboxIndex.touch(chatRoomId, activityAt));
+                            simpMessagingTemplate.convertAndSend(
+                                    "/sub/" + chatRoomId + "/chat",
+                                    messageDto
+                            );
+                        })
+                        .block())
+                .subscribe(null, e -> log.error("채팅방 {} 시스템 메시지 전송 실패: {}", chatRoomId, e.getMessage()));
     }
 
     // 채팅방 입장 알림(채팅방 생성 시(생성자))
@@ -132,13 +190,16 @@ public class ChatRoomService {
     }
 
     // 채팅방 입장 알림(채팅방 생성 또는 초대 시(유저들))
-    private void sendEnterUsers(Long chatRoomId, List<String> userIds) {
+    // 대량 초대 시에도 시스템 메시지는 하나만 보내며, 이름은 앞의 몇 명만 표시 ("A, B, C님 외 997명이")
+    private void sendEnterUsers(Long chatRoomId, List<UserResponseDto> userInfos) {
         ChatRoomDto chatRoomInfo = chatRoomRepository.findByChatRoomId(chatRoomId).toDto();
-        List<UserResponseDto> userInfos = getAllUsers(userIds);
         String userNames = userInfos.stream()
+                .limit(ENTER_MESSAGE_NAME_LIMIT)
                 .map(UserResponseDto::getName)
                 .collect(Collectors.joining(", "));
-        String content = userNames + "님이 " + chatRoomInfo.getName() + " 채팅방에 입장했습니다.";
+        int others = userInfos.size() - ENTER_MESSAGE_NAME_LIMIT;
+        String subject = others > 0 ? userNames + "님 외 " + others + "명이 " : userNames + "님이 ";
+        String content = subject + chatRoomInfo.getName() + " 채팅방에 입장했습니다.";
         sendSystemMessage(chatRoomId, content);
     }
 
@@ -170,79 +231,81 @@ public class ChatRoomService {
         UserResponseDto removerInfo = getUserInfo(removerId);
         String removerName = removerInfo.getName();
 
-        userIds.forEach(userId -> simpMessagingTemplate.convertAndSendToUser(
-                userId,
+        // 모든 멤버에게 같은 알림이므로 한 번만 직렬화해 전송
+        stompFanoutSender.convertAndSendToUsers(
+                userIds,
                 "/queue",
                 ChatRoomInvitationDto.builder()
                         .chatRoomId(chatRoom.getChatRoomId())
                         .name(chatRoom.getName())
                         .message(removerName + "님이 " + chatRoom.getName() + " 채팅방을 삭제했습니다.")
                         .build()
-        ));
+        );
+    }
+
+    private record CreatedChatRoom(ChatRoom chatRoom, UserChatRoom creator) {
     }
 
     // ChatRoom 및 UserChatRoom 생성
     public CompositeChatRoomDto createChatRoom(String image, String name, String userId, List<String> userIds) {
         validateChatRoomName(name.trim());
 
-        // 유저 목록을 FeignClient를 통해 확인
-        List<UserResponseDto> validUsers = userServiceClient.getUsersByIds(userIds);
+        // 유저 목록을 FeignClient를 통해 확인 (중복 ID는 한 번만)
+        Set<String> requestedIds = new LinkedHashSet<>(userIds);
+        List<UserResponseDto> validUsers = userServiceClient.getUsersByIds(List.copyOf(requestedIds));
 
         // 유저 ID가 유효한지 확인 (존재하지 않는 유저 ID가 있으면 예외 처리)
-        List<String> validUserIds = validUsers.stream()
+        Set<String> validUserIds = validUsers.stream()
                 .map(UserResponseDto::getUserId)
-                .toList();
+                .collect(Collectors.toSet());
 
-        for (String user : userIds) {
+        for (String user : requestedIds) {
             if (!validUserIds.contains(user)) {
                 throw new IllegalArgumentException("유효하지 않은 유저 ID: " + user);
             }
         }
 
-        ChatRoom chatRoom = ChatRoom.builder()
-                .name(name)
-                .image(image)
-                .creatorId(userId)
-                .build();
-        ChatRoom savedChatRoom = chatRoomRepository.save(chatRoom); // 엔티티 저장
-
-        UserChatRoom creator = UserChatRoom.builder()
-                .chatRoomId(savedChatRoom.getChatRoomId())
-                .userId(savedChatRoom.getCreatorId())
-                .build();
-        userChatRoomRepository.save(creator);
-
-        // 생성자를 제외한 초대 유저 목록 생성
-        List<String> inviteeIds = validUserIds.stream()
-                .filter(id -> !id.equals(userId)) // 생성자 자신을 제외
+        // 생성자를 제외한 초대 유저 목록 (새 채팅방이므로 기존 구독자 확인 없이 일괄 저장)
+        List<UserResponseDto> invitees = validUsers.stream()
+                .filter(user -> !user.getUserId().equals(userId)) // 생성자 자신을 제외
                 .toList();
-
-        // 초대할 유저에 대한 초대 처리 (Invitation 생성)
-        List<Invitation> invitations = inviteeIds.stream()
-                .map(getUserId -> Invitation.builder()
-                        .inviterId(savedChatRoom.getCreatorId())
-                        .chatRoomId(savedChatRoom.getChatRoomId())
-                        .userId(getUserId)
-                        .accepted(true)
-                        .build())
+        List<String> inviteeIds = invitees.stream()
+                .map(UserResponseDto::getUserId)
                 .toList();
-        invitationRepository.saveAll(invitations);
 
-        List<UserChatRoom> users = inviteeIds.stream()
-                .map(getUserId -> UserChatRoom.builder()
-                        .chatRoomId(savedChatRoom.getChatRoomId())
-                        .userId(getUserId)
-                        .build())
-                .toList();
-        userChatRoomRepository.saveAll(users);
+        CreatedChatRoom created = transactionTemplate.execute(status -> {
+            ChatRoom chatRoom = chatRoomRepository.save(ChatRoom.builder()
+                    .name(name)
+                    .image(image)
+                    .creatorId(userId)
+                    .build()); // 엔티티 저장
+
+            UserChatRoom creator = userChatRoomRepository.save(UserChatRoom.builder()
+                    .chatRoomId(chatRoom.getChatRoomId())
+                    .userId(chatRoom.getCreatorId())
+                    .build());
+
+            membershipBatchRepository.insertAcceptedInvitations(chatRoom.getChatRoomId(), userId, inviteeIds);
+            membershipBatchRepository.insertMembers(chatRoom.getChatRoomId(), inviteeIds);
+            return new CreatedChatRoom(chatRoom, creator);
+        });
+        ChatRoom savedChatRoom = created.chatRoom();
+
+        // 커밋 이후: 캐시·인덱스 반영과 입장 알림
+        roomMembershipCache.invalidate(savedChatRoom.getChatRoomId());
+        List<String> memberIds = new ArrayList<>(inviteeIds);
+        memberIds.add(userId);
+        userInboxIndex.add(savedChatRoom.getChatRoomId(), memberIds, System.currentTimeMillis());
 
         // 생성자가 채팅방에 입장했을 때 입장 메시지 전송
         sendEnterChatRoom(savedChatRoom.getChatRoomId(), userId);  // 생성자가 입장했음을 알림
-        sendEnterUsers(savedChatRoom.getChatRoomId(), inviteeIds);
+        if (!invitees.isEmpty()) {
+            sendEnterUsers(savedChatRoom.getChatRoomId(), invitees);
+        }
 
         return CompositeChatRoomDto.builder()
                 .chatRoomDto(savedChatRoom.toDto())
-                .userChatRoomDto(List.of(creator.toDto())) // 생성자만 포함
+                .userChatRoomDto(List.of(created.creator().toDto())) // 생성자만 포함
                 .build();
     }
 
@@ -266,6 +329,45 @@ public class ChatRoomService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * 최근 활동 순 채팅 목록 (사용자별 인덱스 기반 커서 페이징)
+     * 인덱스에 남아 있는 삭제/탈퇴한 채팅방은 건너뛰고 인덱스에서도 제거한다.
+     */
+    public List<ChatRoomDto> getChatRooms(String userId, String cursor, int size) {
+        ChatRoomCursor after = cursor != null && !cursor.isBlank() ? ChatRoomCursor.decode(cursor) : null;
+        List<ChatRoomDto> result = new ArrayList<>(size);
+
+        while (result.size() < size) {
+            List<UserInboxIndex.Entry> entries = userInboxIndex.page(userId, after, size - result.size());
+            if (entries.isEmpty()) {
+                break;
+            }
+
+            Map<Long, ChatRoom> chatRooms = chatRoomRepository.findAllById(entries.stream()
+                            .map(UserInboxIndex.Entry::chatRoomId)
+                            .toList())
+                    .stream()
+                    .collect(Collectors.toMap(ChatRoom::getChatRoomId, Function.identity()));
+
+            for (UserInboxIndex.Entry entry : entries) {
+                ChatRoom chatRoom = chatRooms.get(entry.chatRoomId());
+                if (chatRoom == null || !roomMembershipCache.isMember(entry.chatRoomId(), userId)) {
+                    userInboxIndex.remove(entry.chatRoomId(), List.of(userId));
+                    continue;
+                }
+
+                ChatRoomDto chatRoomDto = chatRoom.toDto();
+                chatRoomDto.setCursor(entry.cursor());
+                result.add(chatRoomDto);
+            }
+
+            UserInboxIndex.Entry last = entries.get(entries.size() - 1);
+            after = new ChatRoomCursor(last.activityAt(), last.chatRoomId());
+        }
+
+        return result;
+    }
+
     public ChatRoomDto getChatRoom(Long chatRoomId, String userId) {
         ChatRoom chatRoom = validateChatRoomAndUser(chatRoomId, userId);
         return chatRoom.toDto();
@@ -284,7 +386,6 @@ public class ChatRoomService {
     }
 
     // 채팅방에 초대
-    @Transactional
     public void inviteUsers(Long chatRoomId, String inviterId, List<String> inviteUserIds) {
 
         validateChatRoomAndUser(chatRoomId, inviterId);
@@ -293,26 +394,20 @@ public class ChatRoomService {
             throw new IllegalArgumentException("초대할 사용자 목록이 비어있습니다.");
         }
 
-        // 기존 채팅방 유저 목록 조회
-        List<String> existingUserIds = userChatRoomRepository.findAllByChatRoomId(chatRoomId)
-                .stream()
-                .map(UserChatRoom::getUserId)
-                .toList();
-
-        // 초대 유저 목록 중 기존 유저에 포함되지 않은 유저 필터링
-        List<String> newUserIds = inviteUserIds.stream()
-                .filter(userId -> !existingUserIds.contains(userId))
-                .toList();
+        // 기존 구독자는 IN 조회 한 번으로 걸러냄
+        Set<String> requestedIds = new LinkedHashSet<>(inviteUserIds);
+        requestedIds.removeAll(membershipBatchRepository.findExistingMembers(chatRoomId, requestedIds));
 
-        if (newUserIds.isEmpty()) {
+        if (requestedIds.isEmpty()) {
             throw new IllegalArgumentException("모든 초대 대상 유저가 이미 채팅방에 속해 있습니다.");
         }
 
         // FeignClient로 초대할 유저들이 유효한지 확인
+        List<String> newUserIds = List.copyOf(requestedIds);
         List<UserResponseDto> validUsers = userServiceClient.getUsersByIds(newUserIds);
-        List<String> validUserIds = validUsers.stream()
+        Set<String> validUserIds = validUsers.stream()
                 .map(UserResponseDto::getUserId)
-                .toList();
+                .collect(Collectors.toSet());
 
         // 초대 대상 중 유효하지 않은 유저 ID가 있다면 예외 처리
         for (String userId : newUserIds) {
@@ -321,42 +416,16 @@ public class ChatRoomService {
             }
         }
 
-        // 초대 처리
-        List<Invitation> invitations = validUserIds.stream()
-                .filter(inviteeId -> {
-                    // 이미 초대된 유저인지 확인
-                    boolean alreadyInvited = invitationRepository.existsByChatRoomIdAndUserIdAndAcceptedFalse(chatRoomId, inviteeId);
-                    if (alreadyInvited) {
-                        log.debug("이미 초대된 유저: {}", inviteeId);
-                    }
-                    return !alreadyInvited;
-                })
-                .map(inviteeId -> Invitation.builder()
-                        .inviterId(inviterId)
-                        .chatRoomId(chatRoomId)
-                        .userId(inviteeId)
-                        .accepted(true)
-                        .build())
-                .toList();
-
-        List<UserChatRoom> users = validUserIds.stream()
-                .map(getUserId -> UserChatRoom.builder()
-                        .chatRoomId(chatRoomId)
-                        .userId(getUserId)
-                        .build())
-                .toList();
+        // 초대와 구독은 다중 행 INSERT로 일괄 저장 (같은 채팅방의 동시 변경은 RoomLaneExecutor에서 직렬화됨)
+        transactionTemplate.executeWithoutResult(status -> {
+            membershipBatchRepository.insertAcceptedInvitations(chatRoomId, inviterId, newUserIds);
+            membershipBatchRepository.insertMembers(chatRoomId, newUserIds);
+        });
 
-        // 초대와 구독
-        // 동시성 처리를 위한 락 획득
-        Lock lock = new ReentrantLock();
-        lock.lock();
-        try {
-            invitationRepository.saveAll(invitations);
-            userChatRoomRepository.saveAll(users);
-            sendEnterUsers(chatRoomId, validUserIds);
-        } finally {
-            lock.unlock();
-        }
+        // 커밋 이후: 캐시·인덱스 반영과 입장 알림
+        roomMembershipCache.invalidate(chatRoomId);
+        userInboxIndex.add(chatRoomId, newUserIds, System.currentTimeMillis());
+        sendEnterUsers(chatRoomId, validUsers);
 //        sendInvitationsToUsers(validUserIds, chatRoom, inviterId);       // 초대 유저들에게 알림
     }
 
@@ -417,30 +486,32 @@ public class ChatRoomService {
     }*/
 
     // 채팅방 생성자만 채팅방 이미지 및 이름 수정
-    @Transactional
     public ChatRoomDto updateChatRoom(Long chatRoomId, String newImage, String newName, String userId) {
-        ChatRoom chatRoom = validateChatRoomAndUser(chatRoomId, userId);
-        validateCreatorPermission(chatRoom, userId);
+        ChatRoom updated = transactionTemplate.execute(status -> {
+            ChatRoom chatRoom = validateChatRoomAndUser(chatRoomId, userId);
+            validateCreatorPermission(chatRoom, userId);
 
-        boolean isUpdated = false;
+            boolean isUpdated = false;
 
-        if (!newImage.trim().isEmpty() && !newImage.equals(chatRoom.getImage())) {
-            chatRoom.setImage(newImage);
-            isUpdated = true;
-        }
+            if (!newImage.trim().isEmpty() && !newImage.equals(chatRoom.getImage())) {
+                chatRoom.setImage(newImage);
+                isUpdated = true;
+            }
 
-        if (newName != null && !newName.trim().isEmpty() && !newName.equals(chatRoom.getName())) {
-            validateChatRoomName(newName.trim());
-            chatRoom.setName(newName);
-            isUpdated = true;
-        }
+            if (newName != null && !newName.trim().isEmpty() && !newName.equals(chatRoom.getName())) {
+                validateChatRoomName(newName.trim());
+                chatRoom.setName(newName);
+                isUpdated = true;
+            }
 
-        if (!isUpdated) {
-            throw new IllegalArgumentException("변경된 이미지나 이름이 없습니다.");
-        }
+            if (!isUpdated) {
+                throw new IllegalArgumentException("변경된 이미지나 이름이 없습니다.");
+            }
+            return chatRoom;
+        });
 
         sendChatRoomUpdatedNotification(chatRoomId);
-        return chatRoom.toDto();
+        return updated.toDto();
     }
 
     // 채팅방 생성자만 채팅방 삭제 및 해당 채팅방 구독자 전체 삭제
@@ -453,12 +524,21 @@ public class ChatRoomService {
                 .map(UserChatRoom::getUserId)
                 .toList();
 
-        sendChatRoomDeletedNotification(existingUserIds, chatRoom, userId);
+        // 읽음 위치 반영과 겹치지 않게 삭제하고 대기 중인 값은 버림
+        removeChatRoomReadsExclusively(chatRoom.getChatRoomId(), existingUserIds, () ->
+                transactionTemplate.executeWithoutResult(status -> {
+                    chatRoomRepository.delete(chatRoom);
+                    userChatRoomRepository.deleteByChatRoomId(chatRoom.getChatRoomId());
+                    invitationRepository.deleteByChatRoomId(chatRoom.getChatRoomId());
+                    chatRoomReadRepository.deleteByChatRoomId(chatRoom.getChatRoomId());
+                }));
 
-        chatRoomRepository.delete(chatRoom);
-        userChatRoomRepository.deleteByChatRoomId(chatRoom.getChatRoomId());
-        invitationRepository.deleteByChatRoomId(chatRoom.getChatRoomId());
-        chatRoomReadRepository.deleteByChatRoomId(chatRoom.getChatRoomId());
+        // 커밋 이후: Mongo·캐시·인덱스 정리와 구독자 알림
+        sendChatRoomDeletedNotification(existingUserIds, chatRoom, userId);
+        roomSummaryService.delete(chatRoom.getChatRoomId()).subscribe();
+        recentMessageCache.evict(chatRoom.getChatRoomId());
+        roomMembershipCache.invalidate(chatRoom.getChatRoomId());
+        userInboxIndex.remove(chatRoom.getChatRoomId(), existingUserIds);
     }
 
     // 채팅방에서 나가기
@@ -466,13 +546,11 @@ public class ChatRoomService {
         ChatRoom chatRoom = validateChatRoomAndUser(chatRoomId, userId);
         validateCreatorOperation(chatRoom, userId, false);
 
-        removeUserFromChatRoomCommon(chatRoomId, userId);
+        removeMember(chatRoomId, userId);
         sendExitChatRoom(chatRoomId, userId);
-        removeChatRoomRead(chatRoomId, userId);
     }
 
     // 채팅방에서 내보내기(채팅방 생성자만)
-    @Transactional
     public void removeUserFromChatRoom(Long chatRoomId, String userIdToRemove, String userId) {
         ChatRoom chatRoom = validateChatRoomAndUser(chatRoomId, userId);
         validateCreatorPermission(chatRoom, userId);
@@ -482,8 +560,7 @@ public class ChatRoomService {
             throw new IllegalArgumentException("해당 유저는 채팅방에 속해 있지 않습니다.");
         }
 
-        removeUserFromChatRoomCommon(chatRoomId, userIdToRemove);
+        removeMember(chatRoomId, userIdToRemove);
         sendExportChatRoom(chatRoomId, userIdToRemove, userId);
-        removeChatRoomRead(chatRoomId, userIdToRemove);
     }
 }
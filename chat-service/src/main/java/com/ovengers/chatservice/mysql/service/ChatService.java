@@ -1,23 +1,34 @@
 package com.ovengers.chatservice.mysql.service;
 
+import com.ovengers.chatservice.common.presence.RoomPresenceRegistry;
 import com.ovengers.chatservice.mongodb.document.Message;
+import com.ovengers.chatservice.mongodb.document.RoomSummary;
 import com.ovengers.chatservice.mongodb.repository.MessageRepository;
+import com.ovengers.chatservice.mongodb.service.MessageIngestor;
+import com.ovengers.chatservice.mongodb.service.RoomSummaryService;
+import com.ovengers.chatservice.mysql.cache.RoomMembershipCache;
+import com.ovengers.chatservice.mysql.cache.UserInboxIndex;
 import com.ovengers.chatservice.mysql.dto.ChatRoomUnreadDto;
+import com.ovengers.chatservice.mysql.dto.RoomPresenceDto;
 import com.ovengers.chatservice.mysql.entity.ChatRoom;
 import com.ovengers.chatservice.mysql.entity.ChatRoomRead;
 import com.ovengers.chatservice.mysql.entity.UserChatRoom;
 import com.ovengers.chatservice.mysql.repository.ChatRoomReadRepository;
 import com.ovengers.chatservice.mysql.repository.ChatRoomRepository;
+import com.ovengers.chatservice.mysql.repository.ReadMarkerBatchRepository.Marker;
 import com.ovengers.chatservice.mysql.repository.UserChatRoomRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
-import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
 
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -26,90 +37,119 @@ public class ChatService {
     private final UserChatRoomRepository userChatRoomRepository;
     private final ChatRoomReadRepository chatRoomReadRepository;
     private final MessageRepository messageRepository;
+    private final MessageIngestor messageIngestor;
     private final ChatRoomRepository chatRoomRepository;
+    private final RoomSummaryService roomSummaryService;
+    private final ReadMarkerBuffer readMarkerBuffer;
+    private final RoomMembershipCache roomMembershipCache;
+    private final UserInboxIndex userInboxIndex;
+    private final RoomPresenceRegistry roomPresenceRegistry;
+    private final Scheduler blockingScheduler;
 
     public Mono<List<ChatRoomUnreadDto>> getChatRoomsWithUnreadCount(String userId) {
+        // JPA 조회는 blockingScheduler에서 실행
+        return Mono.fromCallable(() -> loadInboxRooms(userId))
+                .subscribeOn(blockingScheduler)
+                .flatMap(inbox -> roomSummaryService.findAllById(inbox.chatRoomIds())
+                        // 마지막 메시지와 읽지 않은 메시지 수는 room_summary 멀티 조회 한 번으로 계산
+                        .filter(summary -> inbox.chatRooms().containsKey(summary.getChatRoomId())
+                                && summary.getLastMessageAt() != null)
+                        .map(summary -> {
+                            ChatRoom chatRoom = inbox.chatRooms().get(summary.getChatRoomId());
+
+                            return ChatRoomUnreadDto.builder()
+                                    .chatRoomId(summary.getChatRoomId())
+                                    .name(chatRoom.getName())
+                                    .image(chatRoom.getImage())
+                                    .unreadCount(getUnreadCountExcludingSystem(summary,
+                                            inbox.chatRoomReads().get(summary.getChatRoomId()),
+                                            readMarkerBuffer.pending(summary.getChatRoomId(), userId)))
+                                    .lastMessage(summary.getLastMessageContent())
+                                    .lastMessageTime(summary.getLastMessageAt()
+                                            .format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm")))
+                                    .build();
+                        })
+                        .collectList());
+    }
+
+    private record InboxRooms(List<Long> chatRoomIds, Map<Long, ChatRoom> chatRooms,
+                              Map<Long, ChatRoomRead> chatRoomReads) {
+    }
+
+    // 구독한 채팅방이 없으면 null (빈 Mono)
+    private InboxRooms loadInboxRooms(String userId) {
         // 사용자가 구독한 채팅방 목록 조회
         List<UserChatRoom> userChatRooms = userChatRoomRepository.findAllByUserId(userId);
 
         if (userChatRooms.isEmpty()) {
-            return Mono.empty();
+            return null;
         }
 
-        // 각 채팅방별 마지막 메시지와 읽지 않은 메시지 수 조회
-        return Flux.fromIterable(userChatRooms)
-                .flatMap(userChatRoom -> {
-                    Long chatRoomId = userChatRoom.getChatRoomId();
-                    ChatRoom chatRoom = chatRoomRepository.findById(chatRoomId)
-                            .orElseThrow(() -> new RuntimeException("채팅방을 찾을 수 없습니다."));
-
-                    // 마지막 메시지 조회
-                    Mono<Message> lastMessageMono = messageRepository
-                            .findByChatRoomIdOrderByCreatedAtAsc(chatRoomId)
-                            .last();
-
-                    // 읽지 않은 메시지 수 조회("SYSTEM"타입 제외)
-                    Mono<Long> unreadCountMono = getUnreadCountExcludingSystem(chatRoomId, userId);
-
-                    return Mono.zip(lastMessageMono, unreadCountMono)
-                            .map(tuple -> {
-                                Message lastMessage = tuple.getT1();
-                                Long unreadCount = tuple.getT2();
-
-                                return ChatRoomUnreadDto.builder()
-                                        .chatRoomId(chatRoomId)
-                                        .name(chatRoom.getName())
-                                        .image(chatRoom.getImage())
-                                        .unreadCount(unreadCount)
-                                        .lastMessage(lastMessage.getContent())
-                                        .lastMessageTime(lastMessage.getCreatedAt()
-                                                .format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm")))
-                                        .build();
-                            });
-                })
-                .collectList();
+        List<Long> chatRoomIds = userChatRooms.stream()
+                .map(UserChatRoom::getChatRoomId)
+                .toList();
+
+        // 채팅방 정보와 읽음 위치는 각각 IN 쿼리 한 번으로 조회
+        Map<Long, ChatRoom> chatRooms = chatRoomRepository.findAllById(chatRoomIds).stream()
+                .collect(Collectors.toMap(ChatRoom::getChatRoomId, Function.identity()));
+        Map<Long, ChatRoomRead> chatRoomReads = chatRoomReadRepository.findAllByUserIdAndChatRoomIdIn(userId, chatRoomIds)
+                .stream()
+                .collect(Collectors.toMap(ChatRoomRead::getChatRoomId, Function.identity()));
+
+        return new InboxRooms(chatRoomIds, chatRooms, chatRoomReads);
     }
 
-    @Transactional
+    // 읽음 위치는 ReadMarkerBuffer에 모아 두었다가 일괄 반영
     public void updateLastReadMessage(Long chatRoomId, String userId, String messageId) {
-        ChatRoomRead chatRoomRead = chatRoomReadRepository
-                .findByChatRoomIdAndUserId(chatRoomId, userId)
-                .orElseGet(() -> ChatRoomRead.builder()
-                        .chatRoomId(chatRoomId)
-                        .userId(userId)
-                        .unreadCount(0L)
-                        .build());
-
-        chatRoomRead.setLastReadMessageId(messageId);
-        chatRoomRead.setUnreadCount(0L);
-        chatRoomReadRepository.save(chatRoomRead);
+        // 읽은 메시지의 seq를 기록 (읽음 위치는 뒤로 이동하지 않음)
+        // wal 모드에서 방금 전송되어 아직 저장되지 않은 메시지는 수집기에서 찾음
+        Message message = messageId == null ? null : messageIngestor.findPending(messageId)
+                .switchIfEmpty(Mono.defer(() -> messageRepository.findByMessageId(messageId)))
+                .filter(found -> chatRoomId.equals(found.getChatRoomId()) && found.getSeq() != null)
+                .block();
+
+        readMarkerBuffer.mark(chatRoomId, userId, messageId,
+                message != null ? message.getSeq() : null,
+                message != null ? message.getSystemSeq() : null);
     }
 
-    @Transactional
-    public void incrementUnreadCount(Long chatRoomId, String senderId) {
-        List<UserChatRoom> subscribers = userChatRoomRepository.findAllByChatRoomId(chatRoomId);
-
-        subscribers.stream()
-                .filter(subscriber -> !subscriber.getUserId().equals(senderId))
-                .forEach(subscriber -> {
-                    chatRoomReadRepository.upsertIncrementUnreadCount(chatRoomId, subscriber.getUserId());
-                });
+    // 메시지 전송 후 호출 (블로킹): 구독자별 채팅 목록 순서 갱신
+    // 읽지 않은 메시지 수는 room_summary의 seq와 읽음 위치로 계산하므로 따로 저장하지 않음
+    public void onMessageSent(Long chatRoomId) {
+        userInboxIndex.touch(chatRoomId, System.currentTimeMillis());
     }
 
-    private Mono<Long> getUnreadCountExcludingSystem(Long chatRoomId, String userId) {
-        ChatRoomRead chatRoomRead = chatRoomReadRepository
-                .findByChatRoomIdAndUserId(chatRoomId, userId)
-                .orElse(null);
+    // 채팅방을 보고 있는 구독자 목록 (구독자만 조회 가능)
+    public RoomPresenceDto getPresence(Long chatRoomId, String userId) {
+        if (!roomMembershipCache.isMember(chatRoomId, userId)) {
+            throw new IllegalArgumentException(chatRoomId + "번 채팅방에 구독되어 있지 않습니다.");
+        }
+
+        Set<String> members = roomMembershipCache.getMembers(chatRoomId);
+        List<String> viewerIds = roomPresenceRegistry.viewers(chatRoomId).stream()
+                .filter(members::contains)
+                .sorted()
+                .toList();
+
+        return RoomPresenceDto.builder()
+                .chatRoomId(chatRoomId)
+                .userIds(viewerIds)
+                .build();
+    }
 
-        if (chatRoomRead == null || chatRoomRead.getLastReadMessageId() == null) {
-            return messageRepository.findByChatRoomIdAndTypeNotOrderByCreatedAtAsc(chatRoomId, "SYSTEM").count();
+    // 읽지 않은 메시지 수 = (headSeq - lastReadSeq) - (그 사이의 SYSTEM 메시지 수)
+    // 아직 반영되지 않은 읽음 위치(pendingMarker)가 더 앞서 있으면 그 위치 기준
+    private long getUnreadCountExcludingSystem(RoomSummary summary, ChatRoomRead chatRoomRead, Marker pendingMarker) {
+        long readSeq = chatRoomRead != null && chatRoomRead.getLastReadSeq() != null
+                ? chatRoomRead.getLastReadSeq() : 0L;
+        long readSystemSeq = chatRoomRead != null && chatRoomRead.getLastReadSystemSeq() != null
+                ? chatRoomRead.getLastReadSystemSeq() : 0L;
+
+        if (pendingMarker != null && pendingMarker.seq() != null && pendingMarker.seq() > readSeq) {
+            readSeq = pendingMarker.seq();
+            readSystemSeq = pendingMarker.systemSeq() != null ? pendingMarker.systemSeq() : 0L;
         }
 
-        return messageRepository.findByMessageId(chatRoomRead.getLastReadMessageId())
-                .flatMap(lastReadMessage ->
-                        messageRepository.findByChatRoomIdAndTypeNotOrderByCreatedAtAsc(chatRoomId, "SYSTEM")
-                                .filter(message -> message.getCreatedAt().isAfter(lastReadMessage.getCreatedAt()))
-                                .count()
-                );
+        return summary.unreadCountSince(readSeq, readSystemSeq);
     }
-}
\ No newline at end of file
+}
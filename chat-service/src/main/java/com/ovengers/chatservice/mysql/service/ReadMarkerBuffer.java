@@ -0,0 +1,165 @@
+package com.ovengers.chatservice.mysql.service;
+
+import com.ovengers.chatservice.mysql.repository.ReadMarkerBatchRepository;
+import com.ovengers.chatservice.mysql.repository.ReadMarkerBatchRepository.Marker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 읽음 위치(tbl_chat_room_read) 쓰기 버퍼
+ *
+ * 클라이언트는 스크롤하며 지나간 메시지마다 읽음 처리를 요청하므로, 요청마다 SELECT + UPDATE 하는 대신
+ * (채팅방, 사용자)별 마지막 읽음 위치만 메모리에 남겨 두었다가 주기(chat.read-marker.flush-interval-ms)
+ * 또는 대기 건수(chat.read-marker.flush-threshold)에 도달하면 다중 행 upsert로 한 번에 반영한다.
+ * 반영 전의 읽음 위치는 pending()으로 조회하여 읽지 않은 메시지 수 계산에 포함한다.
+ * 반영 중인 위치도 upsert가 커밋될 때까지 inFlight에 남겨 두므로 반영 도중에 조회해도 위치가 되돌아가지 않는다.
+ *
+ * 절감 효과는 chat.read.marker.marks(요청 수)와 chat.read.marker.rows(반영한 행 수)의 차이이며,
+ * 대기 중인 읽음 위치를 덮어쓴 요청 수는 chat.read.marker.coalesced로 기록한다.
+ *
+ * 장애 시 동작: 반영 실패 시 다음 주기에 재시도하고, 정상 종료 시 남은 위치를 반영한다.
+ * 비정상 종료 시 마지막 반영 이후의 읽음 위치는 유실되며, 다음 읽음 처리 때 다시 기록된다.
+ */
+@Slf4j
+@Component
+public class ReadMarkerBuffer {
+    private final ReadMarkerBatchRepository readMarkerBatchRepository;
+
+    private final ConcurrentHashMap<Key, Marker> pending = new ConcurrentHashMap<>();
+    // 꺼내서 반영 중인 위치 (upsert 커밋 전까지 유지)
+    private final ConcurrentHashMap<Key, Marker> inFlight = new ConcurrentHashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final Counter marks;
+    private final Counter coalesced;
+    private final Counter rows;
+
+    @Value("${chat.read-marker.flush-threshold:5000}")
+    private int flushThreshold;
+
+    private record Key(Long chatRoomId, String userId) {
+    }
+
+    public ReadMarkerBuffer(ReadMarkerBatchRepository readMarkerBatchRepository, MeterRegistry meterRegistry) {
+        this.readMarkerBatchRepository = readMarkerBatchRepository;
+        this.marks = meterRegistry.counter("chat.read.marker.marks");
+        this.coalesced = meterRegistry.counter("chat.read.marker.coalesced");
+        this.rows = meterRegistry.counter("chat.read.marker.rows");
+    }
+
+    // seq가 null이면 메시지 ID만 갱신하고 읽음 위치는 유지
+    public void mark(Long chatRoomId, String userId, String messageId, Long seq, Long systemSeq) {
+        Marker marker = new Marker(chatRoomId, userId, messageId, seq, systemSeq);
+        marks.increment();
+        pending.merge(new Key(chatRoomId, userId), marker, (previous, latest) -> {
+            coalesced.increment();
+            return combine(previous, latest);
+        });
+
+        if (pending.size() >= flushThreshold) {
+            flush();
+        }
+    }
+
+    // 아직 반영되지 않은 읽음 위치 (반영 중인 위치 포함, 없으면 null)
+    public Marker pending(Long chatRoomId, String userId) {
+        Key key = new Key(chatRoomId, userId);
+        Marker latest = pending.get(key);
+        Marker flushing = inFlight.get(key);
+        if (flushing == null) {
+            return latest;
+        }
+        return latest == null ? flushing : combine(flushing, latest);
+    }
+
+    /**
+     * 읽음 위치 행을 지우는 작업(removal)을 반영 잠금 안에서 실행하고 해당 사용자들의 대기 중인 위치를 버린다.
+     * 진행 중인 반영이 커밋된 뒤에 삭제하고 잠금을 놓기 전에 위치를 버리므로,
+     * 이미 꺼낸 위치든 대기 중인 위치든 삭제 이후에 반영되어 행이 다시 생기지 않는다.
+     */
+    public void discardAll(Long chatRoomId, Collection<String> userIds, Runnable removal) {
+        flushLock.lock();
+        try {
+            removal.run();
+        } finally {
+            userIds.forEach(userId -> pending.remove(new Key(chatRoomId, userId)));
+            flushLock.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${chat.read-marker.flush-interval-ms:1000}")
+    public void flush() {
+        // 다른 스레드가 반영 중이면 그 작업이 이어서 처리하므로 대기하지 않음
+        if (!flushLock.tryLock()) {
+            return;
+        }
+        try {
+            List<Marker> markers = drain();
+            if (markers.isEmpty()) {
+                return;
+            }
+
+            try {
+                int statements = readMarkerBatchRepository.upsertAll(markers);
+                rows.increment(markers.size());
+                log.debug("읽음 위치 반영 - 행 수: {}, 문장 수: {}", markers.size(), statements);
+            } catch (RuntimeException e) {
+                log.error("읽음 위치 반영 실패, 다음 주기에 재시도 - 행 수: {}", markers.size(), e);
+                // 재시도 사이에 들어온 읽음 위치가 더 최신
+                markers.forEach(marker -> pending.merge(new Key(marker.chatRoomId(), marker.userId()), marker,
+                        (latest, failed) -> combine(failed, latest)));
+            } finally {
+                // 커밋됐거나 pending으로 되돌린 뒤에 제거하므로 조회 시 빈 구간이 없음
+                inFlight.clear();
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        // 진행 중인 반영이 끝날 때까지 기다린 뒤 남은 읽음 위치 반영
+        flushLock.lock();
+        try {
+            flush();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    int pendingSize() {
+        return pending.size();
+    }
+
+    // 메시지 ID는 마지막 요청 기준, 읽음 위치(seq)는 뒤로 이동하지 않음
+    private static Marker combine(Marker previous, Marker latest) {
+        boolean advances = latest.seq() != null && (previous.seq() == null || latest.seq() > previous.seq());
+        return new Marker(latest.chatRoomId(), latest.userId(), latest.messageId(),
+                advances ? latest.seq() : previous.seq(),
+                advances ? latest.systemSeq() : previous.systemSeq());
+    }
+
+    // 반영 잠금 안에서만 호출 (pending에서 빼는 동시에 inFlight에 넣어 조회 시 빈 구간이 없음)
+    private List<Marker> drain() {
+        List<Marker> markers = new ArrayList<>(pending.size());
+        for (Key key : pending.keySet()) {
+            pending.computeIfPresent(key, (ignored, marker) -> {
+                inFlight.put(key, marker);
+                markers.add(marker);
+                return null;
+            });
+        }
+        return markers;
+    }
+}
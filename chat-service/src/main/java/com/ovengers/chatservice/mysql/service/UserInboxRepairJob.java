@@ -0,0 +1,54 @@
+package com.ovengers.chatservice.mysql.service;
+
+import com.ovengers.chatservice.mysql.cache.UserInboxIndex;
+import com.ovengers.chatservice.mysql.repository.UserChatRoomRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 채팅 목록 인덱스 정합성 복구 작업 (chat.inbox.repair.enabled=true 일 때 chat.inbox.repair.cron 주기로 실행)
+ *
+ * 구독 중인 모든 사용자의 인덱스를 MySQL 구독 정보와 room_summary로 다시 만든다.
+ * Redis 장애나 커밋 이후 반영 실패로 누락/잔존한 항목을 바로잡는 용도이며, 여러 노드에서 동시에
+ * 실행되어도 결과는 같지만 부하를 줄이려면 한 노드에서만 활성화한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "chat.inbox.repair.enabled", havingValue = "true")
+public class UserInboxRepairJob {
+    private static final int BATCH_SIZE = 500;
+
+    private final UserChatRoomRepository userChatRoomRepository;
+    private final UserInboxIndex userInboxIndex;
+
+    @Scheduled(cron = "${chat.inbox.repair.cron:0 30 4 * * *}")
+    public void repair() {
+        log.info("채팅 목록 인덱스 재생성 시작");
+
+        int users = 0;
+        int failures = 0;
+        Slice<String> userIds;
+        PageRequest page = PageRequest.of(0, BATCH_SIZE);
+        do {
+            userIds = userChatRoomRepository.findDistinctUserIds(page);
+            for (String userId : userIds) {
+                try {
+                    userInboxIndex.rebuild(userId);
+                    users++;
+                } catch (RuntimeException e) {
+                    failures++;
+                    log.warn("사용자 {} 채팅 목록 인덱스 재생성 실패: {}", userId, e.getMessage());
+                }
+            }
+            page = page.next();
+        } while (userIds.hasNext());
+
+        log.info("채팅 목록 인덱스 재생성 완료 - 사용자 수: {}, 실패: {}", users, failures);
+    }
+}
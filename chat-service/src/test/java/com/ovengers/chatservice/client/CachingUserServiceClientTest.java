@@ -0,0 +1,156 @@
+package com.ovengers.chatservice.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CachingUserServiceClientTest {
+
+    @Mock
+    private UserServiceClient userServiceClient;
+    @Mock
+    private UserLookupBatcher userLookupBatcher;
+
+    private final AtomicLong now = new AtomicLong();
+    private SimpleMeterRegistry meterRegistry;
+    private UserProfileCache userProfileCache;
+    private CachingUserServiceClient cachingUserServiceClient;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        userProfileCache = new UserProfileCache(meterRegistry, now::get);
+        // 백그라운드 갱신을 호출 스레드에서 바로 실행
+        cachingUserServiceClient = new CachingUserServiceClient(
+                userServiceClient, userProfileCache, userLookupBatcher, meterRegistry, Runnable::run);
+    }
+
+    @Test
+    @DisplayName("신선한 캐시 값은 Feign 호출 없이 반환된다")
+    void freshProfileIsServedFromCache() {
+        // given
+        when(userLookupBatcher.getUserById("user1")).thenReturn(profile("user1", "홍길동"));
+
+        // when
+        cachingUserServiceClient.getUserById("user1");
+        UserResponseDto second = cachingUserServiceClient.getUserById("user1");
+
+        // then
+        assertThat(second.getName()).isEqualTo("홍길동");
+        verify(userLookupBatcher, times(1)).getUserById("user1");
+        assertThat(meterRegistry.counter("chat.user-profile.feign.saved").count()).isEqualTo(1.0);
+        // 캐시 미스의 실제 호출은 UserLookupBatcher가 묶어서 보낼 때 셈
+        assertThat(meterRegistry.counter("chat.user-profile.feign.calls").count()).isZero();
+    }
+
+    @Test
+    @DisplayName("오래된 캐시 값은 즉시 반환하고 백그라운드에서 갱신한다")
+    void staleProfileIsRevalidated() {
+        // given
+        when(userLookupBatcher.getUserById("user1")).thenReturn(profile("user1", "이전 이름"));
+        when(userServiceClient.getUsersByIds(List.of("user1"))).thenReturn(List.of(profile("user1", "새 이름")));
+        cachingUserServiceClient.getUserById("user1");
+        now.addAndGet(UserProfileCache.FRESH_TTL.toNanos() + 1);
+
+        // when
+        UserResponseDto stale = cachingUserServiceClient.getUserById("user1");
+        UserResponseDto refreshed = cachingUserServiceClient.getUserById("user1");
+
+        // then
+        assertThat(stale.getName()).isEqualTo("이전 이름");
+        assertThat(refreshed.getName()).isEqualTo("새 이름");
+        verify(userServiceClient, times(1)).getUsersByIds(List.of("user1"));
+    }
+
+    @Test
+    @DisplayName("user-service 장애 시 Fallback은 캐시된 프로필을 반환한다")
+    void fallbackServesCachedProfile() {
+        // given
+        when(userLookupBatcher.getUserById("user1")).thenReturn(profile("user1", "홍길동"));
+        cachingUserServiceClient.getUserById("user1");
+        UserServiceClientFallback fallback = new UserServiceClientFallback(userProfileCache);
+
+        // when
+        UserResponseDto cached = fallback.getUserById("user1");
+        UserResponseDto unknown = fallback.getUserById("user2");
+
+        // then
+        assertThat(cached.getName()).isEqualTo("홍길동");
+        assertThat(UserServiceClientFallback.isPlaceholder(unknown)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Fallback이 만든 대체 프로필은 캐시하지 않는다")
+    void placeholderIsNotCached() {
+        // given
+        UserServiceClientFallback fallback = new UserServiceClientFallback(userProfileCache);
+        when(userLookupBatcher.getUserById("user2"))
+                .thenReturn(fallback.getUserById("user2"))
+                .thenReturn(profile("user2", "김철수"));
+
+        // when
+        cachingUserServiceClient.getUserById("user2");
+        UserResponseDto recovered = cachingUserServiceClient.getUserById("user2");
+
+        // then
+        assertThat(recovered.getName()).isEqualTo("김철수");
+        verify(userLookupBatcher, times(2)).getUserById("user2");
+    }
+
+    @Test
+    @DisplayName("배치 조회는 캐시에 없는 사용자만 Feign으로 조회한다")
+    void batchFetchesOnlyMisses() {
+        // given
+        when(userLookupBatcher.getUserById("user1")).thenReturn(profile("user1", "홍길동"));
+        when(userServiceClient.getUsersByIds(List.of("user2"))).thenReturn(List.of(profile("user2", "김철수")));
+        cachingUserServiceClient.getUserById("user1");
+
+        // when
+        List<UserResponseDto> users = cachingUserServiceClient.getUsersByIds(List.of("user1", "user2"));
+
+        // then
+        assertThat(users).extracting(UserResponseDto::getName).containsExactly("홍길동", "김철수");
+        verify(userServiceClient, times(1)).getUsersByIds(List.of("user2"));
+        // 일부만 캐시에 있으면 호출이 나갔으므로 절약한 호출로 세지 않음
+        assertThat(meterRegistry.counter("chat.user-profile.feign.saved").count()).isZero();
+        assertThat(meterRegistry.counter("chat.user-profile.feign.calls").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("배치 조회 대상이 모두 캐시에 있으면 절약한 호출로 센다")
+    void batchCountsSavedCallOnlyOnFullHit() {
+        // given
+        when(userLookupBatcher.getUserById("user1")).thenReturn(profile("user1", "홍길동"));
+        when(userLookupBatcher.getUserById("user2")).thenReturn(profile("user2", "김철수"));
+        cachingUserServiceClient.getUserById("user1");
+        cachingUserServiceClient.getUserById("user2");
+
+        // when
+        List<UserResponseDto> users = cachingUserServiceClient.getUsersByIds(List.of("user1", "user2"));
+
+        // then
+        assertThat(users).extracting(UserResponseDto::getName).containsExactly("홍길동", "김철수");
+        verifyNoInteractions(userServiceClient);
+        assertThat(meterRegistry.counter("chat.user-profile.feign.saved").count()).isEqualTo(1.0);
+        assertThat(meterRegistry.counter("chat.user-profile.feign.calls").count()).isZero();
+    }
+
+    private UserResponseDto profile(String userId, String name) {
+        UserResponseDto dto = new UserResponseDto();
+        dto.setUserId(userId);
+        dto.setName(name);
+        dto.setEmail(userId + "@orai.com");
+        return dto;
+    }
+}
@@ -0,0 +1,147 @@
+package com.ovengers.chatservice.client;
+
+import com.ovengers.common.dto.CommonResDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * 사용자 조회 묶음 처리 벤치마크 (user-service 불필요)
+ *
+ * 채팅 폭주 상황(동시 요청 64개, 요청마다 사용자 2,000명 중 한 명 조회)에서 단건 getUserById 호출과
+ * UserLookupBatcher를 통한 조회를 비교하여 user-service 호출 QPS와 조회 지연(p50/p99)을 로그로 남긴다.
+ * user-service는 호출당 3ms + 사용자당 20µs가 걸리고 동시에 8개까지만 처리하는 것으로 가정한다.
+ * CHAT_TEST_USER_LOOKUP_BENCHMARK=true 인 경우에만 실행된다.
+ *   예) CHAT_TEST_USER_LOOKUP_BENCHMARK=true gradle :chat-service:test --tests '*UserLookupBatcherBenchmark'
+ */
+@EnabledIfEnvironmentVariable(named = "CHAT_TEST_USER_LOOKUP_BENCHMARK", matches = "true")
+class UserLookupBatcherBenchmark {
+    private static final Logger log = LoggerFactory.getLogger(UserLookupBatcherBenchmark.class);
+    private static final int USERS = 2_000;
+    private static final int CLIENTS = 64;
+    private static final int LOOKUPS_PER_CLIENT = 200;
+    private static final long CALL_MICROS = 3_000;
+    private static final long PER_USER_MICROS = 20;
+    private static final int USER_SERVICE_CONCURRENCY = 8;
+
+    @Test
+    @DisplayName("단건 조회 대비 묶음 조회의 user-service QPS와 조회 지연")
+    void compareDirectWithCollapsed() throws Exception {
+        SimulatedUserService direct = new SimulatedUserService();
+        SimulatedUserService collapsed = new SimulatedUserService();
+        UserLookupBatcher batcher = new UserLookupBatcher(collapsed, mock(UserServiceClientFallback.class),
+                new SimpleMeterRegistry(), Duration.ofMillis(5), 100, Duration.ofSeconds(10));
+        try {
+            // JIT 예열
+            run(direct::getUserById);
+            run(batcher::getUserById);
+            direct.calls.set(0);
+            collapsed.calls.set(0);
+
+            Result before = run(direct::getUserById);
+            long directCalls = direct.calls.get();
+            Result after = run(batcher::getUserById);
+            long collapsedCalls = collapsed.calls.get();
+
+            log.info("조회 {}건 - 단건: user-service {}QPS, p50 {}ms, p99 {}ms / 묶음: user-service {}QPS, p50 {}ms, p99 {}ms",
+                    CLIENTS * LOOKUPS_PER_CLIENT,
+                    directCalls * 1_000_000_000L / before.elapsedNanos(), before.p50() / 1_000_000.0, before.p99() / 1_000_000.0,
+                    collapsedCalls * 1_000_000_000L / after.elapsedNanos(), after.p50() / 1_000_000.0, after.p99() / 1_000_000.0);
+
+            assertThat(collapsedCalls).isLessThan(directCalls);
+        } finally {
+            batcher.shutdown();
+        }
+    }
+
+    private record Result(long elapsedNanos, long p50, long p99) {
+    }
+
+    private Result run(Function<String, UserResponseDto> lookup) throws Exception {
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        long[] latencies = new long[CLIENTS * LOOKUPS_PER_CLIENT];
+        long started = System.nanoTime();
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int client = 0; client < CLIENTS; client++) {
+                int offset = client * LOOKUPS_PER_CLIENT;
+                Random random = new Random(client);
+                futures.add(clients.submit(() -> {
+                    for (int i = 0; i < LOOKUPS_PER_CLIENT; i++) {
+                        String userId = "user-" + random.nextInt(USERS);
+                        long lookupStarted = System.nanoTime();
+                        assertThat(lookup.apply(userId).getUserId()).isEqualTo(userId);
+                        latencies[offset + i] = System.nanoTime() - lookupStarted;
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(5, TimeUnit.MINUTES);
+            }
+        } finally {
+            clients.shutdown();
+        }
+        long elapsed = System.nanoTime() - started;
+        Arrays.sort(latencies);
+        return new Result(elapsed, latencies[latencies.length / 2], latencies[latencies.length * 99 / 100]);
+    }
+
+    // 호출마다 고정 지연 + 사용자 수 비례 지연, 동시 처리 수 제한
+    private static class SimulatedUserService implements UserServiceClient {
+        private final Semaphore connections = new Semaphore(USER_SERVICE_CONCURRENCY, true);
+        private final AtomicLong calls = new AtomicLong();
+
+        @Override
+        public UserResponseDto getUserById(String userId) {
+            return getUsersByIds(List.of(userId)).get(0);
+        }
+
+        @Override
+        public List<UserResponseDto> getUsersByIds(List<String> userIds) {
+            calls.incrementAndGet();
+            connections.acquireUninterruptibly();
+            try {
+                TimeUnit.MICROSECONDS.sleep(CALL_MICROS + PER_USER_MICROS * userIds.size());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                connections.release();
+            }
+            return userIds.stream()
+                    .map(userId -> new UserResponseDto(userId, userId + "@orai.com", "사용자 " + userId, null, null,
+                            true, "dept-1", "사원"))
+                    .toList();
+        }
+
+        @Override
+        public CommonResDto<List<UserResponseDto>> getUsersToList(Map<String, String> params) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public CommonResDto<Page<UserResponseDto>> getUsersToPage(Map<String, String> params, int page, int size) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
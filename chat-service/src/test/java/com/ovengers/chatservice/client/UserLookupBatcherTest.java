@@ -0,0 +1,137 @@
+package com.ovengers.chatservice.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserLookupBatcherTest {
+
+    @Mock
+    private UserServiceClient userServiceClient;
+
+    @Mock
+    private UserServiceClientFallback userServiceClientFallback;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private UserLookupBatcher userLookupBatcher;
+
+    @AfterEach
+    void tearDown() {
+        userLookupBatcher.shutdown();
+    }
+
+    @Test
+    @DisplayName("window 안의 단건 조회는 getUsersByIds 한 번으로 묶이고 결과가 요청별로 나뉜다")
+    void lookupsWithinWindowAreCollapsed() {
+        // given
+        userLookupBatcher = batcher(Duration.ofMillis(20), 100);
+        when(userServiceClient.getUsersByIds(anyList()))
+                .thenAnswer(invocation -> invocation.<List<String>>getArgument(0).stream()
+                        .filter(userId -> !userId.equals("ghost"))
+                        .map(this::profile)
+                        .toList());
+
+        // when
+        CompletableFuture<UserResponseDto> user1 = userLookupBatcher.load("user1");
+        CompletableFuture<UserResponseDto> user2 = userLookupBatcher.load("user2");
+        CompletableFuture<UserResponseDto> user1Again = userLookupBatcher.load("user1");
+        CompletableFuture<UserResponseDto> ghost = userLookupBatcher.load("ghost");
+
+        // then
+        assertThat(user1.join().getUserId()).isEqualTo("user1");
+        assertThat(user2.join().getUserId()).isEqualTo("user2");
+        assertThat(user1Again).isSameAs(user1);
+        assertThat(ghost.join()).isNull();
+        verify(userServiceClient, times(1)).getUsersByIds(anyList());
+        // 조회 4건이 실제 Feign 호출 1건으로 집계됨
+        assertThat(meterRegistry.counter("chat.user-profile.feign.calls").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("대기 건수가 maxBatchSize에 도달하면 window를 기다리지 않고 조회한다")
+    void fullBatchIsDispatchedImmediately() {
+        // given
+        userLookupBatcher = batcher(Duration.ofMinutes(1), 10);
+        when(userServiceClient.getUsersByIds(anyList()))
+                .thenAnswer(invocation -> invocation.<List<String>>getArgument(0).stream().map(this::profile).toList());
+
+        // when
+        List<CompletableFuture<UserResponseDto>> futures = IntStream.range(0, 10)
+                .mapToObj(i -> userLookupBatcher.load("user" + i))
+                .toList();
+
+        // then
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).orTimeout(5, TimeUnit.SECONDS).join();
+        verify(userServiceClient, times(1)).getUsersByIds(anyList());
+    }
+
+    @Test
+    @DisplayName("일괄 조회 실패는 묶인 모든 요청에 전달된다")
+    void failureIsPropagatedToAllWaiters() {
+        // given
+        userLookupBatcher = batcher(Duration.ofMillis(5), 100);
+        when(userServiceClient.getUsersByIds(anyList())).thenThrow(new IllegalStateException("user-service 장애"));
+
+        // when
+        CompletableFuture<UserResponseDto> user1 = userLookupBatcher.load("user1");
+
+        // then
+        assertThatThrownBy(() -> user1.orTimeout(5, TimeUnit.SECONDS).join())
+                .hasCauseInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> userLookupBatcher.getUserById("user2"))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("일괄 조회가 timeout 안에 끝나지 않으면 기다리지 않고 fallback 프로필을 반환한다")
+    void blockingLookupFallsBackOnTimeout() {
+        // given
+        userLookupBatcher = new UserLookupBatcher(userServiceClient, userServiceClientFallback, new SimpleMeterRegistry(),
+                Duration.ofMillis(5), 100, Duration.ofMillis(50));
+        CompletableFuture<Void> release = new CompletableFuture<>();
+        when(userServiceClient.getUsersByIds(anyList())).thenAnswer(invocation -> {
+            release.get(5, TimeUnit.SECONDS);
+            return List.of(profile("user1"));
+        });
+        UserResponseDto cached = profile("user1");
+        when(userServiceClientFallback.getUserById("user1")).thenReturn(cached);
+
+        // when
+        long startedAt = System.nanoTime();
+        UserResponseDto result = userLookupBatcher.getUserById("user1");
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+        release.complete(null);
+
+        // then
+        assertThat(result).isSameAs(cached);
+        assertThat(elapsedMillis).isLessThan(2000);
+    }
+
+    private UserLookupBatcher batcher(Duration window, int maxBatchSize) {
+        return new UserLookupBatcher(userServiceClient, userServiceClientFallback, meterRegistry,
+                window, maxBatchSize, Duration.ofSeconds(5));
+    }
+
+    private UserResponseDto profile(String userId) {
+        UserResponseDto dto = new UserResponseDto();
+        dto.setUserId(userId);
+        dto.setName(userId);
+        return dto;
+    }
+}
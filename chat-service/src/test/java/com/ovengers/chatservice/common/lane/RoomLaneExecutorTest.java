@@ -0,0 +1,104 @@
+package com.ovengers.chatservice.common.lane;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RoomLaneExecutorTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private RoomLaneExecutor executor;
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("같은 채팅방의 작업은 제출 순서대로 하나씩 실행된다")
+    void serializesWithinRoom() {
+        executor = new RoomLaneExecutor(4, 1000, meterRegistry);
+        List<Integer> order = new CopyOnWriteArrayList<>();
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+
+        Flux.range(0, 200)
+                .flatMapSequential(i -> executor.mono(7L, () -> {
+                    maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    order.add(i);
+                    running.decrementAndGet();
+                    return i;
+                }))
+                .blockLast(Duration.ofSeconds(5));
+
+        assertThat(order).containsExactlyElementsOf(IntStream.range(0, 200).boxed().toList());
+        assertThat(maxRunning.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("다른 레인에 배정된 채팅방은 병렬로 실행된다")
+    void runsRoomsOnDifferentLanesInParallel() throws InterruptedException {
+        executor = new RoomLaneExecutor(4, 1000, meterRegistry);
+        assertThat(executor.laneOf(1L)).isNotEqualTo(executor.laneOf(2L));
+        CountDownLatch bothStarted = new CountDownLatch(2);
+
+        Mono<Boolean> room1 = executor.mono(1L, () -> {
+            bothStarted.countDown();
+            return bothStarted.await(5, TimeUnit.SECONDS);
+        });
+        Mono<Boolean> room2 = executor.mono(2L, () -> {
+            bothStarted.countDown();
+            return bothStarted.await(5, TimeUnit.SECONDS);
+        });
+
+        assertThat(Mono.zip(room1, room2).block(Duration.ofSeconds(5)).toList()).containsOnly(true);
+    }
+
+    @Test
+    @DisplayName("레인 대기열이 가득 차면 거절하고 거절 수와 대기열 깊이를 기록한다")
+    void rejectsWhenQueueIsFull() throws InterruptedException {
+        executor = new RoomLaneExecutor(1, 1, meterRegistry);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        executor.mono(1L, () -> {
+            started.countDown();
+            return release.await(5, TimeUnit.SECONDS);
+        }).subscribe();
+        started.await(5, TimeUnit.SECONDS);
+        executor.mono(1L, () -> true).subscribe();
+
+        assertThat(meterRegistry.get("chat.room-lane.queue.depth").tag("lane", "0").gauge().value()).isEqualTo(1.0);
+        assertThatThrownBy(() -> executor.call(1L, () -> true))
+                .isInstanceOf(RoomLaneRejectedException.class);
+        assertThat(meterRegistry.get("chat.room-lane.rejected").counter().count()).isEqualTo(1.0);
+
+        release.countDown();
+    }
+
+    @Test
+    @DisplayName("작업의 예외는 호출자에게 그대로 전달되고, 레인 안에서 같은 레인을 호출하면 바로 실행된다")
+    void propagatesExceptionsAndRunsNestedCallsInline() {
+        executor = new RoomLaneExecutor(1, 10, meterRegistry);
+
+        assertThatThrownBy(() -> executor.run(1L, () -> {
+            throw new IllegalArgumentException("1번 채팅방은 존재하지 않습니다.");
+        })).isInstanceOf(IllegalArgumentException.class).hasMessage("1번 채팅방은 존재하지 않습니다.");
+
+        String nested = executor.call(1L, () -> executor.call(2L, () -> Thread.currentThread().getName()));
+        assertThat(nested).isEqualTo("room-lane-0");
+    }
+}
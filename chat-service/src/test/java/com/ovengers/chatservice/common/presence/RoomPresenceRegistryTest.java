@@ -0,0 +1,105 @@
+package com.ovengers.chatservice.common.presence;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class RoomPresenceRegistryTest {
+
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+    @Mock
+    private ZSetOperations<String, String> zSetOperations;
+
+    private SimpleMeterRegistry meterRegistry;
+    private RoomPresenceRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        when(stringRedisTemplate.opsForZSet()).thenReturn(zSetOperations);
+        meterRegistry = new SimpleMeterRegistry();
+        registry = new RoomPresenceRegistry(stringRedisTemplate, 30_000L, meterRegistry, "node1");
+    }
+
+    @Test
+    @DisplayName("채팅방 메시지 구독 경로에서만 채팅방 ID를 추출한다")
+    void chatRoomIdOf() {
+        assertThat(RoomPresenceRegistry.chatRoomIdOf("/sub/12/chat")).isEqualTo(12L);
+        assertThat(RoomPresenceRegistry.chatRoomIdOf("/sub/12/events")).isNull();
+        assertThat(RoomPresenceRegistry.chatRoomIdOf("/sub/abc/chat")).isNull();
+        assertThat(RoomPresenceRegistry.chatRoomIdOf(null)).isNull();
+    }
+
+    @Test
+    @DisplayName("같은 사용자의 여러 구독은 마지막 구독이 해제될 때 한 번만 Redis에서 제거된다")
+    void lastSubscriptionRemovesEntry() {
+        // given: 두 탭에서 같은 채팅방을 구독
+        registry.enter("session1", "sub-0", "user1", 1L);
+        registry.enter("session2", "sub-0", "user1", 1L);
+        verify(stringRedisTemplate, times(1)).executePipelined(any(RedisCallback.class));
+
+        // when
+        registry.leave("session1", "sub-0");
+
+        // then
+        verify(zSetOperations, never()).remove(anyString(), any());
+        assertThat(registry.localViewerCount()).isEqualTo(1);
+
+        registry.leaveSession("session2");
+        verify(zSetOperations).remove("chat:presence:1", "user1|node1");
+        assertThat(registry.localViewerCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("만료되지 않은 항목의 사용자만 노드와 관계없이 한 번씩 접속자로 본다")
+    void viewersSkipsExpiredAndDuplicates() {
+        // given
+        when(zSetOperations.rangeByScore(eq("chat:presence:1"), anyDouble(), eq(Double.POSITIVE_INFINITY)))
+                .thenReturn(new LinkedHashSet<>(List.of("user2|node1", "user2|node2", "user3|node2")));
+
+        // when & then
+        assertThat(registry.viewers(1L)).isEqualTo(Set.of("user2", "user3"));
+    }
+
+    @Test
+    @DisplayName("Redis 조회에 실패하면 접속자가 없는 것으로 본다")
+    void viewersFallsBackOnRedisFailure() {
+        when(zSetOperations.rangeByScore(anyString(), anyDouble(), anyDouble()))
+                .thenThrow(new RedisConnectionFailureException("down"));
+
+        assertThat(registry.viewers(1L)).isEqualTo(Set.of());
+    }
+
+    @Test
+    @DisplayName("heartbeat는 로컬 접속자가 있을 때만 만료 시각을 연장한다")
+    void heartbeatOnlyWithLocalViewers() {
+        registry.heartbeat();
+        verify(stringRedisTemplate, never()).executePipelined(any(RedisCallback.class));
+
+        registry.enter("session1", "sub-0", "user1", 1L);
+        registry.heartbeat();
+        verify(stringRedisTemplate, times(2)).executePipelined(any(RedisCallback.class));
+    }
+}
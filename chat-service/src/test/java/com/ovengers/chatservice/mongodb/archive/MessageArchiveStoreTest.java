@@ -0,0 +1,244 @@
+package com.ovengers.chatservice.mongodb.archive;
+
+import com.ovengers.chatservice.mongodb.document.Message;
+import com.ovengers.chatservice.mongodb.document.MessageBucket;
+import com.ovengers.chatservice.mongodb.repository.MessageBucketRepository;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class MessageArchiveStoreTest {
+    private static final Long CHAT_ROOM_ID = 1L;
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 6, 1, 12, 0);
+    private static final LocalDate OLD_DAY = LocalDate.of(2025, 1, 1);
+
+    @Mock
+    private MessageBucketRepository messageBucketRepository;
+
+    private MessageArchiveStore messageArchiveStore;
+
+    @BeforeEach
+    void setUp() {
+        // 90일 보관 기준, 묶음당 최대 2개
+        messageArchiveStore = new MessageArchiveStore(messageBucketRepository, () -> Optional.of(NOW), 90, 2);
+    }
+
+    @Test
+    @DisplayName("보관 기준 시각은 90일 전 자정이다")
+    void archivedBeforeIsStartOfDay() {
+        assertThat(messageArchiveStore.archivedBefore()).isEqualTo(LocalDateTime.of(2025, 3, 3, 0, 0));
+    }
+
+    @Test
+    @DisplayName("hot 페이지가 가득 찼고 보관 기준보다 새로우면 묶음을 읽지 않는다")
+    void mergeBeforeSkipsArchiveWhenHotPageIsRecent() {
+        Message newer = message(NOW.minusMinutes(1), "최근 2");
+        Message older = message(NOW.minusMinutes(2), "최근 1");
+
+        StepVerifier.create(messageArchiveStore.mergeBefore(CHAT_ROOM_ID, null, null, 2, Flux.just(newer, older)))
+                .expectNext(newer, older)
+                .verifyComplete();
+
+        verify(messageBucketRepository, never()).findUpTo(any(), any());
+    }
+
+    @Test
+    @DisplayName("hot 페이지가 모자라면 보관 메시지를 최신순으로 이어 붙이고, 같은 메시지는 hot 쪽을 쓴다")
+    void mergeBeforeAppendsArchivedMessagesAndPrefersHot() {
+        Message first = message(OLD_DAY.atTime(9, 0), "첫 메시지");
+        Message second = message(OLD_DAY.atTime(9, 1), "두 번째 메시지");
+        Message third = message(OLD_DAY.atTime(9, 2), "세 번째 메시지");
+        // 보관 후 수정되어 hot에도 있는 메시지
+        Message editedSecond = Message.builder().messageId(second.getMessageId()).chatRoomId(CHAT_ROOM_ID)
+                .senderId("user1").type("EDIT").content("수정된 메시지").createdAt(second.getCreatedAt()).build();
+        Message recent = message(NOW.minusMinutes(1), "최근");
+
+        when(messageBucketRepository.findUpTo(CHAT_ROOM_ID, "9999-12-31"))
+                .thenReturn(Flux.just(bucket(OLD_DAY, 1, third), bucket(OLD_DAY, 0, first, second)));
+
+        StepVerifier.create(messageArchiveStore.mergeBefore(CHAT_ROOM_ID, null, null, 4, Flux.just(recent, editedSecond)))
+                .expectNextMatches(message -> message.getContent().equals("최근"))
+                .expectNextMatches(message -> message.getContent().equals("세 번째 메시지"))
+                .expectNextMatches(message -> message.getContent().equals("수정된 메시지"))
+                .expectNextMatches(message -> message.getContent().equals("첫 메시지"))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("커서와 같은 시각의 메시지는 messageId 순서로 커서 이전/이후를 나눈다")
+    void beforeAndAfterFilterByCursor() {
+        LocalDateTime createdAt = OLD_DAY.atTime(10, 0);
+        Message first = message(createdAt, "A");
+        Message second = message(createdAt, "B");
+        Message third = message(createdAt, "C");
+        ObjectId cursor = new ObjectId(second.getMessageId());
+
+        when(messageBucketRepository.findUpTo(CHAT_ROOM_ID, OLD_DAY.toString()))
+                .thenReturn(Flux.just(bucket(OLD_DAY, 0, first, second, third)));
+        when(messageBucketRepository.findFrom(CHAT_ROOM_ID, OLD_DAY.toString()))
+                .thenReturn(Flux.just(bucket(OLD_DAY, 0, first, second, third)));
+
+        StepVerifier.create(messageArchiveStore.before(CHAT_ROOM_ID, createdAt, cursor, 10).map(Message::getContent))
+                .expectNext("A")
+                .verifyComplete();
+        StepVerifier.create(messageArchiveStore.after(CHAT_ROOM_ID, createdAt, cursor, 10).map(Message::getContent))
+                .expectNext("C")
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("보관 기준 이후 커서의 다음 페이지는 hot만 읽는다")
+    void mergeAfterSkipsArchiveForRecentCursor() {
+        Message recent = message(NOW.minusMinutes(1), "최근");
+
+        StepVerifier.create(messageArchiveStore.mergeAfter(CHAT_ROOM_ID, NOW.minusDays(1), new ObjectId(), 10,
+                        Flux.just(recent)))
+                .expectNext(recent)
+                .verifyComplete();
+
+        verify(messageBucketRepository, never()).findFrom(any(), any());
+    }
+
+    @Test
+    @DisplayName("제거한 메시지는 묶음에서 빠지고, 빈 묶음은 삭제된다")
+    void removeDeletesMessageFromBucket() {
+        Message first = message(OLD_DAY.atTime(9, 0), "첫 메시지");
+        Message second = message(OLD_DAY.atTime(9, 1), "두 번째 메시지");
+        Message alone = message(OLD_DAY.atTime(23, 0), "혼자 있는 메시지");
+        String from = OLD_DAY.minusDays(1).toString();
+        String to = OLD_DAY.plusDays(1).toString();
+
+        when(messageBucketRepository.findBetween(CHAT_ROOM_ID, from, to))
+                .thenReturn(Flux.just(bucket(OLD_DAY, 0, first, second), bucket(OLD_DAY, 1, alone)));
+        when(messageBucketRepository.save(any(MessageBucket.class)))
+                .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+        when(messageBucketRepository.deleteById(MessageBucket.idOf(CHAT_ROOM_ID, OLD_DAY.toString(), 1)))
+                .thenReturn(Mono.empty());
+
+        StepVerifier.create(messageArchiveStore.remove(CHAT_ROOM_ID, first.getMessageId()))
+                .verifyComplete();
+        StepVerifier.create(messageArchiveStore.remove(CHAT_ROOM_ID, alone.getMessageId()))
+                .verifyComplete();
+
+        ArgumentCaptor<MessageBucket> saved = ArgumentCaptor.forClass(MessageBucket.class);
+        verify(messageBucketRepository).save(saved.capture());
+        assertThat(saved.getValue().getCount()).isEqualTo(1);
+        assertThat(MessageArchiveStore.decode(saved.getValue()))
+                .extracting(Message::getMessageId)
+                .containsExactly(second.getMessageId());
+        verify(messageBucketRepository).deleteById(MessageBucket.idOf(CHAT_ROOM_ID, OLD_DAY.toString(), 1));
+    }
+
+    @Test
+    @DisplayName("보관된 메시지 조회는 묶음을 바꾸지 않는다")
+    void findDoesNotModifyBucket() {
+        Message first = message(OLD_DAY.atTime(9, 0), "첫 메시지");
+        Message second = message(OLD_DAY.atTime(9, 1), "두 번째 메시지");
+        when(messageBucketRepository.findBetween(CHAT_ROOM_ID, OLD_DAY.minusDays(1).toString(), OLD_DAY.plusDays(1).toString()))
+                .thenReturn(Flux.just(bucket(OLD_DAY, 0, first, second)));
+
+        StepVerifier.create(messageArchiveStore.find(CHAT_ROOM_ID, second.getMessageId()))
+                .expectNextMatches(message -> message.getContent().equals("두 번째 메시지"))
+                .verifyComplete();
+
+        verify(messageBucketRepository, never()).save(any(MessageBucket.class));
+        verify(messageBucketRepository, never()).deleteById(any(String.class));
+    }
+
+    @Test
+    @DisplayName("보관된 메시지가 아니면 empty")
+    void findMissingMessage() {
+        StepVerifier.create(messageArchiveStore.find(CHAT_ROOM_ID, "not-an-object-id"))
+                .verifyComplete();
+        StepVerifier.create(messageArchiveStore.remove(CHAT_ROOM_ID, "not-an-object-id"))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("하루치 메시지를 기존 묶음과 합쳐 최대 개수 단위로 나누고, 줄어든 part는 삭제한다")
+    void archiveMergesAndSplitsIntoParts() {
+        Message first = message(OLD_DAY.atTime(9, 0), "첫 메시지");
+        Message second = message(OLD_DAY.atTime(9, 1), "두 번째 메시지");
+        Message third = message(OLD_DAY.atTime(9, 2), "세 번째 메시지");
+        Message editedFirst = Message.builder().messageId(first.getMessageId()).chatRoomId(CHAT_ROOM_ID)
+                .senderId("user1").type("EDIT").content("수정된 메시지").createdAt(first.getCreatedAt()).build();
+        String day = OLD_DAY.toString();
+
+        // 기존: part 0 [first], part 1 [second], part 2 [third] → 결과: part 0 [editedFirst, second], part 1 [third]
+        when(messageBucketRepository.findBetween(CHAT_ROOM_ID, day, day))
+                .thenReturn(Flux.just(bucket(OLD_DAY, 0, first), bucket(OLD_DAY, 1, second), bucket(OLD_DAY, 2, third)));
+        when(messageBucketRepository.saveAll(anyIterable()))
+                .thenAnswer(invocation -> Flux.fromIterable(invocation.<Iterable<MessageBucket>>getArgument(0)));
+        when(messageBucketRepository.deleteAllById(anyIterable())).thenReturn(Mono.empty());
+
+        StepVerifier.create(messageArchiveStore.archive(CHAT_ROOM_ID, OLD_DAY, List.of(editedFirst)))
+                .expectNext(3)
+                .verifyComplete();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Iterable<MessageBucket>> saved = ArgumentCaptor.forClass(Iterable.class);
+        verify(messageBucketRepository).saveAll(saved.capture());
+        List<MessageBucket> buckets = new ArrayList<>();
+        saved.getValue().forEach(buckets::add);
+        assertThat(buckets).extracting(MessageBucket::getPart).containsExactly(0, 1);
+        assertThat(MessageArchiveStore.decode(buckets.get(0)))
+                .extracting(Message::getContent)
+                .containsExactly("수정된 메시지", "두 번째 메시지");
+        assertThat(buckets.get(1).getFirstCreatedAt()).isEqualTo(third.getCreatedAt());
+
+        verify(messageBucketRepository).deleteAllById(List.of(MessageBucket.idOf(CHAT_ROOM_ID, day, 2)));
+    }
+
+    // createdAt 시각에 생성된 ObjectId를 가진 메시지 (같은 초 안에서는 생성 순서대로 증가)
+    private static Message message(LocalDateTime createdAt, String content) {
+        Date date = Date.from(createdAt.atZone(ZoneId.of("Asia/Seoul")).toInstant());
+        return Message.builder()
+                .messageId(new ObjectId(date).toHexString())
+                .chatRoomId(CHAT_ROOM_ID)
+                .senderId("user1")
+                .type("CHAT")
+                .content(content)
+                .createdAt(createdAt)
+                .updatedAt(createdAt)
+                .build();
+    }
+
+    private static MessageBucket bucket(LocalDate day, int part, Message... messages) {
+        MessageBucketCodec.Encoded encoded = MessageBucketCodec.encode(List.of(messages));
+        return MessageBucket.builder()
+                .id(MessageBucket.idOf(CHAT_ROOM_ID, day.toString(), part))
+                .chatRoomId(CHAT_ROOM_ID)
+                .day(day.toString())
+                .part(part)
+                .count(messages.length)
+                .firstCreatedAt(messages[0].getCreatedAt())
+                .lastCreatedAt(messages[messages.length - 1].getCreatedAt())
+                .rawBytes(encoded.rawBytes())
+                .payload(encoded.payload())
+                .build();
+    }
+}
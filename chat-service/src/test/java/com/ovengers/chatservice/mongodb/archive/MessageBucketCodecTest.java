@@ -0,0 +1,57 @@
+package com.ovengers.chatservice.mongodb.archive;
+
+import com.ovengers.chatservice.mongodb.document.Message;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MessageBucketCodecTest {
+    private static final Long CHAT_ROOM_ID = 7L;
+
+    @Test
+    @DisplayName("인코딩한 메시지를 그대로 복원한다 (null 필드, ObjectId가 아닌 ID 포함)")
+    void roundTripsMessages() {
+        LocalDateTime createdAt = LocalDateTime.of(2025, 1, 1, 9, 30, 15, 123_456_789);
+        List<Message> messages = List.of(
+                Message.builder().messageId(new ObjectId().toHexString()).chatRoomId(CHAT_ROOM_ID)
+                        .senderId("user1").senderName("홍길동").senderImage("https://img/1.png")
+                        .type("CHAT").content("안녕하세요 👋").seq(1L).version(1L)
+                        .createdAt(createdAt).updatedAt(createdAt.plusMinutes(1)).build(),
+                Message.builder().messageId("legacy-id").chatRoomId(CHAT_ROOM_ID)
+                        .senderId("system").type("SYSTEM").content(null).systemSeq(3L)
+                        .createdAt(createdAt.plusSeconds(1)).build());
+
+        MessageBucketCodec.Encoded encoded = MessageBucketCodec.encode(messages);
+        List<Message> decoded = MessageBucketCodec.decode(CHAT_ROOM_ID, encoded.payload());
+
+        assertThat(decoded).usingRecursiveFieldByFieldElementComparator().containsExactlyElementsOf(messages);
+    }
+
+    @Test
+    @DisplayName("같은 발신자 정보는 묶음당 한 번만 기록해 원본보다 작게 압축된다")
+    void deduplicatesSendersAndCompresses() {
+        LocalDateTime createdAt = LocalDateTime.of(2025, 1, 1, 0, 0);
+        List<Message> messages = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            String senderId = "user" + (i % 3);
+            messages.add(Message.builder().messageId(new ObjectId().toHexString()).chatRoomId(CHAT_ROOM_ID)
+                    .senderId(senderId).senderName("이름-" + senderId).senderImage("https://img/" + senderId + ".png")
+                    .type("CHAT").content("회의는 3시에 시작합니다 " + i).seq((long) i).version(1L)
+                    .createdAt(createdAt.plusSeconds(i)).updatedAt(createdAt.plusSeconds(i)).build());
+        }
+
+        MessageBucketCodec.Encoded encoded = MessageBucketCodec.encode(messages);
+        List<Message> decoded = MessageBucketCodec.decode(CHAT_ROOM_ID, encoded.payload());
+
+        assertThat(encoded.payload().length).isLessThan(encoded.rawBytes() / 3);
+        assertThat(decoded).hasSize(500);
+        assertThat(decoded.get(4).getSenderName()).isEqualTo("이름-user1");
+        assertThat(decoded.get(4).getSenderImage()).isEqualTo("https://img/user1.png");
+    }
+}
@@ -0,0 +1,164 @@
+package com.ovengers.chatservice.mongodb.cache;
+
+import com.ovengers.chatservice.mongodb.dto.MessageDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class RecentMessageCacheTest {
+    private static final Long CHAT_ROOM_ID = 1L;
+    private static final int CAPACITY = 5;
+
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private RecentMessageCache recentMessageCache;
+
+    // 채팅방에 저장된 메시지 (Mongo 대신)
+    private final List<MessageDto> stored = new ArrayList<>();
+    private final AtomicInteger loads = new AtomicInteger();
+    private final IntFunction<Flux<MessageDto>> loader = limit -> {
+        loads.incrementAndGet();
+        return Flux.fromIterable(List.copyOf(stored.subList(Math.max(0, stored.size() - limit), stored.size())));
+    };
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        recentMessageCache = cache("node-a");
+        LongStream.rangeClosed(1, 8).forEach(seq -> stored.add(message(seq, "메시지 " + seq)));
+    }
+
+    @Test
+    @DisplayName("처음 조회 시 capacity만큼 읽어 링을 채우고, 이후 조회는 Mongo를 거치지 않는다")
+    void loadsOnceThenServesFromMemory() {
+        assertThat(seqs(recentMessageCache.getLatest(CHAT_ROOM_ID, 3, loader))).containsExactly(6L, 7L, 8L);
+        assertThat(seqs(recentMessageCache.getLatest(CHAT_ROOM_ID, 5, loader))).containsExactly(4L, 5L, 6L, 7L, 8L);
+
+        assertThat(loads.get()).isEqualTo(1);
+        recentMessageCache.cleanUp();
+        assertThat(meterRegistry.get("chat.recent-messages.weight.bytes").gauge().value()).isPositive();
+    }
+
+    @Test
+    @DisplayName("새 메시지는 링 끝에 추가되고 capacity를 넘으면 가장 오래된 메시지가 빠진다")
+    void appendsAndDropsOldest() {
+        recentMessageCache.getLatest(CHAT_ROOM_ID, 5, loader).blockLast();
+
+        recentMessageCache.onSaved(message(9, "새 메시지"));
+
+        assertThat(seqs(recentMessageCache.getLatest(CHAT_ROOM_ID, 5, loader))).containsExactly(5L, 6L, 7L, 8L, 9L);
+        assertThat(loads.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("seq가 건너뛰면 링을 버리고 다음 조회에서 다시 읽는다")
+    void sequenceGapInvalidates() {
+        recentMessageCache.getLatest(CHAT_ROOM_ID, 5, loader).blockLast();
+
+        stored.add(message(9, "다른 경로로 저장된 메시지"));
+        stored.add(message(10, "새 메시지"));
+        recentMessageCache.onSaved(stored.get(stored.size() - 1));
+
+        assertThat(seqs(recentMessageCache.getLatest(CHAT_ROOM_ID, 2, loader))).containsExactly(9L, 10L);
+        assertThat(loads.get()).isEqualTo(2);
+        assertThat(meterRegistry.get("chat.recent-messages.gap.invalidations").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("수정/삭제된 메시지는 링 안에서 교체된다")
+    void replacesChangedMessage() {
+        recentMessageCache.getLatest(CHAT_ROOM_ID, 5, loader).blockLast();
+
+        recentMessageCache.onChanged(message(7, "메시지가 삭제되었습니다."));
+
+        assertThat(recentMessageCache.getLatest(CHAT_ROOM_ID, 2, loader).map(MessageDto::getContent).collectList().block())
+                .containsExactly("메시지가 삭제되었습니다.", "메시지 8");
+    }
+
+    @Test
+    @DisplayName("로딩 중에 저장된 메시지는 로딩 완료 후 반영된다")
+    void appliesChangesArrivingDuringLoad() {
+        Sinks.One<List<MessageDto>> pendingLoad = Sinks.one();
+        Flux<MessageDto> first = recentMessageCache.getLatest(CHAT_ROOM_ID, 5,
+                limit -> pendingLoad.asMono().flatMapIterable(messages -> messages));
+        List<Long> firstResult = new ArrayList<>();
+        first.map(MessageDto::getSeq).subscribe(firstResult::add);
+
+        recentMessageCache.onSaved(message(9, "로딩 중 메시지"));
+        pendingLoad.tryEmitValue(List.copyOf(stored.subList(3, 8)));
+
+        assertThat(firstResult).containsExactly(4L, 5L, 6L, 7L, 8L);
+        assertThat(seqs(recentMessageCache.getLatest(CHAT_ROOM_ID, 5, loader))).containsExactly(5L, 6L, 7L, 8L, 9L);
+        assertThat(loads.get()).isZero();
+    }
+
+    @Test
+    @DisplayName("capacity보다 큰 요청은 캐시를 거치지 않는다")
+    void largerThanCapacityBypassesCache() {
+        assertThat(seqs(recentMessageCache.getLatest(CHAT_ROOM_ID, 8, loader))).hasSize(8);
+        assertThat(seqs(recentMessageCache.getLatest(CHAT_ROOM_ID, 8, loader))).hasSize(8);
+
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("다른 노드에서 발행한 변경은 반영하고 자기 노드가 발행한 변경은 무시한다")
+    void appliesRemoteUpdates() {
+        RecentMessageCache otherNode = cache("node-b");
+        otherNode.getLatest(CHAT_ROOM_ID, 5, loader).blockLast();
+        recentMessageCache.getLatest(CHAT_ROOM_ID, 5, loader).blockLast();
+
+        recentMessageCache.onSaved(message(9, "새 메시지"));
+        ArgumentCaptor<String> published = ArgumentCaptor.forClass(String.class);
+        verify(stringRedisTemplate).convertAndSend(eq(RecentMessageCache.UPDATE_CHANNEL), published.capture());
+
+        otherNode.applyRemote(published.getValue());
+        recentMessageCache.applyRemote(published.getValue());
+
+        assertThat(otherNode.getLatest(CHAT_ROOM_ID, 1, loader).map(MessageDto::getContent).blockFirst())
+                .isEqualTo("새 메시지");
+        assertThat(seqs(recentMessageCache.getLatest(CHAT_ROOM_ID, 5, loader))).containsExactly(5L, 6L, 7L, 8L, 9L);
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    private RecentMessageCache cache(String nodeId) {
+        return new RecentMessageCache(CAPACITY, 1024 * 1024, stringRedisTemplate, meterRegistry, Runnable::run, nodeId);
+    }
+
+    private static List<Long> seqs(Flux<MessageDto> messages) {
+        return messages.map(MessageDto::getSeq).collectList().block();
+    }
+
+    private static MessageDto message(long seq, String content) {
+        return MessageDto.builder()
+                .messageId("msg" + seq)
+                .chatRoomId(CHAT_ROOM_ID)
+                .senderId("user1")
+                .type("CHAT")
+                .content(content)
+                .seq(seq)
+                .createdAt("2025-01-01T00:00:0" + (seq % 10))
+                .build();
+    }
+}
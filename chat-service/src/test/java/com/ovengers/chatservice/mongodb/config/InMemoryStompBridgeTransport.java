@@ -0,0 +1,56 @@
+package com.ovengers.chatservice.mongodb.config;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * 테스트용 Redis pub/sub 대체 구현
+ * 같은 hub를 공유하는 transport끼리 채널을 구독한 경우에만 메시지를 동기적으로 전달한다.
+ */
+class InMemoryStompBridgeTransport implements StompBridgeTransport {
+    private final Map<String, List<InMemoryStompBridgeTransport>> hub;
+    private final Map<String, Consumer<String>> listeners = new ConcurrentHashMap<>();
+    private int delivered;
+
+    InMemoryStompBridgeTransport(Map<String, List<InMemoryStompBridgeTransport>> hub) {
+        this.hub = hub;
+    }
+
+    static Map<String, List<InMemoryStompBridgeTransport>> newHub() {
+        return new ConcurrentHashMap<>();
+    }
+
+    @Override
+    public void publish(String channel, String body) {
+        for (InMemoryStompBridgeTransport subscriber : List.copyOf(hub.getOrDefault(channel, List.of()))) {
+            subscriber.deliver(channel, body);
+        }
+    }
+
+    @Override
+    public void subscribe(String channel, Consumer<String> listener) {
+        listeners.put(channel, listener);
+        hub.computeIfAbsent(channel, key -> new ArrayList<>()).add(this);
+    }
+
+    @Override
+    public void unsubscribe(String channel) {
+        listeners.remove(channel);
+        hub.getOrDefault(channel, new ArrayList<>()).remove(this);
+    }
+
+    int delivered() {
+        return delivered;
+    }
+
+    private void deliver(String channel, String body) {
+        Consumer<String> listener = listeners.get(channel);
+        if (listener != null) {
+            delivered++;
+            listener.accept(body);
+        }
+    }
+}
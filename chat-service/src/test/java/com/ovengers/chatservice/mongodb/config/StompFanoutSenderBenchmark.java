@@ -0,0 +1,75 @@
+package com.ovengers.chatservice.mongodb.config;
+
+import com.ovengers.chatservice.mysql.dto.ChatRoomInvitationDto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 1,000명 사용자 알림 전송의 CPU 시간과 할당량 비교 (브로커 불필요)
+ *
+ * 사용자마다 convertAndSendToUser를 호출하는 방식과 StompFanoutSender로 한 번만 직렬화하는 방식을
+ * 같은 컨버터 구성의 SimpMessagingTemplate으로 실행하고, 스레드 CPU 시간과 할당 바이트를 잰다.
+ * 브로커 채널은 메시지를 버리므로 직렬화와 메시지 생성 비용만 측정된다.
+ * CHAT_TEST_FANOUT_BENCHMARK=true 인 경우에만 실행된다.
+ *   예) CHAT_TEST_FANOUT_BENCHMARK=true gradle :chat-service:test --tests '*StompFanoutSenderBenchmark'
+ */
+@EnabledIfEnvironmentVariable(named = "CHAT_TEST_FANOUT_BENCHMARK", matches = "true")
+class StompFanoutSenderBenchmark {
+    private static final Logger log = LoggerFactory.getLogger(StompFanoutSenderBenchmark.class);
+    private static final int RECIPIENTS = 1_000;
+    private static final int ROUNDS = 200;
+
+    private final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private final MessageChannel brokerChannel = (message, timeout) -> true;
+    private final SimpMessagingTemplate simpMessagingTemplate = StompFanoutSenderTest.template(brokerChannel);
+    private final StompFanoutSender stompFanoutSender = new StompFanoutSender(simpMessagingTemplate);
+    private final List<String> userIds = IntStream.range(0, RECIPIENTS).mapToObj(i -> "user-" + i).toList();
+
+    @Test
+    @DisplayName("사용자별 직렬화와 한 번 직렬화 비교")
+    void comparePerRecipientWithSerializeOnce() {
+        ChatRoomInvitationDto notification = ChatRoomInvitationDto.builder()
+                .chatRoomId(1L)
+                .name("프로젝트 공지방")
+                .message("홍길동님이 프로젝트 공지방 채팅방을 삭제했습니다.")
+                .build();
+        Runnable perRecipient = () -> userIds.forEach(userId ->
+                simpMessagingTemplate.convertAndSendToUser(userId, "/queue", notification));
+        Runnable serializeOnce = () -> stompFanoutSender.convertAndSendToUsers(userIds, "/queue", notification);
+
+        // JIT 예열
+        measure(perRecipient);
+        measure(serializeOnce);
+        long[] before = measure(perRecipient);
+        long[] after = measure(serializeOnce);
+        log.info("{}명 전송 1회: CPU {}µs → {}µs, 할당 {}KB → {}KB",
+                RECIPIENTS, before[0] / 1000.0, after[0] / 1000.0, before[1] / 1024, after[1] / 1024);
+
+        assertThat(after[1]).isLessThan(before[1]);
+    }
+
+    // 전송 1회당 {CPU ns, 할당 bytes}
+    private long[] measure(Runnable broadcast) {
+        long thread = Thread.currentThread().getId();
+        long cpu = threads.getThreadCpuTime(thread);
+        long allocated = threads.getThreadAllocatedBytes(thread);
+        for (int i = 0; i < ROUNDS; i++) {
+            broadcast.run();
+        }
+        return new long[]{
+                (threads.getThreadCpuTime(thread) - cpu) / ROUNDS,
+                (threads.getThreadAllocatedBytes(thread) - allocated) / ROUNDS};
+    }
+}
@@ -0,0 +1,96 @@
+package com.ovengers.chatservice.mongodb.config;
+
+import com.ovengers.chatservice.mysql.dto.ChatRoomInvitationDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.converter.ByteArrayMessageConverter;
+import org.springframework.messaging.converter.CompositeMessageConverter;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.converter.StringMessageConverter;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.util.MimeTypeUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StompFanoutSenderTest {
+
+    private final List<Message<?>> sent = new CopyOnWriteArrayList<>();
+    private final MessageChannel brokerChannel = (message, timeout) -> sent.add(message);
+    private SimpMessagingTemplate simpMessagingTemplate;
+    private StompFanoutSender stompFanoutSender;
+
+    @BeforeEach
+    void setUp() {
+        simpMessagingTemplate = template(brokerChannel);
+        stompFanoutSender = new StompFanoutSender(simpMessagingTemplate);
+    }
+
+    @Test
+    @DisplayName("한 번 직렬화한 payload를 모든 사용자의 /user 목적지로 보낸다")
+    void sendsSameSerializedPayloadToEveryUser() {
+        stompFanoutSender.convertAndSendToUsers(List.of("user1", "user2", "user3"), "/queue", notification());
+
+        assertThat(sent).hasSize(3);
+        assertThat(sent).extracting(message -> SimpMessageHeaderAccessor.wrap(message).getDestination())
+                .containsExactly("/user/user1/queue", "/user/user2/queue", "/user/user3/queue");
+        assertThat(sent).allSatisfy(message -> {
+            assertThat(message.getPayload()).isSameAs(sent.get(0).getPayload());
+            SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap(message);
+            assertThat(accessor.getMessageType()).isEqualTo(SimpMessageType.MESSAGE);
+            assertThat(accessor.getContentType().isCompatibleWith(MimeTypeUtils.APPLICATION_JSON)).isTrue();
+        });
+    }
+
+    @Test
+    @DisplayName("convertAndSendToUser와 같은 목적지와 payload를 만든다")
+    void matchesConvertAndSendToUser() {
+        List<Message<?>> expected = new CopyOnWriteArrayList<>();
+        template((message, timeout) -> expected.add(message))
+                .convertAndSendToUser("team/user1", "/queue", notification());
+
+        stompFanoutSender.convertAndSendToUsers(List.of("team/user1"), "/queue", notification());
+
+        SimpMessageHeaderAccessor actual = SimpMessageHeaderAccessor.wrap(sent.get(0));
+        assertThat(actual.getDestination())
+                .isEqualTo(SimpMessageHeaderAccessor.wrap(expected.get(0)).getDestination())
+                .isEqualTo("/user/team%2Fuser1/queue");
+        assertThat(payload(sent.get(0))).isEqualTo(payload(expected.get(0)));
+    }
+
+    @Test
+    @DisplayName("수신자가 없으면 직렬화하지 않고 아무것도 보내지 않는다")
+    void sendsNothingWithoutRecipients() {
+        stompFanoutSender.convertAndSendToUsers(List.of(), "/queue", notification());
+
+        assertThat(sent).isEmpty();
+    }
+
+    static SimpMessagingTemplate template(MessageChannel channel) {
+        // 브로커 설정(AbstractMessageBrokerConfiguration)과 같은 컨버터 구성
+        SimpMessagingTemplate template = new SimpMessagingTemplate(channel);
+        template.setMessageConverter(new CompositeMessageConverter(List.of(
+                new StringMessageConverter(), new ByteArrayMessageConverter(), new MappingJackson2MessageConverter())));
+        return template;
+    }
+
+    private static ChatRoomInvitationDto notification() {
+        return ChatRoomInvitationDto.builder()
+                .chatRoomId(1L)
+                .name("테스트 채팅방")
+                .message("테스트유저1님이 테스트 채팅방 채팅방을 삭제했습니다.")
+                .build();
+    }
+
+    private static String payload(Message<?> message) {
+        return new String((byte[]) message.getPayload(), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,217 @@
+package com.ovengers.chatservice.mongodb.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.messaging.SessionConnectEvent;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StompFrameCoalescerTest {
+    private static final Logger log = LoggerFactory.getLogger(StompFrameCoalescerTest.class);
+
+    private final List<Message<?>> sent = new CopyOnWriteArrayList<>();
+    private final MessageChannel clientOutboundChannel = (message, timeout) -> sent.add(message);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ScheduledExecutorService flusher;
+    private StompFrameCoalescer coalescer;
+
+    @BeforeEach
+    void setUp() {
+        flusher = Executors.newSingleThreadScheduledExecutor();
+        // window를 길게 두고 flushAll로 직접 전송
+        coalescer = new StompFrameCoalescer(clientOutboundChannel, flusher, 60_000, 60_000, 3, 65_536, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        coalescer.shutdown();
+    }
+
+    @Test
+    @DisplayName("chat-coalesce 헤더 없이 연결한 세션의 메시지는 그대로 전달된다")
+    void passesThroughSessionsWithoutHeader() {
+        connect("session-1", null);
+        Message<byte[]> message = message("session-1", "sub-0", "{\"seq\":1}");
+
+        assertThat(coalescer.preSend(message, clientOutboundChannel)).isSameAs(message);
+    }
+
+    @Test
+    @DisplayName("같은 구독으로 가는 JSON 메시지는 배열 하나로 묶이고 chat-batch 헤더에 개수를 담는다")
+    void coalescesMessagesForSameSubscription() {
+        connect("session-1", "true");
+
+        assertThat(coalescer.preSend(message("session-1", "sub-0", "{\"seq\":1}"), clientOutboundChannel)).isNull();
+        assertThat(coalescer.preSend(message("session-1", "sub-0", "{\"seq\":2}"), clientOutboundChannel)).isNull();
+        assertThat(coalescer.preSend(message("session-1", "sub-1", "{\"seq\":9}"), clientOutboundChannel)).isNull();
+        coalescer.flushAll();
+
+        assertThat(sent).hasSize(2);
+        Message<?> batch = sent.stream().filter(m -> subscription(m).equals("sub-0")).findFirst().orElseThrow();
+        assertThat(payload(batch)).isEqualTo("[{\"seq\":1},{\"seq\":2}]");
+        assertThat(SimpMessageHeaderAccessor.wrap(batch).getFirstNativeHeader(StompFrameCoalescer.BATCH_HEADER)).isEqualTo("2");
+        assertThat(SimpMessageHeaderAccessor.wrap(batch).getDestination()).isEqualTo("/sub/1/chat");
+
+        // 한 건만 모인 구독은 원래 형식 그대로
+        Message<?> single = sent.stream().filter(m -> subscription(m).equals("sub-1")).findFirst().orElseThrow();
+        assertThat(payload(single)).isEqualTo("{\"seq\":9}");
+        assertThat(SimpMessageHeaderAccessor.wrap(single).getFirstNativeHeader(StompFrameCoalescer.BATCH_HEADER)).isNull();
+
+        assertThat(meterRegistry.counter("chat.stomp.coalesce.frames.saved").count()).isEqualTo(1.0);
+        assertThat(meterRegistry.counter("chat.stomp.coalesce.bytes.saved").count()).isPositive();
+    }
+
+    @Test
+    @DisplayName("다시 보낸 묶음은 인터셉터를 그대로 통과한다")
+    void resentFramesPassThrough() {
+        connect("session-1", "true");
+        coalescer.preSend(message("session-1", "sub-0", "{\"seq\":1}"), clientOutboundChannel);
+        coalescer.flushAll();
+
+        Message<?> resent = sent.get(0);
+        assertThat(coalescer.preSend(resent, clientOutboundChannel)).isSameAs(resent);
+    }
+
+    @Test
+    @DisplayName("max-messages에 도달하면 window를 기다리지 않고 바로 보낸다")
+    void flushesWhenBatchIsFull() {
+        connect("session-1", "true");
+        for (int seq = 1; seq <= 4; seq++) {
+            coalescer.preSend(message("session-1", "sub-0", "{\"seq\":" + seq + "}"), clientOutboundChannel);
+        }
+
+        assertThat(sent).hasSize(1);
+        assertThat(payload(sent.get(0))).isEqualTo("[{\"seq\":1},{\"seq\":2},{\"seq\":3}]");
+
+        coalescer.flushAll();
+        assertThat(payload(sent.get(1))).isEqualTo("{\"seq\":4}");
+    }
+
+    @Test
+    @DisplayName("JSON이 아닌 메시지는 모으던 메시지를 먼저 보낸 뒤 그대로 전달된다")
+    void nonJsonMessageFlushesPendingFirst() {
+        connect("session-1", "true");
+        coalescer.preSend(message("session-1", "sub-0", "{\"seq\":1}"), clientOutboundChannel);
+
+        Message<byte[]> text = MessageBuilder.createMessage("plain".getBytes(StandardCharsets.UTF_8),
+                headers("session-1", "sub-0", MimeTypeUtils.TEXT_PLAIN_VALUE));
+        assertThat(coalescer.preSend(text, clientOutboundChannel)).isSameAs(text);
+        assertThat(sent).extracting(StompFrameCoalescerTest::payload).containsExactly("{\"seq\":1}");
+    }
+
+    @Test
+    @DisplayName("요청한 window는 max-window-ms로 제한되고 잘못된 값은 사용하지 않는다")
+    void parsesRequestedWindow() {
+        StompFrameCoalescer limited = new StompFrameCoalescer(clientOutboundChannel, flusher, 50, 200, 100, 65_536,
+                meterRegistry);
+
+        assertThat(limited.parseWindow("true")).isEqualTo(50L);
+        assertThat(limited.parseWindow("20")).isEqualTo(20L);
+        assertThat(limited.parseWindow("5000")).isEqualTo(200L);
+        assertThat(limited.parseWindow("0")).isNull();
+        assertThat(limited.parseWindow("false")).isNull();
+        assertThat(limited.parseWindow("abc")).isNull();
+    }
+
+    @Test
+    @DisplayName("연결이 끊긴 세션의 모으던 메시지는 버린다")
+    void dropsPendingOnDisconnect() throws Exception {
+        // 20ms window로 예약된 flush가 실제로 실행되게 함 (session-2는 끊기지 않은 비교 대상)
+        connect("session-1", "20");
+        connect("session-2", "20");
+        coalescer.preSend(message("session-1", "sub-0", "{\"seq\":1}"), clientOutboundChannel);
+        coalescer.preSend(message("session-2", "sub-0", "{\"seq\":2}"), clientOutboundChannel);
+
+        coalescer.handleDisconnect(new SessionDisconnectEvent(this, message("session-1", "sub-0", "{}"),
+                "session-1", CloseStatus.NORMAL));
+        // 단일 스레드 flusher에서 window 이후 작업이 끝났으면 앞서 예약된 flush도 실행된 것
+        flusher.schedule(() -> null, 100, TimeUnit.MILLISECONDS).get(5, TimeUnit.SECONDS);
+
+        assertThat(sent).extracting(StompFrameCoalescerTest::payload).containsExactly("{\"seq\":2}");
+    }
+
+    @Test
+    @DisplayName("입장 시스템 메시지 폭주: 세션 50개에 메시지 30건")
+    void burstOfSystemMessages() {
+        StompFrameCoalescer burst = new StompFrameCoalescer(clientOutboundChannel, flusher, 60_000, 60_000, 100,
+                65_536, meterRegistry);
+        for (int session = 0; session < 50; session++) {
+            burst.handleConnect(new SessionConnectEvent(this, connectFrame("session-" + session, "true")));
+        }
+        for (int seq = 1; seq <= 30; seq++) {
+            String payload = "{\"messageId\":\"67a1b2c3d4e5f6a7b8c9d0" + String.format("%02d", seq)
+                    + "\",\"chatRoomId\":1,\"type\":\"SYSTEM\",\"content\":\"사용자" + seq + "님이 입장했습니다.\"}";
+            for (int session = 0; session < 50; session++) {
+                burst.preSend(message("session-" + session, "sub-0", payload), clientOutboundChannel);
+            }
+        }
+        burst.flushAll();
+
+        double frames = meterRegistry.counter("chat.stomp.coalesce.frames").count();
+        double framesSaved = meterRegistry.counter("chat.stomp.coalesce.frames.saved").count();
+        double bytesSaved = meterRegistry.counter("chat.stomp.coalesce.bytes.saved").count();
+        log.info("메시지 1,500건 → 프레임 {}개 (절약 {}개), STOMP 헤더 절약 {}B", frames, framesSaved, bytesSaved);
+
+        assertThat(frames).isEqualTo(50.0);
+        assertThat(framesSaved).isEqualTo(1450.0);
+        burst.shutdown();
+    }
+
+    private void connect(String sessionId, String header) {
+        coalescer.handleConnect(new SessionConnectEvent(this, connectFrame(sessionId, header)));
+    }
+
+    private static Message<byte[]> connectFrame(String sessionId, String header) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.CONNECT);
+        accessor.setSessionId(sessionId);
+        if (header != null) {
+            accessor.setNativeHeader(StompFrameCoalescer.CONNECT_HEADER, header);
+        }
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+
+    private static Message<byte[]> message(String sessionId, String subscriptionId, String json) {
+        return MessageBuilder.createMessage(json.getBytes(StandardCharsets.UTF_8),
+                headers(sessionId, subscriptionId, MimeTypeUtils.APPLICATION_JSON_VALUE));
+    }
+
+    private static MessageHeaders headers(String sessionId, String subscriptionId, String contentType) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setSessionId(sessionId);
+        accessor.setSubscriptionId(subscriptionId);
+        accessor.setDestination("/sub/1/chat");
+        accessor.setContentType(MimeTypeUtils.parseMimeType(contentType));
+        return accessor.getMessageHeaders();
+    }
+
+    private static String subscription(Message<?> message) {
+        return SimpMessageHeaderAccessor.wrap(message).getSubscriptionId();
+    }
+
+    private static String payload(Message<?> message) {
+        return new String((byte[]) message.getPayload(), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,205 @@
+package com.ovengers.chatservice.mongodb.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.broker.SimpleBrokerMessageHandler;
+import org.springframework.messaging.support.ExecutorSubscribableChannel;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.util.MimeTypeUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 다중 노드 STOMP 전달 처리량 벤치마크
+ *
+ * 채팅방 하나에 세션 SESSIONS개가 구독한 상태에서 메시지 MESSAGES건을 보내고, 모든 세션에 전달될 때까지의 초당 메시지 수를 잰다.
+ * 단일 노드(simple broker만 사용)와 세션을 두 노드에 나눈 StompRedisBridge 구성을 비교한다.
+ * 브리지 발행은 운영과 같이 단일 스레드 executor에서 실행된다.
+ * CHAT_TEST_BRIDGE_BENCHMARK=true 인 경우에만 실행되며, 기본은 InMemoryStompBridgeTransport로 연결하여 브리지 자체의 비용만 잰다.
+ * CHAT_TEST_REDIS_HOST가 함께 설정되면 실제 Redis pub/sub(RedisStompBridgeTransport)으로도 잰다.
+ *   예) CHAT_TEST_BRIDGE_BENCHMARK=true CHAT_TEST_REDIS_HOST=localhost gradle :chat-service:test --tests '*StompRedisBridgeBenchmark'
+ */
+@EnabledIfEnvironmentVariable(named = "CHAT_TEST_BRIDGE_BENCHMARK", matches = "true")
+class StompRedisBridgeBenchmark {
+    private static final Logger log = LoggerFactory.getLogger(StompRedisBridgeBenchmark.class);
+    private static final String DESTINATION = "/sub/1/chat";
+    private static final int SESSIONS = 100;
+    private static final int MESSAGES = 20_000;
+    private static final byte[] PAYLOAD = ("{\"messageId\":\"67a1b2c3d4e5f6a7b8c9d0e1\",\"chatRoomId\":1,\"senderId\":\"user1\","
+            + "\"type\":\"CHAT\",\"content\":\"오늘 회의 자료 공유드립니다. 확인 부탁드려요\"}").getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    @DisplayName("단일 노드 대비 두 노드(InMemory 전달)의 처리량")
+    void compareSingleNodeWithInMemoryBridge() throws Exception {
+        double single = singleNode();
+
+        Map<String, List<InMemoryStompBridgeTransport>> hub = InMemoryStompBridgeTransport.newHub();
+        double bridged = twoNodes(new InMemoryStompBridgeTransport(hub), new InMemoryStompBridgeTransport(hub));
+
+        log.info("세션 {}개, 메시지 {}건 - 단일 노드: {}건/초, 두 노드(InMemory 브리지): {}건/초",
+                SESSIONS, MESSAGES, Math.round(single), Math.round(bridged));
+        assertThat(bridged).isPositive();
+    }
+
+    @Test
+    @EnabledIfEnvironmentVariable(named = "CHAT_TEST_REDIS_HOST", matches = ".+")
+    @DisplayName("두 노드(Redis pub/sub 전달)의 처리량")
+    void measureRedisBridge() throws Exception {
+        RedisStandaloneConfiguration configuration = new RedisStandaloneConfiguration(System.getenv("CHAT_TEST_REDIS_HOST"),
+                Integer.parseInt(System.getenv().getOrDefault("CHAT_TEST_REDIS_PORT", "6379")));
+        LettuceConnectionFactory connectionFactory = new LettuceConnectionFactory(configuration);
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        RedisMessageListenerContainer containerA = listenerContainer(connectionFactory);
+        RedisMessageListenerContainer containerB = listenerContainer(connectionFactory);
+        try {
+            StringRedisTemplate template = new StringRedisTemplate(connectionFactory);
+            double bridged = twoNodes(new RedisStompBridgeTransport(template, containerA),
+                    new RedisStompBridgeTransport(template, containerB));
+
+            log.info("세션 {}개, 메시지 {}건 - 두 노드(Redis 브리지): {}건/초", SESSIONS, MESSAGES, Math.round(bridged));
+            assertThat(bridged).isPositive();
+        } finally {
+            containerA.stop();
+            containerB.stop();
+            connectionFactory.destroy();
+        }
+    }
+
+    // 모든 세션이 한 노드에 연결된 경우
+    private double singleNode() throws Exception {
+        Node node = new Node(null);
+        try {
+            node.subscribeSessions(0, SESSIONS);
+            node.send(MESSAGES / 10);
+            node.awaitDelivered((long) MESSAGES / 10 * SESSIONS);
+            node.delivered.set(0);
+
+            long started = System.nanoTime();
+            node.send(MESSAGES);
+            node.awaitDelivered((long) MESSAGES * SESSIONS);
+            return MESSAGES * 1e9 / (System.nanoTime() - started);
+        } finally {
+            node.stop();
+        }
+    }
+
+    // 세션을 절반씩 나누어 연결하고 노드 A에서만 보내는 경우
+    private double twoNodes(StompBridgeTransport transportA, StompBridgeTransport transportB) throws Exception {
+        Node nodeA = new Node(transportA);
+        Node nodeB = new Node(transportB);
+        try {
+            nodeA.subscribeSessions(0, SESSIONS / 2);
+            nodeB.subscribeSessions(SESSIONS / 2, SESSIONS);
+            // 예열 (Redis 구독이 완료될 때까지 대기 포함)
+            nodeA.send(MESSAGES / 10);
+            nodeB.awaitDelivered((long) MESSAGES / 10 * (SESSIONS / 2));
+            nodeA.delivered.set(0);
+            nodeB.delivered.set(0);
+
+            long started = System.nanoTime();
+            nodeA.send(MESSAGES);
+            nodeA.awaitDelivered((long) MESSAGES * (SESSIONS / 2));
+            nodeB.awaitDelivered((long) MESSAGES * (SESSIONS / 2));
+            return MESSAGES * 1e9 / (System.nanoTime() - started);
+        } finally {
+            nodeA.stop();
+            nodeB.stop();
+        }
+    }
+
+    private static RedisMessageListenerContainer listenerContainer(LettuceConnectionFactory connectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.afterPropertiesSet();
+        container.start();
+        return container;
+    }
+
+    // transport가 null이면 브리지 없이 simple broker만 사용
+    private static class Node {
+        final AtomicLong delivered = new AtomicLong();
+        final ExecutorSubscribableChannel brokerChannel = new ExecutorSubscribableChannel();
+        final ExecutorSubscribableChannel clientInbound = new ExecutorSubscribableChannel();
+        final SimpleBrokerMessageHandler broker;
+        final StompRedisBridge bridge;
+
+        Node(StompBridgeTransport transport) {
+            ExecutorSubscribableChannel clientOutbound = new ExecutorSubscribableChannel();
+            clientOutbound.subscribe(message -> {
+                if (SimpMessageHeaderAccessor.getMessageType(message.getHeaders()) == SimpMessageType.MESSAGE) {
+                    delivered.incrementAndGet();
+                }
+            });
+
+            bridge = transport == null ? null : new StompRedisBridge(transport, brokerChannel, new SimpleMeterRegistry(),
+                    Executors.newSingleThreadExecutor(), "node-" + System.identityHashCode(this));
+            if (bridge != null) {
+                brokerChannel.addInterceptor(bridge);
+            }
+            broker = new SimpleBrokerMessageHandler(clientInbound, clientOutbound, brokerChannel, List.of("/sub", "/queue"));
+            broker.start();
+        }
+
+        void subscribeSessions(int from, int to) {
+            for (int i = from; i < to; i++) {
+                String sessionId = "session-" + i;
+                SimpMessageHeaderAccessor connect = SimpMessageHeaderAccessor.create(SimpMessageType.CONNECT);
+                connect.setSessionId(sessionId);
+                connect.setHeader(SimpMessageHeaderAccessor.HEART_BEAT_HEADER, new long[]{0, 0});
+                clientInbound.send(MessageBuilder.createMessage(new byte[0], connect.getMessageHeaders()));
+
+                SimpMessageHeaderAccessor subscribe = SimpMessageHeaderAccessor.create(SimpMessageType.SUBSCRIBE);
+                subscribe.setSessionId(sessionId);
+                subscribe.setSubscriptionId("sub-0");
+                subscribe.setDestination(DESTINATION);
+                clientInbound.send(MessageBuilder.createMessage(new byte[0], subscribe.getMessageHeaders()));
+                if (bridge != null) {
+                    bridge.register(sessionId, "sub-0", StompRedisBridge.channelFor(DESTINATION));
+                }
+            }
+        }
+
+        // SimpMessagingTemplate.convertAndSend와 같은 brokerChannel 전송
+        void send(int messages) {
+            for (int i = 0; i < messages; i++) {
+                SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+                accessor.setDestination(DESTINATION);
+                accessor.setContentType(MimeTypeUtils.APPLICATION_JSON);
+                brokerChannel.send(MessageBuilder.createMessage(PAYLOAD, accessor.getMessageHeaders()));
+            }
+        }
+
+        void awaitDelivered(long expected) throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.MINUTES.toNanos(2);
+            while (delivered.get() < expected) {
+                assertThat(System.nanoTime()).as("전달 대기 시간 초과").isLessThan(deadline);
+                TimeUnit.MILLISECONDS.sleep(1);
+            }
+        }
+
+        void stop() {
+            broker.stop();
+            if (bridge != null) {
+                bridge.shutdown();
+            }
+        }
+    }
+}
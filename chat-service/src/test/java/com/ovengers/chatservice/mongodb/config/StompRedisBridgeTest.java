@@ -0,0 +1,173 @@
+package com.ovengers.chatservice.mongodb.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.broker.SimpleBrokerMessageHandler;
+import org.springframework.messaging.support.ExecutorSubscribableChannel;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 로컬 다중 노드 테스트
+ * 노드마다 실제 SimpleBrokerMessageHandler와 brokerChannel을 두고, Redis 대신 InMemoryStompBridgeTransport로 연결한다.
+ */
+class StompRedisBridgeTest {
+    private Map<String, List<InMemoryStompBridgeTransport>> hub;
+    private Node nodeA;
+    private Node nodeB;
+    private Node nodeC;
+
+    @BeforeEach
+    void setUp() {
+        hub = InMemoryStompBridgeTransport.newHub();
+        nodeA = new Node("node-a", hub);
+        nodeB = new Node("node-b", hub);
+        nodeC = new Node("node-c", hub);
+    }
+
+    @AfterEach
+    void tearDown() {
+        nodeA.stop();
+        nodeB.stop();
+        nodeC.stop();
+    }
+
+    @Test
+    @DisplayName("다른 노드의 채팅방 구독자에게 메시지가 전달되고, 발행 노드에는 중복 전달되지 않는다")
+    void roomMessageReachesSubscribersOnOtherNodes() {
+        // given
+        nodeA.subscribe("session-a", "sub-0", "/sub/1/chat");
+        nodeB.subscribe("session-b", "sub-0", "/sub/1/chat");
+
+        // when
+        nodeA.send("/sub/1/chat", "{\"content\":\"안녕하세요\"}");
+
+        // then
+        assertThat(nodeA.deliveredTo("session-a")).containsExactly("{\"content\":\"안녕하세요\"}");
+        assertThat(nodeB.deliveredTo("session-b")).containsExactly("{\"content\":\"안녕하세요\"}");
+    }
+
+    @Test
+    @DisplayName("로컬 구독자가 없는 노드에는 메시지가 전달되지 않는다")
+    void nodesWithoutSubscribersReceiveNothing() {
+        // given
+        nodeB.subscribe("session-b", "sub-0", "/sub/1/chat");
+        nodeC.subscribe("session-c", "sub-0", "/sub/2/chat");
+
+        // when
+        nodeA.send("/sub/1/chat", "message");
+
+        // then
+        assertThat(nodeB.transport.delivered()).isEqualTo(1);
+        assertThat(nodeC.transport.delivered()).isZero();
+        assertThat(nodeC.deliveredTo("session-c")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("마지막 구독이 해제되면 채널 구독도 해제된다")
+    void channelIsReleasedWithLastSubscription() {
+        // given
+        String channel = StompRedisBridge.channelFor("/sub/1/chat");
+        nodeB.subscribe("session-1", "sub-0", "/sub/1/chat");
+        nodeB.subscribe("session-2", "sub-0", "/sub/1/chat");
+
+        // when & then
+        nodeB.bridge.unregister("session-1", "sub-0");
+        assertThat(nodeB.bridge.isSubscribed(channel)).isTrue();
+
+        nodeB.bridge.unregisterSession("session-2");
+        assertThat(nodeB.bridge.isSubscribed(channel)).isFalse();
+
+        nodeA.send("/sub/1/chat", "message");
+        assertThat(nodeB.transport.delivered()).isZero();
+    }
+
+    @Test
+    @DisplayName("/user 목적지는 해당 사용자가 연결된 노드에만 전달된다")
+    void userDestinationIsForwardedToUserNode() {
+        // given
+        nodeB.bridge.register("session-b", "__user__", StompRedisBridge.channelFor("/user/user1/"));
+
+        // when
+        nodeA.send("/user/user1/queue", "notification");
+
+        // then
+        assertThat(nodeB.relayedDestinations).containsExactly("/user/user1/queue");
+        assertThat(nodeC.relayedDestinations).isEmpty();
+    }
+
+    private static class Node {
+        final InMemoryStompBridgeTransport transport;
+        final StompRedisBridge bridge;
+        final ExecutorSubscribableChannel brokerChannel = new ExecutorSubscribableChannel();
+        final SimpleBrokerMessageHandler broker;
+        final List<Message<?>> outbound = new CopyOnWriteArrayList<>();
+        final List<String> relayedDestinations = new CopyOnWriteArrayList<>();
+        private final ExecutorSubscribableChannel clientInbound = new ExecutorSubscribableChannel();
+
+        Node(String nodeId, Map<String, List<InMemoryStompBridgeTransport>> hub) {
+            ExecutorSubscribableChannel clientOutbound = new ExecutorSubscribableChannel();
+            clientOutbound.subscribe(outbound::add);
+
+            transport = new InMemoryStompBridgeTransport(hub);
+            bridge = new StompRedisBridge(transport, brokerChannel, new SimpleMeterRegistry(), Runnable::run, nodeId);
+            brokerChannel.addInterceptor(bridge);
+            brokerChannel.subscribe(message -> {
+                if (message.getHeaders().containsKey(StompRedisBridge.RELAYED_HEADER)) {
+                    relayedDestinations.add(SimpMessageHeaderAccessor.getDestination(message.getHeaders()));
+                }
+            });
+
+            broker = new SimpleBrokerMessageHandler(clientInbound, clientOutbound, brokerChannel, List.of("/sub", "/queue"));
+            broker.start();
+        }
+
+        // 클라이언트 CONNECT, SUBSCRIBE 프레임 + SessionSubscribeEvent 처리
+        void subscribe(String sessionId, String subscriptionId, String destination) {
+            SimpMessageHeaderAccessor connect = SimpMessageHeaderAccessor.create(SimpMessageType.CONNECT);
+            connect.setSessionId(sessionId);
+            connect.setHeader(SimpMessageHeaderAccessor.HEART_BEAT_HEADER, new long[]{0, 0});
+            clientInbound.send(MessageBuilder.createMessage(new byte[0], connect.getMessageHeaders()));
+
+            SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.SUBSCRIBE);
+            accessor.setSessionId(sessionId);
+            accessor.setSubscriptionId(subscriptionId);
+            accessor.setDestination(destination);
+            clientInbound.send(MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders()));
+            bridge.register(sessionId, subscriptionId, StompRedisBridge.channelFor(destination));
+        }
+
+        // SimpMessagingTemplate.convertAndSend와 같은 brokerChannel 전송
+        void send(String destination, String payload) {
+            SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+            accessor.setDestination(destination);
+            brokerChannel.send(MessageBuilder.createMessage(payload.getBytes(StandardCharsets.UTF_8),
+                    accessor.getMessageHeaders()));
+        }
+
+        List<String> deliveredTo(String sessionId) {
+            return outbound.stream()
+                    .filter(message -> SimpMessageHeaderAccessor.getMessageType(message.getHeaders()) == SimpMessageType.MESSAGE)
+                    .filter(message -> sessionId.equals(SimpMessageHeaderAccessor.getSessionId(message.getHeaders())))
+                    .map(message -> new String((byte[]) message.getPayload(), StandardCharsets.UTF_8))
+                    .toList();
+        }
+
+        void stop() {
+            broker.stop();
+            bridge.shutdown();
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.ovengers.chatservice.mongodb.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.broker.SimpleBrokerMessageHandler;
+import org.springframework.messaging.simp.broker.SubscriptionRegistry;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.messaging.SubProtocolWebSocketHandler;
+
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 채팅방 하나에 보낸 메시지가 WebSocket 세션에 보낸 순서대로 전달되는지 확인
+ * clientOutboundChannel은 스레드 풀에서 실행되므로 preservePublishOrder 없이는 세션별 순서가 바뀔 수 있다.
+ */
+class WebSocketStompOrderTest {
+    private static final int MESSAGES = 500;
+
+    private AnnotationConfigApplicationContext context;
+    // 세션에 쓰인 STOMP 프레임 (MESSAGE 프레임의 본문만)
+    private final List<String> received = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        JwtChannelInterceptor jwtChannelInterceptor = mock(JwtChannelInterceptor.class);
+        when(jwtChannelInterceptor.preSend(any(), any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        context = new AnnotationConfigApplicationContext();
+        context.registerBean(JwtChannelInterceptor.class, () -> jwtChannelInterceptor);
+        context.register(WebSocketStompConfig.class);
+        context.refresh();
+    }
+
+    @AfterEach
+    void tearDown() {
+        context.close();
+    }
+
+    @Test
+    @DisplayName("같은 채팅방으로 보낸 메시지는 세션에 보낸 순서대로 전달된다")
+    void deliversRoomMessagesInOrder() throws Exception {
+        SubProtocolWebSocketHandler handler = context.getBean("subProtocolWebSocketHandler", SubProtocolWebSocketHandler.class);
+        WebSocketSession session = session();
+        handler.afterConnectionEstablished(session);
+        handler.handleMessage(session, new TextMessage("CONNECT\naccept-version:1.2\nheart-beat:0,0\n\n\0"));
+        handler.handleMessage(session, new TextMessage("SUBSCRIBE\nid:sub-0\ndestination:/sub/1/chat\n\n\0"));
+        awaitSubscribed();
+
+        SimpMessagingTemplate template = context.getBean("brokerMessagingTemplate", SimpMessagingTemplate.class);
+        for (int seq = 1; seq <= MESSAGES; seq++) {
+            template.convertAndSend("/sub/1/chat", String.valueOf(seq));
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (received.size() < MESSAGES && System.nanoTime() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+        assertThat(received).hasSize(MESSAGES);
+        for (int i = 0; i < MESSAGES; i++) {
+            assertThat(received.get(i)).as("%d번째 메시지", i + 1).isEqualTo(String.valueOf(i + 1));
+        }
+    }
+
+    // clientInboundChannel도 스레드 풀에서 실행되므로 broker에 구독이 등록될 때까지 대기
+    private void awaitSubscribed() throws InterruptedException {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setDestination("/sub/1/chat");
+        Message<byte[]> probe = MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+        SubscriptionRegistry registry = context.getBean(SimpleBrokerMessageHandler.class).getSubscriptionRegistry();
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (registry.findSubscriptions(probe).isEmpty()) {
+            assertThat(System.nanoTime()).as("구독 등록 대기 시간 초과").isLessThan(deadline);
+            TimeUnit.MILLISECONDS.sleep(1);
+        }
+    }
+
+    // 전송마다 조금씩 지연되는 세션 (스레드 풀에서 순서가 바뀔 여지를 줌)
+    private WebSocketSession session() throws Exception {
+        WebSocketSession session = mock(WebSocketSession.class);
+        when(session.getId()).thenReturn("session-1");
+        when(session.isOpen()).thenReturn(true);
+        when(session.getUri()).thenReturn(URI.create("ws://localhost/stomp"));
+        when(session.getAttributes()).thenReturn(new ConcurrentHashMap<>());
+        when(session.getHandshakeHeaders()).thenReturn(new HttpHeaders());
+        doAnswer(invocation -> {
+            String frame = invocation.<WebSocketMessage<String>>getArgument(0).getPayload();
+            TimeUnit.MICROSECONDS.sleep(ThreadLocalRandom.current().nextInt(200));
+            if (frame.startsWith("MESSAGE")) {
+                received.add(frame.substring(frame.indexOf("\n\n") + 2, frame.indexOf('\0')));
+            }
+            return null;
+        }).when(session).sendMessage(any());
+        return session;
+    }
+}
@@ -0,0 +1,137 @@
+package com.ovengers.chatservice.mongodb.document;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.MongoClientSettings;
+import com.ovengers.chatservice.mongodb.dto.MessageDto;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.DocumentCodec;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 발신자 정보 비정규화 제거 전/후 비교 (Mongo 불필요)
+ *
+ * 발신자 이름과 S3 프로필 URL을 저장한 도큐먼트와 senderId만 저장한 도큐먼트에 대해
+ * 도큐먼트 BSON 크기, 50건 페이지의 BSON 크기(Mongo → 서버), 페이지 읽기(BSON → Message) 시간,
+ * 응답 JSON 크기와 직렬화 시간을 잰다. 응답에는 SenderResolver가 채운 이름/이미지가 그대로 포함된다.
+ * CHAT_TEST_SENDER_BENCHMARK=true 인 경우에만 실행된다.
+ *   예) CHAT_TEST_SENDER_BENCHMARK=true gradle :chat-service:test --tests '*MessageSenderFieldBenchmark'
+ */
+@EnabledIfEnvironmentVariable(named = "CHAT_TEST_SENDER_BENCHMARK", matches = "true")
+class MessageSenderFieldBenchmark {
+    private static final Logger log = LoggerFactory.getLogger(MessageSenderFieldBenchmark.class);
+    private static final int PAGE_SIZE = 50;
+    private static final int SENDERS = 8;
+    private static final int ROUNDS = 20_000;
+    private static final DocumentCodec CODEC = new DocumentCodec(MongoClientSettings.getDefaultCodecRegistry());
+
+    private final MappingMongoConverter converter = converter();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    @DisplayName("도큐먼트 크기, 페이지 크기, 직렬화 시간 비교")
+    void compareStoredSenderWithIdOnly() throws Exception {
+        List<Message> before = page(true);
+        List<Message> after = page(false);
+
+        List<RawBsonDocument> beforeBson = toBson(before);
+        List<RawBsonDocument> afterBson = toBson(after);
+        long beforePage = bytes(beforeBson);
+        long afterPage = bytes(afterBson);
+        log.info("도큐먼트 평균 {}B → {}B, 페이지({}건) {}B → {}B ({}% 감소)",
+                beforePage / PAGE_SIZE, afterPage / PAGE_SIZE, PAGE_SIZE, beforePage, afterPage,
+                100 - afterPage * 100 / beforePage);
+
+        // JIT 예열
+        readMicros(beforeBson);
+        readMicros(afterBson);
+        log.info("페이지 읽기(BSON → Message) {}µs → {}µs",
+                readMicros(beforeBson) / 1000.0, readMicros(afterBson) / 1000.0);
+
+        // 응답은 전/후 모두 이름과 이미지를 포함 (후: SenderResolver가 채움)
+        List<MessageDto> response = before.stream().map(Message::toDto).toList();
+        byte[] json = objectMapper.writeValueAsBytes(response);
+        long started = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            objectMapper.writeValueAsBytes(response);
+        }
+        log.info("응답 JSON {}B (전/후 동일), 직렬화 {}µs",
+                json.length, (System.nanoTime() - started) / ROUNDS / 1000.0);
+
+        assertThat(afterPage).isLessThan(beforePage);
+    }
+
+    private List<Message> page(boolean storeSender) {
+        LocalDateTime createdAt = LocalDateTime.of(2025, 1, 1, 9, 0);
+        List<Message> messages = new ArrayList<>();
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            String senderId = "user-" + (i % SENDERS);
+            Message.MessageBuilder message = Message.builder()
+                    .messageId(new ObjectId().toHexString())
+                    .chatRoomId(1L)
+                    .senderId(senderId)
+                    .type("CHAT")
+                    .content("오늘 회의 자료 공유드립니다. 확인 부탁드려요 " + i)
+                    .seq((long) i + 1)
+                    .version((long) i + 1)
+                    .createdAt(createdAt.plusSeconds(i))
+                    .updatedAt(createdAt.plusSeconds(i));
+            if (storeSender) {
+                message.senderName("사용자 " + (i % SENDERS))
+                        .senderImage("https://orai-profile.s3.ap-northeast-2.amazonaws.com/profile/"
+                                + UUID.nameUUIDFromBytes(senderId.getBytes()) + ".png");
+            }
+            messages.add(message.build());
+        }
+        return messages;
+    }
+
+    private List<RawBsonDocument> toBson(List<Message> messages) {
+        return messages.stream().map(message -> {
+            Document document = new Document();
+            converter.write(message, document);
+            return new RawBsonDocument(document, CODEC);
+        }).toList();
+    }
+
+    private long readMicros(List<RawBsonDocument> page) {
+        long started = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            for (RawBsonDocument raw : page) {
+                converter.read(Message.class, raw.decode(CODEC));
+            }
+        }
+        return (System.nanoTime() - started) / ROUNDS;
+    }
+
+    private static long bytes(List<RawBsonDocument> page) {
+        return page.stream().mapToLong(raw -> raw.getByteBuffer().remaining()).sum();
+    }
+
+    private static MappingMongoConverter converter() {
+        MongoCustomConversions conversions = new MongoCustomConversions(List.of());
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        mappingContext.afterPropertiesSet();
+        MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        converter.setCustomConversions(conversions);
+        converter.afterPropertiesSet();
+        return converter;
+    }
+}
@@ -0,0 +1,47 @@
+package com.ovengers.chatservice.mongodb.dto;
+
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MessageCursorTest {
+
+    @Test
+    @DisplayName("인코딩한 커서는 같은 (createdAt, messageId)로 디코딩된다")
+    void roundTrip() {
+        LocalDateTime createdAt = LocalDateTime.of(2025, 3, 1, 9, 30, 15, 123_000_000);
+        ObjectId messageId = new ObjectId();
+
+        String cursor = MessageCursor.encode(createdAt, messageId.toHexString());
+        MessageCursor decoded = MessageCursor.decode(cursor);
+
+        assertThat(cursor).doesNotContain("|", "+", "/", "=");
+        assertThat(decoded.createdAt()).isEqualTo(createdAt);
+        assertThat(decoded.idForBefore()).isEqualTo(messageId);
+        assertThat(decoded.idForAfter()).isEqualTo(messageId);
+    }
+
+    @Test
+    @DisplayName("ISO 시간 커서는 같은 시각의 메시지를 양방향 모두 제외한다")
+    void legacyTimestamp() {
+        MessageCursor decoded = MessageCursor.decode("2025-03-01T09:30:15");
+
+        assertThat(decoded.createdAt()).isEqualTo(LocalDateTime.of(2025, 3, 1, 9, 30, 15));
+        assertThat(decoded.idForBefore().toHexString()).isEqualTo("000000000000000000000000");
+        assertThat(decoded.idForAfter().toHexString()).isEqualTo("ffffffffffffffffffffffff");
+    }
+
+    @Test
+    @DisplayName("잘못된 커서는 IllegalArgumentException")
+    void invalidCursor() {
+        assertThatThrownBy(() -> MessageCursor.decode("not-a-cursor"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> MessageCursor.decode(""))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
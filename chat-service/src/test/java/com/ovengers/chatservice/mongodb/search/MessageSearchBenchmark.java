@@ -0,0 +1,140 @@
+package com.ovengers.chatservice.mongodb.search;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 메시지 검색 색인 벤치마크 (기본 1,000만 건, 채팅방 10,000개)
+ *
+ * 한글/영문 단어를 Zipf 분포로 섞은 합성 메시지를 색인하면서 flush-threshold마다 커밋하고 병합은 별도 스레드에서 돌려
+ * 색인 처리량(건/초)을 재고, 이어서 구독 채팅방 50개 사용자의 1~2단어 검색 지연(p50/p99)을 잰다.
+ * 디스크와 시간이 많이 들어 CHAT_TEST_SEARCH_BENCHMARK=true 인 경우에만 실행되며, 건수는 CHAT_TEST_SEARCH_BENCHMARK_DOCS로 바꿀 수 있다.
+ *   예) CHAT_TEST_SEARCH_BENCHMARK=true gradle :chat-service:test --tests '*MessageSearchBenchmark'
+ */
+@EnabledIfEnvironmentVariable(named = "CHAT_TEST_SEARCH_BENCHMARK", matches = "true")
+class MessageSearchBenchmark {
+    private static final Logger log = LoggerFactory.getLogger(MessageSearchBenchmark.class);
+    private static final int ROOMS = 10_000;
+    private static final int ROOMS_PER_USER = 50;
+    private static final int FLUSH_THRESHOLD = 200_000;
+    private static final int QUERIES = 2_000;
+    private static final String[] SYLLABLES = ("가 나 다 라 마 바 사 아 자 차 카 타 파 하 회 의 실 자 료 배 포 일 정 확 인 "
+            + "점 심 저 녁 보 고 서 결 재 요 청 검 토 완 료 공 유 폴 더 계 획 개 발 서 버 장 애 대 응").split(" ");
+    private static final String[] WORDS = ("release deploy api server bug fix review merge test build zoom "
+            + "meeting docs design spec ticket jira slack log error timeout cache redis mongo").split(" ");
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("색인 처리량과 검색 지연 측정")
+    void measureIndexingAndQueryLatency() throws Exception {
+        int docs = Integer.parseInt(System.getenv().getOrDefault("CHAT_TEST_SEARCH_BENCHMARK_DOCS", "10000000"));
+        List<String> vocabulary = vocabulary();
+        Random random = new Random(42);
+
+        MessageSearchIndex index = new MessageSearchIndex(directory, 16, 2_000_000);
+        ExecutorService merger = Executors.newSingleThreadExecutor();
+        long started = System.nanoTime();
+        for (int i = 0; i < docs; i++) {
+            index.upsert(new IndexedMessage(Integer.toHexString(i), (long) random.nextInt(ROOMS), i,
+                    sentence(vocabulary, random)));
+            if (index.bufferedDocs() >= FLUSH_THRESHOLD) {
+                index.commit(Integer.toString(i));
+                merger.execute(() -> {
+                    try {
+                        while (index.maybeMerge()) {
+                            // 세그먼트 수가 max-segments 이하가 될 때까지
+                        }
+                    } catch (IOException e) {
+                        throw new IllegalStateException(e);
+                    }
+                });
+            }
+        }
+        index.commit(Integer.toString(docs));
+        long indexedNanos = System.nanoTime() - started;
+        merger.shutdown();
+        merger.awaitTermination(1, TimeUnit.HOURS);
+        long totalNanos = System.nanoTime() - started;
+
+        long[] latencies = new long[QUERIES];
+        int totalHits = 0;
+        for (int q = 0; q < QUERIES; q++) {
+            List<Long> rooms = new ArrayList<>(ROOMS_PER_USER);
+            for (int r = 0; r < ROOMS_PER_USER; r++) {
+                rooms.add((long) random.nextInt(ROOMS));
+            }
+            String query = random.nextBoolean()
+                    ? zipf(vocabulary, random)
+                    : zipf(vocabulary, random) + " " + zipf(vocabulary, random);
+            long queryStarted = System.nanoTime();
+            totalHits += index.search(rooms, query, 20).size();
+            latencies[q] = System.nanoTime() - queryStarted;
+        }
+        Arrays.sort(latencies);
+
+        log.info("색인 {}건 - 처리량 {}건/초 (병합 대기 포함 {}초), 세그먼트 {}개, 디스크 {}MB",
+                docs, docs * 1_000_000_000L / indexedNanos, totalNanos / 1_000_000_000L, index.segmentCount(),
+                diskBytes() / (1024 * 1024));
+        log.info("검색 {}회 (채팅방 {}개) - p50 {}ms, p99 {}ms, 평균 결과 {}건",
+                QUERIES, ROOMS_PER_USER, latencies[QUERIES / 2] / 1_000_000.0,
+                latencies[QUERIES * 99 / 100] / 1_000_000.0, totalHits / QUERIES);
+
+        assertThat(index.liveDocs()).isEqualTo(docs);
+        index.close();
+    }
+
+    // 2음절 한글 단어와 영문 단어
+    private static List<String> vocabulary() {
+        List<String> vocabulary = new ArrayList<>();
+        for (String first : SYLLABLES) {
+            for (String second : SYLLABLES) {
+                vocabulary.add(first + second);
+            }
+        }
+        vocabulary.addAll(Arrays.asList(WORDS));
+        Collections.shuffle(vocabulary, new Random(7));
+        return vocabulary;
+    }
+
+    private static String sentence(List<String> vocabulary, Random random) {
+        int words = 3 + random.nextInt(10);
+        StringBuilder sentence = new StringBuilder();
+        for (int w = 0; w < words; w++) {
+            sentence.append(zipf(vocabulary, random)).append(random.nextInt(4) == 0 ? "에서 " : " ");
+        }
+        return sentence.toString();
+    }
+
+    // 앞쪽 단어일수록 자주 나오는 근사 Zipf 분포
+    private static String zipf(List<String> vocabulary, Random random) {
+        double u = random.nextDouble();
+        return vocabulary.get((int) Math.min(vocabulary.size() - 1, Math.pow(vocabulary.size(), u) - 1));
+    }
+
+    private long diskBytes() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.mapToLong(file -> file.toFile().length()).sum();
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.ovengers.chatservice.mongodb.search;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MessageSearchIndexTest {
+    private static final int MAX_SEGMENTS = 2;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("모든 검색어 토큰을 포함한 메시지를 관련도순으로 반환한다")
+    void returnsMessagesContainingAllTokensByRelevance() throws IOException {
+        MessageSearchIndex index = open();
+        index.upsert(message("m1", 1L, 1, "내일 회의실에서 회의 있어요 회의 자료 준비"));
+        index.upsert(message("m2", 1L, 2, "회의 자료는 공유 폴더에 있습니다"));
+        index.upsert(message("m3", 1L, 3, "점심 뭐 먹을까요"));
+
+        assertThat(ids(index.search(List.of(1L), "회의", 10))).containsExactly("m1", "m2");
+        assertThat(ids(index.search(List.of(1L), "회의 폴더", 10))).containsExactly("m2");
+        assertThat(index.search(List.of(1L), "저녁", 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("점수가 같으면 최신 메시지가 앞선다")
+    void breaksTiesByNewest() throws IOException {
+        MessageSearchIndex index = open();
+        index.upsert(message("old", 1L, 1, "배포 완료"));
+        index.upsert(message("new", 1L, 2, "배포 완료"));
+
+        assertThat(ids(index.search(List.of(1L), "배포", 1))).containsExactly("new");
+    }
+
+    @Test
+    @DisplayName("요청한 채팅방의 메시지만 검색한다")
+    void searchesOnlyRequestedRooms() throws IOException {
+        MessageSearchIndex index = open();
+        index.upsert(message("a", 1L, 1, "release note"));
+        index.upsert(message("b", 2L, 2, "release note"));
+
+        assertThat(ids(index.search(List.of(2L), "release", 10))).containsExactly("b");
+        assertThat(ids(index.search(List.of(1L, 2L), "release", 10))).containsExactlyInAnyOrder("a", "b");
+        assertThat(index.search(List.of(3L), "release", 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("수정은 이전 내용을 대체하고 삭제는 결과에서 제외한다 (커밋된 세그먼트 포함)")
+    void editReplacesAndDeleteRemoves() throws IOException {
+        MessageSearchIndex index = open();
+        index.upsert(message("m1", 1L, 1, "오늘 회식 장소"));
+        index.upsert(message("m2", 1L, 2, "회식 참석자"));
+        index.commit(null);
+
+        index.upsert(message("m1", 1L, 1, "오늘 워크숍 장소"));
+        index.delete(1L, "m2");
+
+        assertThat(index.search(List.of(1L), "회식", 10)).isEmpty();
+        assertThat(ids(index.search(List.of(1L), "워크숍", 10))).containsExactly("m1");
+        assertThat(index.liveDocs()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("커밋한 세그먼트와 userData는 다시 열어도 남고, 커밋하지 않은 버퍼는 사라진다")
+    void keepsCommittedSegmentsAfterReopen() throws IOException {
+        MessageSearchIndex index = open();
+        index.upsert(message("m1", 1L, 1, "분기 실적 보고"));
+        index.commit("2026-10-17T10:00");
+        index.delete(1L, "m1");
+        index.upsert(message("m2", 1L, 2, "실적 정리"));
+        index.commit("2026-10-17T10:01");
+        index.upsert(message("m3", 1L, 3, "실적 초안"));
+        index.close();
+
+        MessageSearchIndex reopened = open();
+        assertThat(reopened.userData()).isEqualTo("2026-10-17T10:01");
+        assertThat(ids(reopened.search(List.of(1L), "실적", 10))).containsExactly("m2");
+    }
+
+    @Test
+    @DisplayName("병합은 세그먼트 수를 줄이고 삭제된 문서를 제거하며 검색 결과를 유지한다")
+    void mergePreservesResultsAndDropsDeletes() throws IOException {
+        MessageSearchIndex index = open();
+        for (int i = 0; i < 4; i++) {
+            index.upsert(message("m" + i, 1L, i, "스프린트 " + i + " 회고"));
+            index.upsert(message("x" + i, 2L, i, "스프린트 계획"));
+            index.commit(null);
+        }
+        index.delete(1L, "m0");
+        index.commit(null);
+        assertThat(index.segmentCount()).isEqualTo(4);
+
+        while (index.maybeMerge()) {
+            // 세그먼트 수가 MAX_SEGMENTS 이하가 될 때까지
+        }
+
+        assertThat(index.segmentCount()).isLessThanOrEqualTo(MAX_SEGMENTS);
+        assertThat(ids(index.search(List.of(1L), "회고", 10))).containsExactlyInAnyOrder("m1", "m2", "m3");
+        assertThat(ids(index.search(List.of(1L), "스프린트 2", 10))).containsExactly("m2");
+        assertThat(index.search(List.of(2L), "계획", 10)).hasSize(4);
+        assertThat(index.liveDocs()).isEqualTo(7);
+
+        index.close();
+        MessageSearchIndex reopened = open();
+        assertThat(ids(reopened.search(List.of(1L), "회고", 10))).containsExactlyInAnyOrder("m1", "m2", "m3");
+        try (Stream<Path> files = Files.list(directory)) {
+            assertThat(files.filter(file -> file.toString().endsWith(SearchSegment.SUFFIX)).count())
+                    .isEqualTo(reopened.segmentCount());
+        }
+    }
+
+    @Test
+    @DisplayName("사전 인덱스 간격보다 많은 토큰이 있어도 모든 토큰을 찾는다")
+    void findsEveryTermAcrossIndexIntervals() throws IOException {
+        MessageSearchIndex index = open();
+        for (int i = 0; i < SearchSegment.INDEX_INTERVAL * 3; i++) {
+            index.upsert(message("m" + i, 1L, i, "word" + i));
+        }
+        index.commit(null);
+
+        for (int i = 0; i < SearchSegment.INDEX_INTERVAL * 3; i++) {
+            assertThat(ids(index.search(List.of(1L), "word" + i, 10))).containsExactly("m" + i);
+        }
+        assertThat(index.search(List.of(1L), "word999", 10)).isEmpty();
+        assertThat(index.search(List.of(0L), "word1", 10)).isEmpty();
+    }
+
+    private MessageSearchIndex open() throws IOException {
+        return new MessageSearchIndex(directory, MAX_SEGMENTS, 1_000_000);
+    }
+
+    private static IndexedMessage message(String messageId, Long chatRoomId, long createdAt, String content) {
+        return new IndexedMessage(messageId, chatRoomId, createdAt, content);
+    }
+
+    private static List<String> ids(List<SearchHit> hits) {
+        return hits.stream().map(SearchHit::messageId).toList();
+    }
+}
@@ -0,0 +1,31 @@
+package com.ovengers.chatservice.mongodb.search;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MessageTokenizerTest {
+
+    @Test
+    @DisplayName("한글 구간은 겹치는 2글자 토큰으로, 영문·숫자는 소문자 단어로 나눈다")
+    void splitsHangulIntoBigramsAndLatinIntoWords() {
+        assertThat(MessageTokenizer.tokenize("회의실에서 Zoom 3시"))
+                .containsExactly("회의", "의실", "실에", "에서", "zoom", "3", "시");
+    }
+
+    @Test
+    @DisplayName("질의어의 토큰은 조사가 붙은 본문 토큰에 모두 포함된다")
+    void queryTokensAreContainedInInflectedText() {
+        assertThat(MessageTokenizer.tokenize("회의실에서"))
+                .containsAll(MessageTokenizer.tokenize("회의실"));
+    }
+
+    @Test
+    @DisplayName("전각 문자는 NFKC로 정규화하고 구두점은 버린다")
+    void normalizesFullWidthAndDropsPunctuation() {
+        assertThat(MessageTokenizer.tokenize("ＡＢＣ, 확인!!")).containsExactly("abc", "확인");
+        assertThat(MessageTokenizer.tokenize("?!")).isEmpty();
+        assertThat(MessageTokenizer.tokenize(null)).isEmpty();
+    }
+}
@@ -0,0 +1,163 @@
+package com.ovengers.chatservice.mongodb.service;
+
+import com.ovengers.chatservice.mongodb.archive.MessageArchiveStore;
+import com.ovengers.chatservice.mongodb.document.Message;
+import com.ovengers.chatservice.mongodb.repository.MessageRepository;
+import com.ovengers.chatservice.mongodb.search.MessageSearchIndexer;
+import com.ovengers.chatservice.mongodb.search.SearchHit;
+import com.ovengers.chatservice.mysql.cache.RoomMembershipCache;
+import com.ovengers.chatservice.mysql.entity.UserChatRoom;
+import com.ovengers.chatservice.mysql.repository.UserChatRoomRepository;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("MessageSearchService 단위 테스트")
+class MessageSearchServiceTest {
+    private static final String USER_ID = "user1";
+
+    @Mock
+    private MessageSearchIndexer messageSearchIndexer;
+    @Mock
+    private MessageRepository messageRepository;
+    @Mock
+    private MessageArchiveStore messageArchiveStore;
+    @Mock
+    private UserChatRoomRepository userChatRoomRepository;
+    @Mock
+    private RoomMembershipCache roomMembershipCache;
+    @Mock
+    private SenderResolver senderResolver;
+
+    @Spy
+    private Scheduler blockingScheduler = Schedulers.immediate();
+
+    @InjectMocks
+    private MessageSearchService messageSearchService;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(senderResolver.resolve(anyList()))
+                .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+        lenient().when(messageArchiveStore.find(any(), any())).thenReturn(Mono.empty());
+    }
+
+    @Test
+    @DisplayName("hot 컬렉션에 없는 결과는 보관 묶음에서 찾아 순위대로 반환한다")
+    void includesArchivedHits() {
+        Message recent = message(1L, "CHAT", "배포 일정");
+        Message archived = message(1L, "CHAT", "작년 배포 회고");
+        when(roomMembershipCache.isMember(1L, USER_ID)).thenReturn(true);
+        when(messageSearchIndexer.search(List.of(1L), "배포", 20)).thenReturn(List.of(
+                new SearchHit(archived.getMessageId(), 1L, 0L, 2.0),
+                new SearchHit(recent.getMessageId(), 1L, 0L, 1.0)));
+        when(messageRepository.findAllById(any(Iterable.class))).thenReturn(Flux.just(recent));
+        when(messageArchiveStore.find(1L, archived.getMessageId())).thenReturn(Mono.just(archived));
+
+        StepVerifier.create(messageSearchService.search(USER_ID, "배포", 1L, 20))
+                .assertNext(hit -> {
+                    assertThat(hit.getMessageId()).isEqualTo(archived.getMessageId());
+                    assertThat(hit.getMessage().getContent()).isEqualTo("작년 배포 회고");
+                })
+                .assertNext(hit -> assertThat(hit.getMessageId()).isEqualTo(recent.getMessageId()))
+                .verifyComplete();
+
+        verify(messageArchiveStore, never()).find(1L, recent.getMessageId());
+    }
+
+    @Test
+    @DisplayName("채팅방을 지정하지 않으면 구독 중인 모든 채팅방을 검색하고 색인 순위를 유지한다")
+    void searchesSubscribedRoomsInRankOrder() {
+        Message first = message(1L, "CHAT", "배포 일정");
+        Message second = message(2L, "EDIT", "배포 완료");
+        when(userChatRoomRepository.findAllByUserId(USER_ID)).thenReturn(List.of(
+                UserChatRoom.builder().chatRoomId(1L).userId(USER_ID).build(),
+                UserChatRoom.builder().chatRoomId(2L).userId(USER_ID).build()));
+        when(messageSearchIndexer.search(List.of(1L, 2L), "배포", 20)).thenReturn(List.of(
+                new SearchHit(second.getMessageId(), 2L, 0L, 2.0),
+                new SearchHit(first.getMessageId(), 1L, 0L, 1.0)));
+        when(messageRepository.findAllById(any(Iterable.class))).thenReturn(Flux.just(first, second));
+
+        StepVerifier.create(messageSearchService.search(USER_ID, "배포", null, 20))
+                .assertNext(hit -> {
+                    assertThat(hit.getMessageId()).isEqualTo(second.getMessageId());
+                    assertThat(hit.getChatRoomId()).isEqualTo(2L);
+                    assertThat(hit.getCursor()).isEqualTo(second.toDto().getCursor());
+                    assertThat(hit.getMessage().getContent()).isEqualTo("배포 완료");
+                })
+                .assertNext(hit -> assertThat(hit.getMessageId()).isEqualTo(first.getMessageId()))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("색인 반영 전에 삭제되었거나 사라진 메시지는 결과에서 제외한다")
+    void skipsMessagesDeletedBeforeIndexCaughtUp() {
+        Message deleted = message(1L, "DELETE", "메시지가 삭제되었습니다.");
+        String missingId = new ObjectId().toHexString();
+        when(roomMembershipCache.isMember(1L, USER_ID)).thenReturn(true);
+        when(messageSearchIndexer.search(List.of(1L), "회의", 20)).thenReturn(List.of(
+                new SearchHit(deleted.getMessageId(), 1L, 0L, 2.0),
+                new SearchHit(missingId, 1L, 0L, 1.0)));
+        when(messageRepository.findAllById(any(Iterable.class))).thenReturn(Flux.just(deleted));
+
+        StepVerifier.create(messageSearchService.search(USER_ID, "회의", 1L, 20))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("구독하지 않은 채팅방을 지정하면 검색하지 않고 거부한다")
+    void rejectsRoomUserIsNotSubscribedTo() {
+        when(roomMembershipCache.isMember(3L, USER_ID)).thenReturn(false);
+
+        StepVerifier.create(messageSearchService.search(USER_ID, "회의", 3L, 20))
+                .expectErrorSatisfies(error -> assertThat(error)
+                        .isInstanceOf(IllegalArgumentException.class)
+                        .hasMessage("3번 채팅방에 구독되어 있지 않습니다."))
+                .verify();
+        verifyNoInteractions(messageSearchIndexer);
+    }
+
+    @Test
+    @DisplayName("검색 결과가 없으면 Mongo를 조회하지 않는다")
+    void doesNotQueryMongoWithoutHits() {
+        when(userChatRoomRepository.findAllByUserId(USER_ID)).thenReturn(List.of());
+        when(messageSearchIndexer.search(List.of(), "회의", 20)).thenReturn(List.of());
+
+        StepVerifier.create(messageSearchService.search(USER_ID, "회의", null, 20))
+                .verifyComplete();
+        verifyNoInteractions(messageRepository);
+    }
+
+    private static Message message(Long chatRoomId, String type, String content) {
+        LocalDateTime now = LocalDateTime.of(2026, 10, 17, 10, 0);
+        return Message.builder()
+                .messageId(new ObjectId().toHexString())
+                .chatRoomId(chatRoomId)
+                .senderId(USER_ID)
+                .type(type)
+                .content(content)
+                .createdAt(now)
+                .updatedAt(now)
+                .build();
+    }
+}
@@ -0,0 +1,164 @@
+package com.ovengers.chatservice.mongodb.service;
+
+import com.ovengers.chatservice.client.CachingUserServiceClient;
+import com.ovengers.chatservice.client.UserResponseDto;
+import com.ovengers.chatservice.mongodb.archive.MessageArchiveStore;
+import com.ovengers.chatservice.mongodb.cache.RecentMessageCache;
+import com.ovengers.chatservice.mongodb.document.Message;
+import com.ovengers.chatservice.mongodb.repository.MessageRepository;
+import com.ovengers.chatservice.mysql.cache.RoomMembershipCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.mockito.quality.Strictness;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * 메시지 전송 지연 부하 테스트 (Mongo, MySQL, user-service 불필요)
+ *
+ * Mongo 드라이버 이벤트 루프(스레드 4개)에서 시작된 sendMessage를 초당 SENDS_PER_SECOND건씩 보내고
+ * 요청부터 응답까지의 지연(p50/p99)을 잰다. 채팅방/구독 확인과 사용자 조회는 각각 BLOCKING_MILLIS씩 블로킹되고,
+ * 메시지 저장은 1ms 뒤 이벤트 루프 스레드에서 완료된다.
+ * 블로킹 작업을 호출한 스레드에서 그대로 실행하는 경우(변경 전)와 blockingScheduler로 옮긴 경우(변경 후)를 비교한다.
+ * CHAT_TEST_SEND_BENCHMARK=true 인 경우에만 실행된다.
+ *   예) CHAT_TEST_SEND_BENCHMARK=true gradle :chat-service:test --tests '*MessageSendLatencyBenchmark'
+ */
+@EnabledIfEnvironmentVariable(named = "CHAT_TEST_SEND_BENCHMARK", matches = "true")
+class MessageSendLatencyBenchmark {
+    private static final Logger log = LoggerFactory.getLogger(MessageSendLatencyBenchmark.class);
+    private static final int EVENT_LOOP_THREADS = 4;
+    private static final int SENDS = 3_000;
+    private static final int SENDS_PER_SECOND = 1_000;
+    private static final long BLOCKING_MILLIS = 2;
+
+    // 드라이버 이벤트 루프 흉내 (BlockHound가 설치된 JVM에서도 검출되지 않도록 일반 스레드 사용)
+    private Scheduler eventLoop;
+    private Scheduler blockingScheduler;
+
+    private final MessageRepository messageRepository = stub(MessageRepository.class);
+    private final RoomMembershipCache roomMembershipCache = stub(RoomMembershipCache.class);
+    private final CachingUserServiceClient cachingUserServiceClient = stub(CachingUserServiceClient.class);
+    private final MessageSequenceService messageSequenceService = stub(MessageSequenceService.class);
+    private final RoomSummaryService roomSummaryService = stub(RoomSummaryService.class);
+    private final MessageIngestor messageIngestor = stub(MessageIngestor.class);
+    private final RecentMessageCache recentMessageCache = stub(RecentMessageCache.class);
+    private final MessageArchiveStore messageArchiveStore = stub(MessageArchiveStore.class);
+
+    @BeforeEach
+    void setUp() {
+        AtomicInteger threads = new AtomicInteger();
+        eventLoop = Schedulers.fromExecutorService(Executors.newScheduledThreadPool(EVENT_LOOP_THREADS, runnable -> {
+            Thread thread = new Thread(runnable, "mongo-event-loop-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }));
+        blockingScheduler = Schedulers.newBoundedElastic(50, 10_000, "chat-blocking");
+
+        // JPA/Feign 호출을 흉내내는 블로킹 응답
+        when(roomMembershipCache.exists(anyLong())).thenAnswer(invocation -> block(true));
+        when(roomMembershipCache.isMember(anyLong(), anyString())).thenAnswer(invocation -> block(true));
+        UserResponseDto user = new UserResponseDto();
+        user.setUserId("user1");
+        user.setName("홍길동");
+        when(cachingUserServiceClient.getUserById(anyString())).thenAnswer(invocation -> block(user));
+
+        AtomicInteger seq = new AtomicInteger();
+        when(messageSequenceService.assign(any(Message.class))).thenAnswer(invocation -> {
+            Message message = invocation.getArgument(0);
+            message.setSeq((long) seq.incrementAndGet());
+            return Mono.just(message);
+        });
+        when(messageIngestor.ingest(any(Message.class))).thenAnswer(invocation -> {
+            Message message = invocation.getArgument(0);
+            message.setCreatedAt(LocalDateTime.now());
+            return Mono.just(message).delayElement(Duration.ofMillis(1), eventLoop);
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        eventLoop.dispose();
+        blockingScheduler.dispose();
+    }
+
+    @Test
+    @DisplayName("블로킹 호출을 이벤트 루프에서 실행할 때와 blockingScheduler로 옮겼을 때의 전송 지연")
+    void compareEventLoopWithBlockingScheduler() throws Exception {
+        // JIT 예열
+        run(Schedulers.immediate());
+        run(blockingScheduler);
+
+        long[] before = run(Schedulers.immediate());
+        long[] after = run(blockingScheduler);
+        log.info("전송 {}건 ({}건/초, 블로킹 {}ms x 3) - 이벤트 루프에서 실행: p50 {}ms, p99 {}ms / blockingScheduler: p50 {}ms, p99 {}ms",
+                SENDS, SENDS_PER_SECOND, BLOCKING_MILLIS,
+                before[0] / 1_000_000.0, before[1] / 1_000_000.0, after[0] / 1_000_000.0, after[1] / 1_000_000.0);
+
+        assertThat(after[1]).isLessThan(before[1]);
+    }
+
+    // 일정한 속도로 전송하고 {p50 ns, p99 ns} 반환
+    private long[] run(Scheduler scheduler) throws InterruptedException {
+        MessageService messageService = new MessageService(messageRepository, roomMembershipCache, cachingUserServiceClient,
+                messageSequenceService, roomSummaryService, messageIngestor, recentMessageCache, messageArchiveStore,
+                new SenderResolver(cachingUserServiceClient, scheduler),
+                () -> Optional.of(LocalDateTime.now()), scheduler);
+
+        long[] latencies = new long[SENDS];
+        CountDownLatch done = new CountDownLatch(SENDS);
+        long interval = TimeUnit.SECONDS.toNanos(1) / SENDS_PER_SECOND;
+        long next = System.nanoTime();
+        for (int i = 0; i < SENDS; i++) {
+            int index = i;
+            long started = System.nanoTime();
+            messageService.sendMessage(1L, "메시지 " + i, "user1", "홍길동")
+                    .subscribeOn(eventLoop)
+                    .doFinally(signal -> {
+                        latencies[index] = System.nanoTime() - started;
+                        done.countDown();
+                    })
+                    .subscribe(null, e -> log.warn("전송 실패: {}", e.getMessage()));
+
+            next += interval;
+            LockSupport.parkNanos(next - System.nanoTime());
+        }
+        assertThat(done.await(2, TimeUnit.MINUTES)).isTrue();
+
+        Arrays.sort(latencies);
+        return new long[]{latencies[SENDS / 2], latencies[SENDS * 99 / 100]};
+    }
+
+    // 호출 기록을 남기지 않는 mock (부하 중 메모리와 잠금 경합 방지)
+    private static <T> T stub(Class<T> type) {
+        return mock(type, withSettings().stubOnly().strictness(Strictness.LENIENT));
+    }
+
+    private static <T> T block(T value) throws InterruptedException {
+        Thread.sleep(BLOCKING_MILLIS);
+        return value;
+    }
+}
@@ -0,0 +1,91 @@
+package com.ovengers.chatservice.mongodb.service;
+
+import com.mongodb.bulk.BulkWriteResult;
+import com.ovengers.chatservice.mongodb.document.Message;
+import com.ovengers.chatservice.mongodb.document.RoomSequence;
+import com.ovengers.chatservice.mongodb.document.RoomSummary;
+import com.ovengers.chatservice.mysql.repository.ChatRoomReadRepository;
+import org.bson.Document;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("MessageSequenceBackfillJob 단위 테스트")
+class MessageSequenceBackfillJobTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+    @Mock
+    private ChatRoomReadRepository chatRoomReadRepository;
+
+    @InjectMocks
+    private MessageSequenceBackfillJob messageSequenceBackfillJob;
+
+    @Test
+    @DisplayName("seq가 없는 메시지만 기존 가장 작은 seq 아래로 번호를 매기고 카운터는 건드리지 않는다")
+    void numbersMissingBelowExistingRange() {
+        // 가장 오래된 seq 메시지: seq 1, SYSTEM (systemSeq 1)
+        when(mongoTemplate.findOne(any(Query.class), eq(Message.class)))
+                .thenReturn(Message.builder().messageId("m-floor").seq(1L).systemSeq(1L).type("SYSTEM").build());
+        when(mongoTemplate.stream(any(Query.class), eq(Message.class))).thenReturn(Stream.of(
+                Message.builder().messageId("m3").type("CHAT").build(),
+                Message.builder().messageId("m2").type("SYSTEM").build(),
+                Message.builder().messageId("m1").type("CHAT").build()));
+        BulkOperations bulk = mock(BulkOperations.class);
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Message.class)).thenReturn(bulk);
+        when(bulk.execute()).thenReturn(BulkWriteResult.acknowledged(0, 3, 0, 3, List.of(), List.of()));
+
+        messageSequenceBackfillJob.backfillChatRoom(1L);
+
+        ArgumentCaptor<Query> queries = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> updates = ArgumentCaptor.forClass(Update.class);
+        verify(bulk, times(3)).updateOne(queries.capture(), updates.capture());
+        assertThat(queries.getAllValues()).allSatisfy(query ->
+                assertThat(query.getQueryObject().get("seq", Document.class)).containsEntry("$exists", false));
+        assertThat(updates.getAllValues()).extracting(update -> update.getUpdateObject().get("$set", Document.class))
+                .containsExactly(
+                        new Document("seq", 0L).append("systemSeq", 0L),
+                        new Document("seq", -1L).append("systemSeq", 0L),
+                        new Document("seq", -2L).append("systemSeq", -1L));
+
+        verify(mongoTemplate, never()).upsert(any(Query.class), any(Update.class), eq(RoomSequence.class));
+        verify(mongoTemplate).remove(any(Query.class), eq(RoomSummary.class));
+    }
+
+    @Test
+    @DisplayName("다른 노드가 이미 번호를 매겨 바뀐 메시지가 없으면 room_summary를 지우지 않는다")
+    void keepsSummaryWhenNothingChanged() {
+        when(mongoTemplate.findOne(any(Query.class), eq(Message.class)))
+                .thenReturn(Message.builder().messageId("m-floor").seq(-1L).systemSeq(0L).type("CHAT").build());
+        when(mongoTemplate.stream(any(Query.class), eq(Message.class)))
+                .thenReturn(Stream.of(Message.builder().messageId("m1").type("CHAT").build()));
+        BulkOperations bulk = mock(BulkOperations.class);
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Message.class)).thenReturn(bulk);
+        when(bulk.execute()).thenReturn(BulkWriteResult.acknowledged(0, 0, 0, 0, List.of(), List.of()));
+
+        messageSequenceBackfillJob.backfillChatRoom(1L);
+
+        verify(mongoTemplate, never()).remove(any(Query.class), eq(RoomSummary.class));
+    }
+}
@@ -0,0 +1,112 @@
+package com.ovengers.chatservice.mongodb.service;
+
+import com.ovengers.chatservice.client.CachingUserServiceClient;
+import com.ovengers.chatservice.client.UserResponseDto;
+import com.ovengers.chatservice.mongodb.archive.MessageArchiveStore;
+import com.ovengers.chatservice.mongodb.cache.RecentMessageCache;
+import com.ovengers.chatservice.mongodb.document.Message;
+import com.ovengers.chatservice.mongodb.repository.MessageRepository;
+import com.ovengers.chatservice.mysql.cache.RoomMembershipCache;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import reactor.blockhound.BlockHound;
+import reactor.blockhound.BlockingOperationError;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+/**
+ * 리액티브 체인의 블로킹 호출 검출 테스트
+ * BlockHound가 non-blocking 스레드(parallel, Mongo 드라이버 등)에서의 블로킹 호출을 오류로 만든다.
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class MessageServiceBlockingTest {
+
+    @Mock
+    private MessageRepository messageRepository;
+    @Mock
+    private RoomMembershipCache roomMembershipCache;
+    @Mock
+    private CachingUserServiceClient cachingUserServiceClient;
+    @Mock
+    private MessageSequenceService messageSequenceService;
+    @Mock
+    private RoomSummaryService roomSummaryService;
+    @Mock
+    private MessageIngestor messageIngestor;
+    @Mock
+    private RecentMessageCache recentMessageCache;
+    @Mock
+    private MessageArchiveStore messageArchiveStore;
+
+    @BeforeAll
+    static void installBlockHound() {
+        BlockHound.install();
+    }
+
+    @BeforeEach
+    void setUp() {
+        // JPA/Feign 호출을 흉내내는 블로킹 응답
+        when(roomMembershipCache.exists(1L)).thenAnswer(invocation -> block(true));
+        when(roomMembershipCache.isMember(1L, "user1")).thenAnswer(invocation -> block(true));
+        UserResponseDto user = new UserResponseDto();
+        user.setUserId("user1");
+        when(cachingUserServiceClient.getUserById("user1")).thenAnswer(invocation -> block(user));
+
+        when(messageSequenceService.assign(any(Message.class)))
+                .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+        when(messageIngestor.ingest(any(Message.class)))
+                .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+    }
+
+    @Test
+    @DisplayName("블로킹 검증과 사용자 조회는 blockingScheduler에서 실행되어 non-blocking 스레드를 막지 않는다")
+    void sendMessageDoesNotBlockNonBlockingThreads() {
+        MessageService messageService = messageService(Schedulers.boundedElastic());
+
+        StepVerifier.create(messageService.sendMessage(1L, "안녕하세요", "user1", "홍길동")
+                        .subscribeOn(Schedulers.parallel()))
+                .expectNextCount(1)
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    @DisplayName("블로킹 호출이 non-blocking 스레드에서 실행되면 BlockHound가 검출한다")
+    void blockingOnNonBlockingThreadIsDetected() {
+        MessageService messageService = messageService(Schedulers.immediate());
+
+        StepVerifier.create(messageService.sendMessage(1L, "안녕하세요", "user1", "홍길동")
+                        .subscribeOn(Schedulers.parallel()))
+                .expectError(BlockingOperationError.class)
+                .verify(Duration.ofSeconds(5));
+    }
+
+    private MessageService messageService(Scheduler blockingScheduler) {
+        return new MessageService(messageRepository, roomMembershipCache, cachingUserServiceClient,
+                messageSequenceService, roomSummaryService, messageIngestor, recentMessageCache, messageArchiveStore,
+                new SenderResolver(cachingUserServiceClient, blockingScheduler),
+                () -> Optional.of(LocalDateTime.now()), blockingScheduler);
+    }
+
+    private static <T> T block(T value) throws InterruptedException {
+        Thread.sleep(1);
+        return value;
+    }
+}
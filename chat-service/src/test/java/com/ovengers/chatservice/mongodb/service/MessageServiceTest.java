@@ -1,29 +1,41 @@
 package com.ovengers.chatservice.mongodb.service;
 
 import com.ovengers.chatservice.client.UserResponseDto;
-import com.ovengers.chatservice.client.UserServiceClient;
+import com.ovengers.chatservice.client.CachingUserServiceClient;
+import com.ovengers.chatservice.mongodb.archive.MessageArchiveStore;
+import com.ovengers.chatservice.mongodb.cache.RecentMessageCache;
 import com.ovengers.chatservice.mongodb.document.Message;
+import com.ovengers.chatservice.mongodb.dto.MessageCursor;
 import com.ovengers.chatservice.mongodb.dto.MessageDto;
 import com.ovengers.chatservice.mongodb.repository.MessageRepository;
-import com.ovengers.chatservice.mysql.repository.ChatRoomRepository;
-import com.ovengers.chatservice.mysql.repository.UserChatRoomRepository;
+import com.ovengers.chatservice.mysql.cache.RoomMembershipCache;
+import org.bson.types.ObjectId;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.auditing.DateTimeProvider;
+import org.springframework.data.domain.PageRequest;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
 import reactor.test.StepVerifier;
 
 import java.time.LocalDateTime;
+import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.*;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -39,11 +51,26 @@ class MessageServiceTest {
     @Mock
     private MessageRepository messageRepository;
     @Mock
-    private ChatRoomRepository chatRoomRepository;
+    private RoomMembershipCache roomMembershipCache;
     @Mock
-    private UserChatRoomRepository userChatRoomRepository;
+    private CachingUserServiceClient cachingUserServiceClient;
     @Mock
-    private UserServiceClient userServiceClient;
+    private MessageSequenceService messageSequenceService;
+    @Mock
+    private RoomSummaryService roomSummaryService;
+    @Mock
+    private MessageIngestor messageIngestor;
+    @Mock
+    private RecentMessageCache recentMessageCache;
+    @Mock
+    private MessageArchiveStore messageArchiveStore;
+    @Mock
+    private SenderResolver senderResolver;
+    @Mock
+    private DateTimeProvider auditingDateTimeProvider;
+
+    @Spy
+    private Scheduler blockingScheduler = Schedulers.immediate();
 
     @InjectMocks
     private MessageService messageService;
@@ -76,6 +103,14 @@ class MessageServiceTest {
                 .build();
         logger.info("테스트 메시지 초기화 - ID: {}, 내용: {}, 발신자: {}",
                 testMessage.getMessageId(), testMessage.getContent(), testMessage.getSenderName());
+        // 발신자 정보 채우기는 SenderResolverTest에서 검증
+        lenient().when(messageIngestor.awaitStored(anyString())).thenReturn(Mono.empty());
+        lenient().when(senderResolver.resolvePage(any()))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+        lenient().when(senderResolver.resolveOne(any()))
+                .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+        lenient().when(senderResolver.resolve(anyList()))
+                .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
         logger.info("===== 테스트 데이터 초기화 완료 =====");
     }
 
@@ -89,10 +124,12 @@ class MessageServiceTest {
         logger.info("테스트 데이터 - 채팅방 ID: {}, 발신자 ID: {}, 메시지 내용: {}",
                 chatRoomId, userId, content);
 
-        when(chatRoomRepository.existsById(chatRoomId)).thenReturn(true);
-        when(userChatRoomRepository.existsByChatRoomIdAndUserId(chatRoomId, userId)).thenReturn(true);
-        when(userServiceClient.getUserById(userId)).thenReturn(testUser);
-        when(messageRepository.save(any(Message.class))).thenReturn(Mono.just(testMessage));
+        when(roomMembershipCache.exists(chatRoomId)).thenReturn(true);
+        when(roomMembershipCache.isMember(chatRoomId, userId)).thenReturn(true);
+        when(cachingUserServiceClient.getUserById(userId)).thenReturn(testUser);
+        when(messageSequenceService.assign(any(Message.class)))
+                .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+        when(messageIngestor.ingest(any(Message.class))).thenReturn(Mono.just(testMessage));
 
         // when
         logger.info("메시지 전송 실행...");
@@ -115,6 +152,32 @@ class MessageServiceTest {
         logger.info("============================");
     }
 
+    @Test
+    @DisplayName("전송한 메시지에는 발신자 이름/이미지를 저장하지 않고 응답에만 채운다")
+    void sendMessageDoesNotStoreSenderProfile() {
+        // given
+        when(roomMembershipCache.exists(chatRoomId)).thenReturn(true);
+        when(roomMembershipCache.isMember(chatRoomId, userId)).thenReturn(true);
+        when(cachingUserServiceClient.getUserById(userId)).thenReturn(testUser);
+        when(messageSequenceService.assign(any(Message.class)))
+                .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+        when(messageIngestor.ingest(any(Message.class)))
+                .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+
+        // when & then
+        StepVerifier.create(messageService.sendMessage(chatRoomId, "안녕하세요", userId, userName))
+                .assertNext(messageDto -> {
+                    assertThat(messageDto.getSenderName()).isEqualTo(userName);
+                    assertThat(messageDto.getSenderImage()).isEqualTo("profile.jpg");
+                })
+                .verifyComplete();
+
+        ArgumentCaptor<Message> stored = ArgumentCaptor.forClass(Message.class);
+        verify(messageIngestor).ingest(stored.capture());
+        assertThat(stored.getValue().getSenderName()).isNull();
+        assertThat(stored.getValue().getSenderImage()).isNull();
+    }
+
     @Test
     @DisplayName("메시지 삭제 성공 테스트")
     void deleteMessageSuccess() {
@@ -130,10 +193,14 @@ class MessageServiceTest {
                 .build();
         logger.info("삭제될 메시지 생성 완료");
 
-        when(chatRoomRepository.existsById(chatRoomId)).thenReturn(true);
-        when(userChatRoomRepository.existsByChatRoomIdAndUserId(chatRoomId, userId)).thenReturn(true);
+        when(roomMembershipCache.exists(chatRoomId)).thenReturn(true);
+        when(roomMembershipCache.isMember(chatRoomId, userId)).thenReturn(true);
         when(messageRepository.findByMessageId(messageId)).thenReturn(Mono.just(testMessage));
+        when(messageSequenceService.assignVersion(any(Message.class)))
+                .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
         when(messageRepository.save(any(Message.class))).thenReturn(Mono.just(deletedMessage));
+        when(roomSummaryService.onMessageChanged(any(Message.class)))
+                .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
 
         // when
         logger.info("메시지 삭제 실행...");
@@ -169,9 +236,9 @@ class MessageServiceTest {
         logger.info("- 수정 시도자 ID: {}", otherUserId);
         logger.info("- 수정할 내용: {}", newContent);
 
-        when(chatRoomRepository.existsById(chatRoomId)).thenReturn(true);
-        when(userChatRoomRepository.existsByChatRoomIdAndUserId(chatRoomId, otherUserId)).thenReturn(true);
-        when(userServiceClient.getUserById(otherUserId)).thenReturn(new UserResponseDto());
+        when(roomMembershipCache.exists(chatRoomId)).thenReturn(true);
+        when(roomMembershipCache.isMember(chatRoomId, otherUserId)).thenReturn(true);
+        when(cachingUserServiceClient.getUserById(otherUserId)).thenReturn(new UserResponseDto());
         when(messageRepository.findByMessageId(messageId)).thenReturn(Mono.just(testMessage));
 
         // when & then
@@ -196,14 +263,16 @@ class MessageServiceTest {
             // given
             String emptyContent = "   ";
 
-            when(chatRoomRepository.existsById(chatRoomId)).thenReturn(true);
-            when(userChatRoomRepository.existsByChatRoomIdAndUserId(chatRoomId, userId)).thenReturn(true);
+            when(roomMembershipCache.exists(chatRoomId)).thenReturn(true);
+            when(roomMembershipCache.isMember(chatRoomId, userId)).thenReturn(true);
 
             // when & then
             logger.info("빈 메시지 전송 시도");
-            assertThatThrownBy(() -> messageService.sendMessage(chatRoomId, emptyContent, userId, userName))
-                    .isInstanceOf(IllegalArgumentException.class)
-                    .hasMessageContaining("메시지 내용이 비어 있습니다");
+            StepVerifier.create(messageService.sendMessage(chatRoomId, emptyContent, userId, userName))
+                    .expectErrorSatisfies(error -> assertThat(error)
+                            .isInstanceOf(IllegalArgumentException.class)
+                            .hasMessageContaining("메시지 내용이 비어 있습니다"))
+                    .verify();
 
             logger.info("IllegalArgumentException 발생 확인");
         }
@@ -217,13 +286,15 @@ class MessageServiceTest {
             Long nonExistentChatRoomId = 999L;
             String content = "테스트 메시지";
 
-            when(chatRoomRepository.existsById(nonExistentChatRoomId)).thenReturn(false);
+            when(roomMembershipCache.exists(nonExistentChatRoomId)).thenReturn(false);
 
             // when & then
             logger.info("존재하지 않는 채팅방에 메시지 전송 시도");
-            assertThatThrownBy(() -> messageService.sendMessage(nonExistentChatRoomId, content, userId, userName))
-                    .isInstanceOf(IllegalArgumentException.class)
-                    .hasMessageContaining("채팅방은 존재하지 않습니다");
+            StepVerifier.create(messageService.sendMessage(nonExistentChatRoomId, content, userId, userName))
+                    .expectErrorSatisfies(error -> assertThat(error)
+                            .isInstanceOf(IllegalArgumentException.class)
+                            .hasMessageContaining("채팅방은 존재하지 않습니다"))
+                    .verify();
 
             logger.info("IllegalArgumentException 발생 확인");
         }
@@ -236,14 +307,16 @@ class MessageServiceTest {
             // given
             String content = "테스트 메시지";
 
-            when(chatRoomRepository.existsById(chatRoomId)).thenReturn(true);
-            when(userChatRoomRepository.existsByChatRoomIdAndUserId(chatRoomId, userId)).thenReturn(false);
+            when(roomMembershipCache.exists(chatRoomId)).thenReturn(true);
+            when(roomMembershipCache.isMember(chatRoomId, userId)).thenReturn(false);
 
             // when & then
             logger.info("구독하지 않은 채팅방에 메시지 전송 시도");
-            assertThatThrownBy(() -> messageService.sendMessage(chatRoomId, content, userId, userName))
-                    .isInstanceOf(IllegalArgumentException.class)
-                    .hasMessageContaining("구독되어 있지 않습니다");
+            StepVerifier.create(messageService.sendMessage(chatRoomId, content, userId, userName))
+                    .expectErrorSatisfies(error -> assertThat(error)
+                            .isInstanceOf(IllegalArgumentException.class)
+                            .hasMessageContaining("구독되어 있지 않습니다"))
+                    .verify();
 
             logger.info("IllegalArgumentException 발생 확인");
         }
@@ -279,15 +352,17 @@ class MessageServiceTest {
                     .createdAt(LocalDateTime.now())
                     .build();
 
-            when(userServiceClient.getUserById(userId)).thenReturn(testUser);
-            when(chatRoomRepository.existsById(chatRoomId)).thenReturn(true);
-            when(userChatRoomRepository.existsByChatRoomIdAndUserId(chatRoomId, userId)).thenReturn(true);
-            when(messageRepository.findByChatRoomIdOrderByCreatedAtAsc(chatRoomId))
+            when(cachingUserServiceClient.getUserById(userId)).thenReturn(testUser);
+            when(roomMembershipCache.exists(chatRoomId)).thenReturn(true);
+            when(roomMembershipCache.isMember(chatRoomId, userId)).thenReturn(true);
+            when(messageRepository.findFirstPage(chatRoomId, PageRequest.of(0, 50)))
                     .thenReturn(Flux.just(message1, message2));
+            when(messageArchiveStore.mergeAfter(eq(chatRoomId), isNull(), isNull(), eq(50), any()))
+                    .thenAnswer(invocation -> invocation.getArgument(4));
 
             // when
             logger.info("메시지 목록 조회 실행");
-            Flux<MessageDto> result = messageService.getMessages(chatRoomId, userId);
+            Flux<MessageDto> result = messageService.getMessages(chatRoomId, userId, 50);
 
             // then
             StepVerifier.create(result)
@@ -297,6 +372,117 @@ class MessageServiceTest {
 
             logger.info("메시지 목록 조회 성공 테스트 완료");
         }
+
+        @Test
+        @DisplayName("이전 메시지 조회 - 커서의 (createdAt, messageId)로 조회하고 시간순으로 반환")
+        void getMessagesBefore_UsesKeysetCursor() {
+            // given
+            LocalDateTime createdAt = LocalDateTime.of(2025, 1, 1, 12, 0);
+            ObjectId cursorId = new ObjectId();
+            String cursor = MessageCursor.encode(createdAt, cursorId.toHexString());
+
+            Message newer = Message.builder().messageId("msg2").chatRoomId(chatRoomId)
+                    .content("두 번째 메시지").senderId(userId).type("CHAT").createdAt(createdAt).build();
+            Message older = Message.builder().messageId("msg1").chatRoomId(chatRoomId)
+                    .content("첫 번째 메시지").senderId(userId).type("CHAT").createdAt(createdAt.minusSeconds(1)).build();
+
+            when(cachingUserServiceClient.getUserById(userId)).thenReturn(testUser);
+            when(roomMembershipCache.exists(chatRoomId)).thenReturn(true);
+            when(roomMembershipCache.isMember(chatRoomId, userId)).thenReturn(true);
+            when(messageRepository.findPageBefore(chatRoomId, createdAt, cursorId, PageRequest.of(0, 2)))
+                    .thenReturn(Flux.just(newer, older));
+            when(messageArchiveStore.mergeBefore(eq(chatRoomId), eq(createdAt), eq(cursorId), eq(2), any()))
+                    .thenAnswer(invocation -> invocation.getArgument(4));
+
+            // when & then
+            StepVerifier.create(messageService.getMessagesBefore(chatRoomId, userId, cursor, 2))
+                    .expectNextMatches(dto -> dto.getContent().equals("첫 번째 메시지"))
+                    .expectNextMatches(dto -> dto.getContent().equals("두 번째 메시지") && dto.getCursor() != null)
+                    .verifyComplete();
+        }
+
+        @Test
+        @DisplayName("이후 메시지 조회 실패 - 잘못된 커서")
+        void getMessagesAfter_InvalidCursor() {
+            StepVerifier.create(messageService.getMessagesAfter(chatRoomId, userId, "not-a-cursor", 50))
+                    .expectError(IllegalArgumentException.class)
+                    .verify();
+
+            verifyNoInteractions(messageRepository);
+        }
+
+        @Test
+        @DisplayName("변경분 동기화 - 저장이 끝났다고 볼 수 있는 변경까지만 토큰이 전진한다")
+        void getChanges_AdvancesTokenOnlyOverSettledChanges() {
+            // given
+            LocalDateTime now = LocalDateTime.of(2025, 1, 1, 12, 0);
+            Message edited = Message.builder().messageId("msg1").chatRoomId(chatRoomId).senderId(userId)
+                    .type("EDIT").content("수정된 메시지").version(11L).updatedAt(now.minusMinutes(1)).build();
+            Message deleted = Message.builder().messageId("msg2").chatRoomId(chatRoomId).senderId(userId)
+                    .type("DELETE").content("메시지가 삭제되었습니다.").version(12L).updatedAt(now.minusMinutes(1)).build();
+            Message fresh = Message.builder().messageId("msg3").chatRoomId(chatRoomId).senderId(userId)
+                    .type("CHAT").content("방금 보낸 메시지").version(14L).updatedAt(now.minusSeconds(1)).build();
+
+            when(cachingUserServiceClient.getUserById(userId)).thenReturn(testUser);
+            when(roomMembershipCache.exists(chatRoomId)).thenReturn(true);
+            when(roomMembershipCache.isMember(chatRoomId, userId)).thenReturn(true);
+            when(auditingDateTimeProvider.getNow()).thenReturn(Optional.of(now));
+            when(messageRepository.findChangesSince(chatRoomId, 10L, PageRequest.of(0, 4)))
+                    .thenReturn(Flux.just(edited, deleted, fresh));
+
+            // when & then
+            StepVerifier.create(messageService.getChanges(chatRoomId, userId, "10", 3))
+                    .assertNext(changes -> {
+                        assertThat(changes.getChanges()).extracting(MessageDto::getType)
+                                .containsExactly("EDIT", "DELETE", "CHAT");
+                        assertThat(changes.getNextToken()).isEqualTo("12");
+                        assertThat(changes.isHasMore()).isFalse();
+                        assertThat(changes.getRetryAfterMs()).isNull();
+                    })
+                    .verifyComplete();
+        }
+
+        @Test
+        @DisplayName("변경분 동기화 - 페이지 전체가 최근 변경이면 hasMore와 함께 첫 변경이 확정될 때까지의 대기 시간을 안내한다")
+        void getChanges_UnsettledFullPageReturnsRetryHint() {
+            // given
+            LocalDateTime now = LocalDateTime.of(2025, 1, 1, 12, 0);
+            Message first = Message.builder().messageId("msg1").chatRoomId(chatRoomId).senderId(userId)
+                    .type("CHAT").content("방금 보낸 메시지 1").version(11L).updatedAt(now.minusSeconds(2)).build();
+            Message second = Message.builder().messageId("msg2").chatRoomId(chatRoomId).senderId(userId)
+                    .type("CHAT").content("방금 보낸 메시지 2").version(12L).updatedAt(now.minusSeconds(1)).build();
+            Message third = Message.builder().messageId("msg3").chatRoomId(chatRoomId).senderId(userId)
+                    .type("CHAT").content("방금 보낸 메시지 3").version(13L).updatedAt(now).build();
+
+            when(cachingUserServiceClient.getUserById(userId)).thenReturn(testUser);
+            when(roomMembershipCache.exists(chatRoomId)).thenReturn(true);
+            when(roomMembershipCache.isMember(chatRoomId, userId)).thenReturn(true);
+            when(auditingDateTimeProvider.getNow()).thenReturn(Optional.of(now));
+            when(messageRepository.findChangesSince(chatRoomId, 10L, PageRequest.of(0, 3)))
+                    .thenReturn(Flux.just(first, second, third));
+
+            // when & then
+            StepVerifier.create(messageService.getChanges(chatRoomId, userId, "10", 2))
+                    .assertNext(changes -> {
+                        assertThat(changes.getChanges()).extracting(MessageDto::getMessageId)
+                                .containsExactly("msg1", "msg2");
+                        assertThat(changes.getNextToken()).isEqualTo("10");
+                        assertThat(changes.isHasMore()).isTrue();
+                        // msg1은 3초 뒤(5초 - 2초) 확정
+                        assertThat(changes.getRetryAfterMs()).isBetween(3000L, 3001L);
+                    })
+                    .verifyComplete();
+        }
+
+        @Test
+        @DisplayName("변경분 동기화 실패 - 잘못된 토큰")
+        void getChanges_InvalidToken() {
+            StepVerifier.create(messageService.getChanges(chatRoomId, userId, "abc", 100))
+                    .expectError(IllegalArgumentException.class)
+                    .verify();
+
+            verifyNoInteractions(messageRepository);
+        }
     }
 
     @Nested
@@ -312,10 +498,11 @@ class MessageServiceTest {
             String nonExistentMessageId = "non-existent";
             String newContent = "수정된 내용";
 
-            when(chatRoomRepository.existsById(chatRoomId)).thenReturn(true);
-            when(userChatRoomRepository.existsByChatRoomIdAndUserId(chatRoomId, userId)).thenReturn(true);
-            when(userServiceClient.getUserById(userId)).thenReturn(testUser);
+            when(roomMembershipCache.exists(chatRoomId)).thenReturn(true);
+            when(roomMembershipCache.isMember(chatRoomId, userId)).thenReturn(true);
+            when(cachingUserServiceClient.getUserById(userId)).thenReturn(testUser);
             when(messageRepository.findByMessageId(nonExistentMessageId)).thenReturn(Mono.empty());
+            when(messageArchiveStore.find(chatRoomId, nonExistentMessageId)).thenReturn(Mono.empty());
 
             // when & then
             logger.info("존재하지 않는 메시지 수정 시도");
@@ -334,9 +521,9 @@ class MessageServiceTest {
             // given
             String sameContent = "테스트 메시지"; // 기존 메시지와 동일
 
-            when(chatRoomRepository.existsById(chatRoomId)).thenReturn(true);
-            when(userChatRoomRepository.existsByChatRoomIdAndUserId(chatRoomId, userId)).thenReturn(true);
-            when(userServiceClient.getUserById(userId)).thenReturn(testUser);
+            when(roomMembershipCache.exists(chatRoomId)).thenReturn(true);
+            when(roomMembershipCache.isMember(chatRoomId, userId)).thenReturn(true);
+            when(cachingUserServiceClient.getUserById(userId)).thenReturn(testUser);
             when(messageRepository.findByMessageId(messageId)).thenReturn(Mono.just(testMessage));
 
             // when & then
@@ -365,11 +552,15 @@ class MessageServiceTest {
                     .type("EDIT")
                     .build();
 
-            when(chatRoomRepository.existsById(chatRoomId)).thenReturn(true);
-            when(userChatRoomRepository.existsByChatRoomIdAndUserId(chatRoomId, userId)).thenReturn(true);
-            when(userServiceClient.getUserById(userId)).thenReturn(testUser);
+            when(roomMembershipCache.exists(chatRoomId)).thenReturn(true);
+            when(roomMembershipCache.isMember(chatRoomId, userId)).thenReturn(true);
+            when(cachingUserServiceClient.getUserById(userId)).thenReturn(testUser);
             when(messageRepository.findByMessageId(messageId)).thenReturn(Mono.just(testMessage));
+            when(messageSequenceService.assignVersion(any(Message.class)))
+                    .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
             when(messageRepository.save(any(Message.class))).thenReturn(Mono.just(updatedMessage));
+            when(roomSummaryService.onMessageChanged(any(Message.class)))
+                    .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
 
             // when & then
             logger.info("메시지 수정 실행");
@@ -396,8 +587,8 @@ class MessageServiceTest {
             // given
             String otherUserId = "other-user";
 
-            when(chatRoomRepository.existsById(chatRoomId)).thenReturn(true);
-            when(userChatRoomRepository.existsByChatRoomIdAndUserId(chatRoomId, otherUserId)).thenReturn(true);
+            when(roomMembershipCache.exists(chatRoomId)).thenReturn(true);
+            when(roomMembershipCache.isMember(chatRoomId, otherUserId)).thenReturn(true);
             when(messageRepository.findByMessageId(messageId)).thenReturn(Mono.just(testMessage));
 
             // when & then
@@ -409,6 +600,72 @@ class MessageServiceTest {
             logger.info("IllegalAccessException 발생 확인");
         }
 
+        @Test
+        @DisplayName("보관된 메시지 삭제 권한이 없으면 묶음에서 빼지 않는다")
+        void 보관된_메시지_권한_없는_삭제_실패() {
+            // given
+            String otherUserId = "other-user";
+
+            when(roomMembershipCache.exists(chatRoomId)).thenReturn(true);
+            when(roomMembershipCache.isMember(chatRoomId, otherUserId)).thenReturn(true);
+            when(messageRepository.findByMessageId(messageId)).thenReturn(Mono.empty());
+            when(messageArchiveStore.find(chatRoomId, messageId)).thenReturn(Mono.just(testMessage));
+
+            // when & then
+            StepVerifier.create(messageService.deleteMessage(chatRoomId, messageId, otherUserId))
+                    .expectError(IllegalAccessException.class)
+                    .verify();
+
+            verify(messageRepository, never()).save(any(Message.class));
+            verify(messageArchiveStore, never()).remove(any(), any());
+        }
+
+        @Test
+        @DisplayName("보관된 메시지는 hot 저장이 성공한 뒤에 묶음에서 뺀다")
+        void 보관된_메시지_삭제_후_묶음에서_제거() {
+            // given
+            when(roomMembershipCache.exists(chatRoomId)).thenReturn(true);
+            when(roomMembershipCache.isMember(chatRoomId, userId)).thenReturn(true);
+            when(messageRepository.findByMessageId(messageId)).thenReturn(Mono.empty());
+            when(messageArchiveStore.find(chatRoomId, messageId)).thenReturn(Mono.just(testMessage));
+            when(messageSequenceService.assignVersion(any(Message.class)))
+                    .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+            when(messageRepository.save(any(Message.class)))
+                    .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+            when(messageArchiveStore.remove(chatRoomId, messageId)).thenReturn(Mono.empty());
+            when(roomSummaryService.onMessageChanged(any(Message.class)))
+                    .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+
+            // when & then
+            StepVerifier.create(messageService.deleteMessage(chatRoomId, messageId, userId))
+                    .expectNextMatches(dto -> dto.getType().equals("DELETE"))
+                    .verifyComplete();
+
+            InOrder inOrder = inOrder(messageRepository, messageArchiveStore);
+            inOrder.verify(messageRepository).save(any(Message.class));
+            inOrder.verify(messageArchiveStore).remove(chatRoomId, messageId);
+        }
+
+        @Test
+        @DisplayName("보관된 메시지의 hot 저장이 실패하면 묶음에서 빼지 않는다")
+        void 보관된_메시지_저장_실패() {
+            // given
+            when(roomMembershipCache.exists(chatRoomId)).thenReturn(true);
+            when(roomMembershipCache.isMember(chatRoomId, userId)).thenReturn(true);
+            when(messageRepository.findByMessageId(messageId)).thenReturn(Mono.empty());
+            when(messageArchiveStore.find(chatRoomId, messageId)).thenReturn(Mono.just(testMessage));
+            when(messageSequenceService.assignVersion(any(Message.class)))
+                    .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+            when(messageRepository.save(any(Message.class))).thenReturn(Mono.error(new IllegalStateException("Mongo 장애")));
+
+            // when & then
+            StepVerifier.create(messageService.deleteMessage(chatRoomId, messageId, userId))
+                    .expectError(IllegalStateException.class)
+                    .verify();
+
+            verify(messageArchiveStore, never()).remove(any(), any());
+        }
+
         @Test
         @DisplayName("메시지 삭제 후 내용 변경 확인")
         void 메시지_삭제_후_내용_변경_확인() {
@@ -424,10 +681,14 @@ class MessageServiceTest {
                     .type("DELETE")
                     .build();
 
-            when(chatRoomRepository.existsById(chatRoomId)).thenReturn(true);
-            when(userChatRoomRepository.existsByChatRoomIdAndUserId(chatRoomId, userId)).thenReturn(true);
+            when(roomMembershipCache.exists(chatRoomId)).thenReturn(true);
+            when(roomMembershipCache.isMember(chatRoomId, userId)).thenReturn(true);
             when(messageRepository.findByMessageId(messageId)).thenReturn(Mono.just(testMessage));
+            when(messageSequenceService.assignVersion(any(Message.class)))
+                    .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
             when(messageRepository.save(any(Message.class))).thenReturn(Mono.just(deletedMessage));
+            when(roomSummaryService.onMessageChanged(any(Message.class)))
+                    .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
 
             // when & then
             logger.info("메시지 삭제 실행 및 내용 변경 확인");
@@ -455,7 +716,7 @@ class MessageServiceTest {
 
             // given
             String unknownUserId = "unknown-user";
-            when(userServiceClient.getUserById(unknownUserId)).thenReturn(null);
+            when(cachingUserServiceClient.getUserById(unknownUserId)).thenReturn(null);
 
             // when & then
             logger.info("존재하지 않는 사용자 정보 조회 시도");
@@ -472,7 +733,7 @@ class MessageServiceTest {
             logger.info("===== 사용자 정보 조회 성공 테스트 시작 =====");
 
             // given
-            when(userServiceClient.getUserById(userId)).thenReturn(testUser);
+            when(cachingUserServiceClient.getUserById(userId)).thenReturn(testUser);
 
             // when
             logger.info("사용자 정보 조회 실행");
@@ -480,8 +741,8 @@ class MessageServiceTest {
 
             // then
             assertThat(result).isNotNull();
-            verify(userServiceClient, times(1)).getUserById(userId);
+            verify(cachingUserServiceClient, times(1)).getUserById(userId);
             logger.info("사용자 정보 조회 성공");
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,124 @@
+package com.ovengers.chatservice.mongodb.service;
+
+import com.mongodb.client.result.UpdateResult;
+import com.ovengers.chatservice.mongodb.archive.MessageArchiveStore;
+import com.ovengers.chatservice.mongodb.document.Message;
+import com.ovengers.chatservice.mongodb.document.RoomSummary;
+import com.ovengers.chatservice.mongodb.repository.MessageRepository;
+import com.ovengers.chatservice.mongodb.repository.RoomSummaryRepository;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RoomSummaryService 단위 테스트")
+class RoomSummaryServiceTest {
+
+    @Mock
+    private ReactiveMongoTemplate reactiveMongoTemplate;
+    @Mock
+    private RoomSummaryRepository roomSummaryRepository;
+    @Mock
+    private MessageRepository messageRepository;
+    @Mock
+    private MessageArchiveStore messageArchiveStore;
+
+    @InjectMocks
+    private RoomSummaryService roomSummaryService;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(reactiveMongoTemplate.upsert(any(Query.class), any(Update.class), eq(RoomSummary.class)))
+                .thenReturn(Mono.just(UpdateResult.acknowledged(1L, 1L, null)));
+        lenient().when(reactiveMongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(RoomSummary.class)))
+                .thenReturn(Mono.just(UpdateResult.acknowledged(1L, 1L, null)));
+    }
+
+    @Test
+    @DisplayName("재생성은 전체 저장 대신 $max upsert로 반영해 동시에 저장된 메시지를 덮어쓰지 않는다")
+    void rebuildUpsertsWithMax() {
+        RoomSummary rebuilt = RoomSummary.builder().chatRoomId(1L).lastSeq(30L).rebuilt(true).build();
+        when(messageRepository.findFirstByChatRoomIdOrderByCreatedAtDesc(1L))
+                .thenReturn(Mono.just(message(1L, 30L)));
+        when(roomSummaryRepository.findById(1L)).thenReturn(Mono.just(rebuilt));
+
+        StepVerifier.create(roomSummaryService.rebuild(1L))
+                .expectNext(rebuilt)
+                .verifyComplete();
+
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(reactiveMongoTemplate).upsert(any(Query.class), update.capture(), eq(RoomSummary.class));
+        Document document = update.getValue().getUpdateObject();
+        assertThat(document.get("$max", Document.class)).containsEntry("lastSeq", 30L);
+        assertThat(document.get("$set", Document.class)).containsEntry("rebuilt", true);
+        assertThat(document).doesNotContainKey("$inc");
+        verify(roomSummaryRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("요약이 있어도 재생성된 적이 없으면 한 번 재생성한다")
+    void rebuildsSummariesNotMarkedRebuilt() {
+        RoomSummary partial = RoomSummary.builder().chatRoomId(1L).lastSeq(101L).build();
+        RoomSummary done = RoomSummary.builder().chatRoomId(2L).lastSeq(5L).rebuilt(true).build();
+        RoomSummary rebuilt = RoomSummary.builder().chatRoomId(1L).lastSeq(101L).rebuilt(true).build();
+        when(roomSummaryRepository.findAllById(List.of(1L, 2L))).thenReturn(Flux.just(partial, done));
+        when(messageRepository.findFirstByChatRoomIdOrderByCreatedAtDesc(1L))
+                .thenReturn(Mono.just(message(1L, 101L)));
+        when(roomSummaryRepository.findById(1L)).thenReturn(Mono.just(rebuilt));
+
+        StepVerifier.create(roomSummaryService.findAllById(List.of(1L, 2L)).collectList())
+                .assertNext(summaries -> assertThat(summaries).containsExactlyInAnyOrder(rebuilt, done))
+                .verifyComplete();
+
+        verify(messageRepository, never()).findFirstByChatRoomIdOrderByCreatedAtDesc(2L);
+    }
+
+    @Test
+    @DisplayName("채팅방의 첫 메시지로 만든 요약만 재생성 완료로 표시한다")
+    void firstMessageMarksSummaryRebuilt() {
+        roomSummaryService.onMessageSaved(message(1L, 1L)).block();
+        roomSummaryService.onMessageSaved(message(2L, 40L)).block();
+
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(reactiveMongoTemplate, times(2))
+                .upsert(any(Query.class), update.capture(), eq(RoomSummary.class));
+        assertThat(update.getAllValues().get(0).getUpdateObject().get("$setOnInsert", Document.class))
+                .containsEntry("rebuilt", true);
+        assertThat(update.getAllValues().get(1).getUpdateObject().get("$setOnInsert", Document.class))
+                .containsEntry("rebuilt", false);
+    }
+
+    private static Message message(Long chatRoomId, long seq) {
+        return Message.builder()
+                .messageId("m" + seq)
+                .chatRoomId(chatRoomId)
+                .type("CHAT")
+                .content("내용")
+                .seq(seq)
+                .systemSeq(0L)
+                .build();
+    }
+}
@@ -0,0 +1,106 @@
+package com.ovengers.chatservice.mongodb.service;
+
+import com.ovengers.chatservice.client.CachingUserServiceClient;
+import com.ovengers.chatservice.client.UserResponseDto;
+import com.ovengers.chatservice.mongodb.dto.MessageDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SenderResolver 단위 테스트")
+class SenderResolverTest {
+
+    @Mock
+    private CachingUserServiceClient cachingUserServiceClient;
+
+    private SenderResolver senderResolver;
+
+    @BeforeEach
+    void setUp() {
+        senderResolver = new SenderResolver(cachingUserServiceClient, Schedulers.immediate());
+    }
+
+    @Test
+    @DisplayName("페이지의 서로 다른 발신자를 한 번에 조회해 이름과 이미지를 채우고 순서를 유지한다")
+    void resolvesDistinctSendersInOneLookup() {
+        when(cachingUserServiceClient.getUsersByIds(List.of("user1", "user2"))).thenReturn(List.of(
+                profile("user1", "홍길동", "https://img/1.png"),
+                profile("user2", "김철수", "https://img/2.png")));
+
+        StepVerifier.create(senderResolver.resolvePage(Flux.just(
+                        message("m1", "user1"), message("m2", "user2"), message("m3", "user1"))))
+                .assertNext(message -> {
+                    assertThat(message.getMessageId()).isEqualTo("m1");
+                    assertThat(message.getSenderName()).isEqualTo("홍길동");
+                    assertThat(message.getSenderImage()).isEqualTo("https://img/1.png");
+                })
+                .assertNext(message -> assertThat(message.getSenderName()).isEqualTo("김철수"))
+                .assertNext(message -> assertThat(message.getSenderName()).isEqualTo("홍길동"))
+                .verifyComplete();
+
+        verify(cachingUserServiceClient, times(1)).getUsersByIds(anyList());
+    }
+
+    @Test
+    @DisplayName("프로필을 찾지 못한 발신자는 저장되어 있던 값을 그대로 쓴다")
+    void keepsStoredSenderWhenProfileIsMissing() {
+        MessageDto legacy = MessageDto.builder().messageId("m1").senderId("left-user")
+                .senderName("탈퇴한 사용자").senderImage("https://img/old.png").build();
+        when(cachingUserServiceClient.getUsersByIds(List.of("left-user"))).thenReturn(List.of());
+
+        StepVerifier.create(senderResolver.resolveOne(legacy))
+                .assertNext(message -> assertThat(message.getSenderName()).isEqualTo("탈퇴한 사용자"))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("사용자 조회가 실패해도 메시지는 그대로 반환한다")
+    void returnsMessagesWhenLookupFails() {
+        when(cachingUserServiceClient.getUsersByIds(List.of("user1")))
+                .thenThrow(new IllegalStateException("user-service 장애"));
+
+        StepVerifier.create(senderResolver.resolve(List.of(message("m1", "user1"))))
+                .assertNext(messages -> assertThat(messages).extracting(MessageDto::getMessageId).containsExactly("m1"))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("발신자가 없는 시스템 메시지만 있으면 조회하지 않는다")
+    void skipsLookupForSystemMessages() {
+        MessageDto system = MessageDto.builder().messageId("m1").type("SYSTEM").content("입장했습니다.").build();
+
+        StepVerifier.create(senderResolver.resolve(List.of(system)))
+                .assertNext(messages -> assertThat(messages).containsExactly(system))
+                .verifyComplete();
+
+        verify(cachingUserServiceClient, never()).getUsersByIds(anyList());
+    }
+
+    private static MessageDto message(String messageId, String senderId) {
+        return MessageDto.builder().messageId(messageId).senderId(senderId).type("CHAT").content("내용").build();
+    }
+
+    private static UserResponseDto profile(String userId, String name, String profileImage) {
+        UserResponseDto profile = new UserResponseDto();
+        profile.setUserId(userId);
+        profile.setName(name);
+        profile.setProfileImage(profileImage);
+        return profile;
+    }
+}
@@ -0,0 +1,96 @@
+package com.ovengers.chatservice.mongodb.wal;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MessageWalTest {
+    private static final int SEGMENT_BYTES = 4096;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("다시 열면 체크포인트 이후의 레코드를 순서대로 읽는다")
+    void readsUncommittedAfterReopen() throws IOException {
+        MessageWal wal = new MessageWal(directory, SEGMENT_BYTES, false);
+        wal.append(bytes("a"));
+        WalPosition second = wal.append(bytes("b"));
+        wal.append(bytes("c"));
+
+        assertThat(payloads(new MessageWal(directory, SEGMENT_BYTES, false))).containsExactly("a", "b", "c");
+
+        wal.commit(second);
+
+        MessageWal reopened = new MessageWal(directory, SEGMENT_BYTES, false);
+        assertThat(payloads(reopened)).containsExactly("c");
+        assertThat(reopened.checkpoint()).isEqualTo(second);
+    }
+
+    @Test
+    @DisplayName("기록 도중 끊긴 마지막 레코드는 무시하고 그 자리부터 이어서 기록한다")
+    void ignoresTornTail() throws IOException {
+        MessageWal wal = new MessageWal(directory, SEGMENT_BYTES, false);
+        WalPosition first = wal.append(bytes("first"));
+        wal.append(bytes("second"));
+        wal.close();
+
+        // 두 번째 레코드 payload 손상 (CRC 불일치)
+        try (RandomAccessFile file = new RandomAccessFile(segmentFiles().get(0).toFile(), "rw")) {
+            file.seek(first.offset() + 8);
+            file.write('X');
+        }
+
+        MessageWal reopened = new MessageWal(directory, SEGMENT_BYTES, false);
+        assertThat(payloads(reopened)).containsExactly("first");
+
+        reopened.append(bytes("third"));
+        assertThat(payloads(new MessageWal(directory, SEGMENT_BYTES, false))).containsExactly("first", "third");
+    }
+
+    @Test
+    @DisplayName("세그먼트가 가득 차면 다음 세그먼트로 넘어가고, 커밋된 이전 세그먼트는 삭제된다")
+    void rotatesAndDeletesCommittedSegments() throws IOException {
+        MessageWal wal = new MessageWal(directory, 64, false);
+        WalPosition last = null;
+        for (int i = 0; i < 10; i++) {
+            last = wal.append(bytes("message-" + i));
+        }
+        assertThat(segmentFiles()).hasSizeGreaterThan(1);
+        assertThat(payloads(new MessageWal(directory, 64, false))).hasSize(10).startsWith("message-0").endsWith("message-9");
+
+        wal.commit(last);
+
+        assertThat(segmentFiles()).hasSize(1);
+        MessageWal reopened = new MessageWal(directory, 64, false);
+        assertThat(reopened.readUncommitted()).isEmpty();
+        reopened.append(bytes("after-restart"));
+        assertThat(payloads(new MessageWal(directory, 64, false))).containsExactly("after-restart");
+    }
+
+    private List<Path> segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.toString().endsWith(".wal")).sorted().toList();
+        }
+    }
+
+    private static List<String> payloads(MessageWal wal) throws IOException {
+        return wal.readUncommitted().stream()
+                .map(entry -> new String(entry.payload(), StandardCharsets.UTF_8))
+                .toList();
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,270 @@
+package com.ovengers.chatservice.mongodb.wal;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.ServerAddress;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.ovengers.chatservice.common.lane.RoomLaneRejectedException;
+import com.ovengers.chatservice.mongodb.document.Message;
+import com.ovengers.chatservice.mongodb.service.RoomSummaryService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.BsonDocument;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class WalMessageIngestorTest {
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 1, 1, 12, 0);
+
+    @TempDir
+    Path directory;
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+    @Mock
+    private BulkOperations bulkOperations;
+    @Mock
+    private RoomSummaryService roomSummaryService;
+
+    // Mongo에 저장된 메시지 (insert 호출 기록)
+    private final List<List<Message>> inserted = new ArrayList<>();
+    private final List<Runnable> flushRequests = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Message.class)).thenReturn(bulkOperations);
+        when(bulkOperations.insert(anyList())).thenAnswer(invocation -> {
+            inserted.add(List.copyOf(invocation.<List<Message>>getArgument(0)));
+            return bulkOperations;
+        });
+        when(roomSummaryService.onMessagesSaved(any())).thenReturn(Mono.empty());
+        when(roomSummaryService.onMessageLost(any())).thenReturn(Mono.empty());
+    }
+
+    @Test
+    @DisplayName("로그에 기록하는 즉시 완료되고, flush 시 한 번의 bulk insert로 저장 후 체크포인트를 남긴다")
+    void acknowledgesThenFlushesInBatch() throws IOException {
+        WalMessageIngestor ingestor = ingestor(new MessageWal(directory, 4096, false), 100);
+
+        Message saved = ingestor.ingest(message(1L, "안녕하세요")).block();
+        ingestor.ingest(message(2L, "반갑습니다")).block();
+
+        assertThat(saved.getMessageId()).isNotNull();
+        assertThat(saved.getCreatedAt()).isEqualTo(NOW);
+        assertThat(inserted).isEmpty();
+        assertThat(ingestor.pendingCount()).isEqualTo(2);
+
+        ingestor.flush();
+
+        assertThat(inserted).hasSize(1);
+        assertThat(inserted.get(0)).extracting(Message::getSeq).containsExactly(1L, 2L);
+        assertThat(ingestor.pendingCount()).isZero();
+        assertThat(new MessageWal(directory, 4096, false).readUncommitted()).isEmpty();
+        verify(roomSummaryService).onMessagesSaved(inserted.get(0));
+    }
+
+    @Test
+    @DisplayName("저장 전인 메시지는 findPending으로 seq를 찾을 수 있고, awaitStored는 flush를 요청한 뒤 저장되면 완료된다")
+    void resolvesPendingBeforeFlush() throws IOException {
+        WalMessageIngestor ingestor = ingestor(new MessageWal(directory, 4096, false), 100);
+        Message sent = ingestor.ingest(message(7L, "방금 보낸 메시지")).block();
+
+        assertThat(ingestor.findPending(sent.getMessageId()).block())
+                .extracting(Message::getChatRoomId, Message::getSeq, Message::getSystemSeq)
+                .containsExactly(1L, 7L, 0L);
+
+        CompletableFuture<Void> stored = ingestor.awaitStored(sent.getMessageId()).toFuture();
+        assertThat(stored).isNotDone();
+        assertThat(flushRequests).hasSize(1);
+
+        flushRequests.get(0).run();
+
+        assertThat(stored).isCompleted();
+        assertThat(ingestor.findPending(sent.getMessageId()).block()).isNull();
+        assertThat(ingestor.awaitStored(sent.getMessageId()).toFuture()).isCompleted();
+    }
+
+    @Test
+    @DisplayName("batch-size에 도달하면 flush를 요청한다")
+    void requestsFlushAtBatchSize() throws IOException {
+        WalMessageIngestor ingestor = ingestor(new MessageWal(directory, 4096, false), 2);
+
+        ingestor.ingest(message(1L, "첫 번째")).block();
+        assertThat(flushRequests).isEmpty();
+
+        ingestor.ingest(message(2L, "두 번째")).block();
+        assertThat(flushRequests).hasSize(1);
+
+        flushRequests.get(0).run();
+        assertThat(inserted).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("저장 전에 종료되면 재시작 시 로그의 메시지를 그대로 저장한다")
+    void replaysUnflushedTailOnRestart() throws IOException {
+        WalMessageIngestor crashed = ingestor(new MessageWal(directory, 4096, false), 100);
+        Message first = crashed.ingest(message(1L, "첫 번째")).block();
+        Message second = crashed.ingest(message(2L, "두 번째")).block();
+
+        WalMessageIngestor restarted = ingestor(new MessageWal(directory, 4096, false), 100);
+        restarted.recover();
+
+        assertThat(inserted).hasSize(1);
+        assertThat(inserted.get(0))
+                .extracting(Message::getMessageId, Message::getContent, Message::getSeq, Message::getCreatedAt)
+                .containsExactly(
+                        tuple(first.getMessageId(), "첫 번째", 1L, NOW),
+                        tuple(second.getMessageId(), "두 번째", 2L, NOW));
+        assertThat(new MessageWal(directory, 4096, false).readUncommitted()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Mongo 저장이 실패하면 메시지는 남아 있다가 다음 flush에서 저장된다")
+    void keepsPendingOnFailure() throws IOException {
+        WalMessageIngestor ingestor = ingestor(new MessageWal(directory, 4096, false), 100);
+        ingestor.ingest(message(1L, "안녕하세요")).block();
+
+        when(bulkOperations.execute())
+                .thenThrow(new IllegalStateException("connection refused"))
+                .thenReturn(BulkWriteResult.unacknowledged());
+
+        ingestor.flush();
+        assertThat(ingestor.pendingCount()).isEqualTo(1);
+        assertThat(new MessageWal(directory, 4096, false).readUncommitted()).hasSize(1);
+
+        ingestor.flush();
+        assertThat(ingestor.pendingCount()).isZero();
+        assertThat(new MessageWal(directory, 4096, false).readUncommitted()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("재처리 중 이미 저장된 메시지(중복 키)는 건너뛰되, 요약 반영 전에 중단되었을 수 있으므로 요약에는 다시 반영한다")
+    void skipsDuplicatesOnReplay() throws IOException {
+        WalMessageIngestor ingestor = ingestor(new MessageWal(directory, 4096, false), 100);
+        ingestor.ingest(message(1L, "이미 저장됨")).block();
+        ingestor.ingest(message(2L, "새 메시지")).block();
+
+        MongoBulkWriteException duplicate = new MongoBulkWriteException(
+                BulkWriteResult.acknowledged(1, 0, 0, 0, List.of(), List.of()),
+                List.of(new BulkWriteError(11000, "duplicate key", new BsonDocument(), 0)),
+                null, new ServerAddress(), Set.of());
+        when(bulkOperations.execute()).thenThrow(new BulkOperationException("duplicate", duplicate));
+
+        ingestor.flush();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Collection<Message>> summarized = ArgumentCaptor.forClass(Collection.class);
+        verify(roomSummaryService).onMessagesSaved(summarized.capture());
+        assertThat(summarized.getValue()).extracting(Message::getContent).containsExactly("이미 저장됨", "새 메시지");
+        assertThat(ingestor.pendingCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("저장되지 않은 메시지가 max-pending에 도달하면 새 메시지를 거절하고 발급된 seq를 누락으로 기록한다")
+    void rejectsWhenPendingIsFull() throws IOException {
+        WalMessageIngestor ingestor = ingestor(new MessageWal(directory, 4096, false), 100, 2);
+        ingestor.ingest(message(1L, "첫 번째")).block();
+        ingestor.ingest(message(2L, "두 번째")).block();
+
+        Message third = message(3L, "세 번째");
+        assertThatThrownBy(() -> ingestor.ingest(third).block())
+                .isInstanceOf(RoomLaneRejectedException.class);
+
+        assertThat(ingestor.pendingCount()).isEqualTo(2);
+        assertThat(new MessageWal(directory, 4096, false).readUncommitted()).hasSize(2);
+        verify(roomSummaryService).onMessageLost(third);
+        // 거절하면서 flush를 요청해 대기열을 비움
+        assertThat(flushRequests).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("개별 문서 오류가 max-attempts번 반복된 메시지는 dead-letter로 옮기고 나머지는 저장 후 체크포인트를 남긴다")
+    void movesPoisonMessageToDeadLetter() throws IOException {
+        WalMessageIngestor ingestor = ingestor(new MessageWal(directory, 4096, false), 100, 100);
+        ingestor.ingest(message(1L, "정상 메시지")).block();
+        Message poison = ingestor.ingest(message(2L, "검증 실패 메시지")).block();
+
+        MongoBulkWriteException invalid = new MongoBulkWriteException(
+                BulkWriteResult.acknowledged(1, 0, 0, 0, List.of(), List.of()),
+                List.of(new BulkWriteError(121, "Document failed validation", new BsonDocument(), 1)),
+                null, new ServerAddress(), Set.of());
+        when(bulkOperations.execute()).thenThrow(new BulkOperationException("invalid", invalid));
+
+        // max-attempts(3) 전까지는 배치 전체가 남아 재시도
+        ingestor.flush();
+        ingestor.flush();
+        assertThat(ingestor.pendingCount()).isEqualTo(2);
+        verify(roomSummaryService, never()).onMessagesSaved(any());
+
+        ingestor.flush();
+
+        assertThat(ingestor.pendingCount()).isZero();
+        assertThat(new MessageWal(directory, 4096, false).readUncommitted()).isEmpty();
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Collection<Message>> summarized = ArgumentCaptor.forClass(Collection.class);
+        verify(roomSummaryService).onMessagesSaved(summarized.capture());
+        assertThat(summarized.getValue()).extracting(Message::getContent).containsExactly("정상 메시지");
+        verify(roomSummaryService).onMessageLost(poison);
+
+        List<String> deadLetters = Files.readAllLines(directory.resolve("dead-letter.jsonl"));
+        assertThat(deadLetters).hasSize(1);
+        assertThat(deadLetters.get(0))
+                .contains("Document failed validation")
+                .contains(poison.getMessageId());
+    }
+
+    private WalMessageIngestor ingestor(MessageWal wal, int batchSize) throws IOException {
+        return ingestor(wal, batchSize, 10_000);
+    }
+
+    private WalMessageIngestor ingestor(MessageWal wal, int batchSize, int maxPending) throws IOException {
+        return new WalMessageIngestor(wal, new WalDeadLetterStore(directory.resolve("dead-letter.jsonl")),
+                batchSize, maxPending, 3, mongoTemplate, roomSummaryService,
+                () -> Optional.of(NOW), Schedulers.immediate(), new SimpleMeterRegistry(), flushRequests::add);
+    }
+
+    private static Message message(Long seq, String content) {
+        Message message = Message.builder()
+                .chatRoomId(1L)
+                .senderId("user1")
+                .senderName("홍길동")
+                .content(content)
+                .seq(seq)
+                .systemSeq(0L)
+                .build();
+        message.setType("CHAT");
+        return message;
+    }
+}
@@ -0,0 +1,101 @@
+package com.ovengers.chatservice.mysql.cache;
+
+import com.ovengers.chatservice.mysql.entity.UserIdMapping;
+import com.ovengers.chatservice.mysql.repository.UserIdMappingBatchRepository;
+import com.ovengers.chatservice.mysql.repository.UserIdMappingRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.ref.Reference;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * 채팅방 구독자 집합 메모리 벤치마크 (채팅방 10,000개 × 구독자 200명)
+ *
+ * JPA 조회 결과처럼 채팅방마다 별도 UUID 문자열 인스턴스를 담은 HashSet과,
+ * UserIdDictionary + MemberSet(정렬된 int 배열)의 힙 사용량을 GC 이후 MemoryMXBean으로 비교한다.
+ * 힙 측정은 다른 테스트와 함께 실행하면 흔들리므로 CHAT_TEST_MEMORY_BENCHMARK=true 인 경우에만 실행된다.
+ *   예) CHAT_TEST_MEMORY_BENCHMARK=true gradle :chat-service:test --tests '*MemberSetMemoryBenchmark'
+ */
+@EnabledIfEnvironmentVariable(named = "CHAT_TEST_MEMORY_BENCHMARK", matches = "true")
+class MemberSetMemoryBenchmark {
+    private static final Logger log = LoggerFactory.getLogger(MemberSetMemoryBenchmark.class);
+    private static final int ROOMS = 10_000;
+    private static final int MEMBERS_PER_ROOM = 200;
+    private static final int USERS = 50_000;
+
+    @Test
+    @DisplayName("정수 ID 구독자 집합은 문자열 HashSet보다 힙을 적게 사용한다")
+    void compareHeapUsage() {
+        List<String> users = new ArrayList<>(USERS);
+        for (int i = 0; i < USERS; i++) {
+            users.add(UUID.randomUUID().toString());
+        }
+
+        // 정수 ID 구조를 먼저 만들고, 이어서 문자열 HashSet을 만들어 각각의 증가분을 측정 (모두 측정이 끝날 때까지 유지)
+        long baseline = usedHeap();
+        UserIdDictionary dictionary = new UserIdDictionary(mock(UserIdMappingRepository.class),
+                mock(UserIdMappingBatchRepository.class));
+        for (int i = 0; i < USERS; i++) {
+            dictionary.register(new UserIdMapping(i + 1, new String(users.get(i).toCharArray())));
+        }
+        long afterDictionary = usedHeap();
+
+        List<MemberSet> compact = new ArrayList<>(ROOMS);
+        Random random = new Random(42);
+        for (int room = 0; room < ROOMS; room++) {
+            int[] ids = new int[MEMBERS_PER_ROOM];
+            for (int i = 0; i < MEMBERS_PER_ROOM; i++) {
+                ids[i] = random.nextInt(USERS) + 1;
+            }
+            compact.add(MemberSet.of(ids, dictionary));
+        }
+        long afterCompact = usedHeap();
+
+        List<Set<String>> legacy = new ArrayList<>(ROOMS);
+        random = new Random(42);
+        for (int room = 0; room < ROOMS; room++) {
+            Set<String> members = new HashSet<>();
+            for (int i = 0; i < MEMBERS_PER_ROOM; i++) {
+                // DB에서 읽은 값처럼 매번 새 문자열 인스턴스
+                members.add(new String(users.get(random.nextInt(USERS)).toCharArray()));
+            }
+            legacy.add(members);
+        }
+        long afterLegacy = usedHeap();
+
+        long dictionaryBytes = afterDictionary - baseline;
+        long compactBytes = afterCompact - baseline;
+        long legacyBytes = afterLegacy - afterCompact;
+        Reference.reachabilityFence(compact);
+        Reference.reachabilityFence(legacy);
+
+        log.info("구독자 집합 {}개 × {}명 - 문자열 HashSet: {}MB ({}B/구독), int 배열 + 사전: {}MB ({}B/구독, 사전 {}MB)",
+                ROOMS, MEMBERS_PER_ROOM,
+                legacyBytes >> 20, legacyBytes / ((long) ROOMS * MEMBERS_PER_ROOM),
+                compactBytes >> 20, compactBytes / ((long) ROOMS * MEMBERS_PER_ROOM), dictionaryBytes >> 20);
+
+        assertThat(compactBytes).isLessThan(legacyBytes / 4);
+    }
+
+    private static long usedHeap() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,123 @@
+package com.ovengers.chatservice.mysql.cache;
+
+import com.ovengers.chatservice.mysql.entity.UserChatRoom;
+import com.ovengers.chatservice.mysql.repository.ChatRoomRepository;
+import com.ovengers.chatservice.mysql.repository.UserIdMappingBatchRepository;
+import com.ovengers.chatservice.mysql.repository.UserIdMappingRepository;
+import com.ovengers.chatservice.mysql.repository.UserChatRoomRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RoomMembershipCacheTest {
+
+    @Mock
+    private ChatRoomRepository chatRoomRepository;
+    @Mock
+    private UserChatRoomRepository userChatRoomRepository;
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+    @Mock
+    private UserIdMappingRepository userIdMappingRepository;
+    @Mock
+    private UserIdMappingBatchRepository userIdMappingBatchRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private RoomMembershipCache roomMembershipCache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        UserIdMappingStub.stub(userIdMappingRepository, userIdMappingBatchRepository);
+        roomMembershipCache = new RoomMembershipCache(chatRoomRepository, userChatRoomRepository, stringRedisTemplate,
+                new UserIdDictionary(userIdMappingRepository, userIdMappingBatchRepository), meterRegistry);
+    }
+
+    @Test
+    @DisplayName("구독자 목록은 한 번만 조회되고 이후에는 캐시에서 확인된다")
+    void membersAreLoadedOnce() {
+        // given
+        when(chatRoomRepository.existsById(1L)).thenReturn(true);
+        when(userChatRoomRepository.findAllByChatRoomId(1L)).thenReturn(List.of(
+                UserChatRoom.builder().chatRoomId(1L).userId("user1").build(),
+                UserChatRoom.builder().chatRoomId(1L).userId("user2").build()));
+
+        // when
+        boolean exists = roomMembershipCache.exists(1L);
+        boolean member = roomMembershipCache.isMember(1L, "user1");
+        boolean notMember = roomMembershipCache.isMember(1L, "user3");
+
+        // then
+        assertThat(exists).isTrue();
+        assertThat(member).isTrue();
+        assertThat(notMember).isFalse();
+        verify(chatRoomRepository, times(1)).existsById(1L);
+        verify(userChatRoomRepository, times(1)).findAllByChatRoomId(1L);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "chat.room-membership").tag("result", "hit")
+                .functionCounter().count()).isEqualTo(2.0);
+    }
+
+    @Test
+    @DisplayName("존재하지 않는 채팅방도 캐시되어 반복 조회하지 않는다")
+    void missingRoomIsCached() {
+        // given
+        when(chatRoomRepository.existsById(99L)).thenReturn(false);
+
+        // when & then
+        assertThat(roomMembershipCache.exists(99L)).isFalse();
+        assertThat(roomMembershipCache.isMember(99L, "user1")).isFalse();
+        verify(chatRoomRepository, times(1)).existsById(99L);
+        verifyNoInteractions(userChatRoomRepository);
+    }
+
+    @Test
+    @DisplayName("무효화 시 다시 조회하고 다른 노드에 무효화 메시지를 발행한다")
+    void invalidateReloadsAndPublishes() {
+        // given
+        when(chatRoomRepository.existsById(1L)).thenReturn(true);
+        when(userChatRoomRepository.findAllByChatRoomId(1L))
+                .thenReturn(List.of(UserChatRoom.builder().chatRoomId(1L).userId("user1").build()))
+                .thenReturn(List.of(
+                        UserChatRoom.builder().chatRoomId(1L).userId("user1").build(),
+                        UserChatRoom.builder().chatRoomId(1L).userId("user2").build()));
+        assertThat(roomMembershipCache.isMember(1L, "user2")).isFalse();
+
+        // when
+        roomMembershipCache.invalidate(1L);
+
+        // then
+        assertThat(roomMembershipCache.isMember(1L, "user2")).isTrue();
+        verify(stringRedisTemplate).convertAndSend(RoomMembershipCache.INVALIDATION_CHANNEL, "1");
+    }
+
+    @Test
+    @DisplayName("구독자는 정수 ID로 보관되지만 사용자 ID 집합으로 조회된다")
+    void membersAreStoredAsIntIds() {
+        // given
+        when(chatRoomRepository.existsById(1L)).thenReturn(true);
+        when(userChatRoomRepository.findAllByChatRoomId(1L)).thenReturn(List.of(
+                UserChatRoom.builder().chatRoomId(1L).userId("user2").build(),
+                UserChatRoom.builder().chatRoomId(1L).userId("user1").build()));
+
+        // when
+        Set<String> members = roomMembershipCache.getMembers(1L);
+
+        // then
+        assertThat(members).isInstanceOf(MemberSet.class)
+                .containsExactlyInAnyOrder("user1", "user2")
+                .doesNotContain("user3");
+        assertThat(members).isEqualTo(Set.of("user1", "user2"));
+    }
+}
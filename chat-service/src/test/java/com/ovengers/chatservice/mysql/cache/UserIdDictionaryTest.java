@@ -0,0 +1,98 @@
+package com.ovengers.chatservice.mysql.cache;
+
+import com.ovengers.chatservice.mysql.entity.UserIdMapping;
+import com.ovengers.chatservice.mysql.repository.UserIdMappingBatchRepository;
+import com.ovengers.chatservice.mysql.repository.UserIdMappingRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserIdDictionaryTest {
+
+    @Mock
+    private UserIdMappingRepository userIdMappingRepository;
+    @Mock
+    private UserIdMappingBatchRepository userIdMappingBatchRepository;
+
+    private Map<String, Integer> table;
+    private UserIdDictionary userIdDictionary;
+
+    @BeforeEach
+    void setUp() {
+        table = UserIdMappingStub.stub(userIdMappingRepository, userIdMappingBatchRepository);
+        userIdDictionary = new UserIdDictionary(userIdMappingRepository, userIdMappingBatchRepository);
+    }
+
+    @Test
+    @DisplayName("처음 보는 사용자는 등록하고, 이미 등록된 사용자는 DB 매핑을 그대로 사용한다")
+    void internRegistersOnlyMissingUsers() {
+        // given: 다른 노드가 user1을 먼저 등록
+        table.put("user1", 7);
+
+        // when
+        int[] ids = userIdDictionary.internAll(List.of("user1", "user2", "user1"));
+
+        // then
+        assertThat(ids[0]).isEqualTo(7);
+        assertThat(ids[2]).isEqualTo(7);
+        assertThat(ids[1]).isEqualTo(table.get("user2"));
+        // 등록되지 않은 사용자만 한 번에 등록
+        verify(userIdMappingBatchRepository).insertIgnoreAll(List.of("user2"));
+        assertThat(userIdDictionary.userIdOf(7)).isEqualTo("user1");
+        assertThat(userIdDictionary.find("user2")).isEqualTo(ids[1]);
+    }
+
+    @Test
+    @DisplayName("메모리에 등록된 사용자는 DB를 다시 조회하지 않는다")
+    void internedUsersAreServedFromMemory() {
+        userIdDictionary.intern("user1");
+        clearInvocations(userIdMappingRepository, userIdMappingBatchRepository);
+
+        userIdDictionary.intern("user1");
+
+        verify(userIdMappingRepository, never()).findAllByUserIdIn(anyCollection());
+        verify(userIdMappingBatchRepository, never()).insertIgnoreAll(anyCollection());
+    }
+
+    @Test
+    @DisplayName("처음 보는 사용자 여러 명은 한 번의 일괄 등록과 한 번의 조회로 매핑된다")
+    void registersNewUsersInOneBatch() {
+        List<String> userIds = IntStream.range(0, 300).mapToObj(i -> "user" + i).toList();
+
+        int[] ids = userIdDictionary.internAll(userIds);
+
+        assertThat(ids).doesNotHaveDuplicates().doesNotContain(UserIdDictionary.UNKNOWN);
+        verify(userIdMappingBatchRepository, times(1)).insertIgnoreAll(userIds);
+        // 메모리에 없는 사용자 조회 1번 + 등록 후 조회 1번
+        verify(userIdMappingRepository, times(2)).findAllByUserIdIn(anyCollection());
+    }
+
+    @Test
+    @DisplayName("등록되지 않은 사용자는 DB 조회 없이 UNKNOWN으로 확인된다")
+    void findDoesNotHitDatabase() {
+        assertThat(userIdDictionary.find("user9")).isEqualTo(UserIdDictionary.UNKNOWN);
+        assertThat(userIdDictionary.userIdOf(123_456)).isNull();
+        verifyNoInteractions(userIdMappingRepository);
+    }
+
+    @Test
+    @DisplayName("정수 ID가 배열 크기를 넘으면 역방향 배열을 늘린다")
+    void reverseLookupGrows() {
+        userIdDictionary.register(new UserIdMapping(5_000, "user5000"));
+
+        assertThat(userIdDictionary.userIdOf(5_000)).isEqualTo("user5000");
+        assertThat(userIdDictionary.find("user5000")).isEqualTo(5_000);
+    }
+}
@@ -0,0 +1,35 @@
+package com.ovengers.chatservice.mysql.cache;
+
+import com.ovengers.chatservice.mysql.entity.UserIdMapping;
+import com.ovengers.chatservice.mysql.repository.UserIdMappingBatchRepository;
+import com.ovengers.chatservice.mysql.repository.UserIdMappingRepository;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.lenient;
+
+// tbl_user_id_map 대신 메모리에 매핑을 보관하는 UserIdMappingRepository / UserIdMappingBatchRepository 목 설정
+final class UserIdMappingStub {
+    private UserIdMappingStub() {
+    }
+
+    static Map<String, Integer> stub(UserIdMappingRepository repository, UserIdMappingBatchRepository batchRepository) {
+        Map<String, Integer> table = new ConcurrentHashMap<>();
+        lenient().when(batchRepository.insertIgnoreAll(anyCollection())).thenAnswer(invocation -> {
+            synchronized (table) {
+                invocation.<Collection<String>>getArgument(0)
+                        .forEach(userId -> table.putIfAbsent(userId, table.size() + 1));
+            }
+            return 1;
+        });
+        lenient().when(repository.findAllByUserIdIn(anyCollection())).thenAnswer(invocation ->
+                invocation.<Collection<String>>getArgument(0).stream()
+                        .filter(table::containsKey)
+                        .map(userId -> new UserIdMapping(table.get(userId), userId))
+                        .toList());
+        return table;
+    }
+}
@@ -0,0 +1,164 @@
+package com.ovengers.chatservice.mysql.cache;
+
+import com.ovengers.chatservice.mongodb.document.RoomSummary;
+import com.ovengers.chatservice.mongodb.service.RoomSummaryService;
+import com.ovengers.chatservice.mysql.dto.ChatRoomCursor;
+import com.ovengers.chatservice.mysql.entity.ChatRoom;
+import com.ovengers.chatservice.mysql.entity.UserChatRoom;
+import com.ovengers.chatservice.mysql.repository.ChatRoomRepository;
+import com.ovengers.chatservice.mysql.repository.UserChatRoomRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.ZSetOperations.TypedTuple;
+import org.springframework.data.redis.core.script.RedisScript;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class UserInboxIndexTest {
+
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+    @Mock
+    private ZSetOperations<String, String> zSetOperations;
+    @Mock
+    private UserChatRoomRepository userChatRoomRepository;
+    @Mock
+    private ChatRoomRepository chatRoomRepository;
+    @Mock
+    private RoomSummaryService roomSummaryService;
+    @Mock
+    private RoomMembershipCache roomMembershipCache;
+
+    private UserInboxIndex userInboxIndex;
+
+    @BeforeEach
+    void setUp() {
+        when(stringRedisTemplate.opsForZSet()).thenReturn(zSetOperations);
+        userInboxIndex = new UserInboxIndex(stringRedisTemplate, userChatRoomRepository, chatRoomRepository,
+                roomSummaryService, roomMembershipCache);
+    }
+
+    @Test
+    @DisplayName("커서와 같은 시각의 항목 중 이미 반환된 항목은 건너뛰고 다음 항목부터 조회한다")
+    void pageSkipsTiesUpToCursor() {
+        // given: 같은 시각(2000)에 채팅방 3, 2가 있고 이전 페이지는 채팅방 3에서 끝남
+        when(stringRedisTemplate.hasKey("chat:inbox:user1")).thenReturn(true);
+        when(zSetOperations.reverseRangeByScoreWithScores(eq("chat:inbox:user1"), anyDouble(), eq(2000d), eq(0L), eq(2L)))
+                .thenReturn(tuples(TypedTuple.of("3", 2000d), TypedTuple.of("2", 2000d)));
+        when(zSetOperations.reverseRangeByScoreWithScores(eq("chat:inbox:user1"), anyDouble(), eq(2000d), eq(2L), eq(2L)))
+                .thenReturn(tuples(TypedTuple.of("1", 1000d)));
+
+        // when
+        List<UserInboxIndex.Entry> entries = userInboxIndex.page("user1", new ChatRoomCursor(2000L, 3L), 2);
+
+        // then
+        assertThat(entries).containsExactly(
+                new UserInboxIndex.Entry(2L, 2000L),
+                new UserInboxIndex.Entry(1L, 1000L));
+    }
+
+    @Test
+    @DisplayName("인덱스가 없으면 MySQL 구독 정보와 room_summary로 재생성한 뒤 교체한다")
+    void pageRebuildsMissingIndex() {
+        // given
+        when(stringRedisTemplate.hasKey("chat:inbox:user1")).thenReturn(false);
+        when(userChatRoomRepository.findAllByUserId("user1")).thenReturn(List.of(
+                UserChatRoom.builder().chatRoomId(1L).userId("user1").build(),
+                UserChatRoom.builder().chatRoomId(2L).userId("user1").build()));
+        LocalDateTime created = LocalDateTime.of(2024, 1, 1, 0, 0);
+        LocalDateTime lastMessage = LocalDateTime.of(2024, 1, 2, 0, 0);
+        when(chatRoomRepository.findAllById(any())).thenReturn(List.of(
+                ChatRoom.builder().chatRoomId(1L).createdAt(created).build(),
+                ChatRoom.builder().chatRoomId(2L).createdAt(created).build()));
+        when(roomSummaryService.findAllById(any())).thenReturn(Flux.just(
+                RoomSummary.builder().chatRoomId(2L).lastMessageAt(lastMessage).build()));
+        when(zSetOperations.reverseRangeByScoreWithScores(anyString(), anyDouble(), anyDouble(), anyLong(), anyLong()))
+                .thenReturn(Set.of());
+
+        // when
+        userInboxIndex.page("user1", null, 10);
+
+        // then
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Set<TypedTuple<String>>> captor = ArgumentCaptor.forClass(Set.class);
+        verify(zSetOperations).add(startsWith("chat:inbox:user1:rebuild:"), captor.capture());
+        assertThat(captor.getValue()).containsExactlyInAnyOrder(
+                TypedTuple.of("1", (double) UserInboxIndex.toScore(created)),
+                TypedTuple.of("2", (double) UserInboxIndex.toScore(lastMessage)));
+        verify(stringRedisTemplate, never()).rename(anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("재생성마다 다른 임시 키를 쓰고, 최근 갱신된 기존 항목과 합치는 스크립트로 교체한다")
+    void rebuildMergesThroughUniqueTemporaryKey() {
+        // given
+        when(userChatRoomRepository.findAllByUserId("user1")).thenReturn(List.of(
+                UserChatRoom.builder().chatRoomId(1L).userId("user1").build()));
+        when(chatRoomRepository.findAllById(any())).thenReturn(List.of(
+                ChatRoom.builder().chatRoomId(1L).createdAt(LocalDateTime.of(2024, 1, 1, 0, 0)).build()));
+        when(roomSummaryService.findAllById(any())).thenReturn(Flux.empty());
+        when(stringRedisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class))).thenReturn(1L);
+        long before = System.currentTimeMillis();
+
+        // when
+        userInboxIndex.rebuild("user1");
+        userInboxIndex.rebuild("user1");
+
+        // then
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<String>> keys = ArgumentCaptor.forClass(List.class);
+        ArgumentCaptor<Object> args = ArgumentCaptor.forClass(Object.class);
+        verify(stringRedisTemplate, times(2)).execute(any(RedisScript.class), keys.capture(), args.capture(), args.capture());
+        List<String> first = keys.getAllValues().get(0);
+        List<String> second = keys.getAllValues().get(1);
+        assertThat(first.get(0)).isEqualTo("chat:inbox:user1");
+        assertThat(first.get(1)).startsWith("chat:inbox:user1:rebuild:").isNotEqualTo(second.get(1));
+        assertThat(first.get(2)).isEqualTo(first.get(1) + ":recent");
+        // 재생성 시작 1분 전 이후로 갱신된 항목은 유지
+        assertThat(Long.parseLong((String) args.getAllValues().get(0)))
+                .isBetween(before - 60_000L, System.currentTimeMillis() - 60_000L);
+        verify(stringRedisTemplate, never()).rename(anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("구독 중인 채팅방이 없으면 인덱스를 만들지 않는다")
+    void rebuildWithoutRoomsDeletesKey() {
+        when(userChatRoomRepository.findAllByUserId("user1")).thenReturn(List.of());
+
+        int size = userInboxIndex.rebuild("user1");
+
+        assertThat(size).isZero();
+        verify(stringRedisTemplate).delete("chat:inbox:user1");
+        verify(zSetOperations, never()).add(anyString(), anySet());
+    }
+
+    @SafeVarargs
+    private static Set<TypedTuple<String>> tuples(TypedTuple<String>... tuples) {
+        return new LinkedHashSet<>(List.of(tuples));
+    }
+}
@@ -0,0 +1,81 @@
+package com.ovengers.chatservice.mysql.repository;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MembershipBatchRepositoryTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    private MembershipBatchRepository membershipBatchRepository;
+
+    @Test
+    @DisplayName("1,000명 구독 저장은 500행 단위 다중 행 INSERT 2문장으로 실행된다")
+    void insertMembersInChunks() {
+        List<String> userIds = userIds(1000);
+
+        int statements = membershipBatchRepository.insertMembers(1L, userIds);
+
+        assertThat(statements).isEqualTo(2);
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<Object[]> args = ArgumentCaptor.forClass(Object[].class);
+        verify(jdbcTemplate, times(2)).update(sql.capture(), args.capture());
+        assertThat(sql.getValue()).startsWith("INSERT IGNORE INTO tbl_user_chat_room");
+        assertThat(args.getAllValues()).allSatisfy(chunk -> assertThat(chunk).hasSize(500 * 3));
+    }
+
+    @Test
+    @DisplayName("초대 기록은 수락 대기 중인 기존 초대를 수락 상태로 바꾼다")
+    void insertInvitationsUpsertsAccepted() {
+        int statements = membershipBatchRepository.insertAcceptedInvitations(1L, "inviter", List.of("user1", "user2"));
+
+        assertThat(statements).isEqualTo(1);
+        verify(jdbcTemplate).update(
+                eq("INSERT INTO tbl_invitation (inviter_id, chat_room_id, user_id, accepted) VALUES (?, ?, ?, ?), (?, ?, ?, ?)"
+                        + " ON DUPLICATE KEY UPDATE accepted = VALUES(accepted)"),
+                eq(new Object[]{"inviter", 1L, "user1", true, "inviter", 1L, "user2", true}));
+    }
+
+    @Test
+    @DisplayName("기존 구독자 조회는 1,000개 단위 IN 쿼리로 나누어 실행된다")
+    void findExistingMembersInChunks() {
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), any(Object[].class)))
+                .thenReturn(List.of("user1"), List.of("user1500"), List.of());
+
+        Set<String> existing = membershipBatchRepository.findExistingMembers(1L, userIds(2500));
+
+        assertThat(existing).containsExactlyInAnyOrder("user1", "user1500");
+        verify(jdbcTemplate, times(3)).queryForList(anyString(), eq(String.class), any(Object[].class));
+    }
+
+    @Test
+    @DisplayName("빈 목록은 쿼리를 실행하지 않는다")
+    void emptyInputRunsNoStatements() {
+        assertThat(membershipBatchRepository.findExistingMembers(1L, List.of())).isEmpty();
+        assertThat(membershipBatchRepository.insertMembers(1L, List.of())).isZero();
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    private static List<String> userIds(int count) {
+        return IntStream.rangeClosed(1, count).mapToObj(i -> "user" + i).toList();
+    }
+}
@@ -0,0 +1,135 @@
+package com.ovengers.chatservice.mysql.repository;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 대량 초대 벤치마크 (100 / 1,000 / 5,000명)
+ *
+ * 기존 방식(초대 대상마다 존재 확인 + 행 단위 INSERT)과 MembershipBatchRepository의 일괄 처리를
+ * 같은 트랜잭션 조건에서 비교하여 소요 시간과 SQL 문장 수를 로그로 남긴다.
+ * 로컬 MySQL이 필요하므로 CHAT_TEST_MYSQL_URL이 설정된 경우에만 실행된다. 테이블이 없으면 만들고, 사용한 행은 지운다.
+ *   예) CHAT_TEST_MYSQL_URL=jdbc:mysql://localhost:3306/orai_bench CHAT_TEST_MYSQL_USER=root CHAT_TEST_MYSQL_PASSWORD=...
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@EnabledIfEnvironmentVariable(named = "CHAT_TEST_MYSQL_URL", matches = ".+")
+class MembershipBulkInviteBenchmark {
+    private static final Logger log = LoggerFactory.getLogger(MembershipBulkInviteBenchmark.class);
+    private static final long LEGACY_ROOM_ID = 900_000_001L;
+    private static final long BULK_ROOM_ID = 900_000_002L;
+    private static final int WARMUP_ROUNDS = 2;
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private MembershipBatchRepository membershipBatchRepository;
+
+    @BeforeAll
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                System.getenv("CHAT_TEST_MYSQL_URL"),
+                System.getenv("CHAT_TEST_MYSQL_USER"),
+                System.getenv("CHAT_TEST_MYSQL_PASSWORD"));
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        membershipBatchRepository = new MembershipBatchRepository(jdbcTemplate);
+
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS tbl_user_chat_room ("
+                + "id BIGINT AUTO_INCREMENT PRIMARY KEY, chat_room_id BIGINT NOT NULL, user_id VARCHAR(255) NOT NULL, "
+                + "sub_at DATETIME(6), UNIQUE KEY uk_user_chat_room (chat_room_id, user_id))");
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS tbl_invitation ("
+                + "id BIGINT AUTO_INCREMENT PRIMARY KEY, inviter_id VARCHAR(255) NOT NULL, chat_room_id BIGINT NOT NULL, "
+                + "user_id VARCHAR(255) NOT NULL, accepted BIT NOT NULL, UNIQUE KEY uk_invitation (chat_room_id, user_id))");
+        cleanUp();
+    }
+
+    @AfterAll
+    void cleanUp() {
+        for (long chatRoomId : List.of(LEGACY_ROOM_ID, BULK_ROOM_ID)) {
+            jdbcTemplate.update("DELETE FROM tbl_user_chat_room WHERE chat_room_id = ?", chatRoomId);
+            jdbcTemplate.update("DELETE FROM tbl_invitation WHERE chat_room_id = ?", chatRoomId);
+        }
+    }
+
+    @ParameterizedTest(name = "{0}명 초대")
+    @ValueSource(ints = {100, 1_000, 5_000})
+    @DisplayName("기존 행 단위 처리 대비 일괄 처리의 소요 시간과 SQL 문장 수")
+    void compare(int invitees) {
+        List<String> userIds = IntStream.range(0, invitees).mapToObj(i -> "bench-user-" + i).toList();
+
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            legacy(userIds);
+            bulk(userIds);
+        }
+
+        long legacyStart = System.nanoTime();
+        int legacyStatements = legacy(userIds);
+        long legacyMillis = (System.nanoTime() - legacyStart) / 1_000_000;
+
+        long bulkStart = System.nanoTime();
+        int bulkStatements = bulk(userIds);
+        long bulkMillis = (System.nanoTime() - bulkStart) / 1_000_000;
+
+        log.info("초대 {}명 - 기존: {}ms / {}문장, 일괄: {}ms / {}문장",
+                invitees, legacyMillis, legacyStatements, bulkMillis, bulkStatements);
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tbl_user_chat_room WHERE chat_room_id = ?",
+                Integer.class, BULK_ROOM_ID)).isEqualTo(invitees);
+        assertThat(bulkStatements).isLessThan(legacyStatements);
+    }
+
+    // 변경 전 ChatRoomService.inviteUsers와 같은 패턴: 기존 구독자 전체 조회 + 대상별 초대 확인 + 행 단위 INSERT
+    private int legacy(List<String> userIds) {
+        cleanUp();
+        AtomicInteger statements = new AtomicInteger();
+        transactionTemplate.executeWithoutResult(status -> {
+            List<String> existing = jdbcTemplate.queryForList(
+                    "SELECT user_id FROM tbl_user_chat_room WHERE chat_room_id = ?", String.class, LEGACY_ROOM_ID);
+            statements.incrementAndGet();
+            List<String> newUserIds = userIds.stream().filter(userId -> !existing.contains(userId)).toList();
+
+            for (String userId : newUserIds) {
+                jdbcTemplate.queryForObject("SELECT EXISTS(SELECT 1 FROM tbl_invitation "
+                                + "WHERE chat_room_id = ? AND user_id = ? AND accepted = false)",
+                        Boolean.class, LEGACY_ROOM_ID, userId);
+                jdbcTemplate.update("INSERT INTO tbl_invitation (inviter_id, chat_room_id, user_id, accepted) VALUES (?, ?, ?, ?)",
+                        "bench-inviter", LEGACY_ROOM_ID, userId, true);
+                jdbcTemplate.update("INSERT INTO tbl_user_chat_room (chat_room_id, user_id, sub_at) VALUES (?, ?, NOW(6))",
+                        LEGACY_ROOM_ID, userId);
+                statements.addAndGet(3);
+            }
+        });
+        return statements.get();
+    }
+
+    private int bulk(List<String> userIds) {
+        cleanUp();
+        AtomicInteger statements = new AtomicInteger();
+        transactionTemplate.executeWithoutResult(status -> {
+            Set<String> existing = membershipBatchRepository.findExistingMembers(BULK_ROOM_ID, userIds);
+            List<String> newUserIds = userIds.stream().filter(userId -> !existing.contains(userId)).toList();
+            statements.addAndGet((userIds.size() + MembershipBatchRepository.IDS_PER_QUERY - 1)
+                    / MembershipBatchRepository.IDS_PER_QUERY);
+            statements.addAndGet(membershipBatchRepository.insertAcceptedInvitations(BULK_ROOM_ID, "bench-inviter", newUserIds));
+            statements.addAndGet(membershipBatchRepository.insertMembers(BULK_ROOM_ID, newUserIds));
+        });
+        return statements.get();
+    }
+}
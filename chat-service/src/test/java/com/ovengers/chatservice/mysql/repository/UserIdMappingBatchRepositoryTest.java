@@ -0,0 +1,52 @@
+package com.ovengers.chatservice.mysql.repository;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserIdMappingBatchRepositoryTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    private UserIdMappingBatchRepository userIdMappingBatchRepository;
+
+    @Test
+    @DisplayName("처음 보는 사용자 1,200명은 500행 단위 다중 행 INSERT IGNORE 3문장으로 등록된다")
+    void insertIgnoreAllInChunks() {
+        List<String> userIds = IntStream.range(0, 1200).mapToObj(i -> "user" + i).toList();
+
+        int statements = userIdMappingBatchRepository.insertIgnoreAll(userIds);
+
+        assertThat(statements).isEqualTo(3);
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<Object[]> args = ArgumentCaptor.forClass(Object[].class);
+        verify(jdbcTemplate, times(3)).update(sql.capture(), args.capture());
+        assertThat(sql.getAllValues()).allSatisfy(statement ->
+                assertThat(statement).startsWith("INSERT IGNORE INTO tbl_user_id_map (user_id) VALUES (?), (?)"));
+        assertThat(args.getAllValues()).extracting(chunk -> chunk.length).containsExactly(500, 500, 200);
+    }
+
+    @Test
+    @DisplayName("등록할 사용자가 두 명이면 한 문장에 두 행을 넣는다")
+    void insertIgnoreAllSingleStatement() {
+        userIdMappingBatchRepository.insertIgnoreAll(List.of("user1", "user2"));
+
+        verify(jdbcTemplate).update(eq("INSERT IGNORE INTO tbl_user_id_map (user_id) VALUES (?), (?)"),
+                eq(new Object[]{"user1", "user2"}));
+    }
+}
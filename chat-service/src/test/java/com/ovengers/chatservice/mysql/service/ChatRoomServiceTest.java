@@ -1,10 +1,20 @@
 package com.ovengers.chatservice.mysql.service;
 
+import com.ovengers.chatservice.client.CachingUserServiceClient;
 import com.ovengers.chatservice.client.UserResponseDto;
 import com.ovengers.chatservice.client.UserServiceClient;
+import com.ovengers.chatservice.common.lane.RoomLaneExecutor;
+import com.ovengers.chatservice.mongodb.cache.RecentMessageCache;
+import com.ovengers.chatservice.mongodb.config.StompFanoutSender;
 import com.ovengers.chatservice.mongodb.document.Message;
-import com.ovengers.chatservice.mongodb.repository.MessageRepository;
+import com.ovengers.chatservice.mongodb.service.MessageIngestor;
+import com.ovengers.chatservice.mongodb.service.MessageSequenceService;
+import com.ovengers.chatservice.mongodb.service.RoomSummaryService;
+import com.ovengers.chatservice.mysql.cache.RoomMembershipCache;
+import com.ovengers.chatservice.mysql.cache.UserInboxIndex;
+import com.ovengers.chatservice.mysql.dto.ChatRoomCursor;
 import com.ovengers.chatservice.mysql.dto.ChatRoomDto;
+import com.ovengers.chatservice.mysql.dto.ChatRoomInvitationDto;
 import com.ovengers.chatservice.mysql.dto.CompositeChatRoomDto;
 import com.ovengers.chatservice.mysql.entity.ChatRoom;
 import com.ovengers.chatservice.mysql.entity.UserChatRoom;
@@ -16,23 +26,32 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
 
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.*;
 
@@ -49,15 +68,40 @@ class ChatRoomServiceTest {
     @Mock
     private UserChatRoomRepository userChatRoomRepository;
     @Mock
-    private MessageRepository messageRepository;
+    private MessageIngestor messageIngestor;
     @Mock
     private InvitationRepository invitationRepository;
     @Mock
     private UserServiceClient userServiceClient;
     @Mock
+    private CachingUserServiceClient cachingUserServiceClient;
+    @Mock
     private SimpMessagingTemplate simpMessagingTemplate;
     @Mock
+    private StompFanoutSender stompFanoutSender;
+    @Mock
     private ChatRoomReadRepository chatRoomReadRepository;
+    @Mock
+    private MessageSequenceService messageSequenceService;
+    @Mock
+    private RoomSummaryService roomSummaryService;
+    @Mock
+    private RecentMessageCache recentMessageCache;
+    @Mock
+    private RoomMembershipCache roomMembershipCache;
+    @Mock
+    private UserInboxIndex userInboxIndex;
+    @Mock
+    private Scheduler blockingScheduler;
+    @Mock
+    private RoomLaneExecutor roomLaneExecutor;
+    @Mock
+    private MembershipBatchRepository membershipBatchRepository;
+    @Mock
+    private ReadMarkerBuffer readMarkerBuffer;
+    // 콜백을 바로 실행하는 트랜잭션 템플릿
+    @Spy
+    private TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
 
     @InjectMocks
     private ChatRoomService chatRoomService;
@@ -90,6 +134,16 @@ class ChatRoomServiceTest {
                 .creatorId("user1")
                 .build();
 
+        // 버퍼 잠금 안에서 실행되는 삭제 작업은 그대로 실행
+        lenient().doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(2).run();
+            return null;
+        }).when(readMarkerBuffer).discardAll(anyLong(), anyCollection(), any(Runnable.class));
+
+        // 채팅방 레인 작업은 호출 스레드에서 바로 실행
+        lenient().when(roomLaneExecutor.mono(anyLong(), any()))
+                .thenAnswer(invocation -> Mono.fromCallable(invocation.getArgument(1)));
+
         logger.info("테스트 사용자 데이터 초기화 완료");
     }
 
@@ -116,7 +170,10 @@ class ChatRoomServiceTest {
 
         when(chatRoomRepository.findById(chatRoomId)).thenReturn(Optional.of(chatRoom));
         when(userChatRoomRepository.existsByChatRoomIdAndUserId(chatRoomId, userId)).thenReturn(true);
-        when(messageRepository.save(any())).thenReturn(Mono.just(new Message()));
+        when(messageSequenceService.assign(any(Message.class)))
+                .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+        when(messageIngestor.ingest(any(Message.class)))
+                .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
 
         // when
         logger.info("채팅방 수정 실행...");
@@ -128,10 +185,42 @@ class ChatRoomServiceTest {
         assertEquals(newName, result.getName());
         assertEquals(newImage, result.getImage());
         verify(chatRoomRepository).findById(chatRoomId);
+        // 수정 알림(시스템 메시지)은 일반 메시지와 같은 채팅방 레인에서 저장·전송
+        verify(roomLaneExecutor).mono(eq(chatRoomId), any());
+        verify(messageIngestor).ingest(argThat(message -> "SYSTEM".equals(message.getType())));
+        verify(simpMessagingTemplate).convertAndSend(eq("/sub/" + chatRoomId + "/chat"), any(Object.class));
         logger.info("채팅방 수정 결과 - 이름: {}, 이미지: {}", result.getName(), result.getImage());
         logger.info("채팅방 수정 테스트 성공");
     }
 
+    @Test
+    @DisplayName("채팅방 생성 - 사용자 확인은 트랜잭션 전에, 입장 알림은 커밋 이후에 실행")
+    void createChatRoomKeepsRemoteCallsOutsideTransaction() {
+        // given
+        String userId = "user1";
+        when(userServiceClient.getUsersByIds(List.of("user1", "user2"))).thenReturn(List.of(testUser1, testUser2));
+        when(chatRoomRepository.save(any(ChatRoom.class))).thenReturn(testChatRoom);
+        when(userChatRoomRepository.save(any(UserChatRoom.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+        when(chatRoomRepository.findByChatRoomId(1L)).thenReturn(testChatRoom);
+        when(cachingUserServiceClient.getUserById(userId)).thenReturn(testUser1);
+        when(messageSequenceService.assign(any(Message.class))).thenAnswer(invocation -> Mono.empty());
+
+        // when
+        CompositeChatRoomDto result = chatRoomService.createChatRoom("test.jpg", "테스트 채팅방", userId, List.of("user1", "user2"));
+
+        // then
+        assertThat(result.getChatRoomDto().getChatRoomId()).isEqualTo(1L);
+        var inOrder = inOrder(userServiceClient, transactionTemplate, membershipBatchRepository,
+                roomMembershipCache, cachingUserServiceClient, messageSequenceService);
+        inOrder.verify(userServiceClient).getUsersByIds(List.of("user1", "user2"));
+        inOrder.verify(transactionTemplate).execute(any());
+        inOrder.verify(membershipBatchRepository).insertMembers(1L, List.of("user2"));
+        inOrder.verify(roomMembershipCache).invalidate(1L);
+        inOrder.verify(cachingUserServiceClient).getUserById(userId);
+        inOrder.verify(messageSequenceService, times(2)).assign(any(Message.class));
+    }
+
     @Test
     @DisplayName("채팅방 생성 실패 - 잘못된 이름")
     void createChatRoomFailWithInvalidName() {
@@ -234,6 +323,39 @@ class ChatRoomServiceTest {
             logger.info("빈 채팅방 목록 반환 확인");
         }
 
+        @Test
+        @DisplayName("최근 활동 순 목록 - 인덱스 순서를 유지하고 탈퇴한 채팅방은 건너뛴 뒤 인덱스에서 제거")
+        void 최근_활동_순_채팅방_목록() {
+            // given
+            String userId = "user1";
+            ChatRoom chatRoom1 = ChatRoom.builder().chatRoomId(1L).name("채팅방1").creatorId(userId).build();
+            ChatRoom chatRoom3 = ChatRoom.builder().chatRoomId(3L).name("채팅방3").creatorId(userId).build();
+
+            when(userInboxIndex.page(userId, null, 2)).thenReturn(List.of(
+                    new UserInboxIndex.Entry(3L, 3000L),
+                    new UserInboxIndex.Entry(2L, 2000L)));
+            when(userInboxIndex.page(eq(userId), eq(new ChatRoomCursor(2000L, 2L)), eq(1))).thenReturn(List.of(
+                    new UserInboxIndex.Entry(1L, 1000L)));
+            when(chatRoomRepository.findAllById(List.of(3L, 2L))).thenReturn(List.of(chatRoom3));
+            when(chatRoomRepository.findAllById(List.of(1L))).thenReturn(List.of(chatRoom1));
+            when(roomMembershipCache.isMember(anyLong(), eq(userId))).thenReturn(true);
+
+            // when
+            List<ChatRoomDto> result = chatRoomService.getChatRooms(userId, null, 2);
+
+            // then
+            assertThat(result).extracting(ChatRoomDto::getChatRoomId).containsExactly(3L, 1L);
+            assertThat(ChatRoomCursor.decode(result.get(1).getCursor())).isEqualTo(new ChatRoomCursor(1000L, 1L));
+            verify(userInboxIndex).remove(2L, List.of(userId));
+        }
+
+        @Test
+        @DisplayName("최근 활동 순 목록 - 잘못된 커서는 예외")
+        void 잘못된_커서() {
+            assertThatThrownBy(() -> chatRoomService.getChatRooms("user1", "!!!", 10))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+
         @Test
         @DisplayName("특정 채팅방 조회 성공")
         void 특정_채팅방_조회_성공() {
@@ -321,7 +443,8 @@ class ChatRoomServiceTest {
             when(userChatRoomRepository.existsByChatRoomIdAndUserId(chatRoomId, creatorId)).thenReturn(true);
             when(userChatRoomRepository.findAllByChatRoomId(chatRoomId))
                     .thenReturn(Collections.singletonList(userChatRoom));
-            when(userServiceClient.getUserById(creatorId)).thenReturn(testUser1);
+            when(cachingUserServiceClient.getUserById(creatorId)).thenReturn(testUser1);
+            when(roomSummaryService.delete(chatRoomId)).thenReturn(Mono.empty());
 
             // when
             logger.info("채팅방 삭제 실행 - 생성자: {}", creatorId);
@@ -331,6 +454,10 @@ class ChatRoomServiceTest {
             verify(chatRoomRepository, times(1)).delete(testChatRoom);
             verify(userChatRoomRepository, times(1)).deleteByChatRoomId(chatRoomId);
             verify(invitationRepository, times(1)).deleteByChatRoomId(chatRoomId);
+            verify(roomMembershipCache, times(1)).invalidate(chatRoomId);
+            verify(readMarkerBuffer, times(1)).discardAll(eq(chatRoomId), eq(List.of(creatorId)), any(Runnable.class));
+            verify(stompFanoutSender, times(1)).convertAndSendToUsers(
+                    eq(List.of(creatorId)), eq("/queue"), any(ChatRoomInvitationDto.class));
             logger.info("채팅방 삭제 테스트 성공");
         }
 
@@ -372,9 +499,12 @@ class ChatRoomServiceTest {
 
             when(chatRoomRepository.findById(chatRoomId)).thenReturn(Optional.of(testChatRoom));
             when(userChatRoomRepository.existsByChatRoomIdAndUserId(chatRoomId, userId)).thenReturn(true);
-            when(userServiceClient.getUserById(userId)).thenReturn(testUser2);
+            when(cachingUserServiceClient.getUserById(userId)).thenReturn(testUser2);
             when(chatRoomRepository.findByChatRoomId(chatRoomId)).thenReturn(testChatRoom);
-            when(messageRepository.save(any(Message.class))).thenReturn(Mono.just(new Message()));
+            when(messageSequenceService.assign(any(Message.class)))
+                    .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+            when(messageIngestor.ingest(any(Message.class)))
+                    .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
 
             // when
             logger.info("일반 사용자 {} 채팅방 나가기", userId);
@@ -448,7 +578,10 @@ class ChatRoomServiceTest {
 
             when(chatRoomRepository.findById(chatRoomId)).thenReturn(Optional.of(testChatRoom));
             when(userChatRoomRepository.existsByChatRoomIdAndUserId(chatRoomId, userId)).thenReturn(true);
-            when(messageRepository.save(any())).thenReturn(Mono.just(new Message()));
+            when(messageSequenceService.assign(any(Message.class)))
+                    .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+            when(messageIngestor.ingest(any(Message.class)))
+                    .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
 
             // when
             logger.info("채팅방 이름 수정: {}", newName);
@@ -541,13 +674,10 @@ class ChatRoomServiceTest {
             String inviterId = "user1";
             List<String> existingUserIds = Arrays.asList("user1", "user2");
 
-            UserChatRoom userChatRoom1 = UserChatRoom.builder().chatRoomId(chatRoomId).userId("user1").build();
-            UserChatRoom userChatRoom2 = UserChatRoom.builder().chatRoomId(chatRoomId).userId("user2").build();
-
             when(chatRoomRepository.findById(chatRoomId)).thenReturn(Optional.of(testChatRoom));
             when(userChatRoomRepository.existsByChatRoomIdAndUserId(chatRoomId, inviterId)).thenReturn(true);
-            when(userChatRoomRepository.findAllByChatRoomId(chatRoomId))
-                    .thenReturn(Arrays.asList(userChatRoom1, userChatRoom2));
+            when(membershipBatchRepository.findExistingMembers(eq(chatRoomId), anyCollection()))
+                    .thenReturn(Set.of("user1", "user2"));
 
             // when & then
             logger.info("이미 채팅방에 있는 사용자 초대 시도");
@@ -557,6 +687,44 @@ class ChatRoomServiceTest {
 
             logger.info("IllegalArgumentException 발생 확인");
         }
+
+        @Test
+        @DisplayName("대량 초대 - 기존 구독자를 제외하고 일괄 저장하며 입장 메시지는 하나로 합침")
+        void 대량_초대_일괄_저장() {
+            // given
+            Long chatRoomId = 1L;
+            String inviterId = "user1";
+            List<String> inviteUserIds = IntStream.rangeClosed(1, 1000).mapToObj(i -> "user" + i).toList();
+            List<UserResponseDto> invitees = IntStream.rangeClosed(2, 1000).mapToObj(i -> {
+                UserResponseDto user = new UserResponseDto();
+                user.setUserId("user" + i);
+                user.setName("유저" + i);
+                return user;
+            }).toList();
+
+            when(chatRoomRepository.findById(chatRoomId)).thenReturn(Optional.of(testChatRoom));
+            when(chatRoomRepository.findByChatRoomId(chatRoomId)).thenReturn(testChatRoom);
+            when(userChatRoomRepository.existsByChatRoomIdAndUserId(chatRoomId, inviterId)).thenReturn(true);
+            when(membershipBatchRepository.findExistingMembers(eq(chatRoomId), anyCollection()))
+                    .thenReturn(Set.of(inviterId));
+            when(userServiceClient.getUsersByIds(anyList())).thenReturn(invitees);
+            when(messageSequenceService.assign(any(Message.class))).thenAnswer(invocation -> Mono.empty());
+
+            // when
+            chatRoomService.inviteUsers(chatRoomId, inviterId, inviteUserIds);
+
+            // then
+            List<String> expectedIds = inviteUserIds.subList(1, inviteUserIds.size());
+            verify(membershipBatchRepository).insertAcceptedInvitations(chatRoomId, inviterId, expectedIds);
+            verify(membershipBatchRepository).insertMembers(chatRoomId, expectedIds);
+            verify(invitationRepository, never()).existsByChatRoomIdAndUserIdAndAcceptedFalse(anyLong(), anyString());
+            verify(userChatRoomRepository, never()).saveAll(any());
+
+            ArgumentCaptor<Message> systemMessage = ArgumentCaptor.forClass(Message.class);
+            verify(messageSequenceService, times(1)).assign(systemMessage.capture());
+            assertThat(systemMessage.getValue().getContent())
+                    .isEqualTo("유저2, 유저3, 유저4님 외 996명이 테스트 채팅방 채팅방에 입장했습니다.");
+        }
     }
 }
 
@@ -1,13 +1,21 @@
 package com.ovengers.chatservice.mysql.service;
 
+import com.ovengers.chatservice.common.presence.RoomPresenceRegistry;
 import com.ovengers.chatservice.mongodb.document.Message;
+import com.ovengers.chatservice.mongodb.document.RoomSummary;
 import com.ovengers.chatservice.mongodb.repository.MessageRepository;
+import com.ovengers.chatservice.mongodb.service.MessageIngestor;
+import com.ovengers.chatservice.mongodb.service.RoomSummaryService;
+import com.ovengers.chatservice.mysql.cache.RoomMembershipCache;
+import com.ovengers.chatservice.mysql.cache.UserInboxIndex;
 import com.ovengers.chatservice.mysql.dto.ChatRoomUnreadDto;
+import com.ovengers.chatservice.mysql.dto.RoomPresenceDto;
 import com.ovengers.chatservice.mysql.entity.ChatRoom;
 import com.ovengers.chatservice.mysql.entity.ChatRoomRead;
 import com.ovengers.chatservice.mysql.entity.UserChatRoom;
 import com.ovengers.chatservice.mysql.repository.ChatRoomReadRepository;
 import com.ovengers.chatservice.mysql.repository.ChatRoomRepository;
+import com.ovengers.chatservice.mysql.repository.ReadMarkerBatchRepository.Marker;
 import com.ovengers.chatservice.mysql.repository.UserChatRoomRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -15,19 +23,23 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
 import reactor.test.StepVerifier;
 
 import java.time.LocalDateTime;
-import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
-import java.util.Optional;
+import java.util.Set;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
@@ -47,7 +59,22 @@ class ChatServiceTest {
     @Mock
     private MessageRepository messageRepository;
     @Mock
+    private MessageIngestor messageIngestor;
+    @Mock
     private ChatRoomRepository chatRoomRepository;
+    @Mock
+    private RoomSummaryService roomSummaryService;
+    @Mock
+    private ReadMarkerBuffer readMarkerBuffer;
+    @Mock
+    private RoomMembershipCache roomMembershipCache;
+    @Mock
+    private UserInboxIndex userInboxIndex;
+    @Mock
+    private RoomPresenceRegistry roomPresenceRegistry;
+
+    @Spy
+    private Scheduler blockingScheduler = Schedulers.immediate();
 
     @InjectMocks
     private ChatService chatService;
@@ -60,6 +87,7 @@ class ChatServiceTest {
     @BeforeEach
     void setUp() {
         logger.info("===== 테스트 데이터 초기화 시작 =====");
+        when(messageIngestor.findPending(any())).thenReturn(Mono.empty());
 
         testChatRoom = ChatRoom.builder()
                 .chatRoomId(1L)
@@ -79,6 +107,8 @@ class ChatServiceTest {
                 .chatRoomId(1L)
                 .content("테스트 메시지")
                 .type("CHAT")
+                .seq(3L)
+                .systemSeq(1L)
                 .createdAt(LocalDateTime.now())
                 .build();
         logger.info("메시지 데이터 초기화: {}", testMessage);
@@ -87,7 +117,6 @@ class ChatServiceTest {
                 .chatRoomId(1L)
                 .userId("user1")
                 .lastReadMessageId("message1")
-                .unreadCount(0L)
                 .build();
         logger.info("채팅방 읽음 데이터 초기화: {}", testChatRoomRead);
 
@@ -105,11 +134,10 @@ class ChatServiceTest {
         logger.info("테스트 데이터 - 사용자 ID: {}", userId);
 
         when(userChatRoomRepository.findAllByUserId(userId)).thenReturn(userChatRooms);
-        when(chatRoomRepository.findById(anyLong())).thenReturn(Optional.of(testChatRoom));
-        when(messageRepository.findByChatRoomIdOrderByCreatedAtAsc(anyLong()))
-                .thenReturn(Flux.just(testMessage));
-        when(messageRepository.findByChatRoomIdAndTypeNotOrderByCreatedAtAsc(anyLong(), eq("SYSTEM")))
-                .thenReturn(Flux.just(testMessage));
+        when(chatRoomRepository.findAllById(List.of(1L))).thenReturn(List.of(testChatRoom));
+        when(chatRoomReadRepository.findAllByUserIdAndChatRoomIdIn(userId, List.of(1L)))
+                .thenReturn(Collections.emptyList());
+        when(roomSummaryService.findAllById(List.of(1L))).thenReturn(Flux.just(summaryOf(testMessage, 3L, 1L)));
 
         // when
         logger.info("채팅방 목록 조회 실행...");
@@ -143,96 +171,88 @@ class ChatServiceTest {
         logger.info("테스트 데이터 - 채팅방 ID: {}, 사용자 ID: {}, 메시지 ID: {}",
                 chatRoomId, userId, messageId);
 
-        when(chatRoomReadRepository.findByChatRoomIdAndUserId(chatRoomId, userId))
-                .thenReturn(Optional.of(testChatRoomRead));
+        when(messageRepository.findByMessageId(messageId)).thenReturn(Mono.just(testMessage));
 
         // when
         logger.info("마지막 읽은 메시지 업데이트 실행...");
         chatService.updateLastReadMessage(chatRoomId, userId, messageId);
 
-        // then
+        // then: DB에 바로 쓰지 않고 버퍼에 읽음 위치를 기록
         logger.info("검증 단계 시작...");
-        verify(chatRoomReadRepository).save(any(ChatRoomRead.class));
+        verify(readMarkerBuffer).mark(chatRoomId, userId, messageId, 3L, 1L);
+        verifyNoInteractions(chatRoomReadRepository);
         logger.info("마지막 읽은 메시지 업데이트 테스트 성공");
     }
 
     @Test
-    @DisplayName("읽지 않은 메시지 수 증가 성공 테스트")
-    void incrementUnreadCountSuccess() {
-        logger.info("===== 읽지 않은 메시지 수 증가 테스트 시작 =====");
+    @DisplayName("메시지 전송 후에는 구독자별 채팅 목록 순서만 갱신한다")
+    void onMessageSentTouchesInbox() {
+        // when
+        chatService.onMessageSent(1L);
 
-        // given
+        // then: 읽지 않은 메시지 수는 seq로 계산하므로 구독자 조회나 MySQL 쓰기가 없음
+        verify(userInboxIndex).touch(eq(1L), anyLong());
+        verifyNoInteractions(roomMembershipCache, roomPresenceRegistry, chatRoomReadRepository);
+    }
+
+    @Test
+    @DisplayName("채팅방 접속자 조회는 구독자 중 보고 있는 사용자만 반환한다")
+    void getPresenceReturnsViewingMembers() {
+        // given: user9는 보고 있지만 이미 나간 사용자
         Long chatRoomId = 1L;
-        String senderId = "user1";
-        String receiverId = "user2";
-        logger.info("테스트 데이터 - 채팅방 ID: {}, 발신자 ID: {}, 수신자 ID: {}",
-                chatRoomId, senderId, receiverId);
-
-        UserChatRoom receiverChatRoom = UserChatRoom.builder()
-                .chatRoomId(chatRoomId)
-                .userId(receiverId)
-                .build();
+        when(roomMembershipCache.isMember(chatRoomId, "user1")).thenReturn(true);
+        when(roomMembershipCache.getMembers(chatRoomId)).thenReturn(Set.of("user1", "user2", "user3"));
+        when(roomPresenceRegistry.viewers(chatRoomId)).thenReturn(Set.of("user2", "user1", "user9"));
 
-        List<UserChatRoom> subscribers = Arrays.asList(testUserChatRoom, receiverChatRoom);
-        logger.info("채팅방 구독자 수: {}", subscribers.size());
+        // when
+        RoomPresenceDto presence = chatService.getPresence(chatRoomId, "user1");
 
-        ChatRoomRead receiverChatRoomRead = ChatRoomRead.builder()
-                .chatRoomId(chatRoomId)
-                .userId(receiverId)
-                .unreadCount(0L)
-                .build();
+        // then
+        assertThat(presence.getChatRoomId()).isEqualTo(chatRoomId);
+        assertThat(presence.getUserIds()).containsExactly("user1", "user2");
+    }
 
-        when(userChatRoomRepository.findAllByChatRoomId(chatRoomId)).thenReturn(subscribers);
-        when(chatRoomReadRepository.findByChatRoomIdAndUserId(chatRoomId, receiverId))
-                .thenReturn(Optional.of(receiverChatRoomRead));
+    @Test
+    @DisplayName("구독하지 않은 채팅방의 접속자는 조회할 수 없다")
+    void getPresenceRejectsNonMember() {
+        when(roomMembershipCache.isMember(1L, "user9")).thenReturn(false);
+
+        assertThatThrownBy(() -> chatService.getPresence(1L, "user9"))
+                .isInstanceOf(IllegalArgumentException.class);
+        verify(roomPresenceRegistry, never()).viewers(anyLong());
+    }
+
+    @Test
+    @DisplayName("wal 모드에서 방금 전송되어 아직 저장되지 않은 메시지를 읽으면 수집기에서 찾은 seq로 기록")
+    void updateLastReadMessageWithPendingMessage() {
+        // given
+        when(messageIngestor.findPending("message1")).thenReturn(Mono.just(testMessage));
+        when(messageRepository.findByMessageId("message1")).thenReturn(Mono.empty());
 
         // when
-        logger.info("읽지 않은 메시지 수 증가 실행...");
-        chatService.incrementUnreadCount(chatRoomId, senderId);
+        chatService.updateLastReadMessage(1L, "user1", "message1");
 
         // then
-        logger.info("검증 단계 시작...");
-        verify(chatRoomReadRepository).save(argThat(chatRoomRead -> {
-            logger.info("저장된 읽지 않은 메시지 수: {}", chatRoomRead.getUnreadCount());
-            return chatRoomRead.getUserId().equals(receiverId) &&
-                    chatRoomRead.getUnreadCount() == 1L;
-        }));
-        logger.info("읽지 않은 메시지 수 증가 테스트 성공");
+        verify(readMarkerBuffer).mark(1L, "user1", "message1", 3L, 1L);
     }
 
     @Test
-    @DisplayName("새로운 ChatRoomRead 생성 테스트")
-    void createNewChatRoomReadSuccess() {
-        logger.info("===== 새로운 ChatRoomRead 생성 테스트 시작 =====");
-
+    @DisplayName("다른 채팅방의 메시지로 읽음 처리하면 읽음 위치 없이 메시지 ID만 기록")
+    void updateLastReadMessageWithForeignMessage() {
         // given
-        Long chatRoomId = 1L;
-        String userId = "user1";
-        String messageId = "message1";
-        logger.info("테스트 데이터 - 채팅방 ID: {}, 사용자 ID: {}, 메시지 ID: {}",
-                chatRoomId, userId, messageId);
-
-        when(chatRoomReadRepository.findByChatRoomIdAndUserId(chatRoomId, userId))
-                .thenReturn(Optional.empty());
+        Message foreignMessage = Message.builder()
+                .messageId("message2")
+                .chatRoomId(2L)
+                .seq(7L)
+                .systemSeq(0L)
+                .build();
+        when(messageRepository.findByMessageId("message2")).thenReturn(Mono.just(foreignMessage));
 
         // when
-        logger.info("새로운 ChatRoomRead 생성 실행...");
-        chatService.updateLastReadMessage(chatRoomId, userId, messageId);
+        chatService.updateLastReadMessage(1L, "user1", "message2");
 
         // then
-        logger.info("검증 단계 시작...");
-        verify(chatRoomReadRepository).save(argThat(chatRoomRead -> {
-            logger.info("생성된 ChatRoomRead 정보:");
-            logger.info("- 채팅방 ID: {}", chatRoomRead.getChatRoomId());
-            logger.info("- 사용자 ID: {}", chatRoomRead.getUserId());
-            logger.info("- 마지막 읽은 메시지 ID: {}", chatRoomRead.getLastReadMessageId());
-            logger.info("- 읽지 않은 메시지 수: {}", chatRoomRead.getUnreadCount());
-            return chatRoomRead.getChatRoomId().equals(chatRoomId) &&
-                    chatRoomRead.getUserId().equals(userId) &&
-                    chatRoomRead.getLastReadMessageId().equals(messageId) &&
-                    chatRoomRead.getUnreadCount() == 0L;
-        }));
-        logger.info("새로운 ChatRoomRead 생성 테스트 성공");
+        verify(readMarkerBuffer).mark(1L, "user1", "message2", null, null);
     }
 
     @Test
@@ -255,4 +275,96 @@ class ChatServiceTest {
                 .verifyComplete();
         logger.info("빈 채팅방 목록 조회 테스트 성공");
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("읽지 않은 메시지 수는 seq 차이에서 SYSTEM 메시지 수를 뺀 값")
+    void unreadCountBySequenceSuccess() {
+        // given
+        String userId = "user1";
+        ChatRoomRead read = ChatRoomRead.builder()
+                .chatRoomId(1L)
+                .userId(userId)
+                .lastReadSeq(10L)
+                .lastReadSystemSeq(2L)
+                .build();
+
+        when(userChatRoomRepository.findAllByUserId(userId)).thenReturn(Collections.singletonList(testUserChatRoom));
+        when(chatRoomRepository.findAllById(List.of(1L))).thenReturn(List.of(testChatRoom));
+        when(chatRoomReadRepository.findAllByUserIdAndChatRoomIdIn(userId, List.of(1L))).thenReturn(List.of(read));
+        // 읽은 이후 15개 메시지 중 SYSTEM 3개
+        when(roomSummaryService.findAllById(List.of(1L))).thenReturn(Flux.just(summaryOf(testMessage, 25L, 5L)));
+
+        // when & then
+        StepVerifier.create(chatService.getChatRoomsWithUnreadCount(userId))
+                .expectNextMatches(chatRooms -> chatRooms.get(0).getUnreadCount() == 12L)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("저장에 실패해 비어 있는 seq는 읽지 않은 메시지 수에 포함하지 않는다")
+    void unreadCountSkipsMissingSequences() {
+        // given
+        String userId = "user1";
+        ChatRoomRead read = ChatRoomRead.builder()
+                .chatRoomId(1L)
+                .userId(userId)
+                .lastReadSeq(10L)
+                .lastReadSystemSeq(2L)
+                .build();
+        // 읽은 이후 15개 중 SYSTEM 3개, 저장 실패 2개 (seq 8은 이미 읽은 위치 이전)
+        RoomSummary summary = RoomSummary.builder()
+                .chatRoomId(1L)
+                .lastMessageId(testMessage.getMessageId())
+                .lastMessageContent(testMessage.getContent())
+                .lastMessageAt(testMessage.getCreatedAt())
+                .lastSeq(25L)
+                .lastSystemSeq(5L)
+                .missingSeqs(List.of(8L, 12L, 20L))
+                .build();
+
+        when(userChatRoomRepository.findAllByUserId(userId)).thenReturn(Collections.singletonList(testUserChatRoom));
+        when(chatRoomRepository.findAllById(List.of(1L))).thenReturn(List.of(testChatRoom));
+        when(chatRoomReadRepository.findAllByUserIdAndChatRoomIdIn(userId, List.of(1L))).thenReturn(List.of(read));
+        when(roomSummaryService.findAllById(List.of(1L))).thenReturn(Flux.just(summary));
+
+        // when & then
+        StepVerifier.create(chatService.getChatRoomsWithUnreadCount(userId))
+                .expectNextMatches(chatRooms -> chatRooms.get(0).getUnreadCount() == 10L)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("아직 반영되지 않은 읽음 위치도 읽지 않은 메시지 수 계산에 포함한다")
+    void unreadCountIncludesPendingReadMarker() {
+        // given: DB에는 seq 10까지 읽음, 버퍼에는 seq 20까지 읽음
+        String userId = "user1";
+        ChatRoomRead read = ChatRoomRead.builder()
+                .chatRoomId(1L)
+                .userId(userId)
+                .lastReadSeq(10L)
+                .lastReadSystemSeq(2L)
+                .build();
+
+        when(userChatRoomRepository.findAllByUserId(userId)).thenReturn(Collections.singletonList(testUserChatRoom));
+        when(chatRoomRepository.findAllById(List.of(1L))).thenReturn(List.of(testChatRoom));
+        when(chatRoomReadRepository.findAllByUserIdAndChatRoomIdIn(userId, List.of(1L))).thenReturn(List.of(read));
+        when(readMarkerBuffer.pending(1L, userId)).thenReturn(new Marker(1L, userId, "message20", 20L, 4L));
+        when(roomSummaryService.findAllById(List.of(1L))).thenReturn(Flux.just(summaryOf(testMessage, 25L, 5L)));
+
+        // when & then: 이후 5개 메시지 중 SYSTEM 1개
+        StepVerifier.create(chatService.getChatRoomsWithUnreadCount(userId))
+                .expectNextMatches(chatRooms -> chatRooms.get(0).getUnreadCount() == 4L)
+                .verifyComplete();
+    }
+
+    private RoomSummary summaryOf(Message lastMessage, long lastSeq, long lastSystemSeq) {
+        return RoomSummary.builder()
+                .chatRoomId(lastMessage.getChatRoomId())
+                .lastMessageId(lastMessage.getMessageId())
+                .lastMessageContent(lastMessage.getContent())
+                .lastMessageAt(lastMessage.getCreatedAt())
+                .lastSeq(lastSeq)
+                .lastSystemSeq(lastSystemSeq)
+                .build();
+    }
+}
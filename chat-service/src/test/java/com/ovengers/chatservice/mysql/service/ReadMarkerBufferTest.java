@@ -0,0 +1,186 @@
+package com.ovengers.chatservice.mysql.service;
+
+import com.ovengers.chatservice.mysql.repository.ReadMarkerBatchRepository;
+import com.ovengers.chatservice.mysql.repository.ReadMarkerBatchRepository.Marker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReadMarkerBufferTest {
+    private static final Logger logger = LoggerFactory.getLogger(ReadMarkerBufferTest.class);
+
+    @Mock
+    private ReadMarkerBatchRepository readMarkerBatchRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ReadMarkerBuffer readMarkerBuffer;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        readMarkerBuffer = new ReadMarkerBuffer(readMarkerBatchRepository, meterRegistry);
+        ReflectionTestUtils.setField(readMarkerBuffer, "flushThreshold", 5000);
+    }
+
+    @Test
+    @DisplayName("스크롤 중 연속된 읽음 처리는 (채팅방, 사용자)별 마지막 위치 한 행으로 반영된다")
+    @SuppressWarnings("unchecked")
+    void marksAreCoalescedPerRoomAndUser() {
+        // given - 사용자 2명이 각각 메시지 50개를 지나가며 읽음 처리
+        for (long seq = 1; seq <= 50; seq++) {
+            readMarkerBuffer.mark(1L, "user1", "message" + seq, seq, 0L);
+            readMarkerBuffer.mark(1L, "user2", "message" + seq, seq, 0L);
+        }
+
+        // when
+        readMarkerBuffer.flush();
+
+        // then - 100번의 SELECT + UPDATE 대신 2행
+        ArgumentCaptor<List<Marker>> captor = ArgumentCaptor.forClass(List.class);
+        verify(readMarkerBatchRepository, times(1)).upsertAll(captor.capture());
+        assertThat(captor.getValue()).containsExactlyInAnyOrder(
+                new Marker(1L, "user1", "message50", 50L, 0L),
+                new Marker(1L, "user2", "message50", 50L, 0L));
+
+        double marks = meterRegistry.counter("chat.read.marker.marks").count();
+        double rows = meterRegistry.counter("chat.read.marker.rows").count();
+        logger.info("읽음 처리 요청 수: {}, 반영한 행 수: {}", marks, rows);
+        assertThat(marks).isEqualTo(100d);
+        assertThat(rows).isEqualTo(2d);
+        assertThat(meterRegistry.counter("chat.read.marker.coalesced").count()).isEqualTo(98d);
+    }
+
+    @Test
+    @DisplayName("이전 메시지로 읽음 처리해도 대기 중인 읽음 위치는 뒤로 이동하지 않는다")
+    void pendingSeqDoesNotMoveBackward() {
+        readMarkerBuffer.mark(1L, "user1", "message5", 5L, 1L);
+        readMarkerBuffer.mark(1L, "user1", "message3", 3L, 0L);
+        readMarkerBuffer.mark(1L, "user1", "message9", null, null);
+
+        assertThat(readMarkerBuffer.pending(1L, "user1"))
+                .isEqualTo(new Marker(1L, "user1", "message9", 5L, 1L));
+    }
+
+    @Test
+    @DisplayName("반영 실패 시 읽음 위치는 버퍼로 되돌아가고, 그 사이 들어온 더 최신 위치가 우선한다")
+    @SuppressWarnings("unchecked")
+    void failedFlushIsRetried() {
+        // given
+        readMarkerBuffer.mark(1L, "user1", "message5", 5L, 0L);
+        when(readMarkerBatchRepository.upsertAll(anyList()))
+                .thenThrow(new RuntimeException("DB 연결 실패"))
+                .thenReturn(1);
+
+        // when
+        readMarkerBuffer.flush();
+        readMarkerBuffer.mark(1L, "user1", "message8", 8L, 1L);
+        readMarkerBuffer.flush();
+
+        // then
+        ArgumentCaptor<List<Marker>> captor = ArgumentCaptor.forClass(List.class);
+        verify(readMarkerBatchRepository, times(2)).upsertAll(captor.capture());
+        assertThat(captor.getAllValues().get(1)).containsExactly(new Marker(1L, "user1", "message8", 8L, 1L));
+        assertThat(readMarkerBuffer.pendingSize()).isZero();
+    }
+
+    @Test
+    @DisplayName("반영 중인 읽음 위치는 upsert가 커밋될 때까지 조회된다")
+    void inFlightMarkerIsVisibleUntilCommitted() throws Exception {
+        CountDownLatch upserting = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        when(readMarkerBatchRepository.upsertAll(anyList())).thenAnswer(invocation -> {
+            upserting.countDown();
+            commit.await(5, TimeUnit.SECONDS);
+            return 1;
+        });
+        readMarkerBuffer.mark(1L, "user1", "message7", 7L, 1L);
+
+        Thread flusher = new Thread(readMarkerBuffer::flush);
+        flusher.start();
+        assertThat(upserting.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // upsert가 끝나기 전: pending에서는 빠졌지만 반영 중인 위치로 조회됨
+        assertThat(readMarkerBuffer.pendingSize()).isZero();
+        assertThat(readMarkerBuffer.pending(1L, "user1")).isEqualTo(new Marker(1L, "user1", "message7", 7L, 1L));
+
+        // 반영 도중 들어온 더 최신 위치가 우선
+        readMarkerBuffer.mark(1L, "user1", "message9", 9L, 1L);
+        assertThat(readMarkerBuffer.pending(1L, "user1").seq()).isEqualTo(9L);
+
+        commit.countDown();
+        flusher.join(5000);
+        assertThat(readMarkerBuffer.pending(1L, "user1")).isEqualTo(new Marker(1L, "user1", "message9", 9L, 1L));
+    }
+
+    @Test
+    @DisplayName("채팅방을 나간 사용자의 대기 중인 읽음 위치는 버려진다")
+    void discardRemovesPendingMarker() {
+        readMarkerBuffer.mark(1L, "user1", "message1", 1L, 0L);
+
+        readMarkerBuffer.discardAll(1L, List.of("user1"), () -> { });
+        readMarkerBuffer.flush();
+
+        assertThat(readMarkerBuffer.pending(1L, "user1")).isNull();
+        verify(readMarkerBatchRepository, never()).upsertAll(anyList());
+    }
+
+    @Test
+    @DisplayName("이미 꺼내 반영 중인 읽음 위치가 커밋된 뒤에 행을 삭제한다")
+    void discardWaitsForInFlightFlush() throws Exception {
+        List<String> events = new CopyOnWriteArrayList<>();
+        CountDownLatch upserting = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        when(readMarkerBatchRepository.upsertAll(anyList())).thenAnswer(invocation -> {
+            upserting.countDown();
+            commit.await(5, TimeUnit.SECONDS);
+            events.add("upsert");
+            return 1;
+        });
+        readMarkerBuffer.mark(1L, "user1", "message1", 1L, 0L);
+
+        Thread flusher = new Thread(readMarkerBuffer::flush);
+        flusher.start();
+        assertThat(upserting.await(5, TimeUnit.SECONDS)).isTrue();
+
+        Thread remover = new Thread(() -> readMarkerBuffer.discardAll(1L, List.of("user1"), () -> events.add("delete")));
+        remover.start();
+        remover.join(200);
+        assertThat(events).isEmpty();
+
+        commit.countDown();
+        flusher.join(5000);
+        remover.join(5000);
+        assertThat(events).containsExactly("upsert", "delete");
+    }
+
+    @Test
+    @DisplayName("대기 건수가 임계치에 도달하면 주기와 관계없이 반영된다")
+    void flushesWhenThresholdReached() {
+        ReflectionTestUtils.setField(readMarkerBuffer, "flushThreshold", 2);
+
+        readMarkerBuffer.mark(1L, "user1", "message1", 1L, 0L);
+        verify(readMarkerBatchRepository, never()).upsertAll(anyList());
+        readMarkerBuffer.mark(2L, "user1", "message2", 2L, 0L);
+
+        verify(readMarkerBatchRepository).upsertAll(anyList());
+        assertThat(readMarkerBuffer.pendingSize()).isZero();
+    }
+}